@@ -2,10 +2,8 @@ package com.nttdata.bootcamp.ms.banking.account;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cache.annotation.EnableCaching;
 
 @SpringBootApplication
-@EnableCaching
 public class MsBankaccountApplication {
 
 	public static void main(String[] args) {
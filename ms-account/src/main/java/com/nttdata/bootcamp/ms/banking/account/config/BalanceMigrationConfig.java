@@ -0,0 +1,27 @@
+package com.nttdata.bootcamp.ms.banking.account.config;
+
+import com.nttdata.bootcamp.ms.banking.account.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Convierte al arrancar los saldos heredados guardados como texto a Decimal128. Hasta que
+ * termina, un movimiento sobre una de esas cuentas falla con resultado incierto y se reintenta.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceMigrationConfig {
+
+  private final AccountRepository accountRepository;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    accountRepository.migrateLegacyBalances()
+        .subscribe(migrated -> log.info("Legacy balances converted to Decimal128: " + migrated),
+            e -> log.error("Error converting legacy balances: " + e.getMessage()));
+  }
+}
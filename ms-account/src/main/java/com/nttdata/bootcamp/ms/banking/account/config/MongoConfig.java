@@ -0,0 +1,26 @@
+package com.nttdata.bootcamp.ms.banking.account.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Configuración de transacciones de MongoDB.
+ * Permite aplicar un movimiento de saldo y registrarlo en {@code balance_movements} de forma
+ * atómica; requiere que MongoDB se ejecute como replica set.
+ */
+@Configuration
+public class MongoConfig {
+
+  @Bean
+  public ReactiveMongoTransactionManager reactiveMongoTransactionManager(ReactiveMongoDatabaseFactory factory) {
+    return new ReactiveMongoTransactionManager(factory);
+  }
+
+  @Bean
+  public TransactionalOperator transactionalOperator(ReactiveMongoTransactionManager reactiveMongoTransactionManager) {
+    return TransactionalOperator.create(reactiveMongoTransactionManager);
+  }
+}
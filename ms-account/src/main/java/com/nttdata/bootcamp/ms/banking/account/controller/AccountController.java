@@ -1,7 +1,10 @@
 package com.nttdata.bootcamp.ms.banking.account.controller;
 
+import com.nttdata.bootcamp.ms.banking.account.dto.request.AccountBatchGetRequest;
 import com.nttdata.bootcamp.ms.banking.account.dto.request.AccountRequest;
+import com.nttdata.bootcamp.ms.banking.account.dto.request.BalanceDeltaRequest;
 import com.nttdata.bootcamp.ms.banking.account.dto.response.AccountResponse;
+import com.nttdata.bootcamp.ms.banking.account.dto.response.AccountSummaryResponse;
 import com.nttdata.bootcamp.ms.banking.account.service.AccountService;
 import com.nttdata.bootcamp.ms.banking.account.utility.ConstantUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,7 +22,7 @@ import reactor.core.publisher.Mono;
  * <p>This controller provides endpoints for creating,
  * updating, retrieving, and closing accounts.</p>
  *
- * @version 1.1
+ * @version 1.3
  * @author Bruno Andre Castro Barrientos
  */
 @RestController
@@ -70,6 +73,20 @@ public class AccountController {
     return accountService.getAccountById(id);
   }
 
+  /**
+   * Retrieve several accounts in a single call.
+   *
+   * @param request the account IDs
+   * @return the accounts found; unknown IDs are omitted
+   */
+  @Operation(summary = "Get Accounts By IDs", description = "Retrieves up to 500 accounts by their IDs in a single query.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @PostMapping("/batch-get")
+  public Flux<AccountResponse> getAccountsByIds(@Valid @RequestBody AccountBatchGetRequest request) {
+    return accountService.getAccountsByIds(request.getIds());
+  }
+
   /**
    * Retrieve accounts by customer ID.
    *
@@ -83,6 +100,20 @@ public class AccountController {
     return accountService.getAccountsByCustomerId(customerId);
   }
 
+  /**
+   * Summarize the accounts of a customer.
+   *
+   * @param customerId the customer ID
+   * @return account counts and total balance per currency
+   */
+  @Operation(summary = "Get Account Summary By Customer ID",
+      description = "Counts the accounts of a customer and totals their balances per currency in a single aggregation.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @GetMapping("/customer/{customerId}/summary")
+  public Mono<AccountSummaryResponse> getAccountSummary(@PathVariable String customerId) {
+    return accountService.getAccountSummary(customerId);
+  }
+
   /**
    * Update an existing account.
    *
@@ -99,6 +130,25 @@ public class AccountController {
     return accountService.updateAccount(id, request);
   }
 
+  /**
+   * Atomically apply a balance delta to an account.
+   *
+   * @param id      the account ID
+   * @param request the delta, the minimum balance allowed and the request ID
+   * @return the account with its updated balance
+   */
+  @Operation(summary = "Apply Balance Delta",
+      description = "Credits (positive delta) or debits (negative delta) an account in a single guarded update.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.NOT_FOUND_CODE, description = ConstantUtil.NOT_FOUND_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.UNAVAILABLE_CODE, description = "Outcome unknown, retry with the same request ID")
+  @PatchMapping("/{id}/balance")
+  public Mono<AccountResponse> applyBalanceDelta(@PathVariable String id,
+                                                 @Valid @RequestBody BalanceDeltaRequest request) {
+    return accountService.applyBalanceDelta(id, request);
+  }
+
   /**
    * Delete an account by its ID.
    *
@@ -0,0 +1,45 @@
+package com.nttdata.bootcamp.ms.banking.account.dto.event;
+
+/**
+ * Tipos de eventos publicados por ms-transaction.
+ *
+ * <p>El código numérico es el que viaja en el mensaje: nunca se reutiliza ni se cambia,
+ * los tipos nuevos se agregan con un código nuevo. Un consumidor que aún no conoce un
+ * código lo recibe como {@code null} y descarta el evento.</p>
+ *
+ * <p>Se comparte con los consumidores junto con {@code TransactionEventCodec}.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+public enum TransactionEventType {
+  TRANSACTION_POSTED(1),  // Depósito, retiro o transferencia registrada
+  BALANCE_CHANGED(2),     // Cambio de saldo de una cuenta (un evento por cuenta afectada)
+  CREDIT_PAID(3),         // Pago de crédito registrado
+  CARD_PAID(4);           // Pago de tarjeta de crédito registrado
+
+  private final int code;
+
+  TransactionEventType(int code) {
+    this.code = code;
+  }
+
+  public int getCode() {
+    return code;
+  }
+
+  /**
+   * Tipo con el código indicado.
+   *
+   * @param code Código del mensaje.
+   * @return El tipo, o {@code null} si el código es de un tipo que esta versión no conoce.
+   */
+  public static TransactionEventType fromCode(int code) {
+    for (TransactionEventType type : values()) {
+      if (type.code == code) {
+        return type;
+      }
+    }
+    return null;
+  }
+}
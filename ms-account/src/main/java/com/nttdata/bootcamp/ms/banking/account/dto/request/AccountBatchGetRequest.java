@@ -0,0 +1,27 @@
+package com.nttdata.bootcamp.ms.banking.account.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO para consultar varias cuentas en una sola llamada.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBatchGetRequest {
+
+  @NotEmpty(message = "Ids are mandatory")
+  @Size(max = 500, message = "At most 500 ids per request")
+  private List<String> ids; // IDs de las cuentas a consultar
+}
@@ -0,0 +1,32 @@
+package com.nttdata.bootcamp.ms.banking.account.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Request DTO para aplicar un movimiento de saldo atómico sobre una cuenta.
+ * Un delta positivo abona la cuenta y uno negativo la debita.
+ *
+ * @author Bruno Andre
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceDeltaRequest {
+
+  @NotNull(message = "Delta is mandatory")
+  private BigDecimal delta; // Monto a sumar (positivo) o restar (negativo) del saldo
+
+  private BigDecimal minBalance; // Saldo mínimo permitido tras el débito (por defecto 0)
+
+  @NotBlank(message = "Request ID is mandatory")
+  private String requestId; // Identificador de la operación, evita aplicar dos veces el mismo movimiento
+}
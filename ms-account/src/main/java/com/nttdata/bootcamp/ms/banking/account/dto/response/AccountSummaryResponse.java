@@ -0,0 +1,27 @@
+package com.nttdata.bootcamp.ms.banking.account.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Resumen de las cuentas de un cliente, calculado en MongoDB.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountSummaryResponse implements Serializable {
+  private String customerId; // ID del cliente
+  private long totalAccounts; // Cantidad de cuentas
+  private long activeAccounts; // Cantidad de cuentas activas
+  private Map<String, BigDecimal> balanceByCurrency; // Saldo total de las cuentas por moneda
+}
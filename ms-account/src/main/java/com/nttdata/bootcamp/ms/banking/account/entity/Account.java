@@ -8,16 +8,19 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 
 /**
  * Entidad cuenta bancaria
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.0
+ * @version 1.1
  */
 
 @Data
@@ -30,7 +33,10 @@ public class Account {
   private String id;                      // Identificador único de la cuenta
   private String customerId;              // ID del cliente propietario de la cuenta
   private AccountType accountType;        // Tipo de cuenta (SAVINGS, CHECKING, TIME_DEPOSIT)
-  private BigDecimal balance;             // Saldo actual de la cuenta
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal balance;             // Saldo actual de la cuenta (Decimal128 para permitir $inc)
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal openingBalance;      // Saldo de apertura más los ajustes manuales, lo que no viene de transacciones
 
   private String currency;                // Moneda de la cuenta (ej. USD, EUR, etc.)
 
@@ -38,4 +44,6 @@ public class Account {
 
   private RecordStatus status;            // Estado de la cuenta (ACTIVE, CLOSED, etc.)
 
+  private List<String> appliedRequestIds; // Últimos movimientos de saldo aplicados (ventana acotada)
+
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.nttdata.bootcamp.ms.banking.account.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Movimiento de saldo aplicado a una cuenta, uno por {@code requestId}.
+ *
+ * <p>El {@code _id} es el propio {@code requestId}, así el índice único de MongoDB impide
+ * registrar dos veces el mismo movimiento sin importar cuántos movimientos haya tenido la
+ * cuenta después ni cuánto tiempo haya pasado.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "balance_movements")
+public class BalanceMovement {
+  @Id
+  private String id;                      // requestId del movimiento
+  private String accountId;               // Cuenta movida
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal delta;               // Monto aplicado (positivo abona, negativo debita)
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal balance;             // Saldo de la cuenta tras el movimiento
+  private LocalDateTime appliedAt;        // Momento en que se aplicó
+}
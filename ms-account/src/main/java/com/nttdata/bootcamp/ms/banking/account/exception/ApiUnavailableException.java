@@ -0,0 +1,30 @@
+package com.nttdata.bootcamp.ms.banking.account.exception;
+
+/**
+ * El resultado de la operación es incierto (por ejemplo, un timeout de MongoDB al confirmar):
+ * puede haberse aplicado o no, así que el cliente debe reintentarla con el mismo identificador.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public class ApiUnavailableException extends RuntimeException {
+  public ApiUnavailableException() {
+    super();
+  }
+
+  public ApiUnavailableException(String message) {
+    super(message);
+  }
+
+  public ApiUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public ApiUnavailableException(Throwable cause) {
+    super(cause);
+  }
+
+  protected ApiUnavailableException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
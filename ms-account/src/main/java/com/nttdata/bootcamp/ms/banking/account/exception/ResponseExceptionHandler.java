@@ -4,6 +4,7 @@ import com.nttdata.bootcamp.ms.banking.account.dto.response.ApiExceptionResponse
 import com.nttdata.bootcamp.ms.banking.account.utility.ConstantUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -54,6 +55,21 @@ public class ResponseExceptionHandler {
     return construirRespuestaError(ConstantUtil.ERROR_MESSAGE);
   }
 
+  /**
+   * Maneja operaciones de resultado incierto: responde 503 para que el cliente no lo tome
+   * como un rechazo y reintente con el mismo identificador
+   */
+  @ExceptionHandler(ApiUnavailableException.class)
+  public Mono<ResponseEntity<ApiExceptionResponse>> manejarResultadoIncierto(
+      ApiUnavailableException ex) {
+    log.error("Resultado incierto", ex);
+    return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .body(ApiExceptionResponse.builder()
+            .code(ConstantUtil.UNAVAILABLE_CODE)
+            .message(ConstantUtil.ERROR_MESSAGE)
+            .build()));
+  }
+
   /**
    * Maneja cualquier otra excepción no controlada
    */
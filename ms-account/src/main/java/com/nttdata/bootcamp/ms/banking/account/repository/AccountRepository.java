@@ -11,7 +11,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Repository
-public interface AccountRepository extends ReactiveMongoRepository<Account, String> {
+public interface AccountRepository extends ReactiveMongoRepository<Account, String>, AccountRepositoryCustom {
   Flux<Account> findByAccountType(AccountType accountType);
 
   Flux<Account> findByCustomerId(String customerId);
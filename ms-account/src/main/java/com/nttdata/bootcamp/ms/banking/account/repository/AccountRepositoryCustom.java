@@ -0,0 +1,47 @@
+package com.nttdata.bootcamp.ms.banking.account.repository;
+
+import com.nttdata.bootcamp.ms.banking.account.dto.response.AccountSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.account.entity.Account;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Operaciones de cuentas que no pueden expresarse como métodos derivados.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+public interface AccountRepositoryCustom {
+
+  /**
+   * Aplica un delta al saldo de una cuenta activa en una única escritura {@code findAndModify}.
+   * La actualización solo se aplica si el saldo resultante no queda por debajo de
+   * {@code minBalance} y si {@code requestId} no fue aplicado previamente.
+   *
+   * @param id         ID de la cuenta.
+   * @param delta      Monto a sumar (positivo) o restar (negativo).
+   * @param minBalance Saldo mínimo permitido tras el movimiento, puede ser null.
+   * @param requestId  Identificador de la operación.
+   * @return La cuenta actualizada, o vacío si alguna de las condiciones no se cumple.
+   */
+  Mono<Account> applyBalanceDelta(String id, BigDecimal delta, BigDecimal minBalance, String requestId);
+
+  /**
+   * Resume las cuentas de un cliente con una agregación: cantidad, activas y saldo por
+   * moneda. Las cuentas sin moneda cuentan en la moneda por defecto.
+   *
+   * @param customerId ID del cliente.
+   * @return El resumen; con ceros si el cliente no tiene cuentas.
+   */
+  Mono<AccountSummaryResponse> summarizeByCustomerId(String customerId);
+
+  /**
+   * Convierte a Decimal128 los saldos heredados guardados como texto, que {@code $inc} no
+   * puede sumar y que el piso de {@link #applyBalanceDelta} no compara como números.
+   * Solo toca los documentos que aún tienen texto, así que puede ejecutarse en cada arranque.
+   *
+   * @return Cantidad de campos convertidos.
+   */
+  Mono<Long> migrateLegacyBalances();
+}
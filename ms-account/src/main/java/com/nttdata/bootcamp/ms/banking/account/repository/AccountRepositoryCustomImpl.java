@@ -0,0 +1,122 @@
+package com.nttdata.bootcamp.ms.banking.account.repository;
+
+import com.nttdata.bootcamp.ms.banking.account.dto.enumeration.RecordStatus;
+import com.nttdata.bootcamp.ms.banking.account.dto.response.AccountSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.account.entity.Account;
+import com.nttdata.bootcamp.ms.banking.account.utility.ConstantUtil;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link AccountRepositoryCustom} sobre {@link ReactiveMongoTemplate}.
+ *
+ * <p>Los últimos {@value #APPLIED_REQUEST_WINDOW} {@code requestId} aplicados se guardan
+ * en el propio documento de la cuenta y descartan en la misma escritura un reintento
+ * reciente. Es solo una ventana: lo que garantiza que un movimiento no se aplique dos
+ * veces es el registro en {@code balance_movements} que hace el servicio.</p>
+ *
+ * <p>El resumen por cliente se calcula en el servidor: MongoDB agrupa las cuentas por
+ * moneda y devuelve una fila por moneda, en lugar de transferir todas las cuentas.</p>
+ *
+ * <p>Los saldos heredados guardados como texto se convierten en el servidor con
+ * {@code $toDecimal}, en un update con pipeline por campo.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.3
+ */
+@RequiredArgsConstructor
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+
+  static final String APPLIED_REQUEST_IDS = "appliedRequestIds";
+  static final int APPLIED_REQUEST_WINDOW = 50;
+  static final List<String> DECIMAL_FIELDS = List.of("balance", "openingBalance");
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  @Override
+  public Mono<Account> applyBalanceDelta(String id, BigDecimal delta, BigDecimal minBalance, String requestId) {
+    Criteria criteria = Criteria.where("_id").is(id)
+        .and("status").is(RecordStatus.ACTIVE)
+        .and(APPLIED_REQUEST_IDS).ne(requestId);
+
+    if (minBalance != null || delta.signum() < 0) {
+      BigDecimal floor = minBalance != null ? minBalance : BigDecimal.ZERO;
+      criteria.and("balance").gte(new Decimal128(floor.subtract(delta)));
+    }
+
+    Update update = new Update()
+        .inc("balance", new Decimal128(delta))
+        .push(APPLIED_REQUEST_IDS).slice(-APPLIED_REQUEST_WINDOW).each(requestId);
+
+    return mongoTemplate.findAndModify(Query.query(criteria), update,
+        FindAndModifyOptions.options().returnNew(true), Account.class);
+  }
+
+  @Override
+  public Mono<AccountSummaryResponse> summarizeByCustomerId(String customerId) {
+    Aggregation aggregation = Aggregation.newAggregation(
+        Aggregation.match(Criteria.where("customerId").is(customerId)),
+        Aggregation.project("status", "balance")
+            .and(ConditionalOperators.ifNull("currency").then(ConstantUtil.DEFAULT_CURRENCY)).as("currency"),
+        Aggregation.group("currency")
+            .count().as("accounts")
+            .sum(ConditionalOperators.when(Criteria.where("status").is(RecordStatus.ACTIVE.name()))
+                .then(1).otherwise(0)).as("active")
+            .sum("balance").as("balance"));
+    return mongoTemplate.aggregate(aggregation, Account.class, Document.class)
+        .collectList()
+        .map(groups -> {
+          long total = 0;
+          long active = 0;
+          Map<String, BigDecimal> balances = new LinkedHashMap<>();
+          for (Document group : groups) {
+            total += group.get("accounts", Number.class).longValue();
+            active += group.get("active", Number.class).longValue();
+            balances.put(group.getString("_id"), toDecimal(group.get("balance")));
+          }
+          return AccountSummaryResponse.builder()
+              .customerId(customerId)
+              .totalAccounts(total)
+              .activeAccounts(active)
+              .balanceByCurrency(balances)
+              .build();
+        });
+  }
+
+  @Override
+  public Mono<Long> migrateLegacyBalances() {
+    return Flux.fromIterable(DECIMAL_FIELDS)
+        .concatMap(field -> mongoTemplate.updateMulti(
+            Query.query(Criteria.where(field).type(JsonSchemaObject.Type.stringType())),
+            AggregationUpdate.update().set(field).toValue(ConvertOperators.valueOf(field).convertToDecimal()),
+            mongoTemplate.getCollectionName(Account.class)))
+        .map(UpdateResult::getModifiedCount)
+        .reduce(0L, Long::sum);
+  }
+
+  private static BigDecimal toDecimal(Object value) {
+    if (value instanceof Decimal128 decimal) {
+      return decimal.bigDecimalValue();
+    }
+    return value == null ? BigDecimal.ZERO : new BigDecimal(value.toString());
+  }
+}
@@ -0,0 +1,9 @@
+package com.nttdata.bootcamp.ms.banking.account.repository;
+
+import com.nttdata.bootcamp.ms.banking.account.entity.BalanceMovement;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BalanceMovementRepository extends ReactiveMongoRepository<BalanceMovement, String> {
+}
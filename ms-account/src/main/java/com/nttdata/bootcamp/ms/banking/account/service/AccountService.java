@@ -3,20 +3,26 @@ package com.nttdata.bootcamp.ms.banking.account.service;
 import com.nttdata.bootcamp.ms.banking.account.dto.enumeration.AccountType;
 import com.nttdata.bootcamp.ms.banking.account.dto.enumeration.RecordStatus;
 import com.nttdata.bootcamp.ms.banking.account.dto.request.AccountRequest;
+import com.nttdata.bootcamp.ms.banking.account.dto.request.BalanceDeltaRequest;
 import com.nttdata.bootcamp.ms.banking.account.dto.response.AccountResponse;
+import com.nttdata.bootcamp.ms.banking.account.dto.response.AccountSummaryResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface AccountService {
   Mono<AccountResponse> createAccount(AccountRequest request);
   Flux<AccountResponse> getAllAccounts();
   Mono<AccountResponse> getAccountById(String id);
+  Flux<AccountResponse> getAccountsByIds(List<String> ids);
   Flux<AccountResponse> getAccountsByCustomerId(String customerId);
+  Mono<AccountSummaryResponse> getAccountSummary(String customerId);
   Mono<AccountResponse> updateAccount(String id, AccountRequest request);
   Mono<Void> deleteAccount(String id);
+  Mono<AccountResponse> applyBalanceDelta(String id, BalanceDeltaRequest request);
   Flux<AccountResponse> getAccountsByAccountType(AccountType accountType);
 
   Flux<AccountResponse> getAccountsByBalanceGreaterThan(BigDecimal balance);
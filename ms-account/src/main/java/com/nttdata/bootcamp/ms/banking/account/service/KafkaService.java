@@ -1,6 +1,12 @@
 package com.nttdata.bootcamp.ms.banking.account.service;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
 public interface KafkaService {
   void listen(String message);
+
+  void listenTransactionEvent(ConsumerRecord<String, byte[]> record);
+
+  void publishStateChange(String accountId, String status);
 }
 
@@ -3,28 +3,38 @@ package com.nttdata.bootcamp.ms.banking.account.service.impl;
 import com.nttdata.bootcamp.ms.banking.account.dto.enumeration.AccountType;
 import com.nttdata.bootcamp.ms.banking.account.dto.enumeration.RecordStatus;
 import com.nttdata.bootcamp.ms.banking.account.dto.request.AccountRequest;
+import com.nttdata.bootcamp.ms.banking.account.dto.request.BalanceDeltaRequest;
 import com.nttdata.bootcamp.ms.banking.account.dto.request.CustomerRequest;
 import com.nttdata.bootcamp.ms.banking.account.dto.response.AccountResponse;
+import com.nttdata.bootcamp.ms.banking.account.dto.response.AccountSummaryResponse;
 import com.nttdata.bootcamp.ms.banking.account.dto.response.CustomerResponse;
 import com.nttdata.bootcamp.ms.banking.account.entity.Account;
+import com.nttdata.bootcamp.ms.banking.account.entity.BalanceMovement;
 import com.nttdata.bootcamp.ms.banking.account.entity.Customer;
+import com.nttdata.bootcamp.ms.banking.account.exception.ApiUnavailableException;
 import com.nttdata.bootcamp.ms.banking.account.exception.ApiValidateException;
 import com.nttdata.bootcamp.ms.banking.account.mapper.AccountMapper;
 import com.nttdata.bootcamp.ms.banking.account.mapper.CustomerMapper;
 import com.nttdata.bootcamp.ms.banking.account.repository.AccountRepository;
+import com.nttdata.bootcamp.ms.banking.account.repository.BalanceMovementRepository;
 import com.nttdata.bootcamp.ms.banking.account.service.AccountService;
+import com.nttdata.bootcamp.ms.banking.account.service.KafkaService;
 import com.nttdata.bootcamp.ms.banking.account.utility.ConstantUtil;
+import com.nttdata.bootcamp.ms.banking.account.utility.ReactiveCache;
+import com.mongodb.MongoException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Implementación del servicio de cuentas. Proporciona operaciones
@@ -38,22 +48,31 @@ import java.time.LocalDateTime;
  * todas las cuentas de un cliente o todas las cuentas en general,
  * y cerrar cuentas si el saldo es cero.</p>
  *
- * @version 1.1
+ * @version 1.5
  */
 @Service
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
 
+  private static final String CACHE_NAME = "accounts";
+  private static final String TRANSIENT_TRANSACTION_ERROR = "TransientTransactionError";
+  private static final int TRANSIENT_RETRIES = 3;
+
   private final AccountRepository accountRepository;
   private final AccountMapper accountMapper;
   private final WebClient customerWebClient;
   private final CustomerMapper customerMapper;
+  private final KafkaService kafkaService;
+  private final ReactiveCache reactiveCache;
+  private final BalanceMovementRepository balanceMovementRepository;
+  private final TransactionalOperator transactionalOperator;
 
   public Mono<AccountResponse> createAccount(AccountRequest request) {
     return this.findCustomerById(request.getCustomerId()) // Busca al cliente por ID
         .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE))) // Lanza error si no existe
         .flatMap(customer -> {
           Account account = accountMapper.toEntity(request);
+          account.setOpeningBalance(account.getBalance());
           return accountRepository.save(account)
               .map(accountMapper::toResponse);
         });
@@ -64,35 +83,141 @@ public class AccountServiceImpl implements AccountService {
         .map(accountMapper::toResponse);
   }
 
-  @Cacheable(value = "accounts", key = "#id")
   public Mono<AccountResponse> getAccountById(String id) {
-    return accountRepository.findById(id)
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
+    return reactiveCache.get(CACHE_NAME, id, AccountResponse.class,
+            () -> accountRepository.findById(id).map(accountMapper::toResponse))
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)));
+  }
+
+  /**
+   * Devuelve las cuentas existentes de {@code ids} con una sola consulta {@code $in};
+   * los IDs que no existen se omiten.
+   */
+  @Override
+  public Flux<AccountResponse> getAccountsByIds(List<String> ids) {
+    return accountRepository.findAllById(ids.stream().distinct().toList())
         .map(accountMapper::toResponse);
   }
 
-  @CachePut(value = "accounts", key = "#id")
   public Mono<AccountResponse> updateAccount(String id, AccountRequest request) {
     return accountRepository.findById(id)
         .switchIfEmpty(Mono.error(new ApiValidateException("Account not found.")))
         .flatMap(existing -> {
           Account updated = accountMapper.toEntity(request);
           updated.setId(existing.getId());
+          updated.setAppliedRequestIds(existing.getAppliedRequestIds());
+          updated.setOpeningBalance(this.adjustOpening(existing, updated.getBalance()));
           return accountRepository.save(updated);
         })
+        .flatMap(saved -> reactiveCache.evict(CACHE_NAME, id).thenReturn(saved))
+        .doOnNext(saved -> kafkaService.publishStateChange(saved.getId(), String.valueOf(saved.getStatus())))
         .map(accountMapper::toResponse);
   }
 
-  @CachePut(value = "accounts", key = "#id")
+  /**
+   * Un saldo escrito a mano no viene de transacciones: la diferencia con el saldo anterior se
+   * suma a la apertura para que la conciliación de ms-transaction la tenga en cuenta.
+   */
+  private BigDecimal adjustOpening(Account existing, BigDecimal balance) {
+    BigDecimal opening = existing.getOpeningBalance() != null ? existing.getOpeningBalance() : BigDecimal.ZERO;
+    if (balance == null || existing.getBalance() == null) {
+      return opening;
+    }
+    return opening.add(balance.subtract(existing.getBalance()));
+  }
+
   public Mono<Void> deleteAccount(String id) {
-    accountRepository.findById(id)
+    return accountRepository.findById(id)
         .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
         .flatMap(existing -> {
           existing.setStatus(RecordStatus.INACTIVE);
-          accountRepository.save(existing);
-          return null;
+          return accountRepository.save(existing);
+        })
+        .flatMap(saved -> reactiveCache.evict(CACHE_NAME, id).thenReturn(saved))
+        .doOnNext(saved -> kafkaService.publishStateChange(saved.getId(), String.valueOf(saved.getStatus())))
+        .then();
+  }
+
+  /**
+   * Aplica un movimiento de saldo en una única escritura condicionada.
+   * Si la escritura no se aplica se consulta la cuenta para informar el motivo.
+   *
+   * <p>El movimiento se registra en {@code balance_movements} en la misma transacción de
+   * MongoDB que el cambio de saldo. Un {@code requestId} ya registrado devuelve la cuenta sin
+   * volver a moverla, aunque la cuenta haya tenido muchos movimientos desde entonces; si dos
+   * peticiones con el mismo {@code requestId} coinciden, la que confirma después choca con
+   * el {@code _id} de la primera y su cambio de saldo se descarta con la transacción.</p>
+   *
+   * <p>Solo los rechazos de validación (cuenta inexistente o inactiva, fondos insuficientes)
+   * son definitivos. Cualquier otro error, como un timeout al confirmar la transacción, deja
+   * el resultado incierto y se informa como {@link ApiUnavailableException}.</p>
+   */
+  @Override
+  public Mono<AccountResponse> applyBalanceDelta(String id, BalanceDeltaRequest request) {
+    return Mono.defer(() -> balanceMovementRepository.findById(request.getRequestId())
+            .flatMap(applied -> this.findAppliedAccount(id, applied))
+            .switchIfEmpty(Mono.defer(() -> this.applyAndRecord(id, request))))
+        .onErrorResume(DuplicateKeyException.class, e -> balanceMovementRepository.findById(request.getRequestId())
+            .flatMap(applied -> this.findAppliedAccount(id, applied)))
+        .retryWhen(Retry.max(TRANSIENT_RETRIES).filter(AccountServiceImpl::isTransient))
+        .flatMap(account -> reactiveCache.evict(CACHE_NAME, id).thenReturn(account))
+        .map(accountMapper::toResponse)
+        .onErrorMap(e -> !(e instanceof ApiValidateException),
+            e -> new ApiUnavailableException("Outcome of balance movement " + request.getRequestId() + " unknown", e));
+  }
+
+  private Mono<Account> applyAndRecord(String id, BalanceDeltaRequest request) {
+    return accountRepository.applyBalanceDelta(id, request.getDelta(), request.getMinBalance(), request.getRequestId())
+        .switchIfEmpty(Mono.defer(() -> this.explainRejectedDelta(id, request)))
+        .flatMap(account -> balanceMovementRepository.insert(BalanceMovement.builder()
+                .id(request.getRequestId())
+                .accountId(id)
+                .delta(request.getDelta())
+                .balance(account.getBalance())
+                .appliedAt(LocalDateTime.now())
+                .build())
+            .thenReturn(account))
+        .as(transactionalOperator::transactional);
+  }
+
+  /**
+   * Cuenta de un movimiento ya registrado. Un {@code requestId} usado antes para otra cuenta
+   * se rechaza en lugar de darse por aplicado.
+   */
+  private Mono<Account> findAppliedAccount(String id, BalanceMovement applied) {
+    if (!id.equals(applied.getAccountId())) {
+      return Mono.error(new ApiValidateException("Request ID already used for another account."));
+    }
+    return accountRepository.findById(id)
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)));
+  }
+
+  private Mono<Account> explainRejectedDelta(String id, BalanceDeltaRequest request) {
+    return accountRepository.findById(id)
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
+        .flatMap(account -> {
+          if (account.getAppliedRequestIds() != null
+              && account.getAppliedRequestIds().contains(request.getRequestId())) {
+            return Mono.just(account);
+          }
+          if (account.getStatus() != RecordStatus.ACTIVE) {
+            return Mono.error(new ApiValidateException("Account inactive."));
+          }
+          return Mono.error(new ApiValidateException("Insufficient funds"));
         });
-    return null;
+  }
+
+  /**
+   * Conflicto de escritura entre transacciones concurrentes sobre la misma cuenta o el mismo
+   * {@code requestId}: MongoDB indica que se puede reintentar la transacción completa.
+   */
+  private static boolean isTransient(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof MongoException mongo && mongo.hasErrorLabel(TRANSIENT_TRANSACTION_ERROR)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
@@ -107,6 +232,11 @@ public class AccountServiceImpl implements AccountService {
         .map(AccountMapper::toResponseStatic);
   }
 
+  @Override
+  public Mono<AccountSummaryResponse> getAccountSummary(String customerId) {
+    return accountRepository.summarizeByCustomerId(customerId);
+  }
+
   @Override
   public Flux<AccountResponse> getAccountsByBalanceGreaterThan(BigDecimal balance) {
     return accountRepository.findByBalanceGreaterThan(balance)
@@ -1,8 +1,12 @@
 package com.nttdata.bootcamp.ms.banking.account.service.impl;
 
+import com.nttdata.bootcamp.ms.banking.account.dto.event.ProductStateEvent;
+import com.nttdata.bootcamp.ms.banking.account.dto.event.TransactionEvent;
 import com.nttdata.bootcamp.ms.banking.account.service.KafkaService;
+import com.nttdata.bootcamp.ms.banking.account.utility.TransactionEventCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -11,7 +15,7 @@ import org.springframework.stereotype.Service;
 /**
  * Implementación del servicio de Kafka.
  *
- * @version 1.1
+ * @version 1.2
  */
 
 @Service
@@ -24,10 +28,48 @@ public class KafkaServiceImpl implements KafkaService {
   @Value("${spring.kafka.topic.name:kafka-broker-1}")
   private String topicName;
 
+  @Value("${spring.kafka.topic.product-state-events:product-state-events}")
+  private String productStateTopic;
+
 
   @KafkaListener(topics = "${spring.kafka.topic.name:kafka-broker-1}", groupId = "${spring.kafka.consumer.group-id}")
   public void listen(String message) {
     log.info("Message received: " + message);
   }
-}
 
+  @KafkaListener(topics = "${spring.kafka.topic.transaction-events:transaction-events}",
+      groupId = "${spring.kafka.consumer.group-id}",
+      containerFactory = "transactionEventListenerContainerFactory")
+  public void listenTransactionEvent(ConsumerRecord<String, byte[]> record) {
+    try {
+      TransactionEvent event = TransactionEventCodec.decode(record.value());
+      if (event.getEventType() == null) {
+        log.debug("Skipping transaction event of unknown type at offset " + record.offset());
+        return;
+      }
+      log.info("Transaction event received: " + event.getEventType() + " key=" + record.key()
+          + " transaction=" + event.getTransactionId() + " amount=" + event.getAmount());
+    } catch (IllegalArgumentException e) {
+      log.error("Discarding unreadable transaction event at offset " + record.offset() + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Publica el cambio de estado de una cuenta con su ID como clave. Es de mejor esfuerzo:
+   * si falla, las copias en caché de otros servicios expiran por TTL.
+   */
+  @Override
+  public void publishStateChange(String accountId, String status) {
+    ProductStateEvent event = ProductStateEvent.builder()
+        .productId(accountId)
+        .productType("ACCOUNT")
+        .status(status)
+        .occurredAt(System.currentTimeMillis())
+        .build();
+    kafkaTemplate.send(productStateTopic, accountId, event)
+        .exceptionally(e -> {
+          log.warn("Error publishing account state change: " + e.getMessage());
+          return null;
+        });
+  }
+}
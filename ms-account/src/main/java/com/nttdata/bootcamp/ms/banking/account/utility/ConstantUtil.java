@@ -10,8 +10,10 @@ public class ConstantUtil {
   public static final String ERROR_CODE = "400";
   public static final String ERROR_MESSAGE = "Ocurrió un error al procesar la operación.";
   public static final String NOT_FOUND_CODE = "404";
+  public static final String UNAVAILABLE_CODE = "503";
   public static final String NOT_FOUND_MESSAGE = "Not Found.";
   public static final String CREATED_CODE = "201";
   public static final String ACCEPTED_CODE = "202";
   public static final String DELETED_CODE = "204";
+  public static final String DEFAULT_CURRENCY = "PEN";
 }
@@ -0,0 +1,168 @@
+package com.nttdata.bootcamp.ms.banking.account.utility;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Caché no bloqueante sobre Redis para métodos que devuelven {@link Mono}.
+ *
+ * <p>Guarda el valor ya resuelto en JSON bajo {@code <cache>::<key>}. Las consultas
+ * simultáneas de una misma clave sin valor en caché comparten una sola carga en esta
+ * instancia. Un resultado vacío (no encontrado) se guarda con un TTL corto para que las
+ * consultas repetidas de IDs inexistentes no lleguen a Mongo. Los errores de Redis se
+ * tratan como fallos de caché y los de la carga no se guardan.</p>
+ *
+ * <p>Las escrituras deben llamar a {@link #evict(String, String)} después de guardar. En lugar
+ * de borrar la clave, {@code evict} deja una marca única que cuenta como fallo de caché. Una
+ * carga solo guarda su resultado si la clave sigue como la leyó al empezar: si entretanto
+ * hubo una escritura, el valor leído de Mongo puede ser el anterior y no se guarda. La carga
+ * que se comparte en esta instancia también se abandona, así las consultas posteriores a la
+ * escritura no reciben el valor anterior.</p>
+ *
+ * <p>La copia probada es la de ms-account; ms-product y ms-customer llevan una copia
+ * idéntica salvo el paquete. Los cambios se hacen en ms-account y se copian:
+ * {@code SharedSourceCopiesTest} de ms-account falla si las copias difieren.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@Component
+@Slf4j
+public class ReactiveCache {
+
+  private static final String NOT_FOUND = "!not-found"; // Nunca es un JSON válido
+  private static final String EVICTED = "!evicted:";    // Prefijo de la marca de evict
+  private static final String ABSENT = "";              // La clave no existía al leerla
+
+  private static final RedisScript<Long> SET_IF_UNCHANGED = RedisScript.of(
+      "local current = redis.call('GET', KEYS[1]) "
+          + "if (current == false and ARGV[1] == '') or current == ARGV[1] then "
+          + "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) "
+          + "return 1 end "
+          + "return 0", Long.class);
+
+  private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+  private final ObjectMapper objectMapper;
+  private final Map<String, Mono<Optional<Object>>> inFlight = new ConcurrentHashMap<>();
+
+  @Value("${cache.ttl:30m}")
+  private Duration ttl;
+
+  @Value("${cache.negative-ttl:30s}")
+  private Duration negativeTtl;
+
+  public ReactiveCache(ReactiveStringRedisTemplate reactiveStringRedisTemplate, ObjectMapper objectMapper) {
+    this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Devuelve el valor en caché o lo carga con {@code loader}.
+   *
+   * @param cache  Nombre de la caché.
+   * @param key    Clave dentro de la caché.
+   * @param type   Clase del valor.
+   * @param loader Carga del valor; vacío si no existe.
+   * @return El valor, o vacío si no existe.
+   */
+  public <T> Mono<T> get(String cache, String key, Class<T> type, Supplier<Mono<T>> loader) {
+    String redisKey = cache + "::" + key;
+    return Mono.defer(() -> {
+      AtomicReference<Mono<Optional<Object>>> shared = new AtomicReference<>();
+      shared.set(this.readThrough(redisKey, type, loader)
+          .doFinally(signal -> inFlight.remove(redisKey, shared.get()))
+          .cache());
+      Mono<Optional<Object>> existing = inFlight.putIfAbsent(redisKey, shared.get());
+      return existing != null ? existing : shared.get();
+    }).flatMap(value -> Mono.justOrEmpty(value.map(type::cast)));
+  }
+
+  /**
+   * Descarta una clave tras una escritura. Las cargas que ya estaban en curso no guardan su
+   * resultado.
+   *
+   * @param cache Nombre de la caché.
+   * @param key   Clave dentro de la caché.
+   */
+  public Mono<Void> evict(String cache, String key) {
+    String redisKey = cache + "::" + key;
+    return Mono.fromRunnable(() -> inFlight.remove(redisKey))
+        .then(reactiveStringRedisTemplate.opsForValue().set(redisKey, EVICTED + UUID.randomUUID(), ttl))
+        .onErrorResume(e -> {
+          log.warn("Error evicting " + cache + "::" + key + ": " + e.getMessage());
+          return Mono.empty();
+        })
+        .then();
+  }
+
+  private <T> Mono<Optional<Object>> readThrough(String redisKey, Class<T> type, Supplier<Mono<T>> loader) {
+    return reactiveStringRedisTemplate.opsForValue().get(redisKey)
+        .onErrorResume(e -> {
+          log.warn("Error reading " + redisKey + ": " + e.getMessage());
+          return Mono.empty();
+        })
+        .defaultIfEmpty(ABSENT)
+        .flatMap(json -> this.decode(redisKey, json, type)
+            .switchIfEmpty(Mono.defer(loader)
+                .map(value -> Optional.<Object>of(value))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(value -> this.write(redisKey, json, value).thenReturn(value))));
+  }
+
+  /**
+   * Guarda el valor cargado si la clave sigue con {@code observed}, lo que se leyó antes de cargar.
+   */
+  private Mono<Void> write(String redisKey, String observed, Optional<Object> value) {
+    String json = value.map(this::toJson).orElse(NOT_FOUND);
+    Duration expiry = value.isPresent() ? ttl : negativeTtl;
+    return reactiveStringRedisTemplate.execute(SET_IF_UNCHANGED, List.of(redisKey),
+            List.of(observed, json, String.valueOf(expiry.toMillis())))
+        .onErrorResume(e -> {
+          log.warn("Error writing " + redisKey + ": " + e.getMessage());
+          return Mono.empty();
+        })
+        .then();
+  }
+
+  private String toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Error serializing cached value", e);
+    }
+  }
+
+  /**
+   * Un valor que ya no se puede leer (por ejemplo, tras cambiar la clase) se trata como
+   * fallo de caché y se vuelve a cargar.
+   */
+  private <T> Mono<Optional<Object>> decode(String redisKey, String json, Class<T> type) {
+    if (NOT_FOUND.equals(json)) {
+      return Mono.just(Optional.empty());
+    }
+    if (ABSENT.equals(json) || json.startsWith(EVICTED)) {
+      return Mono.empty();
+    }
+    try {
+      return Mono.just(Optional.of(objectMapper.readValue(json, type)));
+    } catch (JsonProcessingException e) {
+      log.warn("Discarding unreadable cached value " + redisKey + ": " + e.getMessage());
+      return Mono.empty();
+    }
+  }
+}
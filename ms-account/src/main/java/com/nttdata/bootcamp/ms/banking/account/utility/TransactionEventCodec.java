@@ -0,0 +1,174 @@
+package com.nttdata.bootcamp.ms.banking.account.utility;
+
+import com.nttdata.bootcamp.ms.banking.account.dto.event.TransactionEvent;
+import com.nttdata.bootcamp.ms.banking.account.dto.event.TransactionEventType;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Codificación binaria de {@link TransactionEvent}.
+ *
+ * <p>Formato: byte mágico, versión del esquema, código del tipo, fecha en milisegundos
+ * (varint), los campos de texto en orden fijo y el monto (escala y valor sin escala).
+ * Los textos y números usan longitud variable y el valor 0 representa null. Las versiones
+ * nuevas solo agregan campos al final, así un consumidor antiguo ignora los bytes que no
+ * conoce y un consumidor nuevo deja en null los campos que un mensaje antiguo no trae. Un
+ * tipo de evento que el consumidor no conoce se decodifica con {@code eventType} null, para
+ * que lo descarte sin tratarlo como un mensaje ilegible.</p>
+ *
+ * <p>Esta clase se mantiene idéntica en ms-transaction, ms-account, ms-customer y
+ * ms-wallet-bootcoin.</p>
+ *
+ * <p>La copia probada es la de ms-transaction, que publica los eventos; ms-account,
+ * ms-customer y ms-wallet-bootcoin llevan una copia idéntica salvo el paquete, junto con
+ * {@link TransactionEvent} y {@link TransactionEventType}. Los cambios se hacen en
+ * ms-transaction y se copian: {@code SharedSourceCopiesTest} de ms-transaction falla si las
+ * copias difieren.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TransactionEventCodec {
+
+  public static final int SCHEMA_VERSION = 1;
+  private static final int MAGIC = 0xB7;
+
+  public static byte[] encode(TransactionEvent event) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(96);
+    out.write(MAGIC);
+    out.write(SCHEMA_VERSION);
+    out.write(event.getEventType().getCode());
+    writeVarLong(out, event.getOccurredAt() == null ? 0 : event.getOccurredAt().toEpochMilli() + 1);
+    writeString(out, event.getEventId());
+    writeString(out, event.getKey());
+    writeString(out, event.getTransactionId());
+    writeString(out, event.getTransactionType());
+    writeString(out, event.getOriginAccountId());
+    writeString(out, event.getDestinationAccountId());
+    writeString(out, event.getProductId());
+    writeDecimal(out, event.getAmount());
+    return out.toByteArray();
+  }
+
+  public static TransactionEvent decode(byte[] data) {
+    Reader in = new Reader(data);
+    if (in.readByte() != MAGIC) {
+      throw new IllegalArgumentException("Not a transaction event");
+    }
+    int version = in.readByte();
+    TransactionEventType type = TransactionEventType.fromCode(in.readByte());
+    long occurredAt = in.readVarLong();
+    return TransactionEvent.builder()
+        .schemaVersion(version)
+        .eventType(type)
+        .occurredAt(occurredAt == 0 ? null : Instant.ofEpochMilli(occurredAt - 1))
+        .eventId(in.readString())
+        .key(in.readString())
+        .transactionId(in.readString())
+        .transactionType(in.readString())
+        .originAccountId(in.readString())
+        .destinationAccountId(in.readString())
+        .productId(in.readString())
+        .amount(in.readDecimal())
+        .build();
+  }
+
+  private static void writeString(ByteArrayOutputStream out, String value) {
+    if (value == null) {
+      writeVarLong(out, 0);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(out, bytes.length + 1L);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  private static void writeDecimal(ByteArrayOutputStream out, BigDecimal value) {
+    if (value == null) {
+      writeVarLong(out, 0);
+      return;
+    }
+    byte[] unscaled = value.unscaledValue().toByteArray();
+    writeVarLong(out, unscaled.length + 1L);
+    out.write(unscaled, 0, unscaled.length);
+    writeVarLong(out, (value.scale() << 1) ^ (value.scale() >> 31));
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  /**
+   * Lector secuencial; si el mensaje termina antes de un campo, el campo queda en null.
+   */
+  private static final class Reader {
+    private final byte[] data;
+    private int position;
+
+    Reader(byte[] data) {
+      this.data = data;
+    }
+
+    int readByte() {
+      if (position >= data.length) {
+        throw new IllegalArgumentException("Truncated transaction event");
+      }
+      return data[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+      if (position >= data.length) {
+        return 0;
+      }
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        int b = this.readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Malformed varint in transaction event");
+    }
+
+    String readString() {
+      int length = this.readLength();
+      if (length < 0) {
+        return null;
+      }
+      String value = new String(data, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+
+    BigDecimal readDecimal() {
+      int length = this.readLength();
+      if (length < 0) {
+        return null;
+      }
+      BigInteger unscaled = new BigInteger(data, position, length);
+      position += length;
+      int zigzag = (int) this.readVarLong();
+      return new BigDecimal(unscaled, (zigzag >>> 1) ^ -(zigzag & 1));
+    }
+
+    private int readLength() {
+      long length = this.readVarLong() - 1;
+      if (length > data.length - position) {
+        throw new IllegalArgumentException("Truncated transaction event");
+      }
+      return (int) length;
+    }
+  }
+}
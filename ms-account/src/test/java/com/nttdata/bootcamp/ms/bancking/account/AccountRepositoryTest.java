@@ -0,0 +1,118 @@
+package com.nttdata.bootcamp.ms.bancking.account;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.nttdata.bootcamp.ms.banking.account.dto.enumeration.RecordStatus;
+import com.nttdata.bootcamp.ms.banking.account.entity.Account;
+import com.nttdata.bootcamp.ms.banking.account.repository.AccountRepositoryCustomImpl;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Ejecuta los movimientos de saldo de {@link AccountRepositoryCustomImpl} sobre MongoDB real:
+ * piso, cuenta inactiva, {@code requestId} repetido y cuentas heredadas con el saldo guardado
+ * como texto. {@link BalanceDeltaGuardTest} comprueba las mismas condiciones sin Docker.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class AccountRepositoryTest {
+
+  @Container
+  static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+  private static MongoClient client;
+  private static ReactiveMongoTemplate template;
+  private static AccountRepositoryCustomImpl repository;
+
+  @BeforeAll
+  static void setUp() {
+    client = MongoClients.create(MONGO.getConnectionString());
+    template = new ReactiveMongoTemplate(client, "account_test");
+    repository = new AccountRepositoryCustomImpl(template);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    client.close();
+  }
+
+  @Test
+  void legacyTextBalanceIsConvertedOnceAndThenMoves() {
+    this.insertLegacy("L1", "100.50");
+
+    assertEquals(2L, repository.migrateLegacyBalances().block());
+    assertEquals(0L, repository.migrateLegacyBalances().block());
+
+    Account account = repository.applyBalanceDelta("L1", new BigDecimal("-100.50"), null, "r1").block();
+    assertEquals(0, BigDecimal.ZERO.compareTo(account.getBalance()));
+    assertEquals(Decimal128.class, this.raw("L1").get("balance").getClass());
+  }
+
+  @Test
+  void legacyTextBalanceKeepsTheFloorAfterMigration() {
+    this.insertLegacy("L2", "10");
+    repository.migrateLegacyBalances().block();
+
+    assertNull(repository.applyBalanceDelta("L2", new BigDecimal("-10.01"), null, "r1").block());
+  }
+
+  @Test
+  void debitBelowTheFloorIsNotApplied() {
+    this.insert("F1", "100", RecordStatus.ACTIVE);
+
+    assertNull(repository.applyBalanceDelta("F1", new BigDecimal("-60"), new BigDecimal("50"), "r1").block());
+    Account account = repository.applyBalanceDelta("F1", new BigDecimal("-50"), new BigDecimal("50"), "r2").block();
+    assertEquals(0, new BigDecimal("50").compareTo(account.getBalance()));
+  }
+
+  @Test
+  void inactiveAccountIsNotMoved() {
+    this.insert("I1", "100", RecordStatus.INACTIVE);
+
+    assertNull(repository.applyBalanceDelta("I1", new BigDecimal("10"), null, "r1").block());
+    assertEquals(new Decimal128(new BigDecimal("100")), this.raw("I1").get("balance"));
+  }
+
+  @Test
+  void repeatedRequestIdIsAppliedOnce() {
+    this.insert("D1", "100", RecordStatus.ACTIVE);
+
+    repository.applyBalanceDelta("D1", new BigDecimal("-30"), null, "saga-1:debit").block();
+    assertNull(repository.applyBalanceDelta("D1", new BigDecimal("-30"), null, "saga-1:debit").block());
+    assertEquals(new Decimal128(new BigDecimal("70")), this.raw("D1").get("balance"));
+  }
+
+  private void insert(String id, String balance, RecordStatus status) {
+    template.insert(Account.builder()
+        .id(id)
+        .balance(new BigDecimal(balance))
+        .openingBalance(new BigDecimal(balance))
+        .status(status)
+        .build()).block();
+  }
+
+  private void insertLegacy(String id, String balance) {
+    template.getCollection(template.getCollectionName(Account.class))
+        .flatMap(collection -> Mono.from(collection.insertOne(new Document("_id", id)
+            .append("balance", balance)
+            .append("openingBalance", balance)
+            .append("status", RecordStatus.ACTIVE.name()))))
+        .block();
+  }
+
+  private Document raw(String id) {
+    return template.findById(id, Document.class, template.getCollectionName(Account.class)).block();
+  }
+}
@@ -0,0 +1,125 @@
+package com.nttdata.bootcamp.ms.bancking.account;
+
+import com.mongodb.client.result.UpdateResult;
+import com.nttdata.bootcamp.ms.banking.account.entity.Account;
+import com.nttdata.bootcamp.ms.banking.account.repository.AccountRepositoryCustomImpl;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Comprueba sin MongoDB, tal como Spring Data los envía, el filtro y el update de
+ * {@link AccountRepositoryCustomImpl}: el {@code $inc} solo se aplica a una cuenta activa, por
+ * encima del piso y con un {@code requestId} no aplicado. {@link AccountRepositoryTest} los
+ * ejecuta sobre MongoDB real cuando hay Docker.
+ */
+public class BalanceDeltaGuardTest {
+
+  private MappingMongoConverter converter;
+  private ReactiveMongoTemplate template;
+  private AccountRepositoryCustomImpl repository;
+
+  @BeforeEach
+  void setUp() {
+    MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    mappingContext.afterPropertiesSet();
+    converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+
+    template = mock(ReactiveMongoTemplate.class);
+    when(template.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+        eq(Account.class))).thenReturn(Mono.empty());
+    when(template.getCollectionName(Account.class)).thenReturn("accounts");
+    when(template.updateMulti(any(Query.class), any(UpdateDefinition.class), anyString()))
+        .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+    repository = new AccountRepositoryCustomImpl(template);
+  }
+
+  @Test
+  void debitIsGuardedByStatusFloorAndRequestId() {
+    repository.applyBalanceDelta("A1", new BigDecimal("-60"), new BigDecimal("50"), "saga-1:debit").block();
+
+    assertEquals(Document.parse("{'_id': 'A1', 'status': 'ACTIVE', 'appliedRequestIds': {'$ne': 'saga-1:debit'},"
+            + " 'balance': {'$gte': {'$numberDecimal': '110'}}}"),
+        this.filter());
+    assertEquals(Document.parse("{'$inc': {'balance': {'$numberDecimal': '-60'}},"
+            + " '$push': {'appliedRequestIds': {'$each': ['saga-1:debit'], '$slice': -50}}}"),
+        this.update());
+  }
+
+  @Test
+  void debitWithoutMinimumCannotGoBelowZero() {
+    repository.applyBalanceDelta("A1", new BigDecimal("-60"), null, "r1").block();
+
+    assertEquals(new Document("$gte", new Decimal128(new BigDecimal("60"))), this.filter().get("balance"));
+  }
+
+  @Test
+  void creditWithoutMinimumHasNoFloor() {
+    repository.applyBalanceDelta("A1", new BigDecimal("60"), null, "r1").block();
+
+    assertEquals(Document.parse("{'_id': 'A1', 'status': 'ACTIVE', 'appliedRequestIds': {'$ne': 'r1'}}"),
+        this.filter());
+  }
+
+  @Test
+  void migrationOnlyTouchesTextBalances() {
+    assertEquals(2L, repository.migrateLegacyBalances().block());
+
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+    verify(template, times(2)).updateMulti(query.capture(), update.capture(), eq("accounts"));
+    assertEquals(Document.parse("{'balance': {'$type': ['string']}}"), query.getAllValues().get(0).getQueryObject());
+    assertEquals(List.of(Document.parse("{'$set': {'openingBalance': {'$toDecimal': '$openingBalance'}}}")),
+        ((AggregationUpdate) update.getAllValues().get(1)).toPipeline(Aggregation.DEFAULT_CONTEXT));
+  }
+
+  private Document filter() {
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(template).findAndModify(query.capture(), any(UpdateDefinition.class), any(FindAndModifyOptions.class),
+        eq(Account.class));
+    return new QueryMapper(converter).getMappedObject(query.getValue().getQueryObject(), this.entity());
+  }
+
+  private Document update() {
+    ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+    verify(template).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+        eq(Account.class));
+    return new UpdateMapper(converter).getMappedObject(update.getValue().getUpdateObject(), this.entity());
+  }
+
+  private MongoPersistentEntity<?> entity() {
+    return converter.getMappingContext().getRequiredPersistentEntity(Account.class);
+  }
+}
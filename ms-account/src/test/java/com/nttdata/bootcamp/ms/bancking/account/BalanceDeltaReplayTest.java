@@ -0,0 +1,190 @@
+package com.nttdata.bootcamp.ms.bancking.account;
+
+import com.nttdata.bootcamp.ms.banking.account.dto.enumeration.RecordStatus;
+import com.nttdata.bootcamp.ms.banking.account.dto.request.AccountRequest;
+import com.nttdata.bootcamp.ms.banking.account.dto.request.BalanceDeltaRequest;
+import com.nttdata.bootcamp.ms.banking.account.entity.Account;
+import com.nttdata.bootcamp.ms.banking.account.entity.BalanceMovement;
+import com.nttdata.bootcamp.ms.banking.account.exception.ApiUnavailableException;
+import com.nttdata.bootcamp.ms.banking.account.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.account.exception.ResponseExceptionHandler;
+import com.nttdata.bootcamp.ms.banking.account.mapper.AccountMapper;
+import com.nttdata.bootcamp.ms.banking.account.mapper.CustomerMapper;
+import com.nttdata.bootcamp.ms.banking.account.repository.AccountRepository;
+import com.nttdata.bootcamp.ms.banking.account.repository.BalanceMovementRepository;
+import com.nttdata.bootcamp.ms.banking.account.service.KafkaService;
+import com.nttdata.bootcamp.ms.banking.account.service.impl.AccountServiceImpl;
+import com.nttdata.bootcamp.ms.banking.account.utility.ReactiveCache;
+import com.mongodb.MongoTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reintentos de movimientos de saldo como los que reenvía la recuperación de sagas: la
+ * ventana de {@code appliedRequestIds} se emula con el mismo límite que en MongoDB.
+ */
+public class BalanceDeltaReplayTest {
+
+  private static final int WINDOW = 50;
+
+  private final Map<String, BalanceMovement> movements = new ConcurrentHashMap<>();
+  private Account account;
+  private AccountRepository accountRepository;
+  private BalanceMovementRepository balanceMovementRepository;
+  private AccountServiceImpl service;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    account = Account.builder()
+        .id("A1")
+        .balance(new BigDecimal("1000.00"))
+        .openingBalance(new BigDecimal("1000.00"))
+        .status(RecordStatus.ACTIVE)
+        .appliedRequestIds(new ArrayList<>())
+        .build();
+
+    accountRepository = mock(AccountRepository.class);
+    when(accountRepository.findById("A1")).thenAnswer(invocation -> Mono.fromCallable(this::copy));
+    when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> {
+      account = invocation.getArgument(0);
+      return Mono.just(this.copy());
+    });
+    when(accountRepository.applyBalanceDelta(anyString(), any(), any(), anyString())).thenAnswer(invocation -> {
+      BigDecimal delta = invocation.getArgument(1);
+      String requestId = invocation.getArgument(3);
+      return Mono.fromCallable(() -> {
+        if (account.getAppliedRequestIds().contains(requestId)
+            || account.getBalance().add(delta).signum() < 0) {
+          return null;
+        }
+        account.setBalance(account.getBalance().add(delta));
+        List<String> window = new ArrayList<>(account.getAppliedRequestIds());
+        window.add(requestId);
+        account.setAppliedRequestIds(new ArrayList<>(window.subList(Math.max(0, window.size() - WINDOW),
+            window.size())));
+        return this.copy();
+      });
+    });
+
+    balanceMovementRepository = mock(BalanceMovementRepository.class);
+    when(balanceMovementRepository.findById(anyString()))
+        .thenAnswer(invocation -> Mono.justOrEmpty(movements.get(invocation.<String>getArgument(0))));
+    when(balanceMovementRepository.insert(any(BalanceMovement.class))).thenAnswer(invocation -> {
+      BalanceMovement movement = invocation.getArgument(0);
+      return movements.putIfAbsent(movement.getId(), movement) == null
+          ? Mono.just(movement)
+          : Mono.error(new DuplicateKeyException(movement.getId()));
+    });
+
+    TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+    when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    ReactiveCache reactiveCache = mock(ReactiveCache.class);
+    when(reactiveCache.evict(anyString(), anyString())).thenReturn(Mono.empty());
+
+    service = new AccountServiceImpl(accountRepository, new AccountMapper(), mock(WebClient.class),
+        mock(CustomerMapper.class), mock(KafkaService.class), reactiveCache, balanceMovementRepository,
+        transactionalOperator);
+  }
+
+  @Test
+  void sagaStepReplayedAfterWindowRolledOverIsNotAppliedAgain() {
+    this.apply("saga-1:debit", "-100.00");
+    for (int i = 0; i < WINDOW + 10; i++) {
+      this.apply("tx-" + i, "1.00");
+    }
+
+    BigDecimal replayed = this.apply("saga-1:debit", "-100.00");
+
+    assertEquals(0, new BigDecimal("960.00").compareTo(replayed));
+    assertEquals(0, new BigDecimal("960.00").compareTo(account.getBalance()));
+    assertEquals(WINDOW + 11, movements.size());
+  }
+
+  @Test
+  void updateAccountKeepsAppliedRequestIds() {
+    this.apply("saga-1:credit", "50.00");
+    AccountRequest request = new AccountRequest();
+    request.setBalance(account.getBalance());
+
+    service.updateAccount("A1", request).block();
+
+    assertEquals(List.of("saga-1:credit"), account.getAppliedRequestIds());
+  }
+
+  @Test
+  void updateAccountMovesTheOpeningBalanceByTheManualAdjustment() {
+    this.apply("saga-1:debit", "-100.00");
+    AccountRequest request = new AccountRequest();
+    request.setBalance(new BigDecimal("1200.00"));
+
+    service.updateAccount("A1", request).block();
+
+    assertEquals(0, new BigDecimal("1300.00").compareTo(account.getOpeningBalance()));
+    assertEquals(0, new BigDecimal("1200.00").compareTo(account.getBalance()));
+  }
+
+  @Test
+  void insufficientFundsIsARejection() {
+    StepVerifier.create(service.applyBalanceDelta("A1", delta("r1", "-5000.00")))
+        .expectErrorMatches(e -> e instanceof ApiValidateException && e.getMessage().equals("Insufficient funds"))
+        .verify();
+  }
+
+  @Test
+  void unexpectedFailureIsAnUnknownOutcomeAnsweredWith503() {
+    when(balanceMovementRepository.insert(any(BalanceMovement.class)))
+        .thenReturn(Mono.error(new MongoTimeoutException("commit timed out")));
+
+    StepVerifier.create(service.applyBalanceDelta("A1", delta("r1", "-100.00")))
+        .consumeErrorWith(error -> {
+          assertTrue(error instanceof ApiUnavailableException);
+          assertEquals(HttpStatus.SERVICE_UNAVAILABLE, new ResponseExceptionHandler()
+              .manejarResultadoIncierto((ApiUnavailableException) error).block().getStatusCode());
+        })
+        .verify();
+  }
+
+  private static BalanceDeltaRequest delta(String requestId, String delta) {
+    return BalanceDeltaRequest.builder()
+        .requestId(requestId)
+        .delta(new BigDecimal(delta))
+        .build();
+  }
+
+  private BigDecimal apply(String requestId, String delta) {
+    return service.applyBalanceDelta("A1", delta(requestId, delta))
+        .block()
+        .getBalance();
+  }
+
+  private Account copy() {
+    return Account.builder()
+        .id(account.getId())
+        .balance(account.getBalance())
+        .openingBalance(account.getOpeningBalance())
+        .status(account.getStatus())
+        .appliedRequestIds(account.getAppliedRequestIds() == null ? null
+            : new ArrayList<>(account.getAppliedRequestIds()))
+        .build();
+  }
+}
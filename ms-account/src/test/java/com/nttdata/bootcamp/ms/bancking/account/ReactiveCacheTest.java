@@ -0,0 +1,151 @@
+package com.nttdata.bootcamp.ms.bancking.account;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.account.dto.response.AccountResponse;
+import com.nttdata.bootcamp.ms.banking.account.utility.ReactiveCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReactiveCacheTest {
+
+  private final Map<String, String> store = new ConcurrentHashMap<>();
+  private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+  private ReactiveCache cache;
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    ReactiveStringRedisTemplate redis = mock(ReactiveStringRedisTemplate.class);
+    ReactiveValueOperations<String, String> values = mock(ReactiveValueOperations.class);
+    when(redis.opsForValue()).thenReturn(values);
+    when(values.get(anyString()))
+        .thenAnswer(invocation -> Mono.fromCallable(() -> store.get(invocation.<String>getArgument(0))));
+    when(values.set(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation -> Mono.fromCallable(() -> {
+      store.put(invocation.getArgument(0), invocation.getArgument(1));
+      return true;
+    }));
+    // SET_IF_UNCHANGED: guarda si la clave sigue como se leyó ("" si no existía)
+    when(redis.execute(any(RedisScript.class), anyList(), anyList())).thenAnswer(invocation -> Flux.defer(() -> {
+      String key = invocation.<List<String>>getArgument(1).get(0);
+      List<String> args = invocation.getArgument(2);
+      if (!Objects.equals(store.get(key), args.get(0).isEmpty() ? null : args.get(0))) {
+        return Flux.just(0L);
+      }
+      store.put(key, args.get(1));
+      expiries.put(key, Long.parseLong(args.get(2)));
+      return Flux.just(1L);
+    }));
+    cache = new ReactiveCache(redis, new ObjectMapper().findAndRegisterModules());
+    ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(30));
+    ReflectionTestUtils.setField(cache, "negativeTtl", Duration.ofSeconds(30));
+  }
+
+  @Test
+  void concurrentMissesShareOneLoad() {
+    Flux<AccountResponse> reads = Flux.range(0, 20)
+        .flatMap(i -> cache.get("accounts", "a1", AccountResponse.class,
+            () -> Mono.delay(Duration.ofMillis(50)).map(t -> this.account())));
+
+    StepVerifier.create(reads.count())
+        .expectNext(20L)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void notFoundIsCachedBriefly() {
+    StepVerifier.create(cache.get("accounts", "missing", AccountResponse.class, Mono::empty))
+        .verifyComplete();
+    assertEquals("!not-found", store.get("accounts::missing"));
+    assertEquals(30_000L, expiries.get("accounts::missing"));
+
+    StepVerifier.create(cache.get("accounts", "missing", AccountResponse.class,
+            () -> Mono.fromCallable(this::account)))
+        .verifyComplete();
+    assertEquals(0, loads.get());
+  }
+
+  @Test
+  void cachedValueIsReturnedWithoutLoading() {
+    store.put("accounts::a1", "{\"id\":\"a1\",\"balance\":10}");
+
+    StepVerifier.create(cache.get("accounts", "a1", AccountResponse.class,
+            () -> Mono.fromCallable(this::account)))
+        .expectNextMatches(account -> account.getBalance().compareTo(BigDecimal.TEN) == 0)
+        .verifyComplete();
+    assertEquals(0, loads.get());
+  }
+
+  @Test
+  void evictedKeyIsLoadedAgain() {
+    cache.get("accounts", "a1", AccountResponse.class, () -> Mono.fromCallable(this::account)).block();
+
+    StepVerifier.create(cache.evict("accounts", "a1")).verifyComplete();
+    assertTrue(store.get("accounts::a1").startsWith("!evicted:"));
+
+    StepVerifier.create(cache.get("accounts", "a1", AccountResponse.class,
+            () -> Mono.fromCallable(() -> this.account(BigDecimal.ONE))))
+        .expectNextMatches(account -> account.getBalance().compareTo(BigDecimal.ONE) == 0)
+        .verifyComplete();
+    assertEquals(2, loads.get());
+    assertTrue(store.get("accounts::a1").contains("\"balance\":1"));
+  }
+
+  @Test
+  void loadStartedBeforeAWriteDoesNotRepopulateTheCache() {
+    Sinks.One<AccountResponse> staleLoad = Sinks.one();
+    Mono<AccountResponse> first = cache.get("accounts", "a1", AccountResponse.class, staleLoad::asMono).cache();
+    first.subscribe();
+
+    cache.evict("accounts", "a1").block();
+    staleLoad.tryEmitValue(this.account());
+
+    StepVerifier.create(first.map(AccountResponse::getBalance))
+        .expectNext(BigDecimal.TEN)
+        .verifyComplete();
+    assertTrue(store.get("accounts::a1").startsWith("!evicted:"));
+
+    StepVerifier.create(cache.get("accounts", "a1", AccountResponse.class,
+            () -> Mono.fromCallable(() -> this.account(BigDecimal.ONE))).map(AccountResponse::getBalance))
+        .expectNext(BigDecimal.ONE)
+        .verifyComplete();
+  }
+
+  private AccountResponse account() {
+    return this.account(BigDecimal.TEN);
+  }
+
+  private AccountResponse account(BigDecimal balance) {
+    loads.incrementAndGet();
+    AccountResponse account = new AccountResponse();
+    account.setId("a1");
+    account.setBalance(balance);
+    return account;
+  }
+}
@@ -0,0 +1,34 @@
+package com.nttdata.bootcamp.ms.bancking.account;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * {@code ReactiveCache} se prueba aquí y se copia sin cambios, salvo el paquete, en
+ * ms-product y ms-customer. Si una copia difiere, se vuelve a copiar desde este módulo.
+ */
+public class SharedSourceCopiesTest {
+
+  private static final String SOURCES = "src/main/java/com/nttdata/bootcamp/ms/banking/";
+
+  @ParameterizedTest
+  @CsvSource({
+      "ms-product, product, utility/ReactiveCache.java",
+      "ms-customer, customer, utility/ReactiveCache.java"
+  })
+  void copyMatchesThisModule(String module, String basePackage, String file) throws IOException {
+    Path copy = Path.of("..", module, SOURCES + basePackage, file);
+    assumeTrue(Files.exists(copy), module + " is not checked out next to ms-account");
+
+    String expected = Files.readString(Path.of(SOURCES + "account", file))
+        .replace("banking.account.", "banking." + basePackage + ".");
+    assertEquals(expected, Files.readString(copy), copy + " differs from ms-account");
+  }
+}
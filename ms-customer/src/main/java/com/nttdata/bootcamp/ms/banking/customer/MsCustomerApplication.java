@@ -2,10 +2,8 @@ package com.nttdata.bootcamp.ms.banking.customer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
-@EnableCaching
 @SpringBootApplication
 public class MsCustomerApplication {
 
@@ -1,16 +1,12 @@
 package com.nttdata.bootcamp.ms.banking.customer.config;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
-
-import java.time.Duration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 
 @Configuration
 public class RedisConfig {
@@ -35,14 +31,8 @@ public class RedisConfig {
   }
 
   @Bean
-  public CacheManager cacheManager(LettuceConnectionFactory redisConnectionFactory) {
-    RedisCacheConfiguration defaultCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-        .entryTtl(Duration.ofMinutes(30))
-        .disableCachingNullValues();
-
-    return RedisCacheManager.builder(redisConnectionFactory)
-        .cacheDefaults(defaultCacheConfig)
-        .build();
+  public ReactiveStringRedisTemplate reactiveStringRedisTemplate(LettuceConnectionFactory redisConnectionFactory) {
+    return new ReactiveStringRedisTemplate(redisConnectionFactory);
   }
 }
 
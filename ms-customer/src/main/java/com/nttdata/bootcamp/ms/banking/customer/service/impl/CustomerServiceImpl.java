@@ -10,10 +10,9 @@ import com.nttdata.bootcamp.ms.banking.customer.mapper.CustomerMapper;
 import com.nttdata.bootcamp.ms.banking.customer.repository.CustomerRepository;
 import com.nttdata.bootcamp.ms.banking.customer.service.CustomerService;
 import com.nttdata.bootcamp.ms.banking.customer.utility.ConstantUtil;
+import com.nttdata.bootcamp.ms.banking.customer.utility.ReactiveCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -34,8 +33,11 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class CustomerServiceImpl implements CustomerService {
 
+  private static final String CACHE_NAME = "customer";
+
   private final CustomerRepository customerRepository;
   private final CustomerMapper customerMapper;
+  private final ReactiveCache reactiveCache;
 
 
   public Mono<CustomerResponse> createCustomer(CustomerRequest request) {
@@ -49,14 +51,12 @@ public class CustomerServiceImpl implements CustomerService {
         .map(customerMapper::toResponse);
   }
 
-  @Cacheable(value = "customer", key = "#id")
   public Mono<CustomerResponse> getCustomerById(String id) {
-    return customerRepository.findById(id)
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
-        .map(customerMapper::toResponse);
+    return reactiveCache.get(CACHE_NAME, id, CustomerResponse.class,
+            () -> customerRepository.findById(id).map(customerMapper::toResponse))
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)));
   }
 
-  @CachePut(value = "customer", key = "#id")
   public Mono<CustomerResponse> updateCustomer(String id, CustomerRequest request) {
     return customerRepository.findById(id)
         .switchIfEmpty(Mono.error(new ApiValidateException("Customer not found.")))
@@ -65,18 +65,17 @@ public class CustomerServiceImpl implements CustomerService {
           updated.setId(existing.getId());
           return customerRepository.save(updated);
         })
+        .flatMap(saved -> reactiveCache.evict(CACHE_NAME, id).thenReturn(saved))
         .map(customerMapper::toResponse);
   }
 
-  @CachePut(value = "customer", key = "#id")
   public Mono<Void> deleteCustomer(String id) {
-    customerRepository.findById(id)
+    return customerRepository.findById(id)
         .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
         .flatMap(existing -> {
           existing.setStatus(RecordStatus.INACTIVE);
-          customerRepository.save(existing);
-          return null;
-        });
-    return null;
+          return customerRepository.save(existing);
+        })
+        .then(reactiveCache.evict(CACHE_NAME, id));
   }
 }
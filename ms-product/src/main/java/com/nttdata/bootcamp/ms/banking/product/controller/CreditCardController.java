@@ -1,8 +1,10 @@
 package com.nttdata.bootcamp.ms.banking.product.controller;
 
 
+import com.nttdata.bootcamp.ms.banking.product.dto.request.BalanceDeltaRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.request.CreditCardRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditCardResponse;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditCardSummaryResponse;
 import com.nttdata.bootcamp.ms.banking.product.service.CreditCardService;
 import com.nttdata.bootcamp.ms.banking.product.utility.ConstantUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,7 +22,7 @@ import reactor.core.publisher.Mono;
  * retrieving, updating, and blocking credit cards.</p>
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.1
+ * @version 1.3
  */
 @RestController
 @RequestMapping("/api/cards/credit")
@@ -74,6 +76,23 @@ public class CreditCardController {
     return creditCardService.updateCreditCard(id, request);
   }
 
+  /**
+   * Endpoint to add an amount to the used balance of a credit card; a payment is a negative delta.
+   *
+   * @param id      the credit card ID
+   * @param request the delta and the request ID that makes it idempotent
+   * @return the credit card after the delta
+   */
+  @Operation(summary = "Apply Credit Card Balance Delta",
+      description = "Atomically adds a delta to the balance of an active credit card, once per request ID.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.NOT_FOUND_CODE, description = ConstantUtil.NOT_FOUND_MESSAGE)
+  @PatchMapping("/{id}/balance")
+  public Mono<CreditCardResponse> applyBalanceDelta(@PathVariable String id,
+                                                    @Valid @RequestBody BalanceDeltaRequest request) {
+    return creditCardService.applyBalanceDelta(id, request);
+  }
+
   /**
    * Endpoint to delete a credit card.
    *
@@ -86,4 +105,18 @@ public class CreditCardController {
   public Mono<Void> deleteCreditCard(@PathVariable String id) {
     return creditCardService.deleteCreditCard(id);
   }
+
+  /**
+   * Endpoint to summarize the credit cards of a customer.
+   *
+   * @param customerId the customer ID
+   * @return card counts, totals and overdue flags
+   */
+  @Operation(summary = "Get Credit Card Summary By Customer ID",
+      description = "Totals the credit cards, limits and used balance of a customer, flagging overdue debt, in a single aggregation.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @GetMapping("/customer/{customerId}/summary")
+  public Mono<CreditCardSummaryResponse> getCreditCardSummary(@PathVariable String customerId) {
+    return creditCardService.getCreditCardSummary(customerId);
+  }
 }
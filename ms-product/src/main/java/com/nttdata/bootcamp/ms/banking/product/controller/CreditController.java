@@ -1,7 +1,9 @@
 package com.nttdata.bootcamp.ms.banking.product.controller;
 
+import com.nttdata.bootcamp.ms.banking.product.dto.request.BalanceDeltaRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.request.CreditRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditResponse;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditSummaryResponse;
 import com.nttdata.bootcamp.ms.banking.product.service.CreditService;
 import com.nttdata.bootcamp.ms.banking.product.utility.ConstantUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,7 +21,7 @@ import reactor.core.publisher.Mono;
  * retrieving, updating, and deleting credits.</p>
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.1
+ * @version 1.3
  */
 @RestController
 @RequestMapping("/api/credits")
@@ -73,6 +75,22 @@ public class CreditController {
     return creditService.updateCredit(id, request);
   }
 
+  /**
+   * Endpoint to add an amount to the debt of a credit; a payment is a negative delta.
+   *
+   * @param id      the credit ID
+   * @param request the delta and the request ID that makes it idempotent
+   * @return the credit after the delta
+   */
+  @Operation(summary = "Apply Credit Debt Delta",
+      description = "Atomically adds a delta to the debt of an active credit, once per request ID.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.NOT_FOUND_CODE, description = ConstantUtil.NOT_FOUND_MESSAGE)
+  @PatchMapping("/{id}/debt")
+  public Mono<CreditResponse> applyDebtDelta(@PathVariable String id, @Valid @RequestBody BalanceDeltaRequest request) {
+    return creditService.applyDebtDelta(id, request);
+  }
+
   /**
    * Endpoint to delete a credit.
    *
@@ -85,5 +103,18 @@ public class CreditController {
   public Mono<Void> deleteCredit(@PathVariable String id) {
     return creditService.deleteCredit(id);
   }
-}
 
+  /**
+   * Endpoint to summarize the credits of a customer.
+   *
+   * @param customerId the customer ID
+   * @return credit counts, total debt and overdue flags
+   */
+  @Operation(summary = "Get Credit Summary By Customer ID",
+      description = "Totals the credits and debt of a customer, flagging overdue debt, in a single aggregation.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @GetMapping("/customer/{customerId}/summary")
+  public Mono<CreditSummaryResponse> getCreditSummary(@PathVariable String customerId) {
+    return creditService.getCreditSummary(customerId);
+  }
+}
@@ -1,6 +1,7 @@
 package com.nttdata.bootcamp.ms.banking.product.controller;
 import com.nttdata.bootcamp.ms.banking.product.dto.request.DebitCardRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.DebitCardResponse;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.DebitCardSummaryResponse;
 import com.nttdata.bootcamp.ms.banking.product.service.DebitCardService;
 import com.nttdata.bootcamp.ms.banking.product.utility.ConstantUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,7 +18,7 @@ import reactor.core.publisher.Mono;
  * blocking, and performing transactions with debit cards.
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.0
+ * @version 1.1
  */
 @RestController
 @RequestMapping("/api/cards/debit")
@@ -83,4 +84,18 @@ public class DebitCardController {
   public Mono<Void> deleteDebitCard(@PathVariable String id) {
     return debitCardService.deleteDebitCard(id);
   }
+
+  /**
+   * Endpoint to summarize the debit cards of a customer.
+   *
+   * @param customerId the customer ID
+   * @return card counts and linked accounts
+   */
+  @Operation(summary = "Get Debit Card Summary By Customer ID",
+      description = "Counts the debit cards of a customer and their linked accounts in a single aggregation.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @GetMapping("/customer/{customerId}/summary")
+  public Mono<DebitCardSummaryResponse> getDebitCardSummary(@PathVariable String customerId) {
+    return debitCardService.getDebitCardSummary(customerId);
+  }
 }
@@ -0,0 +1,24 @@
+package com.nttdata.bootcamp.ms.banking.product.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento publicado cuando cambia el estado de una cuenta, crédito o tarjeta fuera del flujo
+ * de transacciones. Los consumidores lo usan para descartar copias en caché del producto.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStateEvent {
+  private String productId; // Cuenta, crédito o tarjeta que cambió
+  private String productType; // ACCOUNT, CREDIT o CREDIT_CARD
+  private String status; // Estado tras el cambio
+  private long occurredAt; // Momento del cambio en milisegundos desde epoch
+}
@@ -0,0 +1,30 @@
+package com.nttdata.bootcamp.ms.banking.product.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Request DTO para aplicar un movimiento atómico sobre la deuda de un crédito o el saldo
+ * utilizado de una tarjeta de crédito. Un pago es un delta negativo.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceDeltaRequest {
+
+  @NotNull(message = "Delta is mandatory")
+  private BigDecimal delta; // Monto a sumar (positivo) o restar (negativo)
+
+  @NotBlank(message = "Request ID is mandatory")
+  private String requestId; // Identificador de la operación, evita aplicar dos veces el mismo movimiento
+}
@@ -0,0 +1,30 @@
+package com.nttdata.bootcamp.ms.banking.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Resumen de los créditos de un cliente, calculado en MongoDB.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditSummaryResponse implements Serializable {
+  private String customerId; // ID del cliente
+  private long totalCredits; // Cantidad de créditos
+  private long activeCredits; // Cantidad de créditos activos
+  private BigDecimal totalAmount; // Monto principal de todos los créditos
+  private BigDecimal totalDebt; // Deuda pendiente de los créditos activos
+  private long overdueCredits; // Créditos activos con deuda y fecha de vencimiento pasada
+  private BigDecimal overdueDebt; // Deuda pendiente de los créditos vencidos
+  private boolean hasOverdueDebt; // Indica si el cliente tiene deuda vencida
+}
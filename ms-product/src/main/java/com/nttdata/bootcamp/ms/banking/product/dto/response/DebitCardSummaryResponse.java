@@ -0,0 +1,25 @@
+package com.nttdata.bootcamp.ms.banking.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Resumen de las tarjetas de débito de un cliente, calculado en MongoDB.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DebitCardSummaryResponse implements Serializable {
+  private String customerId; // ID del cliente
+  private long totalCards; // Cantidad de tarjetas de débito
+  private long activeCards; // Cantidad de tarjetas activas
+  private long linkedAccounts; // Cuentas asociadas a las tarjetas
+}
@@ -0,0 +1,35 @@
+package com.nttdata.bootcamp.ms.banking.product.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Movimiento aplicado a la deuda de un crédito o al saldo de una tarjeta, uno por
+ * {@code requestId}. El {@code _id} es el propio {@code requestId}, así el índice único de
+ * MongoDB impide aplicar dos veces el mismo movimiento.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "product_movements")
+public class ProductMovement {
+  @Id
+  private String id;                      // requestId del movimiento
+  private String productId;               // Crédito o tarjeta movido
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal delta;               // Monto aplicado
+  private LocalDateTime appliedAt;        // Momento en que se aplicó
+}
@@ -6,7 +6,7 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 
 @Repository
-public interface CreditCardRepository extends ReactiveMongoRepository<CreditCard, String> {
+public interface CreditCardRepository extends ReactiveMongoRepository<CreditCard, String>, CreditCardRepositoryCustom {
     Flux<CreditCard> findByCustomerId(String customerId);
 }
 
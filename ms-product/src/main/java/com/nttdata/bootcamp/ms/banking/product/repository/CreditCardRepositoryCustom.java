@@ -0,0 +1,38 @@
+package com.nttdata.bootcamp.ms.banking.product.repository;
+
+import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditCardSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.product.entity.CreditCard;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Operaciones de tarjetas de crédito que no pueden expresarse como métodos derivados.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public interface CreditCardRepositoryCustom {
+
+  /**
+   * Resume las tarjetas de crédito de un cliente con una sola agregación. Una tarjeta está
+   * vencida si está activa, tiene saldo utilizado y su fecha de corte es anterior a
+   * {@code today}.
+   *
+   * @param customerId ID del cliente.
+   * @param today      Fecha de referencia para el vencimiento.
+   * @return El resumen; con ceros si el cliente no tiene tarjetas de crédito.
+   */
+  Mono<CreditCardSummaryResponse> summarizeByCustomerId(String customerId, LocalDate today);
+
+  /**
+   * Suma {@code delta} al saldo utilizado de una tarjeta de crédito no inactiva en una única
+   * escritura {@code findAndModify}.
+   *
+   * @param id    ID de la tarjeta.
+   * @param delta Monto a sumar al saldo utilizado (negativo para un pago).
+   * @return La tarjeta actualizada, o vacío si no existe o está inactiva.
+   */
+  Mono<CreditCard> applyBalanceDelta(String id, BigDecimal delta);
+}
@@ -0,0 +1,80 @@
+package com.nttdata.bootcamp.ms.banking.product.repository;
+
+import com.nttdata.bootcamp.ms.banking.product.dto.enumeration.RecordStatus;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditCardSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.product.entity.CreditCard;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.addDecimal;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.all;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.countIf;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.groupAll;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.decimalOf;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.isActive;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.isBefore;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.isPositive;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.longOf;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.sumIf;
+
+/**
+ * Implementación de {@link CreditCardRepositoryCustom} sobre {@link ReactiveMongoTemplate}.
+ * Las tarjetas de crédito y de débito comparten la colección {@code cards}; aquí solo se
+ * consideran las de tipo {@code CREDIT}.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@RequiredArgsConstructor
+public class CreditCardRepositoryCustomImpl implements CreditCardRepositoryCustom {
+
+  static final String CREDIT_TYPE = "CREDIT";
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  @Override
+  public Mono<CreditCardSummaryResponse> summarizeByCustomerId(String customerId, LocalDate today) {
+    Document overdue = all(isActive(), isPositive("balance"), isBefore("cutoffDate", today));
+    Aggregation aggregation = Aggregation.newAggregation(
+        Aggregation.match(Criteria.where("customerId").is(customerId).and("type").is(CREDIT_TYPE)),
+        groupAll(new Document("cards", new Document("$sum", 1))
+            .append("active", countIf(isActive()))
+            .append("creditLimit", sumIf(isActive(), "creditLimit"))
+            .append("balance", sumIf(isActive(), "balance"))
+            .append("overdue", countIf(overdue))));
+    return mongoTemplate.aggregate(aggregation, CreditCard.class, Document.class)
+        .next()
+        .map(totals -> CreditCardSummaryResponse.builder()
+            .customerId(customerId)
+            .totalCards(longOf(totals, "cards"))
+            .activeCards(longOf(totals, "active"))
+            .totalCreditLimit(decimalOf(totals, "creditLimit"))
+            .totalBalance(decimalOf(totals, "balance"))
+            .overdueCards(longOf(totals, "overdue"))
+            .hasOverdueDebt(longOf(totals, "overdue") > 0)
+            .build())
+        .defaultIfEmpty(CreditCardSummaryResponse.builder()
+            .customerId(customerId)
+            .totalCreditLimit(BigDecimal.ZERO)
+            .totalBalance(BigDecimal.ZERO)
+            .build());
+  }
+
+  @Override
+  public Mono<CreditCard> applyBalanceDelta(String id, BigDecimal delta) {
+    Query query = Query.query(Criteria.where("_id").is(id)
+        .and("type").is(CREDIT_TYPE)
+        .and("status").ne(RecordStatus.INACTIVE));
+    return mongoTemplate.findAndModify(query, addDecimal("balance", delta),
+        FindAndModifyOptions.options().returnNew(true), CreditCard.class);
+  }
+}
@@ -6,7 +6,7 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 
 @Repository
-public interface CreditRepository extends ReactiveMongoRepository<Credit, String> {
+public interface CreditRepository extends ReactiveMongoRepository<Credit, String>, CreditRepositoryCustom {
     Flux<Credit> findByCustomerId(String customerId);
     // Podrías añadir búsquedas por estado, tipo, etc. de ser necesario
 }
@@ -0,0 +1,37 @@
+package com.nttdata.bootcamp.ms.banking.product.repository;
+
+import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.product.entity.Credit;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Operaciones de créditos que no pueden expresarse como métodos derivados.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public interface CreditRepositoryCustom {
+
+  /**
+   * Resume los créditos de un cliente con una sola agregación. Un crédito está vencido si
+   * está activo, tiene deuda y su fecha de vencimiento es anterior a {@code today}.
+   *
+   * @param customerId ID del cliente.
+   * @param today      Fecha de referencia para el vencimiento.
+   * @return El resumen; con ceros si el cliente no tiene créditos.
+   */
+  Mono<CreditSummaryResponse> summarizeByCustomerId(String customerId, LocalDate today);
+
+  /**
+   * Suma {@code delta} a la deuda de un crédito no inactivo en una única escritura
+   * {@code findAndModify}.
+   *
+   * @param id    ID del crédito.
+   * @param delta Monto a sumar a la deuda (negativo para un pago).
+   * @return El crédito actualizado, o vacío si no existe o está inactivo.
+   */
+  Mono<Credit> applyDebtDelta(String id, BigDecimal delta);
+}
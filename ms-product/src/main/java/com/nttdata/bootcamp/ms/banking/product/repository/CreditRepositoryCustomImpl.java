@@ -0,0 +1,79 @@
+package com.nttdata.bootcamp.ms.banking.product.repository;
+
+import com.nttdata.bootcamp.ms.banking.product.dto.enumeration.RecordStatus;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.product.entity.Credit;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.addDecimal;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.all;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.countIf;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.groupAll;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.decimal;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.decimalOf;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.isActive;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.isBefore;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.isPositive;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.longOf;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.sumIf;
+
+/**
+ * Implementación de {@link CreditRepositoryCustom} sobre {@link ReactiveMongoTemplate}.
+ * MongoDB devuelve una sola fila con los totales del cliente.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@RequiredArgsConstructor
+public class CreditRepositoryCustomImpl implements CreditRepositoryCustom {
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  @Override
+  public Mono<CreditSummaryResponse> summarizeByCustomerId(String customerId, LocalDate today) {
+    Document overdue = all(isActive(), isPositive("debt"), isBefore("dueDate", today));
+    Aggregation aggregation = Aggregation.newAggregation(
+        Aggregation.match(Criteria.where("customerId").is(customerId)),
+        groupAll(new Document("credits", new Document("$sum", 1))
+            .append("active", countIf(isActive()))
+            .append("amount", new Document("$sum", decimal("amount")))
+            .append("debt", sumIf(isActive(), "debt"))
+            .append("overdue", countIf(overdue))
+            .append("overdueDebt", sumIf(overdue, "debt"))));
+    return mongoTemplate.aggregate(aggregation, Credit.class, Document.class)
+        .next()
+        .map(totals -> CreditSummaryResponse.builder()
+            .customerId(customerId)
+            .totalCredits(longOf(totals, "credits"))
+            .activeCredits(longOf(totals, "active"))
+            .totalAmount(decimalOf(totals, "amount"))
+            .totalDebt(decimalOf(totals, "debt"))
+            .overdueCredits(longOf(totals, "overdue"))
+            .overdueDebt(decimalOf(totals, "overdueDebt"))
+            .hasOverdueDebt(longOf(totals, "overdue") > 0)
+            .build())
+        .defaultIfEmpty(CreditSummaryResponse.builder()
+            .customerId(customerId)
+            .totalAmount(BigDecimal.ZERO)
+            .totalDebt(BigDecimal.ZERO)
+            .overdueDebt(BigDecimal.ZERO)
+            .build());
+  }
+
+  @Override
+  public Mono<Credit> applyDebtDelta(String id, BigDecimal delta) {
+    Query query = Query.query(Criteria.where("_id").is(id).and("status").ne(RecordStatus.INACTIVE));
+    return mongoTemplate.findAndModify(query, addDecimal("debt", delta),
+        FindAndModifyOptions.options().returnNew(true), Credit.class);
+  }
+}
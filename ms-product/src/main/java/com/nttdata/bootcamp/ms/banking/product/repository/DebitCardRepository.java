@@ -6,7 +6,7 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 
 @Repository
-public interface DebitCardRepository extends ReactiveMongoRepository<DebitCard, String> {
+public interface DebitCardRepository extends ReactiveMongoRepository<DebitCard, String>, DebitCardRepositoryCustom {
     Flux<DebitCard> findByCustomerId(String customerId);
 }
 
@@ -0,0 +1,21 @@
+package com.nttdata.bootcamp.ms.banking.product.repository;
+
+import com.nttdata.bootcamp.ms.banking.product.dto.response.DebitCardSummaryResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Operaciones de tarjetas de débito que no pueden expresarse como métodos derivados.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface DebitCardRepositoryCustom {
+
+  /**
+   * Resume las tarjetas de débito de un cliente con una sola agregación.
+   *
+   * @param customerId ID del cliente.
+   * @return El resumen; con ceros si el cliente no tiene tarjetas de débito.
+   */
+  Mono<DebitCardSummaryResponse> summarizeByCustomerId(String customerId);
+}
@@ -0,0 +1,52 @@
+package com.nttdata.bootcamp.ms.banking.product.repository;
+
+import com.nttdata.bootcamp.ms.banking.product.dto.response.DebitCardSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.product.entity.DebitCard;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.countIf;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.groupAll;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.isActive;
+import static com.nttdata.bootcamp.ms.banking.product.repository.SummaryExpressions.longOf;
+
+/**
+ * Implementación de {@link DebitCardRepositoryCustom} sobre {@link ReactiveMongoTemplate}.
+ * Las tarjetas de crédito y de débito comparten la colección {@code cards}; aquí solo se
+ * consideran las de tipo {@code DEBIT}.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@RequiredArgsConstructor
+public class DebitCardRepositoryCustomImpl implements DebitCardRepositoryCustom {
+
+  static final String DEBIT_TYPE = "DEBIT";
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  @Override
+  public Mono<DebitCardSummaryResponse> summarizeByCustomerId(String customerId) {
+    Aggregation aggregation = Aggregation.newAggregation(
+        Aggregation.match(Criteria.where("customerId").is(customerId).and("type").is(DEBIT_TYPE)),
+        groupAll(new Document("cards", new Document("$sum", 1))
+            .append("active", countIf(isActive()))
+            .append("accounts", new Document("$sum", new Document("$size",
+                new Document("$ifNull", List.of("$associatedAccounts", List.of())))))));
+    return mongoTemplate.aggregate(aggregation, DebitCard.class, Document.class)
+        .next()
+        .map(totals -> DebitCardSummaryResponse.builder()
+            .customerId(customerId)
+            .totalCards(longOf(totals, "cards"))
+            .activeCards(longOf(totals, "active"))
+            .linkedAccounts(longOf(totals, "accounts"))
+            .build())
+        .defaultIfEmpty(DebitCardSummaryResponse.builder().customerId(customerId).build());
+  }
+}
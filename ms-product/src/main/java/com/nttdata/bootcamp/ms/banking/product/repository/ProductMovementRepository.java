@@ -0,0 +1,9 @@
+package com.nttdata.bootcamp.ms.banking.product.repository;
+
+import com.nttdata.bootcamp.ms.banking.product.entity.ProductMovement;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductMovementRepository extends ReactiveMongoRepository<ProductMovement, String> {
+}
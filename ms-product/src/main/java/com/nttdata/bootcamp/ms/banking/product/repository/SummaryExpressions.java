@@ -0,0 +1,91 @@
+package com.nttdata.bootcamp.ms.banking.product.repository;
+
+import com.nttdata.bootcamp.ms.banking.product.dto.enumeration.RecordStatus;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Expresiones compartidas por las agregaciones de resumen de productos y por los
+ * movimientos de deuda y saldo.
+ *
+ * <p>Los importes se guardan como texto o como {@code Decimal128} según cómo se creó el
+ * documento, así que se suman con {@code $toDecimal}. Las fechas se comparan con el inicio
+ * del día en la zona del sistema, igual que Spring Data escribe un {@link LocalDate}.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class SummaryExpressions {
+
+  /**
+   * Etapa {@code $group} que reúne todos los documentos en una sola fila.
+   */
+  static AggregationOperation groupAll(Document accumulators) {
+    Document group = new Document("_id", null);
+    group.putAll(accumulators);
+    return context -> new Document("$group", group);
+  }
+
+  /**
+   * Actualización que suma {@code delta} a un importe en el servidor, en la misma escritura
+   * que lo lee, y lo vuelve a guardar como texto, igual que Spring Data escribe un
+   * {@link BigDecimal}.
+   */
+  static AggregationUpdate addDecimal(String field, BigDecimal delta) {
+    Document sum = new Document("$toString", new Document("$add", List.of(decimal(field), new Decimal128(delta))));
+    return AggregationUpdate.from(List.of(context -> new Document("$set", new Document(field, sum))));
+  }
+
+  static Document decimal(String field) {
+    return new Document("$toDecimal", new Document("$ifNull", List.of("$" + field, 0)));
+  }
+
+  static Document isActive() {
+    return new Document("$eq", List.of("$status", RecordStatus.ACTIVE.name()));
+  }
+
+  static Document isBefore(String field, LocalDate day) {
+    Date start = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    return new Document("$lt", List.of(new Document("$ifNull", List.of("$" + field, start)), start));
+  }
+
+  static Document isPositive(String field) {
+    return new Document("$gt", List.of(decimal(field), 0));
+  }
+
+  static Document all(Document... conditions) {
+    return new Document("$and", List.of(conditions));
+  }
+
+  static Document countIf(Document condition) {
+    return new Document("$sum", new Document("$cond", List.of(condition, 1, 0)));
+  }
+
+  static Document sumIf(Document condition, String field) {
+    return new Document("$sum", new Document("$cond", List.of(condition, decimal(field), 0)));
+  }
+
+  static long longOf(Document document, String key) {
+    Number value = document.get(key, Number.class);
+    return value != null ? value.longValue() : 0;
+  }
+
+  static BigDecimal decimalOf(Document document, String key) {
+    Object value = document.get(key);
+    if (value instanceof Decimal128 decimal) {
+      return decimal.bigDecimalValue();
+    }
+    return value == null ? BigDecimal.ZERO : new BigDecimal(value.toString());
+  }
+}
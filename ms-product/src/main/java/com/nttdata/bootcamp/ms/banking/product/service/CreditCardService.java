@@ -1,7 +1,9 @@
 package com.nttdata.bootcamp.ms.banking.product.service;
 
+import com.nttdata.bootcamp.ms.banking.product.dto.request.BalanceDeltaRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.request.CreditCardRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditCardResponse;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditCardSummaryResponse;
 import reactor.core.publisher.Mono;
 
 public interface CreditCardService {
@@ -9,5 +11,7 @@ public interface CreditCardService {
   Mono<CreditCardResponse> getCreditCardById(String id);
   Mono<CreditCardResponse> updateCreditCard(String id, CreditCardRequest request);
   Mono<Void> deleteCreditCard(String id);
+  Mono<CreditCardResponse> applyBalanceDelta(String id, BalanceDeltaRequest request);
+  Mono<CreditCardSummaryResponse> getCreditCardSummary(String customerId);
 }
 
@@ -1,7 +1,9 @@
 package com.nttdata.bootcamp.ms.banking.product.service;
 
+import com.nttdata.bootcamp.ms.banking.product.dto.request.BalanceDeltaRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.request.CreditRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditResponse;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditSummaryResponse;
 import reactor.core.publisher.Mono;
 
 public interface CreditService {
@@ -9,5 +11,7 @@ public interface CreditService {
   Mono<CreditResponse> getCreditById(String id);
   Mono<CreditResponse> updateCredit(String id, CreditRequest request);
   Mono<Void> deleteCredit(String id);
+  Mono<CreditResponse> applyDebtDelta(String id, BalanceDeltaRequest request);
+  Mono<CreditSummaryResponse> getCreditSummary(String customerId);
 }
 
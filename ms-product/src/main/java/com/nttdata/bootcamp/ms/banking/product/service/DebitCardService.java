@@ -2,6 +2,7 @@ package com.nttdata.bootcamp.ms.banking.product.service;
 
 import com.nttdata.bootcamp.ms.banking.product.dto.request.DebitCardRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.DebitCardResponse;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.DebitCardSummaryResponse;
 import reactor.core.publisher.Mono;
 
 public interface DebitCardService {
@@ -9,5 +10,6 @@ public interface DebitCardService {
   Mono<DebitCardResponse> getDebitCardById(String id);
   Mono<DebitCardResponse> updateDebitCard(String id, DebitCardRequest request);
   Mono<Void> deleteDebitCard(String id);
+  Mono<DebitCardSummaryResponse> getDebitCardSummary(String customerId);
 }
 
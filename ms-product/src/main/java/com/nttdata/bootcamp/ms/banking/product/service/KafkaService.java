@@ -2,5 +2,6 @@ package com.nttdata.bootcamp.ms.banking.product.service;
 
 public interface KafkaService {
   void listen(String message);
-}
 
+  void publishStateChange(String productId, String productType, String status);
+}
@@ -0,0 +1,27 @@
+package com.nttdata.bootcamp.ms.banking.product.service;
+
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Aplicación idempotente de movimientos sobre créditos y tarjetas de crédito.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface ProductMovementService {
+
+  /**
+   * Ejecuta {@code apply} y registra el movimiento en la misma transacción de MongoDB. Si
+   * {@code requestId} ya se registró, devuelve {@code current} sin volver a aplicarlo.
+   *
+   * @param productId ID del crédito o la tarjeta.
+   * @param requestId Identificador del movimiento.
+   * @param delta     Monto del movimiento.
+   * @param apply     Escritura condicionada; vacío si el producto no existe o está inactivo.
+   * @param current   Lectura del producto para un movimiento ya aplicado.
+   * @return El producto tras el movimiento.
+   */
+  <T> Mono<T> applyOnce(String productId, String requestId, BigDecimal delta, Mono<T> apply, Mono<T> current);
+}
@@ -1,9 +1,11 @@
 package com.nttdata.bootcamp.ms.banking.product.service.impl;
 
 import com.nttdata.bootcamp.ms.banking.product.dto.enumeration.RecordStatus;
+import com.nttdata.bootcamp.ms.banking.product.dto.request.BalanceDeltaRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.request.CreditCardRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.request.CustomerRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditCardResponse;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditCardSummaryResponse;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.CustomerResponse;
 import com.nttdata.bootcamp.ms.banking.product.entity.CreditCard;
 import com.nttdata.bootcamp.ms.banking.product.entity.Customer;
@@ -12,15 +14,18 @@ import com.nttdata.bootcamp.ms.banking.product.mapper.CreditCardMapper;
 import com.nttdata.bootcamp.ms.banking.product.mapper.CustomerMapper;
 import com.nttdata.bootcamp.ms.banking.product.repository.CreditCardRepository;
 import com.nttdata.bootcamp.ms.banking.product.service.CreditCardService;
+import com.nttdata.bootcamp.ms.banking.product.service.KafkaService;
+import com.nttdata.bootcamp.ms.banking.product.service.ProductMovementService;
 import com.nttdata.bootcamp.ms.banking.product.utility.ConstantUtil;
+import com.nttdata.bootcamp.ms.banking.product.utility.ReactiveCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+
 
 /**
  * Implementación del servicio de tarjetas de crédito.
@@ -34,17 +39,22 @@ import reactor.core.publisher.Mono;
  * de una nueva tarjeta.</p>
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.1
+ * @version 1.3
  */
 
 @Service
 @RequiredArgsConstructor
 public class CreditCardServiceImpl implements CreditCardService {
 
+  private static final String CACHE_NAME = "creditcard";
+
   private final CreditCardRepository creditCardRepository;
   private final CreditCardMapper creditCardMapper;
   private final WebClient customerWebClient;
   private final CustomerMapper customerMapper;
+  private final KafkaService kafkaService;
+  private final ReactiveCache reactiveCache;
+  private final ProductMovementService productMovementService;
 
   public Mono<CreditCardResponse> createCreditCard(CreditCardRequest request) {
     return this.findCustomerById(request.getCustomerId()) // Busca el cliente
@@ -56,14 +66,12 @@ public class CreditCardServiceImpl implements CreditCardService {
         });
   }
 
-  @Cacheable(value = "creditcard", key = "#id")
   public Mono<CreditCardResponse> getCreditCardById(String id) {
-    return creditCardRepository.findById(id)
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
-        .map(creditCardMapper::toResponse);
+    return reactiveCache.get(CACHE_NAME, id, CreditCardResponse.class,
+            () -> creditCardRepository.findById(id).map(creditCardMapper::toResponse))
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)));
   }
 
-  @CachePut(value = "creditcard", key = "#id")
   public Mono<CreditCardResponse> updateCreditCard(String id, CreditCardRequest request) {
     return creditCardRepository.findById(id)
         .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
@@ -72,19 +80,37 @@ public class CreditCardServiceImpl implements CreditCardService {
           updated.setId(existing.getId());
           return creditCardRepository.save(updated);
         })
+        .flatMap(saved -> reactiveCache.evict(CACHE_NAME, id).thenReturn(saved))
+        .doOnNext(saved -> kafkaService.publishStateChange(saved.getId(), "CREDIT_CARD",
+            String.valueOf(saved.getStatus())))
+        .map(creditCardMapper::toResponse);
+  }
+
+  public Mono<CreditCardResponse> applyBalanceDelta(String id, BalanceDeltaRequest request) {
+    return productMovementService.applyOnce(id, request.getRequestId(), request.getDelta(),
+            creditCardRepository.applyBalanceDelta(id, request.getDelta()), creditCardRepository.findById(id))
+        .flatMap(saved -> reactiveCache.evict(CACHE_NAME, id).thenReturn(saved))
+        .doOnNext(saved -> kafkaService.publishStateChange(saved.getId(), "CREDIT_CARD",
+            String.valueOf(saved.getStatus())))
         .map(creditCardMapper::toResponse);
   }
 
-  @CachePut(value = "creditcard", key = "#id")
   public Mono<Void> deleteCreditCard(String id) {
-    creditCardRepository.findById(id)
+    return creditCardRepository.findById(id)
         .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
         .flatMap(existing -> {
           existing.setStatus(RecordStatus.INACTIVE);
-          creditCardRepository.save(existing);
-          return null;
-        });
-    return null;
+          return creditCardRepository.save(existing);
+        })
+        .flatMap(saved -> reactiveCache.evict(CACHE_NAME, id).thenReturn(saved))
+        .doOnNext(saved -> kafkaService.publishStateChange(saved.getId(), "CREDIT_CARD",
+            String.valueOf(saved.getStatus())))
+        .then();
+  }
+
+  @Override
+  public Mono<CreditCardSummaryResponse> getCreditCardSummary(String customerId) {
+    return creditCardRepository.summarizeByCustomerId(customerId, LocalDate.now());
   }
 
   private Mono<Customer> findCustomerById(String id) {
@@ -1,8 +1,10 @@
 package com.nttdata.bootcamp.ms.banking.product.service.impl;
 
+import com.nttdata.bootcamp.ms.banking.product.dto.request.BalanceDeltaRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.request.CreditRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.request.CustomerRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditResponse;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.CreditSummaryResponse;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.CustomerResponse;
 import com.nttdata.bootcamp.ms.banking.product.entity.Credit;
 import com.nttdata.bootcamp.ms.banking.product.entity.Customer;
@@ -11,10 +13,11 @@ import com.nttdata.bootcamp.ms.banking.product.mapper.CreditMapper;
 import com.nttdata.bootcamp.ms.banking.product.mapper.CustomerMapper;
 import com.nttdata.bootcamp.ms.banking.product.repository.CreditRepository;
 import com.nttdata.bootcamp.ms.banking.product.service.CreditService;
+import com.nttdata.bootcamp.ms.banking.product.service.KafkaService;
+import com.nttdata.bootcamp.ms.banking.product.service.ProductMovementService;
 import com.nttdata.bootcamp.ms.banking.product.utility.ConstantUtil;
+import com.nttdata.bootcamp.ms.banking.product.utility.ReactiveCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -22,6 +25,7 @@ import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 
 /**
  * Implementación del servicio de créditos. Proporciona operaciones
@@ -34,16 +38,25 @@ import java.math.RoundingMode;
  * Además, permite realizar pagos, cancelar créditos y
  * consultar créditos activos de un cliente.</p>
  *
- * @version 1.1
+ * <p>Los pagos se aplican con {@link #applyDebtDelta}: un {@code $add} atómico sobre la
+ * deuda guardada, registrado una sola vez por {@code requestId}, en lugar de escribir la
+ * deuda leída de la caché.</p>
+ *
+ * @version 1.3
  */
 @Service
 @RequiredArgsConstructor
 public class CreditServiceImpl implements CreditService {
 
+  private static final String CACHE_NAME = "credit";
+
   private final CreditRepository creditRepository;
   private final CreditMapper creditMapper;
   private final WebClient customerWebClient;
   private final CustomerMapper customerMapper;
+  private final KafkaService kafkaService;
+  private final ReactiveCache reactiveCache;
+  private final ProductMovementService productMovementService;
 
   public Mono<CreditResponse> createCredit(CreditRequest request) {
     return this.findCustomerById(request.getCustomerId())
@@ -59,14 +72,12 @@ public class CreditServiceImpl implements CreditService {
   }
 
 
-  @Cacheable(value = "credit", key = "#id")
   public Mono<CreditResponse> getCreditById(String id) {
-    return creditRepository.findById(id)
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
-        .map(creditMapper::toResponse);
+    return reactiveCache.get(CACHE_NAME, id, CreditResponse.class,
+            () -> creditRepository.findById(id).map(creditMapper::toResponse))
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)));
   }
 
-  @CachePut(value = "credit", key = "#id")
   public Mono<CreditResponse> updateCredit(String id, CreditRequest request) {
     return creditRepository.findById(id)
         .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
@@ -75,14 +86,34 @@ public class CreditServiceImpl implements CreditService {
           updated.setId(existing.getId());
           return creditRepository.save(updated);
         })
+        .flatMap(saved -> reactiveCache.evict(CACHE_NAME, id).thenReturn(saved))
+        .doOnNext(saved -> kafkaService.publishStateChange(saved.getId(), "CREDIT",
+            String.valueOf(saved.getStatus())))
+        .map(creditMapper::toResponse);
+  }
+
+  public Mono<CreditResponse> applyDebtDelta(String id, BalanceDeltaRequest request) {
+    return productMovementService.applyOnce(id, request.getRequestId(), request.getDelta(),
+            creditRepository.applyDebtDelta(id, request.getDelta()), creditRepository.findById(id))
+        .flatMap(saved -> reactiveCache.evict(CACHE_NAME, id).thenReturn(saved))
+        .doOnNext(saved -> kafkaService.publishStateChange(saved.getId(), "CREDIT",
+            String.valueOf(saved.getStatus())))
         .map(creditMapper::toResponse);
   }
 
-  @CachePut(value = "credit", key = "#id")
   public Mono<Void> deleteCredit(String id) {
-    return creditRepository.deleteById(id)
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)));
+    return creditRepository.findById(id)
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
+        .flatMap(existing -> creditRepository.deleteById(id))
+        .then(reactiveCache.evict(CACHE_NAME, id))
+        .doOnSuccess(deleted -> kafkaService.publishStateChange(id, "CREDIT", "DELETED"));
   }
+
+  @Override
+  public Mono<CreditSummaryResponse> getCreditSummary(String customerId) {
+    return creditRepository.summarizeByCustomerId(customerId, LocalDate.now());
+  }
+
   private Mono<Customer> findCustomerById(String id) {
     return customerWebClient.get()
         .uri("/{id}", id)
@@ -5,6 +5,7 @@ import com.nttdata.bootcamp.ms.banking.product.dto.request.CustomerRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.request.DebitCardRequest;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.CustomerResponse;
 import com.nttdata.bootcamp.ms.banking.product.dto.response.DebitCardResponse;
+import com.nttdata.bootcamp.ms.banking.product.dto.response.DebitCardSummaryResponse;
 import com.nttdata.bootcamp.ms.banking.product.entity.Customer;
 import com.nttdata.bootcamp.ms.banking.product.entity.DebitCard;
 import com.nttdata.bootcamp.ms.banking.product.exception.ApiValidateException;
@@ -13,9 +14,8 @@ import com.nttdata.bootcamp.ms.banking.product.mapper.DebitCardMapper;
 import com.nttdata.bootcamp.ms.banking.product.repository.DebitCardRepository;
 import com.nttdata.bootcamp.ms.banking.product.service.DebitCardService;
 import com.nttdata.bootcamp.ms.banking.product.utility.ConstantUtil;
+import com.nttdata.bootcamp.ms.banking.product.utility.ReactiveCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -38,16 +38,19 @@ import reactor.core.publisher.Mono;
  * tarjeta.</p>
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.1
+ * @version 1.2
  */
 @Service
 @RequiredArgsConstructor
 public class DebitCardServiceImpl implements DebitCardService {
 
+  private static final String CACHE_NAME = "debitcard";
+
   private final DebitCardRepository debitCardRepository;
   private final DebitCardMapper debitCardMapper;
   private final WebClient customerWebClient;
   private final CustomerMapper customerMapper;
+  private final ReactiveCache reactiveCache;
 
   public Mono<DebitCardResponse> createDebitCard(DebitCardRequest request) {
     return this.findCustomerById(request.getCustomerId())
@@ -60,14 +63,12 @@ public class DebitCardServiceImpl implements DebitCardService {
   }
 
 
-  @Cacheable(value = "debitcard", key = "#id")
   public Mono<DebitCardResponse> getDebitCardById(String id) {
-    return debitCardRepository.findById(id)
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
-        .map(debitCardMapper::toResponse);
+    return reactiveCache.get(CACHE_NAME, id, DebitCardResponse.class,
+            () -> debitCardRepository.findById(id).map(debitCardMapper::toResponse))
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)));
   }
 
-  @CachePut(value = "debitcard", key = "#id")
   public Mono<DebitCardResponse> updateDebitCard(String id, DebitCardRequest request) {
     return debitCardRepository.findById(id)
         .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
@@ -76,18 +77,24 @@ public class DebitCardServiceImpl implements DebitCardService {
           updated.setId(existing.getId());
           return debitCardRepository.save(updated);
         })
+        .flatMap(saved -> reactiveCache.evict(CACHE_NAME, id).thenReturn(saved))
         .map(debitCardMapper::toResponse);
   }
-  @CachePut(value = "debitcard", key = "#id")
+
   public Mono<Void> deleteDebitCard(String id) {
-    debitCardRepository.findById(id)
+    return debitCardRepository.findById(id)
         .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
         .flatMap(existing -> {
           existing.setStatus(RecordStatus.INACTIVE);
-          debitCardRepository.save(existing);
-          return null;
-        });
-    return null;
+          return debitCardRepository.save(existing);
+        })
+        .flatMap(saved -> reactiveCache.evict(CACHE_NAME, id).thenReturn(saved))
+        .then();
+  }
+
+  @Override
+  public Mono<DebitCardSummaryResponse> getDebitCardSummary(String customerId) {
+    return debitCardRepository.summarizeByCustomerId(customerId);
   }
 
   private Mono<Customer> findCustomerById(String id) {
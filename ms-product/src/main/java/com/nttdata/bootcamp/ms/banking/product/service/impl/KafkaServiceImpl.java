@@ -1,5 +1,6 @@
 package com.nttdata.bootcamp.ms.banking.product.service.impl;
 
+import com.nttdata.bootcamp.ms.banking.product.dto.event.ProductStateEvent;
 import com.nttdata.bootcamp.ms.banking.product.service.KafkaService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,11 +25,31 @@ public class KafkaServiceImpl implements KafkaService {
   @Value("${spring.kafka.topic.name:kafka-broker-1}")
   private String topicName;
 
+  @Value("${spring.kafka.topic.product-state-events:product-state-events}")
+  private String productStateTopic;
+
 
   @KafkaListener(topics = "${spring.kafka.topic.name:kafka-broker-1}", groupId = "${spring.kafka.consumer.group-id}")
   public void listen(String message) {
     log.info("Message received: " + message);
   }
-}
-
 
+  /**
+   * Publica el cambio de estado de un crédito o tarjeta con su ID como clave. Es de mejor
+   * esfuerzo: si falla, las copias en caché de otros servicios expiran por TTL.
+   */
+  @Override
+  public void publishStateChange(String productId, String productType, String status) {
+    ProductStateEvent event = ProductStateEvent.builder()
+        .productId(productId)
+        .productType(productType)
+        .status(status)
+        .occurredAt(System.currentTimeMillis())
+        .build();
+    kafkaTemplate.send(productStateTopic, productId, event)
+        .exceptionally(e -> {
+          log.warn("Error publishing " + productType + " state change: " + e.getMessage());
+          return null;
+        });
+  }
+}
@@ -0,0 +1,74 @@
+package com.nttdata.bootcamp.ms.banking.product.service.impl;
+
+import com.mongodb.MongoException;
+import com.nttdata.bootcamp.ms.banking.product.entity.ProductMovement;
+import com.nttdata.bootcamp.ms.banking.product.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.product.repository.ProductMovementRepository;
+import com.nttdata.bootcamp.ms.banking.product.service.ProductMovementService;
+import com.nttdata.bootcamp.ms.banking.product.utility.ConstantUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Implementación de {@link ProductMovementService}.
+ *
+ * <p>El movimiento se registra en {@code product_movements} con el {@code requestId} como
+ * {@code _id}. Si dos peticiones con el mismo {@code requestId} coinciden, la que confirma
+ * después choca con el {@code _id} de la primera y su escritura se descarta con la
+ * transacción; los conflictos de escritura transitorios reintentan la transacción.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductMovementServiceImpl implements ProductMovementService {
+
+  private static final String TRANSIENT_TRANSACTION_ERROR = "TransientTransactionError";
+  private static final int TRANSIENT_RETRIES = 3;
+
+  private final ProductMovementRepository productMovementRepository;
+  private final TransactionalOperator transactionalOperator;
+
+  @Override
+  public <T> Mono<T> applyOnce(String productId, String requestId, BigDecimal delta, Mono<T> apply, Mono<T> current) {
+    Mono<T> applied = productMovementRepository.findById(requestId)
+        .flatMap(movement -> this.findApplied(productId, movement, current));
+    return Mono.defer(() -> applied
+            .switchIfEmpty(Mono.defer(() -> apply
+                .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
+                .flatMap(product -> productMovementRepository.insert(ProductMovement.builder()
+                        .id(requestId)
+                        .productId(productId)
+                        .delta(delta)
+                        .appliedAt(LocalDateTime.now())
+                        .build())
+                    .thenReturn(product))
+                .as(transactionalOperator::transactional))))
+        .onErrorResume(DuplicateKeyException.class, e -> applied)
+        .retryWhen(Retry.max(TRANSIENT_RETRIES).filter(ProductMovementServiceImpl::isTransient));
+  }
+
+  private <T> Mono<T> findApplied(String productId, ProductMovement movement, Mono<T> current) {
+    if (!productId.equals(movement.getProductId())) {
+      return Mono.error(new ApiValidateException("Request ID already used for another product."));
+    }
+    return current.switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)));
+  }
+
+  private static boolean isTransient(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof MongoException mongo && mongo.hasErrorLabel(TRANSIENT_TRANSACTION_ERROR)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
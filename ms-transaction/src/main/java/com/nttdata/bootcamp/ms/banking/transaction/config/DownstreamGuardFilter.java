@@ -0,0 +1,169 @@
+package com.nttdata.bootcamp.ms.banking.transaction.config;
+
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.AdaptiveConcurrencyLimit;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Protección de las llamadas a un servicio externo (ms-account, ms-product, etc.).
+ *
+ * <p>Cada llamada pasa, en orden, por el circuit breaker, el bulkhead (tope fijo de llamadas
+ * en curso) y el límite adaptativo; si alguno no tiene lugar se rechaza de inmediato con
+ * {@link ApiValidateException}, sin encolar. La llamada admitida tiene un timeout, que
+ * también se informa como {@link ApiValidateException}. Las respuestas 5xx y 429, los
+ * errores de red y los timeouts cuentan como fallos para el circuit breaker y reducen el
+ * límite; el resto de respuestas (incluidos los 4xx de negocio) cuentan como éxito.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public class DownstreamGuardFilter implements ExchangeFilterFunction {
+
+  private final String downstream;
+  private final CircuitBreaker circuitBreaker;
+  private final Bulkhead bulkhead;
+  private final AdaptiveConcurrencyLimit limit;
+  private final Duration timeout;
+  private final Counter circuitOpenRejections;
+  private final Counter bulkheadRejections;
+  private final Counter limitRejections;
+  private final Timer successTimer;
+  private final Timer failureTimer;
+
+  public DownstreamGuardFilter(String downstream, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                               AdaptiveConcurrencyLimit limit, Duration timeout, MeterRegistry meterRegistry) {
+    this.downstream = downstream;
+    this.circuitBreaker = circuitBreaker;
+    this.bulkhead = bulkhead;
+    this.limit = limit;
+    this.timeout = timeout;
+    this.circuitOpenRejections = rejections(meterRegistry, downstream, "circuit_open");
+    this.bulkheadRejections = rejections(meterRegistry, downstream, "bulkhead");
+    this.limitRejections = rejections(meterRegistry, downstream, "limit");
+    this.successTimer = calls(meterRegistry, downstream, "success");
+    this.failureTimer = calls(meterRegistry, downstream, "failure");
+    Gauge.builder("transaction.downstream.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+        .description("Límite adaptativo de llamadas en curso")
+        .tag("downstream", downstream)
+        .register(meterRegistry);
+    Gauge.builder("transaction.downstream.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+        .description("Llamadas en curso")
+        .tag("downstream", downstream)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+    return Mono.defer(() -> {
+      if (!circuitBreaker.tryAcquirePermission()) {
+        circuitOpenRejections.increment();
+        return Mono.error(new ApiValidateException(downstream + " unavailable, please retry later."));
+      }
+      if (!bulkhead.tryAcquirePermission()) {
+        circuitBreaker.releasePermission();
+        bulkheadRejections.increment();
+        return Mono.error(new ApiValidateException(downstream + " overloaded, please retry later."));
+      }
+      if (!limit.tryAcquire()) {
+        bulkhead.onComplete();
+        circuitBreaker.releasePermission();
+        limitRejections.increment();
+        return Mono.error(new ApiValidateException(downstream + " overloaded, please retry later."));
+      }
+
+      Permit permit = new Permit(System.nanoTime());
+      return next.exchange(request)
+          .timeout(timeout)
+          .doOnNext(response -> {
+            if (isOverloaded(response)) {
+              permit.failure(new IllegalStateException(downstream + " responded " + response.statusCode()));
+            } else {
+              permit.success();
+            }
+          })
+          .doOnError(permit::failure)
+          .onErrorMap(TimeoutException.class,
+              e -> new ApiValidateException(downstream + " timed out, please retry later."))
+          .doOnCancel(permit::cancel)
+          .doFinally(signal -> permit.cancel());
+    });
+  }
+
+  private static boolean isOverloaded(ClientResponse response) {
+    return response.statusCode().is5xxServerError()
+        || response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+  }
+
+  private static Counter rejections(MeterRegistry meterRegistry, String downstream, String reason) {
+    return Counter.builder("transaction.downstream.rejected")
+        .description("Llamadas rechazadas sin llegar al servicio externo")
+        .tag("downstream", downstream)
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+  private static Timer calls(MeterRegistry meterRegistry, String downstream, String outcome) {
+    return Timer.builder("transaction.downstream.calls")
+        .description("Duración de las llamadas al servicio externo")
+        .tag("downstream", downstream)
+        .tag("outcome", outcome)
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Lugar reservado por una llamada; se libera una sola vez con el primer resultado.
+   */
+  private final class Permit {
+    private final long startedAt;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    Permit(long startedAt) {
+      this.startedAt = startedAt;
+    }
+
+    void success() {
+      if (released.compareAndSet(false, true)) {
+        long elapsed = System.nanoTime() - startedAt;
+        limit.onSuccess(elapsed);
+        bulkhead.onComplete();
+        circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+        successTimer.record(elapsed, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    void failure(Throwable error) {
+      if (released.compareAndSet(false, true)) {
+        long elapsed = System.nanoTime() - startedAt;
+        limit.onDropped();
+        bulkhead.onComplete();
+        circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, error);
+        failureTimer.record(elapsed, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    void cancel() {
+      if (released.compareAndSet(false, true)) {
+        limit.onIgnored();
+        bulkhead.onComplete();
+        circuitBreaker.releasePermission();
+      }
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.nttdata.bootcamp.ms.banking.transaction.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Configuración del balanceador para cada servicio resuelto por Eureka. No lleva
+ * {@code @Configuration} a propósito: Spring Cloud LoadBalancer la registra en el contexto
+ * propio de cada servicio (ver {@link WebClientConfig}).
+ *
+ * <p>La lista de instancias viene del discovery client y se filtra con health checks
+ * activos, de modo que una instancia registrada pero caída deja de recibir tráfico antes de
+ * que Eureka la expulse.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public class DownstreamLoadBalancerConfiguration {
+
+  @Bean
+  public ServiceInstanceListSupplier healthCheckedInstanceSupplier(ConfigurableApplicationContext context) {
+    return ServiceInstanceListSupplier.builder()
+        .withDiscoveryClient()
+        .withHealthChecks()
+        .build(context);
+  }
+
+  /**
+   * Se declara con su tipo concreto para que el balanceador también se registre como
+   * {@code LoadBalancerLifecycle} y reciba la latencia de cada llamada.
+   */
+  @Bean
+  public LatencyWeightedLoadBalancer latencyWeightedLoadBalancer(
+      Environment environment,
+      LoadBalancerClientFactory loadBalancerClientFactory,
+      @Value("${transaction.downstream.failure-penalty:2s}") Duration failurePenalty) {
+    String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+    return new LatencyWeightedLoadBalancer(serviceId,
+        loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+        failurePenalty.toNanos());
+  }
+}
@@ -2,6 +2,8 @@ package com.nttdata.bootcamp.ms.banking.transaction.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.context.annotation.Bean;
@@ -11,6 +13,8 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.kafka.core.*;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -33,6 +37,23 @@ public class KafkaConfig {
     return new KafkaTemplate<>(producerFactory());
   }
 
+  /**
+   * Productor reactivo usado por el relay del outbox. Con idempotencia y {@code acks=all}
+   * Kafka conserva el orden por partición aun cuando reintenta un envío. El valor es el
+   * evento ya codificado con {@code TransactionEventCodec}.
+   */
+  @Bean
+  public KafkaSender<String, byte[]> kafkaSender() {
+    Map<String, Object> config = new HashMap<>();
+    config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+    config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+    config.put(ProducerConfig.ACKS_CONFIG, "all");
+    config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+    config.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+    return KafkaSender.create(SenderOptions.create(config));
+  }
+
   @Bean
   public ConsumerFactory<String, Object> consumerFactory() {
     Map<String, Object> config = new HashMap<>();
@@ -52,6 +73,45 @@ public class KafkaConfig {
     factory.getContainerProperties().setPollTimeout(3000);
     return factory;
   }
-}
 
+  /**
+   * Consumidores de las invalidaciones de la caché de productos. Cada instancia usa su
+   * propio grupo (ver {@code KafkaServiceImpl}) para recibir todos los eventos, y empieza
+   * desde el final del tópico porque su caché arranca vacía.
+   */
+  @Bean
+  public ConsumerFactory<String, byte[]> transactionEventConsumerFactory() {
+    Map<String, Object> config = new HashMap<>();
+    config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+    config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+    config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+    return new DefaultKafkaConsumerFactory<>(config);
+  }
+
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, byte[]> transactionEventListenerContainerFactory() {
+    ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(transactionEventConsumerFactory());
+    factory.getContainerProperties().setPollTimeout(3000);
+    return factory;
+  }
+
+  @Bean
+  public ConsumerFactory<String, String> productStateConsumerFactory() {
+    Map<String, Object> config = new HashMap<>();
+    config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+    config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+    return new DefaultKafkaConsumerFactory<>(config);
+  }
 
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, String> productStateListenerContainerFactory() {
+    ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(productStateConsumerFactory());
+    factory.getContainerProperties().setPollTimeout(3000);
+    return factory;
+  }
+}
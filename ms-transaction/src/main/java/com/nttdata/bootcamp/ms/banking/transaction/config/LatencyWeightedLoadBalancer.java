@@ -0,0 +1,190 @@
+package com.nttdata.bootcamp.ms.banking.transaction.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Balanceador que reparte las llamadas según la latencia observada de cada instancia.
+ *
+ * <p>Toma dos instancias al azar entre las sanas y elige la de menor
+ * {@code latencia media * (llamadas en curso + 1)} ("power of two choices"). La latencia es
+ * una media exponencial alimentada por el propio ciclo de vida del balanceador; un error
+ * cuenta como una llamada de {@code failurePenaltyNanos}. Las instancias sin historial
+ * puntúan con la mediana de las latencias conocidas de la lista: reciben tráfico enseguida,
+ * pero sus llamadas en curso pesan como las de las demás y no acaparan las llamadas hasta
+ * que responde la primera.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Slf4j
+public class LatencyWeightedLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+    LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+  private static final double DECAY = 0.3;
+
+  private final String serviceId;
+  private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+  private final long failurePenaltyNanos;
+  private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+  public LatencyWeightedLoadBalancer(String serviceId, ObjectProvider<ServiceInstanceListSupplier> suppliers,
+                                     long failurePenaltyNanos) {
+    this.serviceId = serviceId;
+    this.suppliers = suppliers;
+    this.failurePenaltyNanos = failurePenaltyNanos;
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public Mono<Response<ServiceInstance>> choose(Request request) {
+    ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+    return supplier.get(request).next().map(instances -> {
+      if (instances.isEmpty()) {
+        log.warn("No instances available for {}", serviceId);
+        return new EmptyResponse();
+      }
+      return new DefaultResponse(this.select(instances));
+    });
+  }
+
+  /**
+   * Elige una instancia de la lista.
+   *
+   * @param instances Instancias sanas, no vacía.
+   * @return La instancia con mejor puntuación entre dos al azar.
+   */
+  public ServiceInstance select(List<ServiceInstance> instances) {
+    if (instances.size() == 1) {
+      return instances.get(0);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(instances.size());
+    int second = random.nextInt(instances.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    ServiceInstance a = instances.get(first);
+    ServiceInstance b = instances.get(second);
+    InstanceStats statsA = this.stats(a);
+    InstanceStats statsB = this.stats(b);
+    double seed = statsA.isWarm() && statsB.isWarm() ? 0 : this.medianLatency(instances);
+    return statsA.score(seed) <= statsB.score(seed) ? a : b;
+  }
+
+  /**
+   * Mediana de las latencias medias de las instancias con historial, o 0 si no hay ninguna.
+   */
+  private double medianLatency(List<ServiceInstance> instances) {
+    double[] latencies = instances.stream()
+        .map(this::stats)
+        .filter(InstanceStats::isWarm)
+        .mapToDouble(InstanceStats::averageNanos)
+        .sorted()
+        .toArray();
+    if (latencies.length == 0) {
+      return 0;
+    }
+    int middle = latencies.length / 2;
+    return latencies.length % 2 == 1 ? latencies[middle] : (latencies[middle - 1] + latencies[middle]) / 2;
+  }
+
+  @Override
+  public void onStart(Request<Object> request) {
+    // La medición empieza al elegir la instancia.
+  }
+
+  @Override
+  public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+    if (lbResponse.hasServer()) {
+      this.stats(lbResponse.getServer()).inFlight.incrementAndGet();
+      if (request.getContext() instanceof TimedRequestContext timed) {
+        timed.setRequestStartTime(System.nanoTime());
+      }
+    }
+  }
+
+  @Override
+  public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+    Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+    if (lbResponse == null || !lbResponse.hasServer()) {
+      return;
+    }
+    InstanceStats instance = this.stats(lbResponse.getServer());
+    instance.inFlight.decrementAndGet();
+    Object context = completionContext.getLoadBalancerRequest().getContext();
+    if (!(context instanceof TimedRequestContext timed) || timed.getRequestStartTime() == 0) {
+      return;
+    }
+    long start = timed.getRequestStartTime();
+    switch (completionContext.status()) {
+      case SUCCESS -> instance.record(System.nanoTime() - start);
+      case FAILED -> instance.record(Math.max(failurePenaltyNanos, System.nanoTime() - start));
+      default -> {
+        // Llamada descartada: no aporta latencia.
+      }
+    }
+  }
+
+  /**
+   * Registra una latencia observada para la instancia.
+   *
+   * @param instance Instancia.
+   * @param latencyNanos Latencia en nanosegundos.
+   */
+  public void record(ServiceInstance instance, long latencyNanos) {
+    this.stats(instance).record(latencyNanos);
+  }
+
+  private InstanceStats stats(ServiceInstance instance) {
+    String key = instance.getInstanceId() != null
+        ? instance.getInstanceId()
+        : instance.getHost() + ":" + instance.getPort();
+    return stats.computeIfAbsent(key, k -> new InstanceStats());
+  }
+
+  private static final class InstanceStats {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double averageNanos;
+
+    synchronized void record(long latencyNanos) {
+      averageNanos = averageNanos == 0
+          ? latencyNanos
+          : averageNanos + DECAY * (latencyNanos - averageNanos);
+    }
+
+    synchronized boolean isWarm() {
+      return averageNanos > 0;
+    }
+
+    synchronized double averageNanos() {
+      return averageNanos;
+    }
+
+    /**
+     * Puntuación de la instancia; {@code seedNanos} reemplaza la latencia si aún no hay historial.
+     */
+    synchronized double score(double seedNanos) {
+      double latency = averageNanos > 0 ? averageNanos : seedNanos;
+      return Math.max(latency, 1) * (inFlight.get() + 1);
+    }
+  }
+}
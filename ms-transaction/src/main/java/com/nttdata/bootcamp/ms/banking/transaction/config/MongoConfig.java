@@ -0,0 +1,34 @@
+package com.nttdata.bootcamp.ms.banking.transaction.config;
+
+import com.nttdata.bootcamp.ms.banking.transaction.utility.MoneyMongoCodec;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Configuración de transacciones de MongoDB.
+ * Permite escribir la transacción bancaria y su evento de outbox de forma atómica;
+ * requiere que MongoDB se ejecute como replica set. Registra además los conversores de
+ * {@link com.nttdata.bootcamp.ms.banking.transaction.utility.Money}.
+ */
+@Configuration
+public class MongoConfig {
+
+  @Bean
+  public ReactiveMongoTransactionManager reactiveMongoTransactionManager(ReactiveMongoDatabaseFactory factory) {
+    return new ReactiveMongoTransactionManager(factory);
+  }
+
+  @Bean
+  public TransactionalOperator transactionalOperator(ReactiveMongoTransactionManager reactiveMongoTransactionManager) {
+    return TransactionalOperator.create(reactiveMongoTransactionManager);
+  }
+
+  @Bean
+  public MongoCustomConversions mongoCustomConversions() {
+    return new MongoCustomConversions(MoneyMongoCodec.converters());
+  }
+}
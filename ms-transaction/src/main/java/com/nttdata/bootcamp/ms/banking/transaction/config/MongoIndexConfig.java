@@ -0,0 +1,55 @@
+package com.nttdata.bootcamp.ms.banking.transaction.config;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.DailyBalance;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ReconciliationDiscrepancy;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.TransactionRollup;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.TransferSaga;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Crea al arrancar los índices declarados en las entidades consultadas por rango.
+ * Spring Data no los crea por defecto ({@code auto-index-creation} está desactivado) y
+ * sin ellos el historial recorre toda la colección.
+ */
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexConfig {
+
+  private static final List<Class<?>> INDEXED_ENTITIES = List.of(Transaction.class, DailyBalance.class,
+      TransactionRollup.class, TransferSaga.class, ReconciliationDiscrepancy.class);
+
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    this.ensureIndexes().subscribe();
+  }
+
+  public Mono<Void> ensureIndexes() {
+    IndexResolver resolver = IndexResolver.create(reactiveMongoTemplate.getConverter().getMappingContext());
+    return Flux.fromIterable(INDEXED_ENTITIES)
+        .concatMap(entity -> {
+          ReactiveIndexOperations indexOps = reactiveMongoTemplate.indexOps(entity);
+          return Flux.fromIterable(resolver.resolveIndexFor(entity))
+              .concatMap(indexOps::ensureIndex)
+              .onErrorResume(e -> {
+                log.error("Error creating " + entity.getSimpleName() + " indexes: " + e.getMessage());
+                return Mono.empty();
+              });
+        })
+        .then();
+  }
+}
@@ -1,46 +1,121 @@
 package com.nttdata.bootcamp.ms.banking.transaction.config;
 
 
+import com.nttdata.bootcamp.ms.banking.transaction.utility.AdaptiveConcurrencyLimit;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.apache.http.HttpHeaders;
-import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
+
+/**
+ * WebClients de los servicios externos. Cada uno lleva su propio
+ * {@link DownstreamGuardFilter}, de modo que la lentitud de un servicio no consume la
+ * capacidad reservada para los demás. Los valores se configuran por servicio con
+ * {@code transaction.downstream.<servicio>.*} y, si faltan, con
+ * {@code transaction.downstream.default.*}.
+ *
+ * <p>Con {@code mode=gateway} (por defecto) el cliente pasa por
+ * {@code transaction.downstream.gateway-url}, que sigue aplicando las rutas y filtros del
+ * gateway. Con {@code mode=direct} llama a la instancia del servicio resuelta por Eureka, con
+ * el balanceador de {@link DownstreamLoadBalancerConfiguration}. El modo se elige por
+ * servicio, por ejemplo {@code transaction.downstream.account.mode=direct}, o para todos con
+ * {@code transaction.downstream.default.mode}.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.4
+ */
 @Configuration
+@RequiredArgsConstructor
+@LoadBalancerClients(defaultConfiguration = DownstreamLoadBalancerConfiguration.class)
 public class WebClientConfig {
 
+  private static final String PREFIX = "transaction.downstream.";
+  private static final String DIRECT = "direct";
+  private static final String GATEWAY = "gateway";
+
+  private final CircuitBreakerRegistry circuitBreakerRegistry;
+  private final BulkheadRegistry bulkheadRegistry;
+  private final MeterRegistry meterRegistry;
+  private final Environment environment;
+  private final ObjectProvider<LoadBalancedExchangeFilterFunction> loadBalancerFilter;
+
   @Bean
-  @LoadBalanced
   public WebClient accountWebClient(WebClient.Builder builder) {
-    return builder.baseUrl("http://localhost:8090/api/accounts") // URL base del microservicio de clientes
-        .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-        .build();
+    return this.client(builder, "account", "ms-account", "/api/accounts");
   }
 
   @Bean
-  @LoadBalanced
   public WebClient customerWebClient(WebClient.Builder builder) {
-    return builder.baseUrl("http://localhost:8090/api/customers") // URL base del microservicio de clientes
-        .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-        .build();
+    return this.client(builder, "customer", "ms-customer", "/api/customers");
   }
 
   @Bean
-  @LoadBalanced
   public WebClient creditWebClient(WebClient.Builder builder) {
-    return builder.baseUrl("http://localhost:8090/api/credits") // URL base del microservicio de créditos
-        .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-        .build();
+    return this.client(builder, "credit", "ms-product", "/api/credits");
   }
 
   @Bean
-  @LoadBalanced
   public WebClient creditCardWebClient(WebClient.Builder builder) {
-    return builder.baseUrl("http://localhost:8090/api/cards/credit") // URL base del microservicio de tarjetas de crédito
+    return this.client(builder, "credit-card", "ms-product", "/api/cards/credit");
+  }
+
+  @Bean
+  public WebClient debitCardWebClient(WebClient.Builder builder) {
+    return this.client(builder, "debit-card", "ms-product", "/api/cards/debit");
+  }
+
+  private WebClient client(WebClient.Builder builder, String downstream, String serviceId, String path) {
+    WebClient.Builder configured = builder
         .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .filter(this.guard(downstream));
+    String mode = this.property(downstream, "mode", String.class, GATEWAY);
+    if (GATEWAY.equalsIgnoreCase(mode)) {
+      String gatewayUrl = environment.getProperty(PREFIX + "gateway-url", "http://localhost:8090");
+      return configured.baseUrl(gatewayUrl + path).build();
+    }
+    if (!DIRECT.equalsIgnoreCase(mode)) {
+      throw new IllegalStateException("Unknown mode '" + mode + "' for downstream " + downstream);
+    }
+    String service = environment.getProperty(PREFIX + downstream + ".service-id", serviceId);
+    return configured.baseUrl("http://" + service + path)
+        .filter(loadBalancerFilter.getObject())
         .build();
   }
-}
 
+  private ExchangeFilterFunction guard(String downstream) {
+    int maxConcurrent = this.property(downstream, "max-concurrent", Integer.class, 200);
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+        this.property(downstream, "initial-limit", Integer.class, 20),
+        this.property(downstream, "min-limit", Integer.class, 4),
+        maxConcurrent,
+        this.property(downstream, "backoff-ratio", Double.class, 0.9),
+        this.property(downstream, "latency-threshold", Duration.class, Duration.ofMillis(500)).toNanos());
+    return new DownstreamGuardFilter(downstream,
+        circuitBreakerRegistry.circuitBreaker("downstream-" + downstream),
+        bulkheadRegistry.bulkhead("downstream-" + downstream, BulkheadConfig.custom()
+            .maxConcurrentCalls(maxConcurrent)
+            .maxWaitDuration(Duration.ZERO)
+            .build()),
+        limit,
+        this.property(downstream, "timeout", Duration.class, Duration.ofSeconds(2)),
+        meterRegistry);
+  }
+
+  private <T> T property(String downstream, String name, Class<T> type, T defaultValue) {
+    T fallback = environment.getProperty(PREFIX + "default." + name, type, defaultValue);
+    return environment.getProperty(PREFIX + downstream + "." + name, type, fallback);
+  }
+}
@@ -1,8 +1,16 @@
 package com.nttdata.bootcamp.ms.banking.transaction.controller;
 
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RollupGranularity;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AverageBalanceResponse;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CardTransactionResponse;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ClientSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.MonthlySummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ReconciliationDiscrepancyResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ReconciliationRunResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionRollupResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ReconciliationService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ReportExportService;
 import com.nttdata.bootcamp.ms.banking.transaction.service.ReportService;
 import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,18 +18,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 
 /**
  * Controller for managing transaction-related operations.
  * Provides endpoints for creating, retrieving, and managing transactions.
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.0
+ * @version 1.3
  */
 @RestController
 @RequestMapping("/api/report")
@@ -30,6 +41,8 @@ import java.time.LocalDateTime;
 public class ReportController {
 
   private final ReportService reportService;
+  private final ReportExportService reportExportService;
+  private final ReconciliationService reconciliationService;
 
   /**
    * Endpoint to generate a report of average balances within a date range.
@@ -49,6 +62,26 @@ public class ReportController {
     return reportService.generateAverageBalanceReport(startDate, endDate);
   }
 
+  /**
+   * Endpoint to get the average daily balance of an account within a date range.
+   *
+   * @param accountId the ID of the account
+   * @param startDate the first day of the range
+   * @param endDate   the last day of the range
+   * @return a mono containing the average daily balance
+   */
+  @Operation(summary = "Get Account Average Daily Balance",
+      description = "Returns the average daily balance of an account between two days, both inclusive.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping("/average-balance/{accountId}")
+  public Mono<AverageBalanceResponse> getAverageBalance(
+      @PathVariable String accountId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+    return reportService.getAverageBalance(accountId, startDate, endDate);
+  }
+
   /**
    * Endpoint to generate a summary report for a specific client.
    *
@@ -56,7 +89,8 @@ public class ReportController {
    * @return a mono containing the client summary report
    */
   @Operation(summary = "Generate Client Summary",
-      description = "Generates a summary report for a specific client by their ID.")
+      description = "Consolidates the accounts, credits, credit cards and debit cards of a client, "
+          + "fetched in parallel; sections that miss the deadline are omitted and the summary is marked partial.")
   @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
   @ApiResponse(responseCode = ConstantUtil.NOT_FOUND_CODE, description = ConstantUtil.NOT_FOUND_MESSAGE)
   @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
@@ -80,5 +114,203 @@ public class ReportController {
   public Mono<CardTransactionResponse> getLast10CardTransactions(@PathVariable String cardId) {
     return reportService.getLast10CardTransactions(cardId);
   }
-}
 
+  /**
+   * Endpoint to retrieve the latest movements of any product.
+   *
+   * @param productId the account, credit, credit card or debit card ID
+   * @param limit     the number of movements to return
+   * @return the latest movements, newest first
+   */
+  @Operation(summary = "Get Recent Movements",
+      description = "Retrieves the latest movements of an account, credit, credit card or debit card.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping("/products/{productId}/recent")
+  public Flux<TransactionResponse> getRecentMovements(@PathVariable String productId,
+                                                     @RequestParam(defaultValue = "10") int limit) {
+    return reportService.getRecentMovements(productId, limit);
+  }
+
+  /**
+   * Endpoint to retrieve the pre-aggregated transaction counts and amounts of a product.
+   *
+   * @param productId   the account, credit, credit card or debit card ID
+   * @param granularity the bucket size (HOUR, DAY or MONTH)
+   * @param startDate   the start of the range
+   * @param endDate     the end of the range
+   * @return one bucket per period and transaction type, oldest first
+   */
+  @Operation(summary = "Get Transaction Rollups",
+      description = "Retrieves hourly, daily or monthly transaction counts and amounts of a product.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping("/rollups/{productId}")
+  public Flux<TransactionRollupResponse> getRollups(
+      @PathVariable String productId,
+      @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+    return reportService.getRollups(productId, granularity, startDate, endDate);
+  }
+
+  /**
+   * Endpoint to retrieve the monthly summary of a product, used as the commission basis.
+   *
+   * @param productId the account, credit, credit card or debit card ID
+   * @param month     the month in yyyy-MM format
+   * @return the transaction count and amount of the month, by transaction type
+   */
+  @Operation(summary = "Get Monthly Summary",
+      description = "Retrieves the transaction count and amount of a product for a month.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping("/monthly-summary/{productId}")
+  public Mono<MonthlySummaryResponse> getMonthlySummary(
+      @PathVariable String productId,
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+    return reportService.getMonthlySummary(productId, month);
+  }
+
+  /**
+   * Endpoint to export the average daily balance of every account as NDJSON.
+   *
+   * @param startDate the first day of the range
+   * @param endDate   the last day of the range
+   * @return one average balance per line, streamed as it is computed
+   */
+  @Operation(summary = "Export Average Balances",
+      description = "Streams the average daily balance of every account between two days as NDJSON.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping(value = "/export/average-balance", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<AverageBalanceResponse> exportAverageBalances(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+    return reportExportService.exportAverageBalances(startDate, endDate);
+  }
+
+  /**
+   * Endpoint to export the average daily balance of every account as CSV.
+   *
+   * @param startDate the first day of the range
+   * @param endDate   the last day of the range
+   * @return a header line followed by one line per account, streamed as it is computed
+   */
+  @Operation(summary = "Export Average Balances as CSV",
+      description = "Streams the average daily balance of every account between two days as CSV.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping(value = "/export/average-balance", produces = ConstantUtil.TEXT_CSV_VALUE)
+  public Flux<String> exportAverageBalancesCsv(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+    return reportExportService.exportAverageBalancesCsv(startDate, endDate);
+  }
+
+  /**
+   * Endpoint to export the consolidated summary of every client as NDJSON.
+   *
+   * @return one client summary per line, streamed as it is computed
+   */
+  @Operation(summary = "Export Client Summaries",
+      description = "Streams the consolidated summary of every registered client as NDJSON.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping(value = "/export/client-summaries", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<ClientSummaryResponse> exportClientSummaries() {
+    return reportExportService.exportClientSummaries();
+  }
+
+  /**
+   * Endpoint to export the consolidated summary of every client as CSV.
+   *
+   * @return a header line followed by one line per client, streamed as it is computed
+   */
+  @Operation(summary = "Export Client Summaries as CSV",
+      description = "Streams the consolidated summary of every registered client as CSV.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping(value = "/export/client-summaries", produces = ConstantUtil.TEXT_CSV_VALUE)
+  public Flux<String> exportClientSummariesCsv() {
+    return reportExportService.exportClientSummariesCsv();
+  }
+
+  /**
+   * Endpoint to export the full transaction history of a product as NDJSON.
+   *
+   * @param productId the account, credit, credit card or debit card ID
+   * @return one transaction per line, newest first
+   */
+  @Operation(summary = "Export Transaction History",
+      description = "Streams the full transaction history of a product as NDJSON, newest first.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping(value = "/export/history/{productId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<TransactionResponse> exportHistory(@PathVariable String productId) {
+    return reportExportService.exportHistory(productId);
+  }
+
+  /**
+   * Endpoint to export the full transaction history of a product as CSV.
+   *
+   * @param productId the account, credit, credit card or debit card ID
+   * @return a header line followed by one line per transaction, newest first
+   */
+  @Operation(summary = "Export Transaction History as CSV",
+      description = "Streams the full transaction history of a product as CSV, newest first.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping(value = "/export/history/{productId}", produces = ConstantUtil.TEXT_CSV_VALUE)
+  public Flux<String> exportHistoryCsv(@PathVariable String productId) {
+    return reportExportService.exportHistoryCsv(productId);
+  }
+
+  /**
+   * Endpoint to retrieve the progress and result of the end-of-day reconciliation of a day.
+   *
+   * @param day the reconciled day
+   * @return the reconciliation run
+   */
+  @Operation(summary = "Get Reconciliation Run",
+      description = "Retrieves the progress, account count and discrepancy count of the reconciliation of a day.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping("/reconciliation/{day}")
+  public Mono<ReconciliationRunResponse> getReconciliationRun(
+      @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+    return reconciliationService.getRun(day);
+  }
+
+  /**
+   * Endpoint to export the discrepancies found by the reconciliation of a day as NDJSON.
+   *
+   * @param day the reconciled day
+   * @return one discrepancy per line, ordered by account
+   */
+  @Operation(summary = "Export Reconciliation Discrepancies",
+      description = "Streams the accounts whose balance does not match their transactions as NDJSON.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping(value = "/reconciliation/{day}/discrepancies", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<ReconciliationDiscrepancyResponse> getReconciliationDiscrepancies(
+      @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+    return reconciliationService.getDiscrepancies(day);
+  }
+
+  /**
+   * Endpoint to export the discrepancies found by the reconciliation of a day as CSV.
+   *
+   * @param day the reconciled day
+   * @return a header line followed by one line per discrepancy, ordered by account
+   */
+  @Operation(summary = "Export Reconciliation Discrepancies as CSV",
+      description = "Streams the accounts whose balance does not match their transactions as CSV.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping(value = "/reconciliation/{day}/discrepancies", produces = ConstantUtil.TEXT_CSV_VALUE)
+  public Flux<String> getReconciliationDiscrepanciesCsv(
+      @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+    return reconciliationService.getDiscrepanciesCsv(day);
+  }
+}
@@ -1,7 +1,10 @@
 package com.nttdata.bootcamp.ms.banking.transaction.controller;
 
 import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionBatchResult;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionHistoryResponse;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionHistoryService;
 import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionService;
 import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,10 +12,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -20,7 +29,7 @@ import reactor.core.publisher.Mono;
  * Provides endpoints for creating, retrieving, and managing transactions.
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.0
+ * @version 1.1
  */
 @RestController
 @RequestMapping("/api/transactions")
@@ -29,11 +38,13 @@ import reactor.core.publisher.Mono;
 public class TransactionController {
 
   private final TransactionService transactionService;
+  private final TransactionHistoryService transactionHistoryService;
 
   /**
    * Endpoint to process a transaction.
    *
-   * @param request the transaction request details
+   * @param request        the transaction request details
+   * @param idempotencyKey optional client key; retries with the same key return the first result
    * @return the response containing the transaction details
    */
   @Operation(summary = "Process Transaction",
@@ -41,8 +52,47 @@ public class TransactionController {
   @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
   @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
   @PostMapping("/process")
-  public Mono<TransactionResponse> processTransaction(@Valid @RequestBody TransactionRequest request) {
-    return transactionService.processTransaction(request);
+  public Mono<TransactionResponse> processTransaction(
+      @Valid @RequestBody TransactionRequest request,
+      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+    return transactionService.processTransaction(request, idempotencyKey);
+  }
+
+  /**
+   * Endpoint to process a batch of transactions streamed as NDJSON.
+   *
+   * @param lines   one transaction request per line
+   * @param batchId optional file ID; resending the same file with the same ID does not move money twice
+   * @return one result per line, streamed as the lines are processed
+   */
+  @Operation(summary = "Process Transaction Batch",
+      description = "Processes an NDJSON stream of transactions and streams back one result per line.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<TransactionBatchResult> processBatch(
+      @RequestBody Flux<String> lines,
+      @RequestHeader(value = "Batch-Id", required = false) String batchId) {
+    return transactionService.processBatch(lines, batchId);
   }
-}
 
+  /**
+   * Endpoint to page through the transaction history of an account, credit or card.
+   *
+   * @param productId the account, credit or card ID
+   * @param cursor    the cursor returned by the previous page, omitted for the first page
+   * @param limit     the page size
+   * @return the page, newest first, and the cursor of the next page
+   */
+  @Operation(summary = "Get Transaction History",
+      description = "Returns the transactions of a product, newest first, using cursor pagination.")
+  @ApiResponse(responseCode = ConstantUtil.OK_CODE, description = ConstantUtil.OK_MESSAGE)
+  @ApiResponse(responseCode = ConstantUtil.ERROR_CODE, description = ConstantUtil.ERROR_MESSAGE)
+  @GetMapping("/history/{productId}")
+  public Mono<TransactionHistoryResponse> getHistory(@PathVariable String productId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int limit) {
+    return transactionHistoryService.getHistory(productId, cursor, limit);
+  }
+}
@@ -0,0 +1,12 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration;
+
+/**
+ * Tipos de diferencia encontrados al conciliar una cuenta
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public enum DiscrepancyType {
+  BALANCE_MISMATCH,   // El saldo de ms-account no es el que resulta de las transacciones
+  MISSING_ACCOUNT     // Hay transacciones o saldo liquidado de una cuenta que ms-account no tiene
+}
@@ -0,0 +1,13 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration;
+
+/**
+ * Estados de un evento del outbox
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public enum OutboxStatus {
+  PENDING,            // Pendiente de publicar en Kafka
+  SENT,               // Publicado y confirmado por Kafka
+  FAILED              // Descartado tras agotar los intentos; se conserva para revisarlo
+}
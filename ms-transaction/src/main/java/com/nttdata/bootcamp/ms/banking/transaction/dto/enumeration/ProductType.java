@@ -0,0 +1,14 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration;
+
+/**
+ * Tipos de producto de un cliente en el modelo de lectura de reportes
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public enum ProductType {
+  ACCOUNT,            // Cuenta bancaria (ms-account)
+  CREDIT,             // Crédito (ms-product)
+  CREDIT_CARD,        // Tarjeta de crédito (ms-product)
+  DEBIT_CARD          // Tarjeta de débito (ms-product)
+}
@@ -0,0 +1,28 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Colecciones cuyos cambios alimentan el modelo de lectura de reportes
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProjectionSource {
+  ACCOUNTS("accounts"),           // Cuentas de ms-account
+  CREDITS("credits"),             // Créditos de ms-product
+  CARDS("cards"),                 // Tarjetas de crédito y débito de ms-product
+  TRANSACTIONS("transactions");   // Transacciones de ms-transaction
+
+  private final String collection;
+
+  /**
+   * Indica si la colección contiene productos, cuyo estado completo llega en cada cambio.
+   */
+  public boolean isSnapshot() {
+    return this != TRANSACTIONS;
+  }
+}
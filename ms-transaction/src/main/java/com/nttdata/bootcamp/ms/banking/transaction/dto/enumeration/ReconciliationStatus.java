@@ -0,0 +1,12 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration;
+
+/**
+ * Estados de la conciliación de un día
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public enum ReconciliationStatus {
+  RUNNING,            // En curso o interrumpida; se retoma por las particiones pendientes
+  COMPLETED           // Todas las particiones conciliadas y los saldos liquidados
+}
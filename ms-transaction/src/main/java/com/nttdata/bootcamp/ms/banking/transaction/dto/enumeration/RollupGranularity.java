@@ -0,0 +1,30 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Granularidades de los acumulados de transacciones
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public enum RollupGranularity {
+  HOUR,               // Por hora
+  DAY,                // Por día
+  MONTH;              // Por mes
+
+  /**
+   * Inicio del periodo que contiene a {@code dateTime}.
+   */
+  public LocalDateTime periodStart(LocalDateTime dateTime) {
+    switch (this) {
+      case HOUR:
+        return dateTime.truncatedTo(ChronoUnit.HOURS);
+      case DAY:
+        return dateTime.truncatedTo(ChronoUnit.DAYS);
+      default:
+        return dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+    }
+  }
+}
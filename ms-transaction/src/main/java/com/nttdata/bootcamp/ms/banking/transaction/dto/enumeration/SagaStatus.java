@@ -0,0 +1,16 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration;
+
+/**
+ * Estados de la saga de una transferencia
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public enum SagaStatus {
+  STARTED,            // Registrada; el débito del origen puede estar en curso
+  DEBITED,            // Origen debitado, falta abonar el destino
+  COMPLETED,          // Destino abonado
+  COMPENSATING,       // Revirtiendo el débito del origen
+  COMPENSATED,        // Débito revertido
+  FAILED              // ms-account rechazó el débito; no se movió dinero
+}
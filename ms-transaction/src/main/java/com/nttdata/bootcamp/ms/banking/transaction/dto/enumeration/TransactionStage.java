@@ -0,0 +1,18 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration;
+
+/**
+ * Etapas del procesamiento de una transacción, en orden de ejecución.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public enum TransactionStage {
+  VALIDATE,          // Reglas propias del tipo de transacción
+  RESOLVE_PRODUCTS,  // Lectura de los productos involucrados
+  PRE_AUTHORIZE,     // Límites de frecuencia e importe de la cuenta de origen
+  RESERVE_FUNDS,     // Retiro del dinero del producto de origen
+  COMMIT,            // Abono o actualización del producto de destino
+  PERSIST,           // Guardado de la transacción y su evento de outbox
+  PUBLISH,           // Actualización de agregados y últimos movimientos
+  COMPENSATE         // Reversión de los fondos reservados tras un fallo
+}
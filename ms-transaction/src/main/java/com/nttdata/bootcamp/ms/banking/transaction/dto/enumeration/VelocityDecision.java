@@ -0,0 +1,13 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration;
+
+/**
+ * Resultado del control de frecuencia e importe de los débitos de una cuenta.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public enum VelocityDecision {
+  ALLOWED,              // El débito entra en ambos límites y queda contado
+  TOO_MANY_DEBITS,      // Se superó el máximo de débitos por minuto
+  DAILY_LIMIT_EXCEEDED  // Se superó el importe acumulado de las últimas 24 horas
+}
@@ -0,0 +1,28 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Tabla completa de tipos de cambio publicada en el topic de tipos de cambio. Cada evento
+ * reemplaza a la tabla anterior; los eventos con una versión menor o igual a la vigente se
+ * descartan.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateEvent {
+  private long version; // Versión de la tabla, creciente
+  private String baseCurrency; // Moneda de referencia (ej. USD)
+  private Map<String, BigDecimal> rates; // Unidades de cada moneda por una unidad de la moneda base
+  private long publishedAt; // Momento de publicación en milisegundos desde epoch
+}
@@ -0,0 +1,22 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO para consultar varias cuentas de ms-account en una sola llamada.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBatchGetRequest {
+  private List<String> ids; // IDs de las cuentas a consultar
+}
@@ -0,0 +1,25 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Request DTO para aplicar un movimiento de saldo atómico en ms-account.
+ * Un delta positivo abona la cuenta y uno negativo la debita.
+ *
+ * @author Bruno Andre
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceDeltaRequest {
+  private BigDecimal delta; // Monto a sumar (positivo) o restar (negativo) del saldo
+  private BigDecimal minBalance; // Saldo mínimo permitido tras el débito (null = 0)
+  private String requestId; // Identificador de la operación para reintentos seguros
+}
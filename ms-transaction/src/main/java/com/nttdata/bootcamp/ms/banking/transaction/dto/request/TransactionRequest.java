@@ -45,6 +45,9 @@ public class TransactionRequest {
   @DecimalMin(value = "0.0", inclusive = false, message = "Amount must be greater than zero")
   private BigDecimal amount; // Monto de la transacción
 
+  @Pattern(regexp = "^[A-Z]{3}$", message = "Currency must be a 3-letter ISO 4217 code")
+  private String currency; // Moneda del monto (por defecto, la del producto)
+
   @NotNull(message = "Transaction date is mandatory")
   @FutureOrPresent(message = "Transaction date must be in the future or present")
   private LocalDateTime transactionDate; // Fecha y hora de la transacción
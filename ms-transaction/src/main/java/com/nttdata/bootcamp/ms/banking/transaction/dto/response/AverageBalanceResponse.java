@@ -9,8 +9,7 @@ import java.io.Serializable;
 import java.math.BigDecimal;
 
 /**
- * Response DTO para la cuenta bancaria.
- * Este DTO se utiliza para enviar los datos de la cuenta bancaria como respuesta.
+ * Response DTO del saldo promedio diario de una cuenta en un rango de días.
  *
  * @author Bruno Andre Castro Barrientos
  * @version 1.0
@@ -21,6 +20,7 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class AverageBalanceResponse implements Serializable {
   private String accountId;
-  private BigDecimal balance;
+  private BigDecimal balance;   // Promedio de los saldos promedio de cada día
+  private int days;             // Días del rango con saldo conocido
 }
 
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * Clase Response que representa la respuesta de un crédito.
@@ -18,4 +19,5 @@ import java.io.Serializable;
 public class CardTransactionResponse implements Serializable {
   private String cardId;
   private int transactionCount;
+  private List<TransactionResponse> transactions;
 }
@@ -1,25 +1,36 @@
-  package com.nttdata.bootcamp.ms.banking.transaction.dto.response;
+package com.nttdata.bootcamp.ms.banking.transaction.dto.response;
 
-  import lombok.AllArgsConstructor;
-  import lombok.Builder;
-  import lombok.Data;
-  import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 
-  import java.io.Serializable;
+import java.io.Serializable;
+import java.util.List;
 
-  /**
- * Response DTO para la cuenta bancaria.
- * Este DTO se utiliza para enviar los datos de la cuenta bancaria como respuesta.
+/**
+ * Resumen consolidado de los productos de un cliente.
+ *
+ * <p>Cada sección la calcula el servicio dueño del producto. Si un servicio no responde a
+ * tiempo, su sección queda en {@code null}, su nombre se agrega a
+ * {@code unavailableSections} y {@code partial} es {@code true}; {@code hasOverdueDebt}
+ * solo considera las secciones disponibles.</p>
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.0
+ * @version 1.1
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ClientSummaryResponse implements Serializable {
-    private String clientId;
-    private int totalAccounts;
+  private String clientId; // ID del cliente
+  private int totalAccounts; // Cantidad de cuentas
+  private AccountSummaryResponse accounts; // Resumen de cuentas
+  private CreditSummaryResponse credits; // Resumen de créditos
+  private CreditCardSummaryResponse creditCards; // Resumen de tarjetas de crédito
+  private DebitCardSummaryResponse debitCards; // Resumen de tarjetas de débito
+  private boolean hasOverdueDebt; // Indica si el cliente tiene deuda vencida
+  private boolean partial; // Indica si falta alguna sección
+  private List<String> unavailableSections; // Secciones que no respondieron a tiempo
 }
-
@@ -0,0 +1,29 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Resumen de las tarjetas de crédito de un cliente, calculado por el servicio que lo administra.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditCardSummaryResponse implements Serializable {
+  private String customerId; // ID del cliente
+  private long totalCards; // Cantidad de tarjetas de crédito
+  private long activeCards; // Cantidad de tarjetas activas
+  private BigDecimal totalCreditLimit; // Línea de crédito de las tarjetas activas
+  private BigDecimal totalBalance; // Saldo utilizado de las tarjetas activas
+  private long overdueCards; // Tarjetas activas con saldo y fecha de corte pasada
+  private boolean hasOverdueDebt; // Indica si el cliente tiene deuda vencida
+}
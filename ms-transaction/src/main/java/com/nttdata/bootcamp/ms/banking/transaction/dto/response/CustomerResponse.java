@@ -0,0 +1,25 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Response DTO del cliente devuelto por ms-customer.
+ * Solo incluye los datos que usan las exportaciones de reportes.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerResponse implements Serializable {
+  private String id; // Identificador único del cliente
+  private String customerType; // Tipo de cliente (PERSONAL/ENTERPRISE)
+  private String status; // Estado del cliente (ACTIVE, INACTIVE)
+}
@@ -0,0 +1,28 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO del resumen mensual de transacciones de un producto.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySummaryResponse implements Serializable {
+  private String productId; // Cuenta, crédito o tarjeta
+  private String month; // Mes en formato yyyy-MM
+  private long transactionCount; // Cantidad total de transacciones, base para el cobro de comisiones
+  private BigDecimal totalAmount; // Suma de los montos
+  private List<TransactionRollupResponse> byType; // Detalle por tipo de transacción
+}
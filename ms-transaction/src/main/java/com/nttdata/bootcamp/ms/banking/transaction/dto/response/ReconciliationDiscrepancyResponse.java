@@ -0,0 +1,31 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.response;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.DiscrepancyType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO de una diferencia encontrada al conciliar una cuenta.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationDiscrepancyResponse implements Serializable {
+  private String accountId;
+  private DiscrepancyType type;               // BALANCE_MISMATCH o MISSING_ACCOUNT
+  private String currency;
+  private BigDecimal accountBalance;          // Saldo en ms-account, null si no existe la cuenta
+  private BigDecimal expectedBalance;         // Saldo según las transacciones
+  private BigDecimal difference;              // accountBalance - expectedBalance
+  private LocalDateTime detectedAt;
+}
@@ -0,0 +1,34 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.response;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ReconciliationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO con el avance y el resultado de la conciliación de un día.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationRunResponse implements Serializable {
+  private String day;                         // Día conciliado
+  private ReconciliationStatus status;        // RUNNING o COMPLETED
+  private LocalDateTime since;                // Inicio del período conciliado, null en la primera
+  private LocalDateTime cutoff;               // Fin del período conciliado
+  private int partitions;                     // Particiones de cuentas
+  private int completedPartitions;            // Particiones terminadas
+  private long accounts;                      // Cuentas conciliadas
+  private long discrepancies;                 // Diferencias encontradas
+  private long unbaselined;                   // Cuentas sin openingBalance, no conciliadas
+  private LocalDateTime startedAt;            // Inicio
+  private LocalDateTime completedAt;          // Fin, null mientras está en curso
+}
@@ -0,0 +1,34 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.response;
+
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Resultado de una línea de la carga masiva de transacciones.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchResult implements Serializable {
+  private long line; // Número de línea en el archivo NDJSON
+  private String code; // Código del resultado (200 aplicada, 400 rechazada)
+  private String message; // Motivo del rechazo o mensaje de éxito
+  private TransactionResponse transaction; // Transacción registrada (si corresponde)
+
+  public static TransactionBatchResult posted(long line, TransactionResponse transaction) {
+    return new TransactionBatchResult(line, ConstantUtil.OK_CODE, ConstantUtil.OK_MESSAGE, transaction);
+  }
+
+  public static TransactionBatchResult rejected(long line, String message) {
+    return new TransactionBatchResult(line, ConstantUtil.ERROR_CODE, message, null);
+  }
+}
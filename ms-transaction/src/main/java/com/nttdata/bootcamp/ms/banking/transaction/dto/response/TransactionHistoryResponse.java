@@ -0,0 +1,23 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página del historial de transacciones de un producto.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionHistoryResponse {
+  private List<TransactionResponse> transactions; // Transacciones de la página, de la más reciente a la más antigua
+  private String nextCursor; // Cursor para pedir la página siguiente, null si no hay más
+}
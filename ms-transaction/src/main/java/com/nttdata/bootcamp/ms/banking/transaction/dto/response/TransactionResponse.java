@@ -30,6 +30,11 @@ public class TransactionResponse implements Serializable {
   private String creditCardId; // Tarjeta de crédito a la que se aplica el pago (si corresponde)
   private String debitCardId; // Opcional, si deseas guardar la tarjeta de débito
   private BigDecimal amount; // Monto de la transacción
+  private String currency; // Moneda del monto
+  private BigDecimal convertedAmount; // Monto en la moneda del producto abonado (si hubo conversión)
+  private String convertedCurrency; // Moneda del monto convertido
+  private BigDecimal fxRate; // Tipo de cambio aplicado (si hubo conversión)
+  private Long fxRateVersion; // Versión de la tabla de tipos de cambio aplicada
   private LocalDateTime transactionDate; // Fecha y hora de la transacción
 }
 
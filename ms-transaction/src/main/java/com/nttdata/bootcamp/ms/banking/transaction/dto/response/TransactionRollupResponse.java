@@ -0,0 +1,31 @@
+package com.nttdata.bootcamp.ms.banking.transaction.dto.response;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RollupGranularity;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO de un acumulado de transacciones por periodo y tipo.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionRollupResponse implements Serializable {
+  private String productId; // Cuenta, crédito o tarjeta
+  private RollupGranularity granularity; // HOUR, DAY o MONTH
+  private LocalDateTime periodStart; // Inicio del periodo
+  private TransactionType transactionType; // Tipo de transacción
+  private long count; // Cantidad de transacciones
+  private BigDecimal amount; // Suma de los montos
+}
@@ -0,0 +1,40 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo liquidado de una cuenta: la suma de sus transacciones hasta el corte de la última
+ * conciliación en la que tuvo movimientos.
+ *
+ * <p>Se conserva el saldo liquidado anterior para que repetir la conciliación de un mismo
+ * corte, al retomarla, parta del mismo saldo y no sume dos veces las transacciones.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "account_settlements")
+public class AccountSettlement {
+  @Id
+  private String id;                          // ID de la cuenta
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal settledBalance;          // Saldo según las transacciones hasta settledThrough
+  private LocalDateTime settledThrough;       // Corte de la conciliación que lo calculó
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal previousBalance;         // Saldo liquidado antes de ese corte
+  private LocalDateTime previousThrough;      // Corte del saldo anterior, null si no había
+  private LocalDateTime updatedAt;            // Último cambio
+}
@@ -0,0 +1,30 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Modelo de lectura de un cliente: todos sus productos en un solo documento, para armar
+ * el resumen consolidado con una lectura y sin llamar a otros servicios.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "customer_views")
+public class CustomerView {
+  @Id
+  private String id;                              // ID del cliente
+  private Map<String, ProductSnapshot> products;  // Productos del cliente por ID
+  private LocalDateTime updatedAt;                // Último cambio aplicado
+}
@@ -0,0 +1,48 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Acumulado diario del saldo de una cuenta, actualizado con cada movimiento.
+ *
+ * <p>{@code balanceSeconds} es la suma de saldo × segundos desde el inicio del día hasta
+ * {@code lastChangeAt}; desde ese momento hasta el fin del día el saldo es
+ * {@code closingBalance}. Un día sin documento mantiene el cierre del día anterior.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "daily_balances")
+@CompoundIndexes({
+    @CompoundIndex(name = "account_day", def = "{'accountId': 1, 'day': 1}"),
+    @CompoundIndex(name = "day_account", def = "{'day': 1, 'accountId': 1}")
+})
+public class DailyBalance {
+  @Id
+  private String id;                          // accountId|yyyy-MM-dd
+  private String accountId;                   // Cuenta
+  private String day;                         // Día en formato ISO (yyyy-MM-dd)
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal openingBalance;          // Saldo al inicio del día
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal closingBalance;          // Saldo tras el último movimiento del día
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal balanceSeconds;          // Saldo × segundos acumulado hasta lastChangeAt
+  private Date lastChangeAt;                   // Momento del último movimiento del día
+}
@@ -0,0 +1,34 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.OutboxStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento pendiente de publicar en Kafka, escrito junto con la transacción que lo origina.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "transaction_outbox")
+public class OutboxEvent {
+  @Id
+  private String id;                      // Identificador único del evento
+  private String aggregateId;             // Cuenta o producto afectado, usado como clave de partición
+  private String eventType;               // Tipo de evento
+  private byte[] payload;                 // Evento codificado con TransactionEventCodec
+  private OutboxStatus status;            // Estado de publicación (PENDING, SENT, FAILED)
+  private int attempts;                   // Intentos de publicación fallidos
+  private LocalDateTime createdAt;        // Fecha de creación, define el orden de publicación
+  private LocalDateTime sentAt;           // Fecha de confirmación de Kafka
+}
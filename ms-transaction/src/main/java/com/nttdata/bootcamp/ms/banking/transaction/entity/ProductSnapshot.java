@@ -0,0 +1,41 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Copia de los datos de un producto que usan los reportes, embebida en
+ * {@link CustomerView} y {@link ProductView}.
+ *
+ * <p>{@code version} es el {@code clusterTime} del cambio que la produjo: un cambio solo se
+ * aplica si no es anterior a la copia guardada.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSnapshot {
+  private String productId;                 // ID de la cuenta, crédito o tarjeta
+  private ProductType productType;          // ACCOUNT, CREDIT, CREDIT_CARD o DEBIT_CARD
+  private String customerId;                // Cliente titular
+  private String status;                    // Estado del producto (ACTIVE, INACTIVE, ...)
+  private String currency;                  // Moneda (solo cuentas)
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal balance;               // Saldo de la cuenta, deuda del crédito o saldo usado de la tarjeta
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal amount;                // Monto del crédito o línea de la tarjeta de crédito
+  private LocalDate dueDate;                // Vencimiento del crédito o fecha de corte de la tarjeta
+  private int linkedAccounts;               // Cuentas asociadas (solo tarjetas de débito)
+  private long version;                     // clusterTime del cambio aplicado
+}
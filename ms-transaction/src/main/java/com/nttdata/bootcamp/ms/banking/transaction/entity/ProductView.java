@@ -0,0 +1,40 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Modelo de lectura de un producto: su copia y sus últimos movimientos, el más reciente
+ * primero.
+ *
+ * <p>{@code recentComplete} indica que el producto se creó con la proyección en marcha, así
+ * que {@code transactionCount} cuenta todas sus transacciones; si no, solo las vistas desde
+ * que arrancó la proyección.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "product_views")
+public class ProductView {
+  @Id
+  private String id;                          // ID de la cuenta, crédito o tarjeta
+  private String customerId;                  // Cliente titular
+  private ProductSnapshot snapshot;           // Copia del producto
+  private long snapshotVersion;               // clusterTime de la copia
+  private List<TransactionResponse> recent;   // Últimos movimientos, el más reciente primero
+  private boolean recentComplete;             // Se vieron todas las transacciones del producto
+  private long transactionCount;              // Transacciones vistas
+  private LocalDateTime updatedAt;            // Último cambio aplicado
+}
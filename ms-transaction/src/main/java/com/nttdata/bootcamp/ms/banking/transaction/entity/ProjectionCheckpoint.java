@@ -0,0 +1,34 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Punto de reanudación del change stream de una colección proyectada.
+ *
+ * <p>Mientras no se procesa ningún cambio solo existe {@code operationTime}, el momento en
+ * que terminó la carga inicial; después, {@code resumeToken} es el token del último cambio
+ * aplicado.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "projection_checkpoints")
+public class ProjectionCheckpoint {
+  @Id
+  private String id;                      // Nombre de la fuente (ProjectionSource)
+  private String resumeToken;             // Campo _data del último token procesado
+  private Long operationTime;             // clusterTime desde el que se lee si no hay token
+  private LocalDateTime backfilledAt;     // Fin de la carga inicial
+  private LocalDateTime updatedAt;        // Último guardado
+}
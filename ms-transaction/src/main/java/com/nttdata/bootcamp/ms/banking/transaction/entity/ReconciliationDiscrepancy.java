@@ -0,0 +1,44 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.DiscrepancyType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Diferencia entre el saldo de una cuenta y el que resulta de sus transacciones, encontrada
+ * por una conciliación.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "reconciliation_discrepancies")
+@CompoundIndex(name = "run_account", def = "{'runId': 1, 'accountId': 1}")
+public class ReconciliationDiscrepancy {
+  @Id
+  private String id;                          // runId|accountId
+  private String runId;                       // Día conciliado (yyyy-MM-dd)
+  private String accountId;                   // Cuenta
+  private DiscrepancyType type;               // BALANCE_MISMATCH o MISSING_ACCOUNT
+  private String currency;                    // Moneda de la cuenta
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal accountBalance;          // Saldo en ms-account, null si no existe la cuenta
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal expectedBalance;         // Saldo según las transacciones
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal difference;              // accountBalance - expectedBalance
+  private LocalDateTime detectedAt;           // Momento de la verificación
+}
@@ -0,0 +1,43 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ReconciliationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Conciliación de fin de día y su avance.
+ *
+ * <p>Las cuentas se reparten en {@code boundaries.size() + 1} particiones por rango de ID:
+ * la partición {@code i} va desde {@code boundaries[i - 1]} inclusive hasta
+ * {@code boundaries[i]} exclusive, sin límite en los extremos. Los límites se guardan al
+ * crear la conciliación para que al retomarla las particiones sean las mismas.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "reconciliation_runs")
+public class ReconciliationRun {
+  @Id
+  private String id;                          // Día conciliado (yyyy-MM-dd)
+  private ReconciliationStatus status;        // RUNNING o COMPLETED
+  private LocalDateTime since;                // Corte de la conciliación anterior, null en la primera
+  private LocalDateTime cutoff;               // Fin del día conciliado
+  private List<String> boundaries;            // Límites entre particiones, ordenados
+  private List<Integer> completedPartitions;  // Particiones terminadas
+  private long accounts;                      // Cuentas conciliadas en las particiones terminadas
+  private long discrepancies;                 // Diferencias encontradas en las particiones terminadas
+  private long unbaselined;                   // Cuentas sin openingBalance, no conciliadas
+  private LocalDateTime startedAt;            // Inicio
+  private LocalDateTime completedAt;          // Fin, null mientras está en curso
+}
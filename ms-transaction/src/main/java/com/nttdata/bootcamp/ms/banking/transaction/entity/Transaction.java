@@ -5,7 +5,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -15,13 +19,21 @@ import java.time.LocalDateTime;
  * Entidad crédito
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.0
+ * @version 1.3
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Document(collection = "transactions")
+@CompoundIndexes({
+    @CompoundIndex(name = "origin_date_id", def = "{'originAccountId': 1, 'transactionDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "destination_date_id", def = "{'destinationAccountId': 1, 'transactionDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "credit_date_id", def = "{'creditId': 1, 'transactionDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "credit_card_date_id", def = "{'creditCardId': 1, 'transactionDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "debit_card_date_id", def = "{'debitCardId': 1, 'transactionDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "date_id", def = "{'transactionDate': 1, '_id': 1}")
+})
 public class Transaction {
   @Id
   private String id;                          // Identificador único de la transacción
@@ -31,6 +43,30 @@ public class Transaction {
   private String creditId;                    // Crédito al que se aplica el pago (si corresponde)
   private String creditCardId;                // Tarjeta de crédito a la que se aplica el pago (si corresponde)
   private String debitCardId;                 // Opcional, si deseas guardar la tarjeta de débito
-  private BigDecimal amount;                  // Monto de la transacción
+  private Money amount;                       // Monto de la transacción
+  private Money convertedAmount;              // Monto en la moneda del producto abonado, si hubo conversión
+  private BigDecimal fxRate;                  // Tipo de cambio aplicado (si hubo conversión)
+  private Long fxRateVersion;                 // Versión de la tabla de tipos de cambio aplicada
   private LocalDateTime transactionDate;      // Fecha y hora de la transacción
+  @Indexed(unique = true, sparse = true)
+  private String requestId;                   // requestId de los movimientos de saldo; evita registrarla dos veces
+
+  /**
+   * Importe de la transacción en la moneda de uno de sus productos. En una transferencia
+   * con conversión, la cuenta de origen se mueve por {@code amount} y la de destino por
+   * {@code convertedAmount}; en el resto de tipos el único producto se mueve por
+   * {@code convertedAmount} si lo hay.
+   *
+   * @param productId Cuenta, crédito o tarjeta de la transacción.
+   * @return El importe en la moneda del producto.
+   */
+  public Money amountFor(String productId) {
+    if (convertedAmount == null) {
+      return amount;
+    }
+    if (transactionType == TransactionType.TRANSFER && !productId.equals(destinationAccountId)) {
+      return amount;
+    }
+    return convertedAmount;
+  }
 }
\ No newline at end of file
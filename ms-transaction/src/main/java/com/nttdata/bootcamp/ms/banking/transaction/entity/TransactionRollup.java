@@ -0,0 +1,41 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RollupGranularity;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Acumulado de transacciones de un producto por periodo y tipo de transacción.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "transaction_rollups")
+@CompoundIndex(name = "product_granularity_period",
+    def = "{'productId': 1, 'granularity': 1, 'periodStart': 1}")
+public class TransactionRollup {
+  @Id
+  private String id;                          // productId|granularity|periodStart|transactionType
+  private String productId;                   // Cuenta, crédito o tarjeta
+  private RollupGranularity granularity;      // HOUR, DAY o MONTH
+  private LocalDateTime periodStart;          // Inicio del periodo
+  private TransactionType transactionType;    // Tipo de transacción
+  private long count;                         // Cantidad de transacciones
+  @Field(targetType = FieldType.DECIMAL128)
+  private BigDecimal amount;                  // Suma de los montos
+}
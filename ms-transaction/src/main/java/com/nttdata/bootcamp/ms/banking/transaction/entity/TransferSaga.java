@@ -0,0 +1,48 @@
+package com.nttdata.bootcamp.ms.banking.transaction.entity;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.SagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Estado persistido de una transferencia entre cuentas. Los identificadores de cada
+ * movimiento de saldo derivan de {@code requestId}; el ID de la saga es también el ID de la
+ * transacción registrada.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "transfer_sagas")
+@CompoundIndex(name = "status_updated_idx", def = "{'status': 1, 'updatedAt': 1}")
+public class TransferSaga {
+  @Id
+  private String id;                      // Identificador de la saga y de su transacción
+  @Indexed(unique = true)
+  private String requestId;               // requestId de la transacción
+  private String originAccountId;         // Cuenta debitada
+  private String destinationAccountId;    // Cuenta abonada
+  private Money amount;                   // Importe debitado, en la moneda de la cuenta de origen
+  private Money creditAmount;             // Importe abonado, en la moneda de la cuenta de destino
+  private BigDecimal fxRate;              // Tipo de cambio aplicado (si las monedas difieren)
+  private Long fxRateVersion;             // Versión de la tabla de tipos de cambio aplicada
+  private LocalDateTime transactionDate;  // Fecha de la transacción, para registrarla al retomar la saga
+  private SagaStatus status;              // Estado actual
+  private int attempts;                   // Intentos de recuperación
+  private String lastError;               // Último error registrado
+  private LocalDateTime createdAt;        // Fecha de inicio
+  private LocalDateTime updatedAt;        // Último cambio de estado, usado para detectar sagas detenidas
+}
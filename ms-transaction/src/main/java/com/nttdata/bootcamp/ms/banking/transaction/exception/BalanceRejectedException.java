@@ -0,0 +1,16 @@
+package com.nttdata.bootcamp.ms.banking.transaction.exception;
+
+/**
+ * ms-account respondió y rechazó el movimiento de saldo (cuenta inexistente o inactiva,
+ * fondos insuficientes). A diferencia de un timeout o un error de red, se sabe con certeza
+ * que el movimiento no se aplicó.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public class BalanceRejectedException extends ApiValidateException {
+
+  public BalanceRejectedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,227 @@
+package com.nttdata.bootcamp.ms.banking.transaction.mapper;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ProductType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ProjectionSource;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RecordStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AccountSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ClientSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CreditCardSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CreditSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.DebitCardSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.CustomerView;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ProductSnapshot;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conversión entre los documentos de las colecciones proyectadas, el modelo de lectura y
+ * las respuestas de los reportes.
+ *
+ * <p>Los documentos de cuentas y productos se leen sin tipo porque pertenecen a otros
+ * servicios: los importes pueden estar guardados como Decimal128, número o texto. El
+ * resumen del cliente aplica los mismos criterios que las agregaciones de ms-account y
+ * ms-product.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Component
+public class ReadModelMapper {
+
+  private static final String CREDIT_CARD_TYPE = "CREDIT";
+  private static final String DEBIT_CARD_TYPE = "DEBIT";
+
+  private final ZoneId zone = ZoneId.systemDefault();
+
+  /**
+   * Copia los datos de un producto de {@code source}.
+   *
+   * @return La copia, o null si el documento no es un producto reconocido.
+   */
+  public ProductSnapshot toSnapshot(ProjectionSource source, Document document, long version) {
+    ProductSnapshot.ProductSnapshotBuilder snapshot = ProductSnapshot.builder()
+        .productId(idOf(document.get("_id")))
+        .customerId(document.getString("customerId"))
+        .status(stringOf(document.get("status")))
+        .version(version);
+    switch (source) {
+      case ACCOUNTS:
+        return snapshot.productType(ProductType.ACCOUNT)
+            .currency(document.get("currency") != null ? document.getString("currency") : Money.DEFAULT_CURRENCY)
+            .balance(decimalOf(document.get("balance")))
+            .build();
+      case CREDITS:
+        return snapshot.productType(ProductType.CREDIT)
+            .amount(decimalOf(document.get("amount")))
+            .balance(decimalOf(document.get("debt")))
+            .dueDate(this.dayOf(document.get("dueDate")))
+            .build();
+      case CARDS:
+        if (CREDIT_CARD_TYPE.equals(document.getString("type"))) {
+          return snapshot.productType(ProductType.CREDIT_CARD)
+              .amount(decimalOf(document.get("creditLimit")))
+              .balance(decimalOf(document.get("balance")))
+              .dueDate(this.dayOf(document.get("cutoffDate")))
+              .build();
+        }
+        if (DEBIT_CARD_TYPE.equals(document.getString("type"))) {
+          Object accounts = document.get("associatedAccounts");
+          return snapshot.productType(ProductType.DEBIT_CARD)
+              .linkedAccounts(accounts instanceof Collection<?> linked ? linked.size() : 0)
+              .build();
+        }
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Arma el resumen consolidado de un cliente a partir de su modelo de lectura. Sin modelo,
+   * el cliente no tiene productos y todas las secciones quedan en cero.
+   */
+  public ClientSummaryResponse toClientSummary(String customerId, CustomerView view, LocalDate today) {
+    Collection<ProductSnapshot> products = view == null || view.getProducts() == null
+        ? List.of() : view.getProducts().values();
+
+    long accounts = 0;
+    long activeAccounts = 0;
+    Map<String, BigDecimal> balanceByCurrency = new LinkedHashMap<>();
+    long credits = 0;
+    long activeCredits = 0;
+    BigDecimal creditAmount = BigDecimal.ZERO;
+    BigDecimal creditDebt = BigDecimal.ZERO;
+    long overdueCredits = 0;
+    BigDecimal overdueDebt = BigDecimal.ZERO;
+    long creditCards = 0;
+    long activeCreditCards = 0;
+    BigDecimal creditLimit = BigDecimal.ZERO;
+    BigDecimal creditCardBalance = BigDecimal.ZERO;
+    long overdueCreditCards = 0;
+    long debitCards = 0;
+    long activeDebitCards = 0;
+    long linkedAccounts = 0;
+
+    for (ProductSnapshot product : products) {
+      boolean active = RecordStatus.ACTIVE.name().equals(product.getStatus());
+      BigDecimal balance = product.getBalance() != null ? product.getBalance() : BigDecimal.ZERO;
+      boolean overdue = active && balance.signum() > 0
+          && product.getDueDate() != null && product.getDueDate().isBefore(today);
+      switch (product.getProductType()) {
+        case ACCOUNT:
+          accounts++;
+          activeAccounts += active ? 1 : 0;
+          balanceByCurrency.merge(product.getCurrency(), balance, BigDecimal::add);
+          break;
+        case CREDIT:
+          credits++;
+          creditAmount = creditAmount.add(product.getAmount() != null ? product.getAmount() : BigDecimal.ZERO);
+          if (active) {
+            activeCredits++;
+            creditDebt = creditDebt.add(balance);
+          }
+          if (overdue) {
+            overdueCredits++;
+            overdueDebt = overdueDebt.add(balance);
+          }
+          break;
+        case CREDIT_CARD:
+          creditCards++;
+          if (active) {
+            activeCreditCards++;
+            creditLimit = creditLimit.add(product.getAmount() != null ? product.getAmount() : BigDecimal.ZERO);
+            creditCardBalance = creditCardBalance.add(balance);
+          }
+          overdueCreditCards += overdue ? 1 : 0;
+          break;
+        default:
+          debitCards++;
+          activeDebitCards += active ? 1 : 0;
+          linkedAccounts += product.getLinkedAccounts();
+          break;
+      }
+    }
+
+    return ClientSummaryResponse.builder()
+        .clientId(customerId)
+        .totalAccounts((int) accounts)
+        .accounts(AccountSummaryResponse.builder()
+            .customerId(customerId)
+            .totalAccounts(accounts)
+            .activeAccounts(activeAccounts)
+            .balanceByCurrency(balanceByCurrency)
+            .build())
+        .credits(CreditSummaryResponse.builder()
+            .customerId(customerId)
+            .totalCredits(credits)
+            .activeCredits(activeCredits)
+            .totalAmount(creditAmount)
+            .totalDebt(creditDebt)
+            .overdueCredits(overdueCredits)
+            .overdueDebt(overdueDebt)
+            .hasOverdueDebt(overdueCredits > 0)
+            .build())
+        .creditCards(CreditCardSummaryResponse.builder()
+            .customerId(customerId)
+            .totalCards(creditCards)
+            .activeCards(activeCreditCards)
+            .totalCreditLimit(creditLimit)
+            .totalBalance(creditCardBalance)
+            .overdueCards(overdueCreditCards)
+            .hasOverdueDebt(overdueCreditCards > 0)
+            .build())
+        .debitCards(DebitCardSummaryResponse.builder()
+            .customerId(customerId)
+            .totalCards(debitCards)
+            .activeCards(activeDebitCards)
+            .linkedAccounts(linkedAccounts)
+            .build())
+        .hasOverdueDebt(overdueCredits > 0 || overdueCreditCards > 0)
+        .partial(false)
+        .unavailableSections(List.of())
+        .build();
+  }
+
+  /**
+   * ID de un documento como texto: los ObjectId se escriben en hexadecimal.
+   */
+  public static String idOf(Object id) {
+    if (id instanceof ObjectId objectId) {
+      return objectId.toHexString();
+    }
+    return id == null ? null : id.toString();
+  }
+
+  private static String stringOf(Object value) {
+    return value == null ? null : value.toString();
+  }
+
+  /**
+   * Importe guardado como Decimal128, número o texto; cero si no hay.
+   */
+  public static BigDecimal decimalOf(Object value) {
+    if (value instanceof Decimal128 decimal) {
+      return decimal.bigDecimalValue();
+    }
+    return value == null ? BigDecimal.ZERO : new BigDecimal(value.toString());
+  }
+
+  private LocalDate dayOf(Object value) {
+    if (value instanceof Date date) {
+      return LocalDate.ofInstant(date.toInstant(), zone);
+    }
+    return value == null ? null : LocalDate.parse(value.toString());
+  }
+}
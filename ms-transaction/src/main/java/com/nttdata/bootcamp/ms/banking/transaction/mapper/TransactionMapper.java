@@ -3,6 +3,7 @@ package com.nttdata.bootcamp.ms.banking.transaction.mapper;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
 import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -16,7 +17,8 @@ public class TransactionMapper {
     transaction.setCreditId(request.getCreditId());
     transaction.setCreditCardId(request.getCreditCardId());
     transaction.setDebitCardId(request.getDebitCardId());
-    transaction.setAmount(request.getAmount());
+    transaction.setAmount(Money.of(request.getAmount(),
+        request.getCurrency() != null ? request.getCurrency() : Money.DEFAULT_CURRENCY));
     transaction.setTransactionDate(request.getTransactionDate());
     return transaction;
   }
@@ -30,7 +32,16 @@ public class TransactionMapper {
     response.setCreditId(transaction.getCreditId());
     response.setCreditCardId(transaction.getCreditCardId());
     response.setDebitCardId(transaction.getDebitCardId());
-    response.setAmount(transaction.getAmount());
+    if (transaction.getAmount() != null) {
+      response.setAmount(transaction.getAmount().toBigDecimal());
+      response.setCurrency(transaction.getAmount().getCurrency());
+    }
+    if (transaction.getConvertedAmount() != null) {
+      response.setConvertedAmount(transaction.getConvertedAmount().toBigDecimal());
+      response.setConvertedCurrency(transaction.getConvertedAmount().getCurrency());
+    }
+    response.setFxRate(transaction.getFxRate());
+    response.setFxRateVersion(transaction.getFxRateVersion());
     response.setTransactionDate(transaction.getTransactionDate());
     return response;
   }
@@ -0,0 +1,9 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.CustomerView;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerViewRepository extends ReactiveMongoRepository<CustomerView, String> {
+}
@@ -0,0 +1,50 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.DailyBalance;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface DailyBalanceRepository extends ReactiveMongoRepository<DailyBalance, String>,
+    DailyBalanceRepositoryCustom {
+
+  /**
+   * Encuentra los acumulados de una cuenta entre dos días, ambos incluidos.
+   *
+   * @param accountId ID de la cuenta.
+   * @param fromDay   Día inicial (yyyy-MM-dd).
+   * @param toDay     Día final (yyyy-MM-dd).
+   * @param sort      Orden de los resultados.
+   * @return Flujo de acumulados diarios.
+   */
+  @Query("{ 'accountId': ?0, 'day': { $gte: ?1, $lte: ?2 } }")
+  Flux<DailyBalance> findByAccountIdAndDayRange(String accountId, String fromDay, String toDay, Sort sort);
+
+  /**
+   * Encuentra los acumulados de todas las cuentas entre dos días, ambos incluidos. El
+   * cursor trae los documentos en lotes de {@link ConstantUtil#EXPORT_BATCH_SIZE}.
+   *
+   * @param fromDay Día inicial (yyyy-MM-dd).
+   * @param toDay   Día final (yyyy-MM-dd).
+   * @param sort    Orden de los resultados.
+   * @return Flujo de acumulados diarios.
+   */
+  @Query("{ 'day': { $gte: ?0, $lte: ?1 } }")
+  @Meta(cursorBatchSize = ConstantUtil.EXPORT_BATCH_SIZE)
+  Flux<DailyBalance> findByDayRange(String fromDay, String toDay, Sort sort);
+
+  /**
+   * Encuentra el último acumulado de una cuenta anterior a un día.
+   *
+   * @param accountId ID de la cuenta.
+   * @param day       Día (yyyy-MM-dd).
+   * @return El acumulado más reciente anterior al día, o vacío.
+   */
+  Mono<DailyBalance> findFirstByAccountIdAndDayLessThanOrderByDayDesc(String accountId, String day);
+}
@@ -0,0 +1,44 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.DailyBalance;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Operaciones sobre acumulados diarios que no pueden expresarse como métodos derivados.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+public interface DailyBalanceRepositoryCustom {
+
+  /**
+   * Registra un cambio de saldo en el acumulado del día con una única escritura: suma al
+   * acumulado el saldo anterior por los segundos transcurridos desde el último cambio y
+   * deja {@code newBalance} como nuevo cierre. Crea el documento si es el primer cambio del día.
+   * Si {@code changedAt} es anterior al último cambio registrado, el cambio se ignora.
+   *
+   * @param accountId       ID de la cuenta.
+   * @param day             Día del cambio.
+   * @param dayStart        Inicio del día.
+   * @param changedAt       Momento del cambio.
+   * @param previousBalance Saldo antes del cambio, usado si es el primer cambio del día.
+   * @param newBalance      Saldo después del cambio.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> applyChange(String accountId, LocalDate day, Instant dayStart, Instant changedAt,
+                         BigDecimal previousBalance, BigDecimal newBalance);
+
+  /**
+   * Obtiene, para cada cuenta con acumulados anteriores a {@code day}, el último de ellos.
+   * Solo se completan {@code accountId}, {@code day} y {@code closingBalance}.
+   *
+   * @param day Día (yyyy-MM-dd).
+   * @return Flujo de acumulados, uno por cuenta, ordenado por ID de cuenta.
+   */
+  Flux<DailyBalance> findLastClosingsBefore(String day);
+}
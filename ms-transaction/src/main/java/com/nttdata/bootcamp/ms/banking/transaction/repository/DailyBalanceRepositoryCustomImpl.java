@@ -0,0 +1,110 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.mongodb.client.model.UpdateOptions;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.DailyBalance;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Implementación de {@link DailyBalanceRepositoryCustom} sobre {@link ReactiveMongoTemplate}.
+ *
+ * <p>El cambio de saldo es un update con pipeline: dentro de una misma etapa
+ * {@code $set} las referencias {@code $campo} leen el documento anterior, por lo que el
+ * acumulado usa el cierre previo y el momento del cambio previo sin leerlos antes. Los
+ * cambios que llegan después de uno posterior se descartan, así el cierre nunca retrocede a
+ * un saldo ya superado.</p>
+ *
+ * <p>Los últimos cierres se devuelven como cursor ordenado por cuenta, en lotes de
+ * {@link ConstantUtil#EXPORT_BATCH_SIZE}, para poder cruzarlos con los acumulados del rango sin
+ * cargarlos todos en memoria.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@RequiredArgsConstructor
+public class DailyBalanceRepositoryCustomImpl implements DailyBalanceRepositoryCustom {
+
+  static final String ID_SEPARATOR = "|";
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  public static String idOf(String accountId, String day) {
+    return accountId + ID_SEPARATOR + day;
+  }
+
+  @Override
+  public Mono<Void> applyChange(String accountId, LocalDate day, Instant dayStart, Instant changedAt,
+                                BigDecimal previousBalance, BigDecimal newBalance) {
+    return mongoTemplate.getCollection(mongoTemplate.getCollectionName(DailyBalance.class))
+        .flatMap(collection -> Mono.from(collection.updateOne(
+            new Document("_id", idOf(accountId, day.toString())),
+            changeUpdate(accountId, day, dayStart, changedAt, previousBalance, newBalance),
+            new UpdateOptions().upsert(true))))
+        .then();
+  }
+
+  /**
+   * Update con pipeline de {@link #applyChange}. Un cambio anterior a {@code lastChangeAt}
+   * llega tarde: su saldo ya está reflejado en el cierre vigente, por lo que el documento
+   * queda igual en lugar de retroceder el cierre y descontar el tramo ya acumulado.
+   */
+  private static List<Document> changeUpdate(String accountId, LocalDate day, Instant dayStart, Instant changedAt,
+                                             BigDecimal previousBalance, BigDecimal newBalance) {
+    Decimal128 previous = new Decimal128(previousBalance);
+    Date at = Date.from(changedAt);
+    Document stale = new Document("$lt", List.of(at,
+        new Document("$ifNull", List.of("$lastChangeAt", Date.from(dayStart)))));
+    Document elapsedSeconds = new Document("$divide", List.of(
+        new Document("$max", List.of(0L, new Document("$subtract", List.of(at,
+            new Document("$ifNull", List.of("$lastChangeAt", Date.from(dayStart))))))),
+        1000));
+    Document set = new Document("accountId", accountId)
+        .append("day", day.toString())
+        .append("openingBalance", new Document("$ifNull", List.of("$openingBalance", previous)))
+        .append("balanceSeconds", unlessStale(stale, "$balanceSeconds", new Document("$add", List.of(
+            new Document("$ifNull", List.of("$balanceSeconds", new Decimal128(BigDecimal.ZERO))),
+            new Document("$multiply", List.of(
+                new Document("$ifNull", List.of("$closingBalance", previous)), elapsedSeconds))))))
+        .append("closingBalance", unlessStale(stale, "$closingBalance", new Decimal128(newBalance)))
+        .append("lastChangeAt", unlessStale(stale, "$lastChangeAt", at));
+    return List.of(new Document("$set", set));
+  }
+
+  private static Document unlessStale(Document stale, String current, Object value) {
+    return new Document("$cond", List.of(stale, current, value));
+  }
+
+  @Override
+  public Flux<DailyBalance> findLastClosingsBefore(String day) {
+    Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("day").lt(day)),
+            Aggregation.sort(Sort.by(Sort.Direction.DESC, "accountId", "day")),
+            Aggregation.group("accountId").first("day").as("day").first("closingBalance").as("closingBalance"),
+            Aggregation.sort(Sort.by(Sort.Direction.ASC, "_id")))
+        .withOptions(AggregationOptions.builder()
+            .allowDiskUse(true)
+            .cursorBatchSize(ConstantUtil.EXPORT_BATCH_SIZE)
+            .build());
+    return mongoTemplate.aggregate(aggregation, DailyBalance.class, Document.class)
+        .map(document -> DailyBalance.builder()
+            .accountId(document.getString("_id"))
+            .day(document.getString("day"))
+            .closingBalance(document.get("closingBalance", Decimal128.class).bigDecimalValue())
+            .build());
+  }
+}
@@ -0,0 +1,37 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.OutboxStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface OutboxEventRepository extends ReactiveMongoRepository<OutboxEvent, String> {
+  /**
+   * Encuentra los eventos en un estado dado, en orden de creación.
+   *
+   * @param status   Estado del evento.
+   * @param pageable Tamaño del lote.
+   * @return Flujo de eventos ordenados.
+   */
+  Flux<OutboxEvent> findByStatusOrderByCreatedAtAscIdAsc(OutboxStatus status, Pageable pageable);
+
+  /**
+   * Encuentra el evento pendiente más antiguo.
+   *
+   * @param status Estado del evento.
+   * @return El evento más antiguo en ese estado.
+   */
+  Mono<OutboxEvent> findFirstByStatusOrderByCreatedAtAsc(OutboxStatus status);
+
+  /**
+   * Cuenta los eventos en un estado dado.
+   *
+   * @param status Estado del evento.
+   * @return Cantidad de eventos.
+   */
+  Mono<Long> countByStatus(OutboxStatus status);
+}
@@ -0,0 +1,9 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ProductView;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductViewRepository extends ReactiveMongoRepository<ProductView, String> {
+}
@@ -0,0 +1,19 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ReconciliationDiscrepancy;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReconciliationDiscrepancyRepository
+    extends ReactiveMongoRepository<ReconciliationDiscrepancy, String> {
+
+  /**
+   * Obtiene las diferencias de una conciliación ordenadas por cuenta.
+   *
+   * @param runId Día conciliado (yyyy-MM-dd).
+   * @return Flujo de diferencias.
+   */
+  Flux<ReconciliationDiscrepancy> findByRunIdOrderByAccountIdAsc(String runId);
+}
@@ -0,0 +1,19 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ReconciliationStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ReconciliationRun;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReconciliationRunRepository extends ReactiveMongoRepository<ReconciliationRun, String> {
+
+  /**
+   * Obtiene la conciliación más reciente en un estado.
+   *
+   * @param status Estado buscado.
+   * @return La conciliación del día más reciente, vacío si no hay.
+   */
+  Mono<ReconciliationRun> findFirstByStatusOrderByIdDesc(ReconciliationStatus status);
+}
@@ -0,0 +1,45 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Archivo de transacciones antiguas fuera de MongoDB.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface TransactionArchiveRepository {
+
+  /**
+   * Obtiene el historial archivado de un producto con el mismo orden y la misma paginación
+   * que {@link TransactionRepositoryCustom#findHistory}.
+   *
+   * @param productId  ID de la cuenta, crédito o tarjeta.
+   * @param beforeDate Fecha de la última transacción de la página anterior, null en la primera.
+   * @param beforeId   ID de la última transacción de la página anterior, null en la primera.
+   * @param limit      Cantidad máxima de transacciones, 0 para todas.
+   * @return Flujo de transacciones ordenado por fecha e ID descendentes.
+   */
+  Flux<Transaction> findHistory(String productId, LocalDateTime beforeDate, String beforeId, int limit);
+
+  /**
+   * Guarda un lote de transacciones como un segmento nuevo. Cuando el Mono termina, el
+   * segmento está en disco y las consultas ya lo incluyen.
+   *
+   * @param transactions Transacciones a archivar.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> append(List<Transaction> transactions);
+
+  /**
+   * Obtiene los IDs de las transacciones del último segmento guardado.
+   *
+   * @return Flujo de IDs, vacío si no hay segmentos.
+   */
+  Flux<String> findLastSegmentIds();
+}
@@ -0,0 +1,324 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.TransactionArchiveCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de {@link TransactionArchiveRepository} sobre segmentos en disco local.
+ *
+ * <p>Cada llamada a {@link #append} escribe un segmento inmutable, {@code segment-N.seg},
+ * con las transacciones agrupadas por producto, ordenadas de la más reciente a la más
+ * antigua y comprimidas en bloques de {@code transaction.archive.block-size}
+ * ({@link TransactionArchiveCodec}). Una transferencia se guarda en los bloques de sus dos
+ * cuentas para que el historial de cada producto se lea de forma contigua.</p>
+ *
+ * <p>El índice de cada segmento, {@code segment-N.idx}, es disperso: una entrada por
+ * bloque con el producto, la fecha e ID de su transacción más antigua y la posición del
+ * bloque. Los índices se cargan en memoria y los segmentos se mapean con
+ * {@link FileChannel#map}, así una consulta descarta por índice los bloques fuera de la
+ * página y descomprime el resto directamente desde la caché de páginas del sistema.</p>
+ *
+ * <p>Un segmento solo existe cuando su índice existe: ambos se escriben con otro nombre y se
+ * renombran al terminar, el índice al final. El directorio se vuelve a listar cada
+ * {@code transaction.archive.refresh-interval} para ver los segmentos que escribió otra
+ * instancia sobre un volumen compartido.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Repository
+@Slf4j
+public class TransactionArchiveRepositoryImpl implements TransactionArchiveRepository {
+
+  private static final int SEGMENT_MAGIC = 0x54584153;   // "TXAS"
+  private static final int INDEX_MAGIC = 0x54584149;     // "TXAI"
+  private static final int FORMAT_VERSION = 1;
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String INDEX_SUFFIX = ".idx";
+  private static final String TEMP_SUFFIX = ".tmp";
+  private static final Pattern INDEX_NAME = Pattern.compile("segment-(\\d{1,18})\\.idx");
+
+  private final Path directory;
+  private final int blockSize;
+  private final Duration refreshInterval;
+  private final Map<String, List<BlockRef>> blocksByProduct = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListMap<Long, List<BlockRef>> blocksBySegment = new ConcurrentSkipListMap<>();
+  private volatile long nextScanAt;
+
+  public TransactionArchiveRepositoryImpl(
+      @Value("${transaction.archive.directory:archive/transactions}") String directory,
+      @Value("${transaction.archive.block-size:128}") int blockSize,
+      @Value("${transaction.archive.refresh-interval:1m}") Duration refreshInterval) {
+    this.directory = Paths.get(directory);
+    this.blockSize = blockSize;
+    this.refreshInterval = refreshInterval;
+  }
+
+  @Override
+  public Flux<Transaction> findHistory(String productId, LocalDateTime beforeDate, String beforeId, int limit) {
+    return Flux.defer(() -> {
+          this.refreshIfStale();
+          List<BlockRef> blocks = blocksByProduct.get(productId);
+          if (blocks == null) {
+            return Flux.<Transaction>empty();
+          }
+          Map<Long, List<BlockRef>> bySegment = blocks.stream()
+              .filter(block -> isBefore(block.oldestDate(), block.oldestId(), beforeDate, beforeId))
+              .collect(Collectors.groupingBy(BlockRef::sequence, LinkedHashMap::new, Collectors.toList()));
+          List<Flux<Transaction>> segments = bySegment.values().stream()
+              .map(segmentBlocks -> Flux.fromIterable(segmentBlocks)
+                  .concatMapIterable(BlockRef::decode)
+                  .filter(transaction -> isBefore(transaction.getTransactionDate(), transaction.getId(),
+                      beforeDate, beforeId)))
+              .toList();
+          @SuppressWarnings("unchecked")
+          Flux<Transaction> merged = Flux.mergeComparing(TransactionRepositoryCustomImpl.NEWEST_FIRST,
+              segments.toArray(Flux[]::new));
+          return limit > 0 ? merged.take(limit) : merged;
+        })
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  @Override
+  public Mono<Void> append(List<Transaction> transactions) {
+    return Mono.fromRunnable(() -> this.write(transactions))
+        .subscribeOn(Schedulers.boundedElastic())
+        .then();
+  }
+
+  @Override
+  public Flux<String> findLastSegmentIds() {
+    return Flux.defer(() -> {
+          this.scan();
+          Entry<Long, List<BlockRef>> last = blocksBySegment.lastEntry();
+          return last == null ? Flux.<String>empty() : Flux.fromIterable(last.getValue())
+              .concatMapIterable(BlockRef::decode)
+              .map(Transaction::getId)
+              .distinct();
+        })
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  /**
+   * Escribe un segmento y su índice y los registra. Se sincroniza con {@link #scan} para que
+   * el número de segmento no se repita.
+   */
+  private synchronized void write(List<Transaction> transactions) {
+    if (transactions.isEmpty()) {
+      return;
+    }
+    this.scan();
+    long sequence = blocksBySegment.isEmpty() ? 1 : blocksBySegment.lastKey() + 1;
+    Map<String, List<Transaction>> byProduct = new TreeMap<>();
+    for (Transaction transaction : transactions) {
+      Stream.of(transaction.getOriginAccountId(), transaction.getDestinationAccountId(),
+              transaction.getCreditId(), transaction.getCreditCardId(), transaction.getDebitCardId())
+          .filter(Objects::nonNull)
+          .distinct()
+          .forEach(productId -> byProduct.computeIfAbsent(productId, id -> new ArrayList<>()).add(transaction));
+    }
+
+    try {
+      Files.createDirectories(directory);
+      Path segmentTemp = this.pathOf(sequence, SEGMENT_SUFFIX + TEMP_SUFFIX);
+      Path indexTemp = this.pathOf(sequence, INDEX_SUFFIX + TEMP_SUFFIX);
+      ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+      DataOutputStream index = new DataOutputStream(indexBytes);
+      List<BlockEntry> entries = new ArrayList<>();
+
+      try (FileChannel segment = FileChannel.open(segmentTemp, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        writeFully(segment, ByteBuffer.allocate(5).putInt(SEGMENT_MAGIC).put((byte) FORMAT_VERSION).flip());
+        for (Entry<String, List<Transaction>> product : byProduct.entrySet()) {
+          List<Transaction> sorted = new ArrayList<>(product.getValue());
+          sorted.sort(TransactionRepositoryCustomImpl.NEWEST_FIRST);
+          for (int from = 0; from < sorted.size(); from += blockSize) {
+            List<Transaction> block = sorted.subList(from, Math.min(from + blockSize, sorted.size()));
+            byte[] encoded = TransactionArchiveCodec.encodeBlock(block);
+            long offset = segment.position();
+            writeFully(segment, ByteBuffer.wrap(encoded));
+            entries.add(new BlockEntry(product.getKey(), block.get(block.size() - 1), offset, encoded.length));
+          }
+        }
+        segment.force(true);
+      }
+
+      index.writeInt(INDEX_MAGIC);
+      index.writeByte(FORMAT_VERSION);
+      index.writeInt(entries.size());
+      for (BlockEntry entry : entries) {
+        index.writeUTF(entry.productId());
+        index.writeLong(entry.oldest().getTransactionDate().toEpochSecond(ZoneOffset.UTC));
+        index.writeInt(entry.oldest().getTransactionDate().getNano());
+        index.writeUTF(entry.oldest().getId());
+        index.writeLong(entry.offset());
+        index.writeInt(entry.length());
+      }
+      index.flush();
+      try (FileChannel indexChannel = FileChannel.open(indexTemp, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        writeFully(indexChannel, ByteBuffer.wrap(indexBytes.toByteArray()));
+        indexChannel.force(true);
+      }
+
+      Files.move(segmentTemp, this.pathOf(sequence, SEGMENT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+      Files.move(indexTemp, this.pathOf(sequence, INDEX_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+      this.load(sequence);
+      log.info("Archived " + transactions.size() + " transactions in segment " + sequence);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot write archive segment " + sequence, e);
+    }
+  }
+
+  private void refreshIfStale() {
+    if (System.currentTimeMillis() < nextScanAt) {
+      return;
+    }
+    try {
+      this.scan();
+    } catch (UncheckedIOException e) {
+      log.error("Error reading transaction archive: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Registra los segmentos del directorio que aún no están cargados.
+   */
+  private synchronized void scan() {
+    nextScanAt = System.currentTimeMillis() + refreshInterval.toMillis();
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      List<Long> sequences = files
+          .map(path -> INDEX_NAME.matcher(path.getFileName().toString()))
+          .filter(Matcher::matches)
+          .map(name -> Long.parseLong(name.group(1)))
+          .filter(sequence -> !blocksBySegment.containsKey(sequence))
+          .sorted()
+          .toList();
+      for (Long sequence : sequences) {
+        this.load(sequence);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read transaction archive " + directory, e);
+    }
+  }
+
+  private void load(long sequence) throws IOException {
+    MappedByteBuffer data;
+    try (FileChannel segment = FileChannel.open(this.pathOf(sequence, SEGMENT_SUFFIX), StandardOpenOption.READ)) {
+      if (segment.size() > Integer.MAX_VALUE) {
+        throw new IOException("Archive segment " + sequence + " is larger than 2 GB");
+      }
+      data = segment.map(FileChannel.MapMode.READ_ONLY, 0, segment.size());
+    }
+    if (data.limit() < 5 || data.getInt(0) != SEGMENT_MAGIC) {
+      throw new IOException("Archive segment " + sequence + " is not a transaction segment");
+    }
+
+    List<BlockRef> blocks = new ArrayList<>();
+    try (DataInputStream index = new DataInputStream(Files.newInputStream(this.pathOf(sequence, INDEX_SUFFIX)))) {
+      if (index.readInt() != INDEX_MAGIC || index.readByte() != FORMAT_VERSION) {
+        throw new IOException("Archive index " + sequence + " has an unknown format");
+      }
+      int entries = index.readInt();
+      for (int i = 0; i < entries; i++) {
+        String productId = index.readUTF();
+        LocalDateTime oldestDate = LocalDateTime.ofEpochSecond(index.readLong(), index.readInt(), ZoneOffset.UTC);
+        String oldestId = index.readUTF();
+        long offset = index.readLong();
+        int length = index.readInt();
+        if (offset < 0 || offset + length > data.limit()) {
+          throw new IOException("Archive index " + sequence + " points outside its segment");
+        }
+        blocks.add(new BlockRef(sequence, productId, oldestDate, oldestId,
+            data.slice((int) offset, length)));
+      }
+    }
+
+    blocksBySegment.put(sequence, List.copyOf(blocks));
+    for (BlockRef block : blocks) {
+      blocksByProduct.merge(block.productId(), List.of(block), (current, added) -> {
+        List<BlockRef> merged = new ArrayList<>(current.size() + added.size());
+        merged.addAll(current);
+        merged.addAll(added);
+        return merged;
+      });
+    }
+  }
+
+  private Path pathOf(long sequence, String suffix) {
+    return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, sequence, suffix));
+  }
+
+  /**
+   * Indica si la clave (fecha, ID) va después del cursor en orden descendente. Sin cursor
+   * todas las claves van después.
+   */
+  private static boolean isBefore(LocalDateTime date, String id, LocalDateTime beforeDate, String beforeId) {
+    if (beforeDate == null) {
+      return true;
+    }
+    int byDate = date.compareTo(beforeDate);
+    return byDate < 0 || (byDate == 0 && id.compareTo(beforeId) < 0);
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private record BlockEntry(String productId, Transaction oldest, long offset, int length) {
+  }
+
+  /**
+   * Entrada del índice en memoria; {@code data} es la vista del bloque dentro del segmento
+   * mapeado.
+   */
+  private record BlockRef(long sequence, String productId, LocalDateTime oldestDate, String oldestId,
+                          ByteBuffer data) {
+
+    List<Transaction> decode() {
+      return TransactionArchiveCodec.decodeBlock(data);
+    }
+  }
+}
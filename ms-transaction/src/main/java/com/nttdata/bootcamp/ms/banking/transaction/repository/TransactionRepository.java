@@ -4,12 +4,14 @@ import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 
 
 @Repository
-public interface TransactionRepository extends ReactiveMongoRepository<Transaction, String> {
+public interface TransactionRepository extends ReactiveMongoRepository<Transaction, String>,
+    TransactionRepositoryCustom {
   /**
    * Encuentra todas las transacciones asociadas a una cuenta de origen específica.
    *
@@ -66,6 +68,14 @@ public interface TransactionRepository extends ReactiveMongoRepository<Transacti
    * @return Flujo de transacciones.
    */
   Flux<Transaction> findByTransactionType(String transactionType);
+
+  /**
+   * Encuentra la transacción registrada para un {@code requestId}.
+   *
+   * @param requestId Identificador de los movimientos de saldo de la transacción.
+   * @return La transacción, vacío si no se registró.
+   */
+  Mono<Transaction> findByRequestId(String requestId);
 }
 
 
@@ -0,0 +1,37 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Consultas de transacciones que no pueden expresarse como métodos derivados.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public interface TransactionRepositoryCustom {
+
+  /**
+   * Obtiene el historial de un producto (cuenta, crédito o tarjeta) de la más reciente a la
+   * más antigua, paginando por clave: la página siguiente empieza después de la última
+   * transacción devuelta, sin recorrer las anteriores.
+   *
+   * @param productId  ID de la cuenta, crédito o tarjeta.
+   * @param beforeDate Fecha de la última transacción de la página anterior, null en la primera.
+   * @param beforeId   ID de la última transacción de la página anterior, null en la primera.
+   * @param limit      Cantidad máxima de transacciones.
+   * @return Flujo de transacciones ordenado por fecha e ID descendentes.
+   */
+  Flux<Transaction> findHistory(String productId, LocalDateTime beforeDate, String beforeId, int limit);
+
+  /**
+   * Recorre el historial completo de un producto con un único cursor, de la más reciente a
+   * la más antigua. MongoDB entrega las transacciones en lotes a medida que se consumen.
+   *
+   * @param productId ID de la cuenta, crédito o tarjeta.
+   * @return Flujo de transacciones ordenado por fecha e ID descendentes.
+   */
+  Flux<Transaction> streamHistory(String productId);
+}
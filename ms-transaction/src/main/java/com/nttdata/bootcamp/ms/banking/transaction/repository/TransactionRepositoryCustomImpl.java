@@ -0,0 +1,93 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementación de {@link TransactionRepositoryCustom} sobre {@link ReactiveMongoTemplate}.
+ *
+ * <p>Un producto puede aparecer en cualquiera de los campos de {@link #PRODUCT_FIELDS}, por
+ * lo que la consulta es un {@code $or} con una rama por campo. Cada rama tiene su índice
+ * {@code (campo, transactionDate desc, _id desc)} declarado en {@link Transaction}, y MongoDB
+ * une las ramas ya ordenadas sin ordenar en memoria.</p>
+ *
+ * <p>La exportación usa la misma consulta sin límite y con lotes de
+ * {@link ConstantUtil#EXPORT_BATCH_SIZE}.</p>
+ *
+ * <p>Las transacciones antiguas pueden estar en {@link TransactionArchiveRepository}: el
+ * historial une en orden los resultados de MongoDB y del archivo con el mismo cursor y el
+ * mismo límite. Mientras el archivado de un lote no termina, una transacción puede estar en
+ * ambos lugares; las dos copias quedan contiguas y se devuelve una sola.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@RequiredArgsConstructor
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+  public static final List<String> PRODUCT_FIELDS = List.of(
+      "originAccountId", "destinationAccountId", "creditId", "creditCardId", "debitCardId");
+
+  /**
+   * Orden del historial: fecha e ID descendentes.
+   */
+  public static final Comparator<Transaction> NEWEST_FIRST = Comparator
+      .comparing(Transaction::getTransactionDate)
+      .thenComparing(Transaction::getId)
+      .reversed();
+
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final TransactionArchiveRepository transactionArchiveRepository;
+
+  @Override
+  public Flux<Transaction> findHistory(String productId, LocalDateTime beforeDate, String beforeId, int limit) {
+    Flux<Transaction> history = Flux.mergeComparing(NEWEST_FIRST,
+            mongoTemplate.find(historyQuery(productId, beforeDate, beforeId, limit), Transaction.class),
+            transactionArchiveRepository.findHistory(productId, beforeDate, beforeId, limit))
+        .distinctUntilChanged(Transaction::getId);
+    return limit > 0 ? history.take(limit) : history;
+  }
+
+  @Override
+  public Flux<Transaction> streamHistory(String productId) {
+    return Flux.mergeComparing(ConstantUtil.EXPORT_BATCH_SIZE, NEWEST_FIRST,
+            mongoTemplate.find(historyQuery(productId, null, null, 0)
+                .cursorBatchSize(ConstantUtil.EXPORT_BATCH_SIZE), Transaction.class),
+            transactionArchiveRepository.findHistory(productId, null, null, 0))
+        .distinctUntilChanged(Transaction::getId);
+  }
+
+  /**
+   * Construye la consulta del historial. Es pública para poder verificar su plan de ejecución.
+   *
+   * <p>A partir de la segunda página cada campo aporta dos rangos simples del mismo índice:
+   * las transacciones anteriores a {@code beforeDate} y, con la misma fecha, las de ID menor.
+   * Un {@code limit} de 0 no limita la cantidad.</p>
+   */
+  public static Query historyQuery(String productId, LocalDateTime beforeDate, String beforeId, int limit) {
+    List<Criteria> branches = new ArrayList<>();
+    for (String field : PRODUCT_FIELDS) {
+      if (beforeDate == null) {
+        branches.add(Criteria.where(field).is(productId).and("transactionDate").ne(null));
+      } else {
+        branches.add(Criteria.where(field).is(productId).and("transactionDate").lt(beforeDate));
+        branches.add(Criteria.where(field).is(productId).and("transactionDate").is(beforeDate)
+            .and("_id").lt(beforeId));
+      }
+    }
+    return Query.query(new Criteria().orOperator(branches))
+        .with(Sort.by(Sort.Direction.DESC, "transactionDate", "_id"))
+        .limit(limit);
+  }
+}
@@ -0,0 +1,28 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RollupGranularity;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.TransactionRollup;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TransactionRollupRepository extends ReactiveMongoRepository<TransactionRollup, String> {
+
+  /**
+   * Encuentra los acumulados de un producto cuyo periodo empieza entre dos fechas, ambas incluidas.
+   *
+   * @param productId   ID de la cuenta, crédito o tarjeta.
+   * @param granularity Granularidad de los acumulados.
+   * @param from        Inicio del primer periodo.
+   * @param to          Inicio del último periodo.
+   * @return Flujo de acumulados ordenado por periodo.
+   */
+  @Query(value = "{ 'productId': ?0, 'granularity': ?1, 'periodStart': { $gte: ?2, $lte: ?3 } }",
+      sort = "{ 'periodStart': 1 }")
+  Flux<TransactionRollup> findByPeriodRange(String productId, RollupGranularity granularity,
+                                            LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,11 @@
+package com.nttdata.bootcamp.ms.banking.transaction.repository;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.TransferSaga;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface TransferSagaRepository extends ReactiveMongoRepository<TransferSaga, String> {
+  Mono<TransferSaga> findByRequestId(String requestId);
+}
@@ -0,0 +1,21 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Account;
+import reactor.core.publisher.Mono;
+
+/**
+ * Agrupa las consultas de cuentas por ID en llamadas en lote a ms-account.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public interface AccountBatchLoader {
+
+  /**
+   * Obtiene una cuenta. La consulta se agrupa con las que lleguen en la misma ventana.
+   *
+   * @param id ID de la cuenta.
+   * @return La cuenta, o vacío si no existe.
+   */
+  Mono<Account> load(String id);
+}
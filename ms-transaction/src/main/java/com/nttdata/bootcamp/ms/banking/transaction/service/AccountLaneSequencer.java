@@ -0,0 +1,30 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Serializa las operaciones que afectan a una misma cuenta o producto.
+ *
+ * <p>Las operaciones sobre una misma clave se ejecutan en orden de llegada, mientras que
+ * claves distintas se ejecutan en paralelo. Ningún hilo queda bloqueado mientras espera
+ * su turno.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface AccountLaneSequencer {
+
+  /**
+   * Ejecuta {@code work} cuando sea su turno en todas las colas de las claves indicadas.
+   * Las claves nulas se ignoran; con varias claves las colas se toman siempre en el mismo orden.
+   *
+   * @param keys IDs de las cuentas o productos afectados.
+   * @param work Operación a ejecutar.
+   * @param <T>  Tipo del resultado.
+   * @return El resultado de la operación, o error si alguna cola está llena.
+   */
+  <T> Mono<T> execute(Collection<String> keys, Supplier<Mono<T>> work);
+}
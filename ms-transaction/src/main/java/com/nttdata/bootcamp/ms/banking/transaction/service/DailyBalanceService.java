@@ -0,0 +1,46 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AverageBalanceResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Saldo promedio diario de las cuentas, calculado a partir de acumulados por día.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface DailyBalanceService {
+
+  /**
+   * Registra un cambio de saldo aplicado en este momento. Nunca falla: un error solo se registra en el log.
+   *
+   * @param accountId  ID de la cuenta.
+   * @param delta      Monto aplicado.
+   * @param newBalance Saldo resultante.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> recordChange(String accountId, BigDecimal delta, BigDecimal newBalance);
+
+  /**
+   * Calcula el saldo promedio diario de una cuenta entre dos días, ambos incluidos.
+   *
+   * @param accountId ID de la cuenta.
+   * @param from      Día inicial.
+   * @param to        Día final.
+   * @return El saldo promedio.
+   */
+  Mono<AverageBalanceResponse> getAverageBalance(String accountId, LocalDate from, LocalDate to);
+
+  /**
+   * Calcula el saldo promedio diario de todas las cuentas con movimientos registrados.
+   *
+   * @param from Día inicial.
+   * @param to   Día final.
+   * @return Flujo de saldos promedio, uno por cuenta.
+   */
+  Flux<AverageBalanceResponse> getAverageBalances(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,38 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.FxRateEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.FxRateTable;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+
+/**
+ * Tipos de cambio en memoria para convertir importes entre monedas sin llamadas externas.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface FxRateService {
+
+  /**
+   * Convierte un importe a la moneda de un producto con la tabla vigente.
+   *
+   * @param amount   Importe a convertir.
+   * @param currency Moneda del producto; {@code null} equivale a la moneda por defecto.
+   * @return La conversión aplicada, o {@code null} si el importe ya está en esa moneda.
+   */
+  FxRateTable.Conversion convert(Money amount, String currency);
+
+  /**
+   * Reemplaza la tabla vigente si el evento es más reciente.
+   *
+   * @param event Tabla publicada.
+   * @return {@code true} si la tabla se reemplazó.
+   */
+  boolean update(FxRateEvent event);
+
+  /**
+   * Tabla vigente.
+   *
+   * @return La tabla, vacía hasta recibir la primera.
+   */
+  FxRateTable current();
+}
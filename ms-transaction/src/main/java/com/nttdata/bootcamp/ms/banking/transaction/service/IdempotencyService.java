@@ -0,0 +1,28 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Garantiza que una transacción enviada con el mismo {@code Idempotency-Key} se ejecute una sola vez.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public interface IdempotencyService {
+
+  /**
+   * Ejecuta {@code work} si la clave no se ha visto antes. Si ya terminó, devuelve el resultado
+   * guardado; si sigue en curso, se une a la ejecución original. La clave queda ligada a la
+   * huella de la petición: reutilizarla con otra petición es un error.
+   *
+   * @param idempotencyKey Clave enviada por el cliente.
+   * @param requestHash    Huella de la petición.
+   * @param work           Operación a ejecutar.
+   * @return El resultado de la primera ejecución.
+   */
+  Mono<TransactionResponse> execute(String idempotencyKey, String requestHash,
+                                    Supplier<Mono<TransactionResponse>> work);
+}
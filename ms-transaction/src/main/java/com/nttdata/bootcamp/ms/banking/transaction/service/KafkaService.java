@@ -1,8 +1,15 @@
 package com.nttdata.bootcamp.ms.banking.transaction.service;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
 public interface KafkaService {
   void sendMessage(String message);
 
   //void listen(String message);
-}
 
+  void listenTransactionEvent(ConsumerRecord<String, byte[]> record);
+
+  void listenProductStateEvent(ConsumerRecord<String, String> record);
+
+  void listenFxRateEvent(ConsumerRecord<String, String> record);
+}
@@ -0,0 +1,28 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Publica en Kafka los eventos pendientes del outbox.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public interface OutboxRelayService {
+
+  /**
+   * Publica un lote de eventos pendientes en orden de creación y marca como enviados
+   * los que Kafka confirma.
+   *
+   * @return Cantidad de eventos marcados como enviados.
+   */
+  Mono<Integer> drainOnce();
+
+  /**
+   * Publica un lote como {@link #drainOnce()} solo si esta instancia toma o renueva el lease
+   * de publicación.
+   *
+   * @return Cantidad de eventos marcados como enviados; 0 si otra instancia tiene el lease.
+   */
+  Mono<Integer> drainIfLeader();
+}
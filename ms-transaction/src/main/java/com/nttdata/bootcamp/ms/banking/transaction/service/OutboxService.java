@@ -0,0 +1,35 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Persiste transacciones junto con su evento de outbox y sus acumulados en una misma
+ * transacción de MongoDB.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+public interface OutboxService {
+
+  /**
+   * Guarda una transacción, su evento y sus acumulados de forma atómica. Si ya hay una
+   * transacción con el mismo ID o {@code requestId}, devuelve esa sin generar eventos ni
+   * volver a sumarla.
+   *
+   * @param transaction Transacción a guardar.
+   * @return La transacción guardada.
+   */
+  Mono<Transaction> saveWithEvent(Transaction transaction);
+
+  /**
+   * Inserta un bloque de transacciones, sus eventos y sus acumulados de forma atómica.
+   *
+   * @param transactions Transacciones a insertar.
+   * @return Las transacciones insertadas, en el mismo orden.
+   */
+  Flux<Transaction> insertAllWithEvents(List<Transaction> transactions);
+}
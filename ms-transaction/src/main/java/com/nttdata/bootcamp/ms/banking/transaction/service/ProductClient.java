@@ -0,0 +1,76 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Account;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Credit;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.CreditCard;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Acceso a las cuentas, créditos y tarjetas de crédito que administran ms-account y
+ * ms-product.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public interface ProductClient {
+
+  /**
+   * Obtiene una cuenta.
+   *
+   * @param id ID de la cuenta.
+   * @return La cuenta, o error si no existe.
+   */
+  Mono<Account> findAccount(String id);
+
+  /**
+   * Aplica un movimiento de saldo en ms-account. Los reintentos con el mismo
+   * {@code requestId} no vuelven a mover dinero.
+   *
+   * @param id        ID de la cuenta.
+   * @param delta     Importe a sumar (negativo para retirar).
+   * @param requestId Identificador del movimiento.
+   * @return La cuenta con el saldo resultante, o {@code BalanceRejectedException} si
+   *     ms-account lo rechaza.
+   */
+  Mono<Account> applyAccountDelta(String id, BigDecimal delta, String requestId);
+
+  /**
+   * Obtiene un crédito.
+   *
+   * @param id ID del crédito.
+   * @return El crédito, o error si no existe.
+   */
+  Mono<Credit> findCredit(String id);
+
+  /**
+   * Suma un importe a la deuda de un crédito en ms-product y descarta su copia en caché.
+   * Los reintentos con el mismo {@code requestId} no vuelven a mover la deuda.
+   *
+   * @param id        ID del crédito.
+   * @param delta     Importe a sumar (negativo para un pago).
+   * @param requestId Identificador del movimiento.
+   * @return El crédito con la deuda resultante.
+   */
+  Mono<Credit> applyCreditDelta(String id, BigDecimal delta, String requestId);
+
+  /**
+   * Obtiene una tarjeta de crédito.
+   *
+   * @param id ID de la tarjeta.
+   * @return La tarjeta, o error si no existe.
+   */
+  Mono<CreditCard> findCreditCard(String id);
+
+  /**
+   * Suma un importe al saldo consumido de una tarjeta de crédito en ms-product y descarta su
+   * copia en caché. Los reintentos con el mismo {@code requestId} no vuelven a moverlo.
+   *
+   * @param id        ID de la tarjeta.
+   * @param delta     Importe a sumar (negativo para un pago).
+   * @param requestId Identificador del movimiento.
+   * @return La tarjeta con el saldo resultante.
+   */
+  Mono<CreditCard> applyCreditCardDelta(String id, BigDecimal delta, String requestId);
+}
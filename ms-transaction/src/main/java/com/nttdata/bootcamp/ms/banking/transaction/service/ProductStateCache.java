@@ -0,0 +1,42 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Caché de dos niveles (memoria local y Redis) del estado de cuentas, créditos y tarjetas
+ * consultados a otros servicios.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface ProductStateCache {
+
+  /**
+   * Devuelve el producto desde la memoria local, luego desde Redis y, si no está en
+   * ninguno, desde {@code loader}, guardando el resultado en ambos niveles.
+   *
+   * @param productId ID de la cuenta, crédito o tarjeta.
+   * @param type      Clase del producto.
+   * @param loader    Consulta al servicio dueño del producto.
+   * @return El producto.
+   */
+  <T> Mono<T> get(String productId, Class<T> type, Supplier<Mono<T>> loader);
+
+  /**
+   * Descarta el producto de ambos niveles tras un cambio hecho por esta instancia.
+   *
+   * @param productId ID de la cuenta, crédito o tarjeta.
+   */
+  Mono<Void> invalidate(String productId);
+
+  /**
+   * Descarta el producto de ambos niveles por un evento de otro servicio y registra el
+   * tiempo transcurrido desde el cambio.
+   *
+   * @param productId  ID de la cuenta, crédito o tarjeta.
+   * @param occurredAt Momento del cambio en milisegundos desde epoch.
+   */
+  Mono<Void> invalidate(String productId, long occurredAt);
+}
@@ -0,0 +1,33 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Últimos movimientos de cada producto (cuenta, crédito, tarjeta de crédito o de débito).
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface RecentActivityService {
+
+  /**
+   * Registra una transacción recién guardada en los últimos movimientos de sus productos.
+   * Nunca falla: si no puede actualizar la caché, la descarta para que se reconstruya.
+   *
+   * @param transaction Transacción guardada.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> record(Transaction transaction);
+
+  /**
+   * Obtiene los últimos movimientos de un producto, del más reciente al más antiguo.
+   *
+   * @param productId ID de la cuenta, crédito o tarjeta.
+   * @param limit     Cantidad de movimientos.
+   * @return Flujo de movimientos.
+   */
+  Flux<TransactionResponse> getRecent(String productId, int limit);
+}
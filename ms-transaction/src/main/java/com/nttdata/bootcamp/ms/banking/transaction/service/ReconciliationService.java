@@ -0,0 +1,49 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ReconciliationDiscrepancyResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ReconciliationRunResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Conciliación de fin de día entre los saldos de ms-account y las transacciones registradas.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface ReconciliationService {
+
+  /**
+   * Concilia las cuentas al cierre de un día, o retoma la conciliación si quedó a medias.
+   *
+   * @param day Día a conciliar.
+   * @return La conciliación terminada.
+   */
+  Mono<ReconciliationRunResponse> reconcile(LocalDate day);
+
+  /**
+   * Obtiene el avance y el resultado de la conciliación de un día.
+   *
+   * @param day Día conciliado.
+   * @return La conciliación, vacío si no se ejecutó.
+   */
+  Mono<ReconciliationRunResponse> getRun(LocalDate day);
+
+  /**
+   * Obtiene las diferencias encontradas por la conciliación de un día.
+   *
+   * @param day Día conciliado.
+   * @return Flujo de diferencias ordenado por cuenta.
+   */
+  Flux<ReconciliationDiscrepancyResponse> getDiscrepancies(LocalDate day);
+
+  /**
+   * Obtiene las diferencias encontradas por la conciliación de un día como CSV.
+   *
+   * @param day Día conciliado.
+   * @return Flujo de líneas CSV: la cabecera y una línea por diferencia.
+   */
+  Flux<String> getDiscrepanciesCsv(LocalDate day);
+}
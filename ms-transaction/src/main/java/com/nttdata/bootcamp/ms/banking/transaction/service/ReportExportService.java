@@ -0,0 +1,66 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AverageBalanceResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ClientSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Exportación de reportes grandes como flujos, para escribirlos en NDJSON o CSV a medida
+ * que se leen.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface ReportExportService {
+
+  /**
+   * Exporta el saldo promedio diario de todas las cuentas entre dos días, ambos incluidos.
+   *
+   * @param from Día inicial.
+   * @param to   Día final.
+   * @return Flujo de saldos promedio, uno por cuenta.
+   */
+  Flux<AverageBalanceResponse> exportAverageBalances(LocalDate from, LocalDate to);
+
+  /**
+   * Exporta el resumen consolidado de todos los clientes registrados en ms-customer.
+   *
+   * @return Flujo de resúmenes, uno por cliente.
+   */
+  Flux<ClientSummaryResponse> exportClientSummaries();
+
+  /**
+   * Exporta el historial completo de un producto, de la transacción más reciente a la más antigua.
+   *
+   * @param productId ID de la cuenta, crédito o tarjeta.
+   * @return Flujo de transacciones.
+   */
+  Flux<TransactionResponse> exportHistory(String productId);
+
+  /**
+   * Versión CSV de {@link #exportAverageBalances}.
+   *
+   * @param from Día inicial.
+   * @param to   Día final.
+   * @return Flujo de líneas CSV, empezando por la cabecera.
+   */
+  Flux<String> exportAverageBalancesCsv(LocalDate from, LocalDate to);
+
+  /**
+   * Versión CSV de {@link #exportClientSummaries}.
+   *
+   * @return Flujo de líneas CSV, empezando por la cabecera.
+   */
+  Flux<String> exportClientSummariesCsv();
+
+  /**
+   * Versión CSV de {@link #exportHistory}.
+   *
+   * @param productId ID de la cuenta, crédito o tarjeta.
+   * @return Flujo de líneas CSV, empezando por la cabecera.
+   */
+  Flux<String> exportHistoryCsv(String productId);
+}
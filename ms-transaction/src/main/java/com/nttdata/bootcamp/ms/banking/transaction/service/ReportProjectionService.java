@@ -0,0 +1,55 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ProjectionSource;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import org.bson.Document;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mantiene el modelo de lectura de los reportes ({@code customer_views} y
+ * {@code product_views}) a partir de los cambios de las colecciones operativas.
+ *
+ * <p>Aplicar dos veces el mismo cambio, o un cambio anterior a uno ya aplicado, no
+ * modifica el modelo, así que los cambios pueden repetirse al reanudar un change stream.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface ReportProjectionService {
+
+  /**
+   * Indica si la carga inicial de cuentas y productos terminó, de modo que el modelo de un
+   * cliente contiene todos sus productos.
+   *
+   * @return {@code true} si el resumen del cliente puede leerse del modelo.
+   */
+  boolean isCustomerViewReady();
+
+  /**
+   * Guarda la copia de un producto creado o modificado.
+   *
+   * @param source   Colección del producto.
+   * @param document Documento completo del producto.
+   * @param version  clusterTime del cambio.
+   * @param created  {@code true} si el cambio es la creación del producto.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> applySnapshot(ProjectionSource source, Document document, long version, boolean created);
+
+  /**
+   * Elimina la copia de un producto eliminado.
+   *
+   * @param productId ID del producto.
+   * @param version   clusterTime del cambio.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> applyDelete(String productId, long version);
+
+  /**
+   * Agrega una transacción nueva a los últimos movimientos de sus productos.
+   *
+   * @param transaction Transacción insertada.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> applyTransaction(Transaction transaction);
+}
@@ -1,16 +1,27 @@
 package com.nttdata.bootcamp.ms.banking.transaction.service;
 
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RollupGranularity;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AverageBalanceResponse;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CardTransactionResponse;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ClientSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.MonthlySummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionRollupResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 
 public interface ReportService {
   Flux<AverageBalanceResponse> generateAverageBalanceReport(LocalDateTime startDate, LocalDateTime endDate);
+  Mono<AverageBalanceResponse> getAverageBalance(String accountId, LocalDate startDate, LocalDate endDate);
   Mono<ClientSummaryResponse> generateClientSummary(String clientId);
   Mono<CardTransactionResponse> getLast10CardTransactions(String cardId);
+  Flux<TransactionResponse> getRecentMovements(String productId, int limit);
+  Flux<TransactionRollupResponse> getRollups(String productId, RollupGranularity granularity,
+                                             LocalDateTime startDate, LocalDateTime endDate);
+  Mono<MonthlySummaryResponse> getMonthlySummary(String productId, YearMonth month);
 }
 
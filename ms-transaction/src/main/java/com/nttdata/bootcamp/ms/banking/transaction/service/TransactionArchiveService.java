@@ -0,0 +1,20 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Mueve las transacciones antiguas de MongoDB al archivo de transacciones.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface TransactionArchiveService {
+
+  /**
+   * Archiva un lote de las transacciones más antiguas que superan la antigüedad configurada
+   * y las elimina de MongoDB.
+   *
+   * @return Cantidad de transacciones archivadas.
+   */
+  Mono<Integer> archiveOnce();
+}
@@ -0,0 +1,58 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.service.handler.TransactionContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lógica propia de un tipo de transacción, separada en las etapas del pipeline. Cada etapa
+ * es opcional: por defecto no hace nada. Un error en cualquier etapa detiene el pipeline;
+ * si ya se habían reservado fondos se llama a {@link #compensate(TransactionContext)}.
+ *
+ * <p>Para soportar un tipo nuevo basta con registrar un bean que implemente esta interfaz.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface TransactionHandler {
+
+  /**
+   * @return Tipo de transacción que atiende el handler.
+   */
+  TransactionType type();
+
+  /**
+   * Valida las reglas del tipo de transacción (productos obligatorios, combinaciones).
+   */
+  default Mono<Void> validate(TransactionContext context) {
+    return Mono.empty();
+  }
+
+  /**
+   * Lee los productos involucrados y verifica su estado.
+   */
+  default Mono<Void> resolveProducts(TransactionContext context) {
+    return Mono.empty();
+  }
+
+  /**
+   * Retira el importe del producto de origen.
+   */
+  default Mono<Void> reserveFunds(TransactionContext context) {
+    return Mono.empty();
+  }
+
+  /**
+   * Abona o actualiza el producto de destino.
+   */
+  default Mono<Void> commit(TransactionContext context) {
+    return Mono.empty();
+  }
+
+  /**
+   * Devuelve los fondos reservados cuando una etapa posterior falla.
+   */
+  default Mono<Void> compensate(TransactionContext context) {
+    return Mono.empty();
+  }
+}
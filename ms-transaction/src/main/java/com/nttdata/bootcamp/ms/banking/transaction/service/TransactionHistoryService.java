@@ -0,0 +1,23 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionHistoryResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consulta paginada del historial de transacciones.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface TransactionHistoryService {
+
+  /**
+   * Obtiene una página del historial de un producto.
+   *
+   * @param productId ID de la cuenta, crédito o tarjeta.
+   * @param cursor    Cursor devuelto por la página anterior, null para la primera.
+   * @param limit     Tamaño de la página.
+   * @return La página y el cursor de la siguiente.
+   */
+  Mono<TransactionHistoryResponse> getHistory(String productId, String cursor, int limit);
+}
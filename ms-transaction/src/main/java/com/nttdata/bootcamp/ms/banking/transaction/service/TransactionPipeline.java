@@ -0,0 +1,54 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Procesa transacciones en etapas: validar, resolver productos, reservar fondos, confirmar,
+ * persistir y publicar. Las cuatro primeras las aporta el {@link TransactionHandler} del
+ * tipo de transacción; persistir y publicar son comunes y se ofrecen por separado para que
+ * el procesamiento por lotes pueda agruparlas.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public interface TransactionPipeline {
+
+  /**
+   * Ejecuta las etapas del handler hasta dejar aplicados los movimientos de saldo.
+   *
+   * @param request   Transacción solicitada.
+   * @param requestId Identificador de los movimientos de saldo (idempotencia en ms-account).
+   * @return La transacción lista para persistir.
+   */
+  Mono<Transaction> apply(TransactionRequest request, String requestId);
+
+  /**
+   * Guarda una transacción con su evento de outbox y sus acumulados.
+   *
+   * @param transaction Transacción aplicada.
+   * @return La transacción guardada.
+   */
+  Mono<Transaction> persist(Transaction transaction);
+
+  /**
+   * Guarda un bloque de transacciones con sus eventos de outbox y sus acumulados.
+   *
+   * @param transactions Transacciones aplicadas.
+   * @return Las transacciones guardadas, en el mismo orden.
+   */
+  Flux<Transaction> persistAll(List<Transaction> transactions);
+
+  /**
+   * Actualiza los últimos movimientos con transacciones ya guardadas. Los acumulados se
+   * suman al persistir. Nunca falla.
+   *
+   * @param transactions Transacciones guardadas.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> publish(List<Transaction> transactions);
+}
@@ -0,0 +1,52 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RollupGranularity;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.MonthlySummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionRollupResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Acumulados de transacciones por producto, periodo y tipo.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+public interface TransactionRollupService {
+
+  /**
+   * Suma las transacciones a los acumulados por hora, día y mes de sus productos. Debe
+   * ejecutarse en la misma transacción de MongoDB que las inserta: así cada transacción suma
+   * una sola vez y un error deshace también la inserción.
+   *
+   * @param transactions Transacciones insertadas.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> record(List<Transaction> transactions);
+
+  /**
+   * Obtiene los acumulados de un producto en un rango de periodos.
+   *
+   * @param productId   ID de la cuenta, crédito o tarjeta.
+   * @param granularity Granularidad.
+   * @param from        Fecha dentro del primer periodo.
+   * @param to          Fecha dentro del último periodo.
+   * @return Flujo de acumulados ordenado por periodo.
+   */
+  Flux<TransactionRollupResponse> getRollups(String productId, RollupGranularity granularity,
+                                             LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Obtiene el resumen mensual de un producto.
+   *
+   * @param productId ID de la cuenta, crédito o tarjeta.
+   * @param month     Mes.
+   * @return El resumen del mes.
+   */
+  Mono<MonthlySummaryResponse> getMonthlySummary(String productId, YearMonth month);
+}
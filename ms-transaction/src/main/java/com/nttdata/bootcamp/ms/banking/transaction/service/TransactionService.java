@@ -1,10 +1,14 @@
 package com.nttdata.bootcamp.ms.banking.transaction.service;
 
 import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionBatchResult;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface TransactionService {
   Mono<TransactionResponse> processTransaction(TransactionRequest request);
+  Mono<TransactionResponse> processTransaction(TransactionRequest request, String idempotencyKey);
+  Flux<TransactionBatchResult> processBatch(Flux<String> lines, String batchId);
 }
 
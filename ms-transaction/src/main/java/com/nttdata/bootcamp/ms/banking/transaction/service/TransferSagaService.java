@@ -0,0 +1,57 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.TransferSaga;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.FxRateTable;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import reactor.core.publisher.Mono;
+
+/**
+ * Saga persistida de las transferencias: débito del origen, abono del destino y, si el
+ * abono falla, reversión del débito. Cada paso queda registrado antes de continuar, de
+ * modo que una transferencia interrumpida (caída de la instancia) puede retomarse.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+public interface TransferSagaService {
+
+  /**
+   * Registra la saga y debita la cuenta de origen. Si ya hay una saga con el mismo
+   * {@code requestId}, la retoma en lugar de crear otra.
+   *
+   * @param request    Transferencia solicitada.
+   * @param requestId  Identificador de la transacción.
+   * @param amount     Importe a debitar, en la moneda de la cuenta de origen.
+   * @param conversion Conversión a la moneda de la cuenta de destino, o {@code null} si
+   *                   ambas cuentas tienen la misma moneda.
+   * @return La saga en estado {@code DEBITED}, o error si el débito no se aplicó.
+   */
+  Mono<TransferSaga> debit(TransactionRequest request, String requestId, Money amount,
+                           FxRateTable.Conversion conversion);
+
+  /**
+   * Abona la cuenta de destino.
+   *
+   * @param saga Saga debitada.
+   * @return Vacío si la saga quedó {@code COMPLETED}.
+   */
+  Mono<Void> credit(TransferSaga saga);
+
+  /**
+   * Revierte el débito de la cuenta de origen.
+   *
+   * @param saga Saga debitada.
+   * @return Vacío si la saga quedó {@code COMPENSATED}.
+   */
+  Mono<Void> compensate(TransferSaga saga);
+
+  /**
+   * Retoma las sagas sin cambios desde hace más de {@code transaction.saga.stale-after}.
+   * Las sagas detenidas se revierten: quien pidió la transferencia no recibió respuesta y
+   * la transacción no llegó a registrarse.
+   *
+   * @return Cantidad de sagas retomadas.
+   */
+  Mono<Long> recoverOnce();
+}
@@ -0,0 +1,31 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.service.handler.TransactionContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * Control previo de frecuencia e importe de los débitos de una cuenta, antes de tocar su
+ * saldo en ms-account.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface VelocityService {
+
+  /**
+   * Cuenta el débito de la transacción contra los límites de su cuenta de origen.
+   *
+   * @param context Transacción con el importe ya en la moneda de la cuenta.
+   * @return Vacío si se permite, o {@code ApiValidateException} si supera un límite.
+   */
+  Mono<Void> preAuthorize(TransactionContext context);
+
+  /**
+   * Libera el importe contado por {@link #preAuthorize} cuando la transacción falla.
+   * Nunca falla: un error solo se registra en el log.
+   *
+   * @param context Transacción fallida.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> release(TransactionContext context);
+}
@@ -0,0 +1,63 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.VelocityDecision;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Contadores por cuenta de los débitos del último minuto y del importe debitado en las
+ * últimas 24 horas. El minuto se divide en {@link #MINUTE_BUCKETS} tramos y el día en
+ * {@link #DAY_BUCKETS}, así que ambas ventanas se deslizan con esa resolución.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public interface VelocityStore {
+
+  int MINUTE_BUCKETS = 6;
+  Duration MINUTE = Duration.ofMinutes(1);
+  int DAY_BUCKETS = 24;
+  Duration DAY = Duration.ofDays(1);
+
+  /**
+   * Nombre con el que se elige el almacén en {@code transaction.velocity.store}.
+   *
+   * @return Nombre del almacén.
+   */
+  String name();
+
+  /**
+   * Cuenta un débito si entra en ambos límites; si no entra, no cuenta nada.
+   *
+   * @param accountId          ID de la cuenta de origen.
+   * @param amount             Importe en unidades mínimas de la moneda por defecto.
+   * @param nowMillis          Momento del débito; se repite al liberarlo.
+   * @param maxDebitsPerMinute Máximo de débitos en el último minuto.
+   * @param dailyLimit         Importe máximo de las últimas 24 horas, en unidades mínimas.
+   * @return La decisión tomada.
+   */
+  Mono<VelocityDecision> tryAcquire(String accountId, long amount, long nowMillis,
+                                    int maxDebitsPerMinute, long dailyLimit);
+
+  /**
+   * Devuelve al acumulado diario el importe de un débito que no llegó a aplicarse. El
+   * débito sigue contando para el límite por minuto.
+   *
+   * @param accountId        ID de la cuenta de origen.
+   * @param amount           Importe contado en {@link #tryAcquire}.
+   * @param acquiredAtMillis Momento usado en {@link #tryAcquire}.
+   * @return Vacío al terminar.
+   */
+  Mono<Void> release(String accountId, long amount, long acquiredAtMillis);
+
+  /**
+   * Débito contado por {@link #tryAcquire}, guardado en el contexto para poder liberarlo.
+   *
+   * @param accountId        ID de la cuenta de origen.
+   * @param amount           Importe contado, en unidades mínimas de la moneda por defecto.
+   * @param acquiredAtMillis Momento del débito.
+   */
+  record Hold(String accountId, long amount, long acquiredAtMillis) {
+  }
+}
@@ -0,0 +1,58 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.handler;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RecordStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductClient;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionHandler;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Pago de tarjeta de crédito: reduce el saldo consumido de la tarjeta en el importe pagado.
+ * Las tarjetas operan en la moneda por defecto; un pago en otra moneda se convierte.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@Component
+@RequiredArgsConstructor
+public class CreditCardPaymentHandler implements TransactionHandler {
+
+  private final ProductClient productClient;
+  private final FxRateService fxRateService;
+
+  @Override
+  public TransactionType type() {
+    return TransactionType.CREDIT_CARD_PAYMENT;
+  }
+
+  @Override
+  public Mono<Void> validate(TransactionContext context) {
+    return context.getRequest().getCreditCardId() == null
+        ? Mono.error(new ApiValidateException("Credit card is mandatory"))
+        : Mono.empty();
+  }
+
+  @Override
+  public Mono<Void> resolveProducts(TransactionContext context) {
+    return productClient.findCreditCard(context.getRequest().getCreditCardId())
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
+        .filter(creditCard -> !creditCard.getStatus().equals(RecordStatus.INACTIVE))
+        .switchIfEmpty(Mono.error(new ApiValidateException("CreditCard inactive.")))
+        .doOnNext(creditCard -> {
+          context.setCreditCard(creditCard);
+          ProductCurrency.apply(context, null, fxRateService);
+        })
+        .then();
+  }
+
+  @Override
+  public Mono<Void> commit(TransactionContext context) {
+    return productClient.applyCreditCardDelta(context.getRequest().getCreditCardId(),
+        context.getProductAmount().negate().toBigDecimal(), context.getRequestId()).then();
+  }
+}
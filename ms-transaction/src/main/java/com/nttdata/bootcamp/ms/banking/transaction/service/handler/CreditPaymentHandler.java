@@ -0,0 +1,58 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.handler;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RecordStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductClient;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionHandler;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Pago de crédito: reduce la deuda del crédito en el importe pagado. Los créditos operan en la
+ * moneda por defecto; un pago en otra moneda se convierte.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@Component
+@RequiredArgsConstructor
+public class CreditPaymentHandler implements TransactionHandler {
+
+  private final ProductClient productClient;
+  private final FxRateService fxRateService;
+
+  @Override
+  public TransactionType type() {
+    return TransactionType.CREDIT_PAYMENT;
+  }
+
+  @Override
+  public Mono<Void> validate(TransactionContext context) {
+    return context.getRequest().getCreditId() == null
+        ? Mono.error(new ApiValidateException("Credit is mandatory"))
+        : Mono.empty();
+  }
+
+  @Override
+  public Mono<Void> resolveProducts(TransactionContext context) {
+    return productClient.findCredit(context.getRequest().getCreditId())
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
+        .filter(credit -> !credit.getStatus().equals(RecordStatus.INACTIVE))
+        .switchIfEmpty(Mono.error(new ApiValidateException("Credit inactive.")))
+        .doOnNext(credit -> {
+          context.setCredit(credit);
+          ProductCurrency.apply(context, null, fxRateService);
+        })
+        .then();
+  }
+
+  @Override
+  public Mono<Void> commit(TransactionContext context) {
+    return productClient.applyCreditDelta(context.getRequest().getCreditId(),
+        context.getProductAmount().negate().toBigDecimal(), context.getRequestId()).then();
+  }
+}
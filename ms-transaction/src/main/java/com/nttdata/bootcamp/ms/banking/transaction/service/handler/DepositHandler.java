@@ -0,0 +1,52 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.handler;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductClient;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionHandler;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Depósito: abona el importe en la cuenta de destino, convertido a la moneda de la cuenta si
+ * la solicitud indica otra.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Component
+@RequiredArgsConstructor
+public class DepositHandler implements TransactionHandler {
+
+  private final ProductClient productClient;
+  private final FxRateService fxRateService;
+
+  @Override
+  public TransactionType type() {
+    return TransactionType.DEPOSIT;
+  }
+
+  @Override
+  public Mono<Void> validate(TransactionContext context) {
+    return context.getRequest().getDestinationAccountId() == null
+        ? Mono.error(new ApiValidateException("Destination account is mandatory"))
+        : Mono.empty();
+  }
+
+  @Override
+  public Mono<Void> resolveProducts(TransactionContext context) {
+    return productClient.findAccount(context.getRequest().getDestinationAccountId())
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
+        .doOnNext(account -> ProductCurrency.apply(context, account.getCurrency(), fxRateService))
+        .then();
+  }
+
+  @Override
+  public Mono<Void> commit(TransactionContext context) {
+    return productClient.applyAccountDelta(context.getRequest().getDestinationAccountId(),
+        context.getProductAmount().toBigDecimal(), context.getRequestId()).then();
+  }
+}
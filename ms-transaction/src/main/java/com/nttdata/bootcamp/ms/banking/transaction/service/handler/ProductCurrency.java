@@ -0,0 +1,33 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.handler;
+
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ajusta el importe de una transacción a la moneda del producto que mueve.
+ *
+ * <p>Si la solicitud no indica moneda, el importe está en la moneda del producto. Si la
+ * indica y es otra, se convierte con la tabla de tipos de cambio en memoria. Los créditos y
+ * tarjetas no tienen moneda propia y operan en la moneda por defecto.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ProductCurrency {
+
+  static String of(String currency) {
+    return currency != null ? currency : Money.DEFAULT_CURRENCY;
+  }
+
+  static void apply(TransactionContext context, String productCurrency, FxRateService fxRateService) {
+    String currency = of(productCurrency);
+    if (context.getRequest().getCurrency() == null) {
+      context.setAmount(Money.of(context.getRequest().getAmount(), currency));
+    } else {
+      context.setConversion(fxRateService.convert(context.getAmount(), currency));
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.handler;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Credit;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.CreditCard;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.TransferSaga;
+import com.nttdata.bootcamp.ms.banking.transaction.service.VelocityStore;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.FxRateTable;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Estado de una transacción mientras recorre las etapas del pipeline. Cada handler guarda
+ * aquí lo que resuelve en una etapa y necesita en las siguientes. Si se indica
+ * {@code transactionId}, la transacción se guarda con ese ID. El importe de la solicitud se
+ * convierte una sola vez a {@link Money}; un importe con más decimales de los que admite la
+ * moneda se rechaza al crear el contexto.
+ *
+ * <p>Si la moneda del importe no es la del producto, el handler guarda en
+ * {@code conversion} el importe convertido, que es el que aplica al producto
+ * ({@link #getProductAmount()}).</p>
+ *
+ * <p>{@code velocityHold} es el débito contado en la preautorización; se libera si la
+ * transacción falla.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.3
+ */
+@Getter
+public class TransactionContext {
+
+  private final TransactionRequest request;
+  private final String requestId;
+
+  @Setter
+  private Money amount;
+
+  @Setter
+  private String transactionId;
+
+  @Setter
+  private Credit credit;
+
+  @Setter
+  private CreditCard creditCard;
+
+  @Setter
+  private TransferSaga transferSaga;
+
+  @Setter
+  private FxRateTable.Conversion conversion;
+
+  @Setter
+  private VelocityStore.Hold velocityHold;
+
+  private boolean fundsReserved;
+  private boolean completed;
+
+  public TransactionContext(TransactionRequest request, String requestId) {
+    this.request = request;
+    this.requestId = requestId;
+    this.amount = Money.of(request.getAmount(),
+        request.getCurrency() != null ? request.getCurrency() : Money.DEFAULT_CURRENCY);
+  }
+
+  /**
+   * Importe en la moneda del producto.
+   *
+   * @return El importe convertido, o el de la solicitud si no hubo conversión.
+   */
+  public Money getProductAmount() {
+    return conversion != null ? conversion.getConverted() : amount;
+  }
+
+  /**
+   * Indica que la etapa de reserva terminó; a partir de aquí un fallo dispara la
+   * compensación del handler.
+   */
+  public void markFundsReserved() {
+    this.fundsReserved = true;
+  }
+
+  /**
+   * Da la transacción por aplicada: las etapas restantes del handler no se ejecutan y se
+   * pasa directamente a persistir.
+   */
+  public void complete() {
+    this.completed = true;
+  }
+}
@@ -0,0 +1,95 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.handler;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductClient;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionHandler;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransferSagaService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transferencia: debita la cuenta de origen y abona la de destino a través de una saga
+ * persistida. Si el abono es rechazado, el débito se revierte; si la instancia se cae a
+ * mitad de camino, el barrido de {@link TransferSagaService} termina la saga.
+ *
+ * <p>El importe está en la moneda de la cuenta de origen. Si la de destino tiene otra, el
+ * abono se convierte con la tabla de tipos de cambio en memoria y la saga guarda el importe
+ * abonado, el tipo y la versión de la tabla, para que una saga retomada abone lo mismo.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@Component
+@RequiredArgsConstructor
+public class TransferHandler implements TransactionHandler {
+
+  private final TransferSagaService transferSagaService;
+  private final ProductClient productClient;
+  private final FxRateService fxRateService;
+
+  @Override
+  public TransactionType type() {
+    return TransactionType.TRANSFER;
+  }
+
+  @Override
+  public Mono<Void> validate(TransactionContext context) {
+    TransactionRequest request = context.getRequest();
+    if (request.getOriginAccountId() == null || request.getDestinationAccountId() == null) {
+      return Mono.error(new ApiValidateException("Origin and destination accounts are mandatory"));
+    }
+    if (request.getOriginAccountId().equals(request.getDestinationAccountId())) {
+      return Mono.error(new ApiValidateException("Origin and destination accounts must be different"));
+    }
+    return Mono.empty();
+  }
+
+  @Override
+  public Mono<Void> resolveProducts(TransactionContext context) {
+    TransactionRequest request = context.getRequest();
+    return Mono.zip(
+            productClient.findAccount(request.getOriginAccountId())
+                .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE))),
+            productClient.findAccount(request.getDestinationAccountId())
+                .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE))))
+        .doOnNext(accounts -> {
+          String originCurrency = ProductCurrency.of(accounts.getT1().getCurrency());
+          if (request.getCurrency() != null && !request.getCurrency().equals(originCurrency)) {
+            throw new ApiValidateException("Transfer currency must be the origin account currency");
+          }
+          context.setAmount(Money.of(request.getAmount(), originCurrency));
+          context.setConversion(fxRateService.convert(context.getAmount(), accounts.getT2().getCurrency()));
+        })
+        .then();
+  }
+
+  /**
+   * La transacción usa el ID de la saga para que el barrido pueda saber si ya se registró.
+   */
+  @Override
+  public Mono<Void> reserveFunds(TransactionContext context) {
+    return transferSagaService.debit(context.getRequest(), context.getRequestId(), context.getAmount(),
+            context.getConversion())
+        .doOnNext(saga -> {
+          context.setTransferSaga(saga);
+          context.setTransactionId(saga.getId());
+        })
+        .then();
+  }
+
+  @Override
+  public Mono<Void> commit(TransactionContext context) {
+    return transferSagaService.credit(context.getTransferSaga());
+  }
+
+  @Override
+  public Mono<Void> compensate(TransactionContext context) {
+    return transferSagaService.compensate(context.getTransferSaga());
+  }
+}
@@ -0,0 +1,53 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.handler;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductClient;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionHandler;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Retiro: descuenta el importe de la cuenta de origen. ms-account rechaza el retiro si no
+ * hay fondos suficientes. Si la solicitud indica otra moneda, el importe se convierte a la de
+ * la cuenta.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Component
+@RequiredArgsConstructor
+public class WithdrawalHandler implements TransactionHandler {
+
+  private final ProductClient productClient;
+  private final FxRateService fxRateService;
+
+  @Override
+  public TransactionType type() {
+    return TransactionType.WITHDRAWAL;
+  }
+
+  @Override
+  public Mono<Void> validate(TransactionContext context) {
+    return context.getRequest().getOriginAccountId() == null
+        ? Mono.error(new ApiValidateException("Origin account is mandatory"))
+        : Mono.empty();
+  }
+
+  @Override
+  public Mono<Void> resolveProducts(TransactionContext context) {
+    return productClient.findAccount(context.getRequest().getOriginAccountId())
+        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
+        .doOnNext(account -> ProductCurrency.apply(context, account.getCurrency(), fxRateService))
+        .then();
+  }
+
+  @Override
+  public Mono<Void> reserveFunds(TransactionContext context) {
+    return productClient.applyAccountDelta(context.getRequest().getOriginAccountId(),
+        context.getProductAmount().negate().toBigDecimal(), context.getRequestId()).then();
+  }
+}
@@ -0,0 +1,143 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.AccountBatchGetRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AccountResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Account;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiErrorException;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.AccountMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.service.AccountBatchLoader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Implementación de {@link AccountBatchLoader} con micro-lotes.
+ *
+ * <p>Las consultas se encolan y se despachan en lotes de hasta {@code maxBatchSize} IDs o
+ * cada {@code window}, lo que ocurra primero, con una sola llamada a
+ * {@code POST /api/accounts/batch-get} por lote. Los IDs repetidos dentro de un lote se
+ * consultan una vez y su resultado se entrega a todos los que lo esperan; un ID que ms-account
+ * no devuelve completa vacío, como cualquier búsqueda por ID. Como mucho hay
+ * {@code maxConcurrency} lotes en curso.</p>
+ *
+ * <p>Los lotes se arman según la demanda de los despachos: si ms-account responde lento y
+ * los {@code maxConcurrency} lotes siguen en curso, las consultas esperan en la cola en vez
+ * de formar lotes que nadie pidió. Si el despacho falla igualmente, se vuelve a suscribir a
+ * la cola, y cada consulta falla tras {@code timeout} si su lote se perdió o no respondió.</p>
+ *
+ * <p>Encolar nunca espera: las emisiones se serializan con un candado que solo cubre la
+ * entrega a la cola, y si la cola está llena la consulta falla de inmediato con
+ * {@link ApiErrorException} en vez de girar sobre el hilo del event loop.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.3
+ */
+@Service
+@Slf4j
+public class AccountBatchLoaderImpl implements AccountBatchLoader {
+
+  private static final int MAX_PENDING = 10_000;
+
+  private final WebClient accountWebClient;
+  private final AccountMapper accountMapper;
+  private final Sinks.Many<PendingLookup> lookups = Sinks.many().multicast().onBackpressureBuffer(MAX_PENDING, false);
+  private final DistributionSummary batchSize;
+  private final Counter batchCalls;
+  private final Duration timeout;
+  private final Disposable dispatcher;
+
+  public AccountBatchLoaderImpl(WebClient accountWebClient,
+                                AccountMapper accountMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${transaction.account-loader.max-batch-size:100}") int maxBatchSize,
+                                @Value("${transaction.account-loader.window:5ms}") Duration window,
+                                @Value("${transaction.account-loader.max-concurrency:8}") int maxConcurrency,
+                                @Value("${transaction.account-loader.timeout:2s}") Duration timeout) {
+    this.accountWebClient = accountWebClient;
+    this.accountMapper = accountMapper;
+    this.timeout = timeout;
+    this.batchSize = DistributionSummary.builder("transaction.account.loader.batch.size")
+        .description("Consultas de cuenta agrupadas en cada llamada a ms-account")
+        .register(meterRegistry);
+    this.batchCalls = Counter.builder("transaction.account.loader.calls")
+        .description("Llamadas en lote a ms-account")
+        .register(meterRegistry);
+    this.dispatcher = lookups.asFlux()
+        .bufferTimeout(maxBatchSize, window, true)
+        .flatMap(this::dispatch, maxConcurrency)
+        .doOnError(e -> log.error("Account loader dispatcher failed, resubscribing: " + e.getMessage()))
+        .retry()
+        .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    dispatcher.dispose();
+  }
+
+  @Override
+  public Mono<Account> load(String id) {
+    return Mono.defer(() -> {
+      Sinks.One<Account> result = Sinks.one();
+      Sinks.EmitResult emitted;
+      synchronized (lookups) {
+        emitted = lookups.tryEmitNext(new PendingLookup(id, result));
+      }
+      if (emitted.isFailure()) {
+        return Mono.error(new ApiErrorException("Account lookup queue rejected " + id + ": " + emitted));
+      }
+      return result.asMono();
+    }).timeout(timeout, Mono.error(() -> new ApiValidateException("Timeout retrieving account " + id)));
+  }
+
+  private Mono<Void> dispatch(List<PendingLookup> batch) {
+    List<String> ids = batch.stream().map(PendingLookup::id).distinct().toList();
+    batchSize.record(ids.size());
+    batchCalls.increment();
+    return accountWebClient.post()
+        .uri("/batch-get")
+        .bodyValue(AccountBatchGetRequest.builder().ids(ids).build())
+        .retrieve()
+        .bodyToFlux(AccountResponse.class)
+        .collectMap(AccountResponse::getId, Function.identity())
+        .doOnNext(found -> complete(batch, found))
+        .onErrorResume(e -> {
+          log.warn("Error loading " + ids.size() + " accounts: " + e.getMessage());
+          batch.forEach(lookup -> lookup.result().tryEmitError(
+              new ApiValidateException("Error retrieving account " + lookup.id())));
+          return Mono.empty();
+        })
+        .then();
+  }
+
+  private void complete(List<PendingLookup> batch, Map<String, AccountResponse> found) {
+    for (PendingLookup lookup : batch) {
+      AccountResponse account = found.get(lookup.id());
+      if (account == null) {
+        lookup.result().tryEmitEmpty();
+      } else {
+        lookup.result().tryEmitValue(accountMapper.responseToEntity(account));
+      }
+    }
+  }
+
+  /**
+   * Consulta en espera de su lote.
+   */
+  private record PendingLookup(String id, Sinks.One<Account> result) {
+  }
+}
@@ -0,0 +1,173 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.AccountLaneSequencer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Implementación de {@link AccountLaneSequencer} con colas por franjas (striping).
+ *
+ * <p>Cada clave se asigna a una de {@code stripes} colas por hash. Una cola ejecuta una
+ * operación a la vez y, al terminar, entrega el turno a la siguiente en el scheduler
+ * paralelo de Reactor, sin bloquear hilos. Cada cola admite como máximo
+ * {@code maxQueue} operaciones pendientes; por encima de ese límite se rechaza de
+ * inmediato en lugar de acumular espera.</p>
+ *
+ * <p>El orden es por instancia: entre varias instancias la consistencia del saldo la
+ * garantiza la escritura condicionada de ms-account.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Service
+public class AccountLaneSequencerImpl implements AccountLaneSequencer {
+
+  private final Lane[] lanes;
+  private final int mask;
+  private final int maxQueue;
+  private final Scheduler handoffScheduler = Schedulers.parallel();
+  private final Timer waitTimer;
+  private final Counter rejectedCounter;
+
+  public AccountLaneSequencerImpl(MeterRegistry meterRegistry,
+                                  @Value("${transaction.lane.stripes:1024}") int stripes,
+                                  @Value("${transaction.lane.max-queue:256}") int maxQueue) {
+    int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+    this.lanes = new Lane[size];
+    for (int i = 0; i < size; i++) {
+      lanes[i] = new Lane();
+    }
+    this.mask = size - 1;
+    this.maxQueue = maxQueue;
+    this.waitTimer = Timer.builder("transaction.lane.wait")
+        .description("Tiempo de espera en la cola de la cuenta antes de ejecutar")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("transaction.lane.rejected")
+        .description("Operaciones rechazadas por cola de cuenta llena")
+        .register(meterRegistry);
+    Gauge.builder("transaction.lane.depth.total", this, AccountLaneSequencerImpl::totalDepth)
+        .description("Operaciones en curso o en espera en todas las colas")
+        .register(meterRegistry);
+    Gauge.builder("transaction.lane.depth.max", this, AccountLaneSequencerImpl::maxDepth)
+        .description("Profundidad de la cola más cargada")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public <T> Mono<T> execute(Collection<String> keys, Supplier<Mono<T>> work) {
+    int[] stripes = keys.stream()
+        .filter(Objects::nonNull)
+        .mapToInt(this::stripeOf)
+        .distinct()
+        .sorted()
+        .toArray();
+    return this.runInLanes(stripes, 0, work);
+  }
+
+  private <T> Mono<T> runInLanes(int[] stripes, int index, Supplier<Mono<T>> work) {
+    if (index == stripes.length) {
+      return Mono.defer(work);
+    }
+    return lanes[stripes[index]].enqueue(() -> this.runInLanes(stripes, index + 1, work));
+  }
+
+  private int stripeOf(String key) {
+    int h = key.hashCode();
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  private double totalDepth() {
+    long total = 0;
+    for (Lane lane : lanes) {
+      total += lane.depth.get();
+    }
+    return total;
+  }
+
+  private double maxDepth() {
+    int max = 0;
+    for (Lane lane : lanes) {
+      max = Math.max(max, lane.depth.get());
+    }
+    return max;
+  }
+
+  /**
+   * Cola de ejecución serial. {@code wip} cuenta las tareas encoladas y en curso: la tarea
+   * que lo lleva de 0 a 1 arranca de inmediato y cada liberación arranca la siguiente.
+   * Las tareas se encolan antes de incrementar {@code wip}, por lo que {@code poll()}
+   * nunca devuelve null cuando hay turno pendiente.
+   */
+  private final class Lane {
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    <T> Mono<T> enqueue(Supplier<Mono<T>> work) {
+      return Mono.create(sink -> {
+        if (!this.tryAdmit()) {
+          rejectedCounter.increment();
+          sink.error(new ApiValidateException("Account busy, please retry later."));
+          return;
+        }
+        AtomicBoolean cancelled = new AtomicBoolean();
+        sink.onCancel(() -> cancelled.set(true));
+        long queuedAt = System.nanoTime();
+
+        this.submit(() -> {
+          waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+          if (cancelled.get()) {
+            this.release();
+            return;
+          }
+          Mono.defer(work)
+              .doFinally(signal -> this.release())
+              .subscribe(sink::success, sink::error, sink::success);
+        });
+      });
+    }
+
+    private boolean tryAdmit() {
+      int current;
+      do {
+        current = depth.get();
+        if (current >= maxQueue) {
+          return false;
+        }
+      } while (!depth.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    private void submit(Runnable task) {
+      queue.offer(task);
+      if (wip.getAndIncrement() == 0) {
+        queue.poll().run();
+      }
+    }
+
+    private void release() {
+      depth.decrementAndGet();
+      if (wip.decrementAndGet() > 0) {
+        handoffScheduler.schedule(queue.poll());
+      }
+    }
+  }
+}
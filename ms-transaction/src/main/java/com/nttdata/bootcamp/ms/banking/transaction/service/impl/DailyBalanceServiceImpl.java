@@ -0,0 +1,176 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AverageBalanceResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.DailyBalance;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.DailyBalanceRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.DailyBalanceService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación de {@link DailyBalanceService}.
+ *
+ * <p>Cada movimiento de saldo aplicado por ms-transaction actualiza el acumulado del día
+ * de la cuenta con una sola escritura. El promedio de un rango lee como máximo un
+ * documento por día y cuenta, más el último cierre anterior al rango: los días sin
+ * movimientos toman el cierre más reciente. Los días aún no transcurridos no se cuentan
+ * y el día en curso se promedia hasta el momento de la consulta.</p>
+ *
+ * <p>El promedio de todas las cuentas cruza dos cursores ordenados por cuenta, el del
+ * último cierre anterior al rango y el de los acumulados del rango, y procesa una cuenta a
+ * la vez: la memoria usada no depende de la cantidad de cuentas, sino de los días del rango.</p>
+ *
+ * <p>Solo se registran los cambios de saldo que pasan por ms-transaction.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyBalanceServiceImpl implements DailyBalanceService {
+
+  private static final Sort BY_DAY = Sort.by("day");
+  private static final Sort BY_ACCOUNT_AND_DAY = Sort.by("accountId", "day");
+  private static final Comparator<DailyBalance> BY_ACCOUNT_THEN_DAY =
+      Comparator.comparing(DailyBalance::getAccountId).thenComparing(DailyBalance::getDay);
+
+  private final DailyBalanceRepository dailyBalanceRepository;
+  private final ZoneId zone = ZoneId.systemDefault();
+
+  @Value("${transaction.report.max-days:366}")
+  private int maxDays;
+
+  @Override
+  public Mono<Void> recordChange(String accountId, BigDecimal delta, BigDecimal newBalance) {
+    if (newBalance == null) {
+      return Mono.empty();
+    }
+    Instant now = Instant.now();
+    LocalDate day = LocalDate.ofInstant(now, zone);
+    return dailyBalanceRepository.applyChange(accountId, day, day.atStartOfDay(zone).toInstant(), now,
+            newBalance.subtract(delta), newBalance)
+        .onErrorResume(e -> {
+          log.warn("Error recording daily balance of " + accountId + ": " + e.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  @Override
+  public Mono<AverageBalanceResponse> getAverageBalance(String accountId, LocalDate from, LocalDate to) {
+    return this.validateRange(from, to)
+        .then(Mono.defer(() -> {
+          LocalDate last = this.lastElapsedDay(to);
+          Mono<Optional<BigDecimal>> prior = dailyBalanceRepository
+              .findFirstByAccountIdAndDayLessThanOrderByDayDesc(accountId, from.toString())
+              .map(balance -> Optional.of(balance.getClosingBalance()))
+              .defaultIfEmpty(Optional.empty());
+          Mono<List<DailyBalance>> days = dailyBalanceRepository
+              .findByAccountIdAndDayRange(accountId, from.toString(), last.toString(), BY_DAY)
+              .collectList();
+          return Mono.zip(prior, days)
+              .map(tuple -> this.average(accountId, tuple.getT1().orElse(null), tuple.getT2(), from, last));
+        }));
+  }
+
+  @Override
+  public Flux<AverageBalanceResponse> getAverageBalances(LocalDate from, LocalDate to) {
+    return this.validateRange(from, to)
+        .thenMany(Flux.defer(() -> {
+          LocalDate last = this.lastElapsedDay(to);
+          String fromDay = from.toString();
+          return Flux.mergeComparing(ConstantUtil.EXPORT_BATCH_SIZE, BY_ACCOUNT_THEN_DAY,
+                  dailyBalanceRepository.findLastClosingsBefore(fromDay),
+                  dailyBalanceRepository.findByDayRange(fromDay, last.toString(), BY_ACCOUNT_AND_DAY))
+              .windowUntilChanged(DailyBalance::getAccountId)
+              .concatMap(Flux::collectList)
+              .map(days -> {
+                DailyBalance first = days.get(0);
+                if (first.getDay().compareTo(fromDay) >= 0) {
+                  return this.average(first.getAccountId(), null, days, from, last);
+                }
+                return this.average(first.getAccountId(), first.getClosingBalance(),
+                    days.subList(1, days.size()), from, last);
+              });
+        }));
+  }
+
+  private Mono<Void> validateRange(LocalDate from, LocalDate to) {
+    if (from == null || to == null || from.isAfter(to)) {
+      return Mono.error(new ApiValidateException("Start date must not be after end date."));
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+      return Mono.error(new ApiValidateException("Date range must not exceed " + maxDays + " days."));
+    }
+    return Mono.empty();
+  }
+
+  private LocalDate lastElapsedDay(LocalDate to) {
+    LocalDate today = LocalDate.now(zone);
+    return to.isAfter(today) ? today : to;
+  }
+
+  /**
+   * Promedia los saldos de cada día de {@code from} a {@code last}. {@code days} viene
+   * ordenado por día; {@code carry} es el cierre anterior al rango, o null si no se conoce.
+   */
+  private AverageBalanceResponse average(String accountId, BigDecimal carry, List<DailyBalance> days,
+                                         LocalDate from, LocalDate last) {
+    Instant now = Instant.now();
+    Iterator<DailyBalance> iterator = days.iterator();
+    DailyBalance next = iterator.hasNext() ? iterator.next() : null;
+    BigDecimal sum = BigDecimal.ZERO;
+    int known = 0;
+    for (LocalDate day = from; !day.isAfter(last); day = day.plusDays(1)) {
+      BigDecimal dayAverage;
+      if (next != null && next.getDay().equals(day.toString())) {
+        dayAverage = this.dailyAverage(next, day, now);
+        carry = next.getClosingBalance();
+        next = iterator.hasNext() ? iterator.next() : null;
+      } else if (carry != null) {
+        dayAverage = carry;
+      } else {
+        continue;
+      }
+      sum = sum.add(dayAverage);
+      known++;
+    }
+    BigDecimal average = known == 0 ? null : sum.divide(BigDecimal.valueOf(known), 2, RoundingMode.HALF_EVEN);
+    return new AverageBalanceResponse(accountId, average, known);
+  }
+
+  private BigDecimal dailyAverage(DailyBalance balance, LocalDate day, Instant now) {
+    Instant start = day.atStartOfDay(zone).toInstant();
+    Instant end = day.plusDays(1).atStartOfDay(zone).toInstant();
+    if (end.isAfter(now)) {
+      end = now;
+    }
+    long totalMillis = Duration.between(start, end).toMillis();
+    if (totalMillis <= 0) {
+      return balance.getClosingBalance();
+    }
+    long tailMillis = Math.max(0, Duration.between(balance.getLastChangeAt().toInstant(), end).toMillis());
+    BigDecimal balanceSeconds = balance.getBalanceSeconds()
+        .add(balance.getClosingBalance().multiply(BigDecimal.valueOf(tailMillis, 3)));
+    return balanceSeconds.divide(BigDecimal.valueOf(totalMillis, 3), 2, RoundingMode.HALF_EVEN);
+  }
+}
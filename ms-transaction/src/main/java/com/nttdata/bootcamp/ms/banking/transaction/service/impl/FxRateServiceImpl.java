@@ -0,0 +1,81 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.FxRateEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.FxRateTable;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementación de {@link FxRateService}.
+ *
+ * <p>La tabla vigente es una {@link FxRateTable} inmutable guardada en una
+ * {@link AtomicReference}: cada conversión lee la referencia una vez y trabaja sobre esa
+ * copia, sin bloqueos. Una actualización construye la tabla nueva aparte y la publica con
+ * {@code compareAndSet}, descartando versiones que no sean más recientes que la vigente.</p>
+ *
+ * <p>Si la tabla tiene más de {@code transaction.fx.max-age}, las conversiones se rechazan
+ * hasta recibir una nueva; las operaciones en una sola moneda no se ven afectadas.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class FxRateServiceImpl implements FxRateService {
+
+  private final AtomicReference<FxRateTable> table = new AtomicReference<>(FxRateTable.EMPTY);
+  private final long maxAgeMillis;
+
+  public FxRateServiceImpl(MeterRegistry meterRegistry,
+                           @Value("${transaction.fx.max-age:6h}") Duration maxAge) {
+    this.maxAgeMillis = maxAge.toMillis();
+    Gauge.builder("transaction.fx.rates.version", table, reference -> reference.get().getVersion())
+        .description("Versión de la tabla de tipos de cambio vigente")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public FxRateTable.Conversion convert(Money amount, String currency) {
+    String target = currency != null ? currency : Money.DEFAULT_CURRENCY;
+    if (amount.getCurrency().equals(target)) {
+      return null;
+    }
+    FxRateTable current = table.get();
+    if (current.getVersion() == 0) {
+      throw new ApiValidateException("Exchange rates not available, please retry later.");
+    }
+    if (System.currentTimeMillis() - current.getPublishedAt() > maxAgeMillis) {
+      throw new ApiValidateException("Exchange rates are outdated, please retry later.");
+    }
+    return current.convert(amount, target);
+  }
+
+  @Override
+  public boolean update(FxRateEvent event) {
+    FxRateTable next = FxRateTable.of(event);
+    FxRateTable current;
+    do {
+      current = table.get();
+      if (next.getVersion() <= current.getVersion()) {
+        log.debug("Ignoring exchange rates version {}; current is {}", next.getVersion(), current.getVersion());
+        return false;
+      }
+    } while (!table.compareAndSet(current, next));
+    log.info("Exchange rates updated to version {}", next.getVersion());
+    return true;
+  }
+
+  @Override
+  public FxRateTable current() {
+    return table.get();
+  }
+}
@@ -0,0 +1,179 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiErrorException;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.BalanceRejectedException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Implementación de {@link IdempotencyService} sobre Redis.
+ *
+ * <p>Cada clave guarda un {@link Outcome} en JSON con la huella de la petición: en estado
+ * {@code PENDING} mientras la operación está en curso (con un TTL corto por si la instancia
+ * cae) y {@code COMPLETED} con el resultado, o {@code REJECTED} con el motivo si ms-account
+ * o ms-product rechazaron el movimiento, una vez terminada (con un TTL largo). Ante
+ * cualquier otro error la clave se borra para que el cliente pueda reintentar.</p>
+ *
+ * <p>Los duplicados que llegan a la misma instancia mientras la original está en curso se
+ * unen al mismo {@link Mono}; los que llegan a otra instancia consultan Redis hasta ver el
+ * resultado. Si la clave desaparece mientras esperan, porque la ejecución original falló o
+ * su instancia cayó, intentan tomarla y ejecutar la operación ellos mismos.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+  private static final String KEY_PREFIX = "idempotency:transaction:";
+  private static final String LEGACY_PENDING = "PENDING";
+  private static final String IN_PROGRESS_MESSAGE = "A request with the same Idempotency-Key is still in progress.";
+
+  private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+  private final ObjectMapper objectMapper;
+  private final Map<String, Mono<TransactionResponse>> inFlight = new ConcurrentHashMap<>();
+
+  @Value("${transaction.idempotency.ttl:24h}")
+  private Duration resultTtl;
+
+  @Value("${transaction.idempotency.pending-ttl:30s}")
+  private Duration pendingTtl;
+
+  @Value("${transaction.idempotency.poll-interval:100ms}")
+  private Duration pollInterval;
+
+  @Override
+  public Mono<TransactionResponse> execute(String idempotencyKey, String requestHash,
+                                           Supplier<Mono<TransactionResponse>> work) {
+    String flightKey = idempotencyKey + "|" + requestHash;
+    return Mono.defer(() -> {
+      long maxPolls = Math.max(1, pendingTtl.toMillis() / pollInterval.toMillis());
+      AtomicReference<Mono<TransactionResponse>> shared = new AtomicReference<>();
+      shared.set(this.executeOnce(KEY_PREFIX + idempotencyKey, requestHash, work, maxPolls)
+          .doFinally(signal -> inFlight.remove(flightKey, shared.get()))
+          .cache());
+      Mono<TransactionResponse> existing = inFlight.putIfAbsent(flightKey, shared.get());
+      return existing != null ? existing : shared.get();
+    });
+  }
+
+  private Mono<TransactionResponse> executeOnce(String redisKey, String requestHash,
+                                                Supplier<Mono<TransactionResponse>> work, long pollsLeft) {
+    return reactiveStringRedisTemplate.opsForValue()
+        .setIfAbsent(redisKey, this.toJson(Outcome.pending(requestHash)), pendingTtl)
+        .flatMap(acquired -> acquired
+            ? this.runAndStore(redisKey, requestHash, work)
+            : this.awaitOutcome(redisKey, requestHash, work, pollsLeft));
+  }
+
+  private Mono<TransactionResponse> runAndStore(String redisKey, String requestHash,
+                                                Supplier<Mono<TransactionResponse>> work) {
+    return Mono.defer(work)
+        .flatMap(response -> reactiveStringRedisTemplate.opsForValue()
+            .set(redisKey, this.toJson(Outcome.completed(requestHash, response)), resultTtl)
+            .thenReturn(response))
+        .onErrorResume(BalanceRejectedException.class, e -> reactiveStringRedisTemplate.opsForValue()
+            .set(redisKey, this.toJson(Outcome.rejected(requestHash, e.getMessage())), resultTtl)
+            .then(Mono.error(e)))
+        .onErrorResume(e -> !(e instanceof BalanceRejectedException),
+            e -> reactiveStringRedisTemplate.delete(redisKey).then(Mono.error(e)));
+  }
+
+  private Mono<TransactionResponse> awaitOutcome(String redisKey, String requestHash,
+                                                 Supplier<Mono<TransactionResponse>> work, long pollsLeft) {
+    return reactiveStringRedisTemplate.opsForValue().get(redisKey)
+        .map(value -> Optional.of(this.fromJson(value)))
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(stored -> {
+          if (stored.isEmpty()) {
+            return pollsLeft > 0
+                ? this.executeOnce(redisKey, requestHash, work, pollsLeft - 1)
+                : Mono.error(new ApiValidateException(IN_PROGRESS_MESSAGE));
+          }
+          Outcome outcome = stored.get();
+          if (outcome.requestHash() != null && !outcome.requestHash().equals(requestHash)) {
+            return Mono.error(new ApiValidateException("Idempotency-Key was already used with a different request."));
+          }
+          switch (outcome.status()) {
+            case COMPLETED:
+              return Mono.just(outcome.response());
+            case REJECTED:
+              return Mono.error(new BalanceRejectedException(outcome.error()));
+            default:
+              return pollsLeft > 0
+                  ? Mono.delay(pollInterval).then(this.awaitOutcome(redisKey, requestHash, work, pollsLeft - 1))
+                  : Mono.error(new ApiValidateException(IN_PROGRESS_MESSAGE));
+          }
+        });
+  }
+
+  private String toJson(Outcome outcome) {
+    try {
+      return objectMapper.writeValueAsString(outcome);
+    } catch (JsonProcessingException e) {
+      throw new ApiErrorException("Error serializing idempotent response", e);
+    }
+  }
+
+  /**
+   * Las claves guardadas antes de la huella contienen {@value #LEGACY_PENDING} o el resultado
+   * sin envolver; se aceptan para cualquier petición hasta que expiren.
+   */
+  private Outcome fromJson(String json) {
+    if (LEGACY_PENDING.equals(json)) {
+      return Outcome.pending(null);
+    }
+    try {
+      JsonNode node = objectMapper.readTree(json);
+      return node.has("status")
+          ? objectMapper.treeToValue(node, Outcome.class)
+          : Outcome.completed(null, objectMapper.treeToValue(node, TransactionResponse.class));
+    } catch (JsonProcessingException e) {
+      throw new ApiErrorException("Error reading idempotent response", e);
+    }
+  }
+
+  /**
+   * Estado de una clave en Redis.
+   */
+  private enum Status {
+    PENDING,      // En curso
+    COMPLETED,    // Terminada con resultado
+    REJECTED      // ms-account o ms-product rechazaron el movimiento
+  }
+
+  /**
+   * Contenido guardado para una clave.
+   */
+  private record Outcome(Status status, String requestHash, TransactionResponse response, String error) {
+
+    static Outcome pending(String requestHash) {
+      return new Outcome(Status.PENDING, requestHash, null, null);
+    }
+
+    static Outcome completed(String requestHash, TransactionResponse response) {
+      return new Outcome(Status.COMPLETED, requestHash, response, null);
+    }
+
+    static Outcome rejected(String requestHash, String error) {
+      return new Outcome(Status.REJECTED, requestHash, null, error);
+    }
+  }
+}
@@ -1,8 +1,18 @@
 package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.FxRateEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.ProductStateEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.TransactionEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.TransactionEventType;
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
 import com.nttdata.bootcamp.ms.banking.transaction.service.KafkaService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductStateCache;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.TransactionEventCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -11,7 +21,15 @@ import org.springframework.stereotype.Service;
 /**
  * Implementación del servicio de Kafka.
  *
- * @version 1.1
+ * <p>Los listeners de eventos de transacción y de estado de productos solo invalidan la
+ * caché de productos. Usan un grupo aleatorio por instancia para que cada una reciba todos
+ * los eventos y descarte su propia caché local.</p>
+ *
+ * <p>El listener de tipos de cambio también usa un grupo por instancia y lee el topic desde
+ * el principio: el topic es compactado, así que al arrancar cada instancia recibe la
+ * última tabla publicada.</p>
+ *
+ * @version 1.4
  */
 
 @Service
@@ -20,6 +38,9 @@ import org.springframework.stereotype.Service;
 public class KafkaServiceImpl implements KafkaService {
 
   private final KafkaTemplate<String, Object> kafkaTemplate;
+  private final ProductStateCache productStateCache;
+  private final FxRateService fxRateService;
+  private final ObjectMapper objectMapper;
 
   @Value("${spring.kafka.topic.name:kafka-broker-1}")
   private String topicName;
@@ -32,5 +53,58 @@ public class KafkaServiceImpl implements KafkaService {
       log.error("Error sending message: " + e.getMessage());
     }
   }
-}
 
+  /**
+   * Descarta la cuenta, crédito o tarjeta cuyo saldo cambió. Los eventos
+   * {@code TRANSACTION_POSTED} no cambian el estado de ningún producto y se ignoran.
+   */
+  @Override
+  @KafkaListener(topics = "${spring.kafka.topic.transaction-events:transaction-events}",
+      groupId = "ms-transaction-cache-${random.uuid}",
+      containerFactory = "transactionEventListenerContainerFactory")
+  public void listenTransactionEvent(ConsumerRecord<String, byte[]> record) {
+    try {
+      TransactionEvent event = TransactionEventCodec.decode(record.value());
+      if (event.getEventType() == null) {
+        log.debug("Skipping transaction event of unknown type at offset " + record.offset());
+        return;
+      }
+      if (event.getEventType() == TransactionEventType.TRANSACTION_POSTED || record.key() == null) {
+        return;
+      }
+      if (event.getOccurredAt() == null) {
+        productStateCache.invalidate(record.key()).subscribe();
+      } else {
+        productStateCache.invalidate(record.key(), event.getOccurredAt().toEpochMilli()).subscribe();
+      }
+    } catch (IllegalArgumentException e) {
+      log.error("Discarding unreadable transaction event at offset " + record.offset() + ": " + e.getMessage());
+    }
+  }
+
+  @Override
+  @KafkaListener(topics = "${spring.kafka.topic.product-state-events:product-state-events}",
+      groupId = "ms-transaction-cache-${random.uuid}",
+      containerFactory = "productStateListenerContainerFactory")
+  public void listenProductStateEvent(ConsumerRecord<String, String> record) {
+    try {
+      ProductStateEvent event = objectMapper.readValue(record.value(), ProductStateEvent.class);
+      productStateCache.invalidate(event.getProductId(), event.getOccurredAt()).subscribe();
+    } catch (JsonProcessingException e) {
+      log.error("Discarding unreadable product state event at offset " + record.offset() + ": " + e.getMessage());
+    }
+  }
+
+  @Override
+  @KafkaListener(topics = "${spring.kafka.topic.fx-rates:fx-rates}",
+      groupId = "ms-transaction-fx-${random.uuid}",
+      containerFactory = "productStateListenerContainerFactory",
+      properties = "auto.offset.reset=earliest")
+  public void listenFxRateEvent(ConsumerRecord<String, String> record) {
+    try {
+      fxRateService.update(objectMapper.readValue(record.value(), FxRateEvent.class));
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.error("Discarding unreadable exchange rates at offset " + record.offset() + ": " + e.getMessage());
+    }
+  }
+}
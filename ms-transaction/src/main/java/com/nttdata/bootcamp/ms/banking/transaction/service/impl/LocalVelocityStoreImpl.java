@@ -0,0 +1,92 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.VelocityDecision;
+import com.nttdata.bootcamp.ms.banking.transaction.service.VelocityStore;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.SlidingWindow;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementación de {@link VelocityStore} en la memoria de la instancia.
+ *
+ * <p>Cada cuenta tiene dos {@link SlidingWindow} (minuto y día) en un
+ * {@link ConcurrentHashMap}, que reparte las cuentas entre sus contenedores; cuentas
+ * distintas no compiten entre sí y la misma cuenta solo compite en el {@code compareAndSet}
+ * de su tramo. El débito se suma primero y se comprueba después: si supera un límite se
+ * resta de nuevo, así dos débitos simultáneos nunca pasan ambos por encima del límite.</p>
+ *
+ * <p>Las cuentas sin actividad en las últimas 24 horas se descartan como mucho una vez por
+ * minuto, en el camino de algún débito.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Service
+public class LocalVelocityStoreImpl implements VelocityStore {
+
+  public static final String NAME = "memory";
+
+  private static final long SWEEP_INTERVAL_MILLIS = MINUTE.toMillis();
+
+  private final Map<String, AccountWindows> windows = new ConcurrentHashMap<>();
+  private final AtomicLong lastSweep = new AtomicLong();
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public Mono<VelocityDecision> tryAcquire(String accountId, long amount, long nowMillis,
+                                           int maxDebitsPerMinute, long dailyLimit) {
+    return Mono.fromSupplier(() -> this.acquire(accountId, amount, nowMillis, maxDebitsPerMinute, dailyLimit));
+  }
+
+  /**
+   * Versión síncrona de {@link #tryAcquire}, también usada como respaldo del almacén en Redis.
+   */
+  VelocityDecision acquire(String accountId, long amount, long nowMillis, int maxDebitsPerMinute,
+                           long dailyLimit) {
+    this.sweep(nowMillis);
+    AccountWindows account = windows.computeIfAbsent(accountId, id -> new AccountWindows());
+    account.minute.add(nowMillis, 1, 0);
+    if (account.minute.count(nowMillis) > maxDebitsPerMinute) {
+      account.minute.add(nowMillis, -1, 0);
+      return VelocityDecision.TOO_MANY_DEBITS;
+    }
+    account.day.add(nowMillis, 0, amount);
+    if (account.day.sum(nowMillis) > dailyLimit) {
+      account.day.add(nowMillis, 0, -amount);
+      account.minute.add(nowMillis, -1, 0);
+      return VelocityDecision.DAILY_LIMIT_EXCEEDED;
+    }
+    return VelocityDecision.ALLOWED;
+  }
+
+  @Override
+  public Mono<Void> release(String accountId, long amount, long acquiredAtMillis) {
+    return Mono.fromRunnable(() -> {
+      AccountWindows account = windows.get(accountId);
+      if (account != null) {
+        account.day.add(acquiredAtMillis, 0, -amount);
+      }
+    });
+  }
+
+  private void sweep(long nowMillis) {
+    long last = lastSweep.get();
+    if (nowMillis - last < SWEEP_INTERVAL_MILLIS || !lastSweep.compareAndSet(last, nowMillis)) {
+      return;
+    }
+    windows.values().removeIf(account -> account.minute.isExpired(nowMillis) && account.day.isExpired(nowMillis));
+  }
+
+  private static final class AccountWindows {
+    private final SlidingWindow minute = new SlidingWindow(MINUTE_BUCKETS, MINUTE);
+    private final SlidingWindow day = new SlidingWindow(DAY_BUCKETS, DAY);
+  }
+}
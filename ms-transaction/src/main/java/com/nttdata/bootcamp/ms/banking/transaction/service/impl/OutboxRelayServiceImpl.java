@@ -0,0 +1,279 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.OutboxStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.OutboxEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.OutboxEventRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.OutboxRelayService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementación de {@link OutboxRelayService} sobre reactor-kafka.
+ *
+ * <p>Al arrancar la aplicación se inicia un ciclo que publica lotes de hasta
+ * {@code batchSize} eventos y, cuando no hay más pendientes, espera {@code pollInterval}.
+ * Solo una instancia publica a la vez: la que mantiene el lease en
+ * {@value #LEASE_COLLECTION}, lo que preserva el orden de publicación. Los eventos no
+ * confirmados siguen pendientes y se reintentan en el siguiente ciclo (al menos una vez).
+ * Cada evento se publica con su cuenta o producto como clave, por lo que los eventos de
+ * una cuenta quedan en una sola partición. Si un evento falla, los posteriores de su misma
+ * clave siguen pendientes aunque Kafka los confirme, para volver a publicarse detrás de él;
+ * las demás claves no se ven afectadas.</p>
+ *
+ * <p>Un evento que falla {@code transaction.outbox.max-attempts} veces pasa a
+ * {@link OutboxStatus#FAILED} y se cuenta en {@code transaction.outbox.dead.lettered}: deja
+ * de bloquear su clave y de fijar el retraso del outbox, y queda guardado para revisarlo.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.3
+ */
+@Service
+@Slf4j
+public class OutboxRelayServiceImpl implements OutboxRelayService {
+
+  private static final String LEASE_COLLECTION = "transaction_outbox_lease";
+  private static final String LEASE_ID = "transaction-outbox-relay";
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final KafkaSender<String, byte[]> kafkaSender;
+  private final String instanceId = UUID.randomUUID().toString();
+  private final AtomicLong lagMillis = new AtomicLong();
+  private final Counter sentCounter;
+  private final Counter failedCounter;
+  private final Counter deadLetteredCounter;
+  private final Timer batchTimer;
+  private Disposable relayLoop;
+
+  @Value("${spring.kafka.topic.transaction-events:transaction-events}")
+  private String topicName;
+
+  @Value("${transaction.outbox.relay.enabled:true}")
+  private boolean enabled;
+
+  @Value("${transaction.outbox.batch-size:500}")
+  private int batchSize;
+
+  @Value("${transaction.outbox.poll-interval:200ms}")
+  private Duration pollInterval;
+
+  @Value("${transaction.outbox.lease:30s}")
+  private Duration leaseDuration;
+
+  @Value("${transaction.outbox.retention:7d}")
+  private Duration retention;
+
+  @Value("${transaction.outbox.max-attempts:10}")
+  private int maxAttempts;
+
+  public OutboxRelayServiceImpl(OutboxEventRepository outboxEventRepository,
+                                ReactiveMongoTemplate reactiveMongoTemplate,
+                                KafkaSender<String, byte[]> kafkaSender,
+                                MeterRegistry meterRegistry) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.reactiveMongoTemplate = reactiveMongoTemplate;
+    this.kafkaSender = kafkaSender;
+    this.sentCounter = Counter.builder("transaction.outbox.sent")
+        .description("Eventos del outbox confirmados por Kafka")
+        .register(meterRegistry);
+    this.failedCounter = Counter.builder("transaction.outbox.failed")
+        .description("Eventos del outbox cuyo envío falló y se reintentarán")
+        .register(meterRegistry);
+    this.deadLetteredCounter = Counter.builder("transaction.outbox.dead.lettered")
+        .description("Eventos del outbox descartados tras agotar los intentos")
+        .register(meterRegistry);
+    this.batchTimer = Timer.builder("transaction.outbox.batch")
+        .description("Tiempo de publicación de un lote del outbox")
+        .register(meterRegistry);
+    Gauge.builder("transaction.outbox.lag.seconds", lagMillis, lag -> lag.get() / 1000.0)
+        .description("Antigüedad del evento pendiente más antiguo")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    relayLoop = this.ensureIndexes()
+        .thenMany(Mono.defer(this::drainIfLeader)
+            .flatMap(count -> count < batchSize ? Mono.delay(pollInterval).thenReturn(count) : Mono.just(count))
+            .repeat())
+        .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (relayLoop != null) {
+      relayLoop.dispose();
+    }
+  }
+
+  @Override
+  public Mono<Integer> drainOnce() {
+    return outboxEventRepository
+        .findByStatusOrderByCreatedAtAscIdAsc(OutboxStatus.PENDING, PageRequest.of(0, batchSize))
+        .collectList()
+        .flatMap(events -> events.isEmpty() ? Mono.just(0) : this.publish(events))
+        .flatMap(count -> this.updateLag().thenReturn(count))
+        .onErrorResume(e -> {
+          log.error("Error draining transaction outbox: " + e.getMessage());
+          return Mono.just(0);
+        });
+  }
+
+  @Override
+  public Mono<Integer> drainIfLeader() {
+    return this.acquireLease()
+        .flatMap(leader -> leader ? this.drainOnce() : Mono.just(0))
+        .onErrorResume(e -> {
+          log.error("Error acquiring transaction outbox lease: " + e.getMessage());
+          return Mono.just(0);
+        });
+  }
+
+  private Mono<Integer> publish(List<OutboxEvent> events) {
+    Timer.Sample sample = Timer.start();
+    List<String> acked = new ArrayList<>(events.size());
+    Flux<SenderRecord<String, byte[], String>> records = Flux.fromIterable(events)
+        .map(event -> SenderRecord.create(
+            new ProducerRecord<>(topicName, event.getAggregateId(), event.getPayload()), event.getId()));
+
+    return kafkaSender.send(records)
+        .doOnNext(result -> acked.add(result.correlationMetadata()))
+        .then()
+        .onErrorResume(e -> this.recordFailure(events, acked, e))
+        .then(Mono.defer(() -> {
+          List<String> sent = sentInKeyOrder(events, acked);
+          return this.markSent(sent).thenReturn(sent.size());
+        }))
+        .doFinally(signal -> sample.stop(batchTimer));
+  }
+
+  /**
+   * Confirmados que pueden marcarse como enviados: los de cada clave hasta su primer evento
+   * sin confirmar.
+   */
+  private static List<String> sentInKeyOrder(List<OutboxEvent> events, List<String> acked) {
+    Set<String> confirmed = new HashSet<>(acked);
+    Set<String> stoppedKeys = new HashSet<>();
+    List<String> sent = new ArrayList<>(acked.size());
+    for (OutboxEvent event : events) {
+      if (!confirmed.contains(event.getId())) {
+        stoppedKeys.add(event.getAggregateId());
+      } else if (!stoppedKeys.contains(event.getAggregateId())) {
+        sent.add(event.getId());
+      }
+    }
+    return sent;
+  }
+
+  private Mono<Void> markSent(List<String> ids) {
+    if (ids.isEmpty()) {
+      return Mono.empty();
+    }
+    sentCounter.increment(ids.size());
+    return reactiveMongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)),
+            new Update().set("status", OutboxStatus.SENT).set("sentAt", LocalDateTime.now()), OutboxEvent.class)
+        .then();
+  }
+
+  /**
+   * Suma un intento a los eventos no confirmados; los que agotan {@code maxAttempts} pasan a
+   * {@link OutboxStatus#FAILED}. Solo publica la instancia con el lease, así que los intentos
+   * leídos con el lote están al día.
+   */
+  private Mono<Void> recordFailure(List<OutboxEvent> events, List<String> acked, Throwable error) {
+    Set<String> confirmed = new HashSet<>(acked);
+    List<String> retried = new ArrayList<>();
+    List<String> exhausted = new ArrayList<>();
+    for (OutboxEvent event : events) {
+      if (!confirmed.contains(event.getId())) {
+        (event.getAttempts() + 1 >= maxAttempts ? exhausted : retried).add(event.getId());
+      }
+    }
+    failedCounter.increment(retried.size() + exhausted.size());
+    log.warn("Kafka rejected outbox batch, " + retried.size() + " events will be retried: " + error.getMessage());
+    Mono<Void> retry = retried.isEmpty() ? Mono.empty()
+        : reactiveMongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(retried)),
+            new Update().inc("attempts", 1), OutboxEvent.class).then();
+    return retry.then(Mono.defer(() -> this.markFailed(exhausted)));
+  }
+
+  private Mono<Void> markFailed(List<String> ids) {
+    if (ids.isEmpty()) {
+      return Mono.empty();
+    }
+    deadLetteredCounter.increment(ids.size());
+    log.error("Outbox events " + ids + " failed " + maxAttempts + " times and will not be retried");
+    return reactiveMongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)),
+            new Update().inc("attempts", 1).set("status", OutboxStatus.FAILED), OutboxEvent.class)
+        .then();
+  }
+
+  private Mono<Void> updateLag() {
+    return outboxEventRepository.findFirstByStatusOrderByCreatedAtAsc(OutboxStatus.PENDING)
+        .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+        .defaultIfEmpty(0L)
+        .doOnNext(lagMillis::set)
+        .then();
+  }
+
+  /**
+   * Toma o renueva el lease de publicación. Si otra instancia lo tiene vigente el upsert
+   * intenta insertar un documento con el mismo {@code _id} y falla por clave duplicada.
+   */
+  private Mono<Boolean> acquireLease() {
+    LocalDateTime now = LocalDateTime.now();
+    Query query = Query.query(Criteria.where("_id").is(LEASE_ID)
+        .orOperator(Criteria.where("owner").is(instanceId), Criteria.where("expiresAt").lt(now)));
+    Update update = new Update().set("owner", instanceId).set("expiresAt", now.plus(leaseDuration));
+    return reactiveMongoTemplate.upsert(query, update, LEASE_COLLECTION)
+        .thenReturn(true)
+        .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false));
+  }
+
+  private Mono<Void> ensureIndexes() {
+    return reactiveMongoTemplate.indexOps(OutboxEvent.class)
+        .ensureIndex(new Index().on("status", Sort.Direction.ASC).on("createdAt", Sort.Direction.ASC)
+            .on("_id", Sort.Direction.ASC))
+        .then(reactiveMongoTemplate.indexOps(OutboxEvent.class)
+            .ensureIndex(new Index().on("sentAt", Sort.Direction.ASC).expire(retention)))
+        .onErrorResume(e -> {
+          log.error("Error creating transaction outbox indexes: " + e.getMessage());
+          return Mono.empty();
+        })
+        .then();
+  }
+}
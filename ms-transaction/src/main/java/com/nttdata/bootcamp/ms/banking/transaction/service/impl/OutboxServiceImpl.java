@@ -0,0 +1,183 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.mongodb.MongoException;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.OutboxStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.TransactionEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.TransactionEventType;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.OutboxEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.OutboxEventRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.OutboxService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionRollupService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.TransactionEventCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementación de {@link OutboxService}.
+ *
+ * <p>La publicación en Kafka ya no ocurre en el camino de la petición: el evento queda
+ * en {@code transaction_outbox} y lo publica el relay del outbox.</p>
+ *
+ * <p>Cada transacción genera un evento principal ({@code TRANSACTION_POSTED},
+ * {@code CREDIT_PAID} o {@code CARD_PAID}) y un {@code BALANCE_CHANGED} por cada cuenta
+ * cuyo saldo cambia, cada uno con la cuenta o producto afectado como clave.</p>
+ *
+ * <p>{@link #saveWithEvent} inserta la transacción: si ya existe una con el mismo ID o el
+ * mismo {@code requestId}, la de una transferencia retomada o una línea de lote reenviada,
+ * devuelve la guardada sin volver a generar sus eventos.</p>
+ *
+ * <p>Los acumulados de {@link TransactionRollupService} se suman en la misma transacción, por
+ * lo que la clave duplicada también evita sumar dos veces. Como varias transacciones pueden
+ * sumar al mismo acumulado a la vez, un conflicto de escritura
+ * ({@code TransientTransactionError}) repite la transacción completa.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.4
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+  private static final String TRANSIENT_TRANSACTION_ERROR = "TransientTransactionError";
+  private static final int TRANSIENT_RETRIES = 3;
+
+  private final TransactionRepository transactionRepository;
+  private final OutboxEventRepository outboxEventRepository;
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final TransactionalOperator transactionalOperator;
+  private final TransactionRollupService transactionRollupService;
+
+  @Override
+  public Mono<Transaction> saveWithEvent(Transaction transaction) {
+    return transactionRepository.insert(transaction)
+        .flatMap(saved -> outboxEventRepository.saveAll(this.toEvents(saved))
+            .then(transactionRollupService.record(List.of(saved)))
+            .then(Mono.just(saved)))
+        .as(transactionalOperator::transactional)
+        .retryWhen(Retry.max(TRANSIENT_RETRIES).filter(OutboxServiceImpl::isTransient))
+        .onErrorResume(DuplicateKeyException.class, e -> this.findRecorded(transaction)
+            .switchIfEmpty(Mono.error(e)));
+  }
+
+  private Mono<Transaction> findRecorded(Transaction transaction) {
+    if (transaction.getId() != null) {
+      return transactionRepository.findById(transaction.getId());
+    }
+    return transaction.getRequestId() != null
+        ? transactionRepository.findByRequestId(transaction.getRequestId())
+        : Mono.empty();
+  }
+
+  @Override
+  public Flux<Transaction> insertAllWithEvents(List<Transaction> transactions) {
+    return reactiveMongoTemplate.insert(transactions, Transaction.class)
+        .collectList()
+        .flatMap(saved -> reactiveMongoTemplate.insert(
+                saved.stream().flatMap(transaction -> this.toEvents(transaction).stream()).toList(),
+                OutboxEvent.class)
+            .then(transactionRollupService.record(saved))
+            .then(Mono.just(saved)))
+        .as(transactionalOperator::transactional)
+        .retryWhen(Retry.max(TRANSIENT_RETRIES).filter(OutboxServiceImpl::isTransient))
+        .flatMapIterable(saved -> saved);
+  }
+
+  private static boolean isTransient(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof MongoException mongo && mongo.hasErrorLabel(TRANSIENT_TRANSACTION_ERROR)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Cada evento lleva el importe en la moneda del producto al que se refiere: en una
+   * transferencia con conversión, el origen se mueve por el importe y el destino por el
+   * importe convertido.
+   */
+  private List<OutboxEvent> toEvents(Transaction transaction) {
+    List<OutboxEvent> events = new ArrayList<>(3);
+    BigDecimal amount = toDecimal(transaction.getAmount());
+    BigDecimal productAmount = transaction.getConvertedAmount() != null
+        ? toDecimal(transaction.getConvertedAmount())
+        : amount;
+    switch (transaction.getTransactionType()) {
+      case DEPOSIT:
+        events.add(this.toEvent(transaction, TransactionEventType.TRANSACTION_POSTED,
+            transaction.getDestinationAccountId(), productAmount));
+        events.add(this.toEvent(transaction, TransactionEventType.BALANCE_CHANGED,
+            transaction.getDestinationAccountId(), productAmount));
+        break;
+      case WITHDRAWAL:
+        events.add(this.toEvent(transaction, TransactionEventType.TRANSACTION_POSTED,
+            transaction.getOriginAccountId(), productAmount));
+        events.add(this.toEvent(transaction, TransactionEventType.BALANCE_CHANGED,
+            transaction.getOriginAccountId(), productAmount.negate()));
+        break;
+      case TRANSFER:
+        events.add(this.toEvent(transaction, TransactionEventType.TRANSACTION_POSTED,
+            transaction.getOriginAccountId(), amount));
+        events.add(this.toEvent(transaction, TransactionEventType.BALANCE_CHANGED,
+            transaction.getOriginAccountId(), amount.negate()));
+        events.add(this.toEvent(transaction, TransactionEventType.BALANCE_CHANGED,
+            transaction.getDestinationAccountId(), productAmount));
+        break;
+      case CREDIT_PAYMENT:
+        events.add(this.toEvent(transaction, TransactionEventType.CREDIT_PAID,
+            transaction.getCreditId(), productAmount));
+        break;
+      case CREDIT_CARD_PAYMENT:
+        events.add(this.toEvent(transaction, TransactionEventType.CARD_PAID,
+            transaction.getCreditCardId(), productAmount));
+        break;
+      default:
+        break;
+    }
+    return events;
+  }
+
+  private static BigDecimal toDecimal(Money amount) {
+    return amount != null ? amount.toBigDecimal() : null;
+  }
+
+  private OutboxEvent toEvent(Transaction transaction, TransactionEventType type, String key, BigDecimal amount) {
+    TransactionEvent event = TransactionEvent.builder()
+        .eventType(type)
+        .schemaVersion(TransactionEventCodec.SCHEMA_VERSION)
+        .eventId(UUID.randomUUID().toString())
+        .key(key)
+        .transactionId(transaction.getId())
+        .transactionType(transaction.getTransactionType().name())
+        .originAccountId(transaction.getOriginAccountId())
+        .destinationAccountId(transaction.getDestinationAccountId())
+        .productId(transaction.getCreditId() != null ? transaction.getCreditId() : transaction.getCreditCardId())
+        .amount(amount)
+        .occurredAt(transaction.getTransactionDate() == null ? null
+            : transaction.getTransactionDate().atZone(ZoneId.systemDefault()).toInstant())
+        .build();
+    return OutboxEvent.builder()
+        .aggregateId(key)
+        .eventType(type.name())
+        .payload(TransactionEventCodec.encode(event))
+        .status(OutboxStatus.PENDING)
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+}
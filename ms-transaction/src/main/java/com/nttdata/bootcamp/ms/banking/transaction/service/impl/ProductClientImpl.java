@@ -0,0 +1,144 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.BalanceDeltaRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AccountResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ApiExceptionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CreditCardResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CreditResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Account;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Credit;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.CreditCard;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiErrorException;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.BalanceRejectedException;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.AccountMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.CreditCardMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.CreditMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.service.AccountBatchLoader;
+import com.nttdata.bootcamp.ms.banking.transaction.service.DailyBalanceService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductClient;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductStateCache;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Implementación de {@link ProductClient}. Las lecturas pasan por la caché de estado de
+ * productos y toda escritura descarta la copia en caché del producto afectado. Las escrituras
+ * son movimientos atómicos en el servicio dueño del producto, nunca el estado leído de la caché.
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductClientImpl implements ProductClient {
+
+  private final WebClient accountWebClient;
+  private final WebClient creditWebClient;
+  private final WebClient creditCardWebClient;
+  private final AccountMapper accountMapper;
+  private final CreditMapper creditMapper;
+  private final CreditCardMapper creditCardMapper;
+  private final ObjectMapper objectMapper;
+  private final AccountBatchLoader accountBatchLoader;
+  private final ProductStateCache productStateCache;
+  private final DailyBalanceService dailyBalanceService;
+
+  @Override
+  public Mono<Account> findAccount(String id) {
+    return productStateCache.get(id, Account.class, () -> accountBatchLoader.load(id));
+  }
+
+  /**
+   * Aplica un movimiento de saldo en ms-account con una sola llamada.
+   * La validación de existencia, estado y fondos se resuelve en la misma escritura
+   * condicionada; un rechazo llega como {@link ApiExceptionResponse} con estado 200 y se
+   * propaga con su mensaje original como {@link BalanceRejectedException}. Un estado de error
+   * (ms-account responde 503 si no sabe si el movimiento se aplicó) o una respuesta sin mensaje
+   * no es un rechazo: el resultado es incierto y se reintenta con el mismo {@code requestId}.
+   * El saldo resultante alimenta el acumulado diario de la cuenta y la copia en caché de la
+   * cuenta se descarta.
+   */
+  @Override
+  public Mono<Account> applyAccountDelta(String id, BigDecimal delta, String requestId) {
+    return accountWebClient.patch()
+        .uri("/{id}/balance", id)
+        .bodyValue(BalanceDeltaRequest.builder().delta(delta).requestId(requestId).build())
+        .retrieve()
+        .bodyToMono(JsonNode.class)
+        .flatMap(body -> {
+          if (body.hasNonNull("id")) {
+            return Mono.just(objectMapper.convertValue(body, AccountResponse.class));
+          }
+          return body.hasNonNull("message")
+              ? Mono.<AccountResponse>error(new BalanceRejectedException(body.get("message").asText()))
+              : Mono.<AccountResponse>error(new ApiErrorException("Unexpected balance response for " + requestId));
+        })
+        .map(accountMapper::responseToEntity)
+        .onErrorMap(WebClientResponseException.class,
+            e -> new ApiValidateException("Failed to update account balance: " + e.getMessage()))
+        .flatMap(account -> dailyBalanceService.recordChange(id, delta, account.getBalance()).thenReturn(account))
+        .flatMap(account -> productStateCache.invalidate(id).thenReturn(account));
+  }
+
+  @Override
+  public Mono<Credit> findCredit(String id) {
+    return productStateCache.get(id, Credit.class, () -> creditWebClient.get()
+        .uri("/{id}", id)
+        .retrieve()
+        .bodyToMono(CreditResponse.class)
+        .map(creditMapper::responseToEntity)
+        .switchIfEmpty(Mono.error(new ApiValidateException("Account not found"))));
+  }
+
+  @Override
+  public Mono<Credit> applyCreditDelta(String id, BigDecimal delta, String requestId) {
+    return this.applyProductDelta(creditWebClient, "/{id}/debt", id, delta, requestId, CreditResponse.class)
+        .map(creditMapper::responseToEntity)
+        .flatMap(credit -> productStateCache.invalidate(id).thenReturn(credit));
+  }
+
+  @Override
+  public Mono<CreditCard> findCreditCard(String id) {
+    return productStateCache.get(id, CreditCard.class, () -> creditCardWebClient.get()
+        .uri("/{id}", id)
+        .retrieve()
+        .bodyToMono(CreditCardResponse.class)
+        .map(creditCardMapper::responseToEntity)
+        .switchIfEmpty(Mono.error(new ApiValidateException("Account not found"))));
+  }
+
+  @Override
+  public Mono<CreditCard> applyCreditCardDelta(String id, BigDecimal delta, String requestId) {
+    return this.applyProductDelta(creditCardWebClient, "/{id}/balance", id, delta, requestId,
+            CreditCardResponse.class)
+        .map(creditCardMapper::responseToEntity)
+        .flatMap(creditCard -> productStateCache.invalidate(id).thenReturn(creditCard));
+  }
+
+  /**
+   * Envía un movimiento a ms-product. Un rechazo llega como {@link ApiExceptionResponse} y se
+   * propaga con su mensaje original.
+   */
+  private <T> Mono<T> applyProductDelta(WebClient webClient, String uri, String id, BigDecimal delta,
+                                        String requestId, Class<T> responseType) {
+    return webClient.patch()
+        .uri(uri, id)
+        .bodyValue(BalanceDeltaRequest.builder().delta(delta).requestId(requestId).build())
+        .retrieve()
+        .bodyToMono(JsonNode.class)
+        .flatMap(body -> body.hasNonNull("id")
+            ? Mono.just(objectMapper.convertValue(body, responseType))
+            : Mono.<T>error(new ApiValidateException(body.path("message").asText(ConstantUtil.ERROR_MESSAGE))))
+        .onErrorMap(WebClientResponseException.class,
+            e -> new ApiValidateException("Failed to update product balance: " + e.getMessage()));
+  }
+}
@@ -0,0 +1,160 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiErrorException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductStateCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Implementación de {@link ProductStateCache}.
+ *
+ * <p>El primer nivel es un Caffeine por instancia con TTL de segundos; el segundo, Redis
+ * compartido entre instancias con un TTL algo mayor. Ambos guardan el JSON del producto,
+ * de modo que cada lectura recibe su propia copia y puede modificarla sin afectar a otras. Los cambios hechos por esta instancia
+ * descartan la entrada en el momento; los de otros servicios llegan por Kafka a todas las
+ * instancias. Una lectura que termina justo después de un descarte puede volver a guardar
+ * el valor anterior; el TTL acota ese caso. Si Redis falla se trata como un fallo de
+ * caché y se consulta al servicio dueño.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class ProductStateCacheImpl implements ProductStateCache {
+
+  private static final String KEY_PREFIX = "product-state:";
+
+  private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+  private final ObjectMapper objectMapper;
+  private final Cache<String, String> local;
+  private final Duration redisTtl;
+  private final Counter localHits;
+  private final Counter redisHits;
+  private final Counter misses;
+  private final Counter invalidations;
+  private final Timer invalidationLag;
+
+  public ProductStateCacheImpl(ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${transaction.product-cache.local-ttl:2s}") Duration localTtl,
+                               @Value("${transaction.product-cache.local-max-size:10000}") long localMaxSize,
+                               @Value("${transaction.product-cache.redis-ttl:30s}") Duration redisTtl) {
+    this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+    this.objectMapper = objectMapper;
+    this.redisTtl = redisTtl;
+    this.local = Caffeine.newBuilder()
+        .maximumSize(localMaxSize)
+        .expireAfterWrite(localTtl)
+        .build();
+    this.localHits = requests(meterRegistry, "local", "hit");
+    this.redisHits = requests(meterRegistry, "redis", "hit");
+    this.misses = requests(meterRegistry, "origin", "miss");
+    this.invalidations = Counter.builder("transaction.product.cache.invalidations")
+        .description("Entradas descartadas por cambios de estado o saldo")
+        .register(meterRegistry);
+    this.invalidationLag = Timer.builder("transaction.product.cache.invalidation.lag")
+        .description("Tiempo entre el cambio en el servicio dueño y su descarte en caché")
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public <T> Mono<T> get(String productId, Class<T> type, Supplier<Mono<T>> loader) {
+    return Mono.defer(() -> {
+      String cached = local.getIfPresent(productId);
+      if (cached != null) {
+        localHits.increment();
+        return Mono.just(this.fromJson(cached, type));
+      }
+      return reactiveStringRedisTemplate.opsForValue().get(KEY_PREFIX + productId)
+          .onErrorResume(e -> {
+            log.warn("Error reading cached product " + productId + ": " + e.getMessage());
+            return Mono.empty();
+          })
+          .map(json -> {
+            redisHits.increment();
+            local.put(productId, json);
+            return this.fromJson(json, type);
+          })
+          .switchIfEmpty(Mono.defer(() -> {
+            misses.increment();
+            return Mono.defer(loader)
+                .flatMap(value -> {
+                  String json = this.toJson(value);
+                  local.put(productId, json);
+                  return this.writeRedis(productId, json).thenReturn(value);
+                });
+          }));
+    });
+  }
+
+  @Override
+  public Mono<Void> invalidate(String productId) {
+    return Mono.defer(() -> {
+      local.invalidate(productId);
+      invalidations.increment();
+      return reactiveStringRedisTemplate.delete(KEY_PREFIX + productId)
+          .onErrorResume(e -> {
+            log.warn("Error invalidating cached product " + productId + ": " + e.getMessage());
+            return Mono.empty();
+          })
+          .then();
+    });
+  }
+
+  @Override
+  public Mono<Void> invalidate(String productId, long occurredAt) {
+    return this.invalidate(productId)
+        .doOnSuccess(done -> invalidationLag.record(
+            Math.max(0, System.currentTimeMillis() - occurredAt), TimeUnit.MILLISECONDS));
+  }
+
+  private Mono<Void> writeRedis(String productId, String json) {
+    return reactiveStringRedisTemplate.opsForValue().set(KEY_PREFIX + productId, json, redisTtl)
+        .onErrorResume(e -> {
+          log.warn("Error caching product " + productId + ": " + e.getMessage());
+          return Mono.empty();
+        })
+        .then();
+  }
+
+  private String toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new ApiErrorException("Error serializing cached product", e);
+    }
+  }
+
+  private <T> T fromJson(String json, Class<T> type) {
+    try {
+      return objectMapper.readValue(json, type);
+    } catch (JsonProcessingException e) {
+      throw new ApiErrorException("Error reading cached product", e);
+    }
+  }
+
+  private static Counter requests(MeterRegistry meterRegistry, String tier, String result) {
+    return Counter.builder("transaction.product.cache.requests")
+        .description("Consultas de estado de producto por nivel de caché")
+        .tag("tier", tier)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
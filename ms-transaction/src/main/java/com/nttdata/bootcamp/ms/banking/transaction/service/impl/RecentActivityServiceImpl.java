@@ -0,0 +1,228 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiErrorException;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.RecentActivityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de {@link RecentActivityService} con un buffer por producto en Redis.
+ *
+ * <p>Cada producto tiene un sorted set {@code recent:transaction:<id>} con sus últimos
+ * {@code capacity} movimientos en JSON, puntuados por fecha. Una transacción nueva se
+ * agrega solo si el set ya existe y se recortan los más antiguos; como el orden lo da la
+ * fecha, no importa en qué orden lleguen las transacciones. Si el set no existe, la primera
+ * lectura lo construye desde MongoDB con la consulta del historial, que ordena y limita en
+ * el índice. Así el set siempre contiene los últimos movimientos completos y consultar los
+ * últimos 10 es una sola lectura.</p>
+ *
+ * <p>Antes de leer MongoDB la construcción crea el set con la marca {@value #SEEDING}, así
+ * las transacciones que se registran mientras tanto ya se agregan y no se pierden; al
+ * terminar se suman los movimientos leídos y se quita la marca. Mientras la marca está,
+ * las lecturas no confían en el set y vuelven a construirlo, por ejemplo si la construcción
+ * anterior falló.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecentActivityServiceImpl implements RecentActivityService {
+
+  private static final String KEY_PREFIX = "recent:transaction:";
+
+  private static final String SEEDING = "!seeding"; // Nunca es un JSON válido
+
+  /**
+   * KEYS: set del producto. ARGV: fecha en milisegundos, movimiento, capacidad, TTL.
+   */
+  private static final RedisScript<Long> PUSH_IF_PRESENT = RedisScript.of(
+      "if redis.call('EXISTS', KEYS[1]) == 1 then "
+          + "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2]) "
+          + "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -tonumber(ARGV[3]) - 1) "
+          + "redis.call('PEXPIRE', KEYS[1], ARGV[4]) "
+          + "return 1 end "
+          + "return 0", Long.class);
+
+  /**
+   * KEYS: set del producto. ARGV: TTL. Crea el set solo con la marca si no existe.
+   */
+  private static final RedisScript<Long> MARK_SEEDING = RedisScript.of(
+      "if redis.call('EXISTS', KEYS[1]) == 0 then "
+          + "redis.call('ZADD', KEYS[1], '-inf', '" + SEEDING + "') "
+          + "redis.call('PEXPIRE', KEYS[1], ARGV[1]) "
+          + "return 1 end "
+          + "return 0", Long.class);
+
+  /**
+   * KEYS: set del producto. ARGV: capacidad, TTL y pares fecha, movimiento. Solo suma si la
+   * marca sigue; si ya no está, otra lectura terminó la construcción.
+   */
+  private static final RedisScript<Long> SEED_IF_MARKED = RedisScript.of(
+      "if redis.call('ZSCORE', KEYS[1], '" + SEEDING + "') then "
+          + "for i = 3, #ARGV, 2 do redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+          + "redis.call('ZREM', KEYS[1], '" + SEEDING + "') "
+          + "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -tonumber(ARGV[1]) - 1) "
+          + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+          + "return 1 end "
+          + "return 0", Long.class);
+
+  private static final Comparator<TransactionResponse> NEWEST_FIRST = Comparator
+      .comparing(TransactionResponse::getTransactionDate, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+      .thenComparing(TransactionResponse::getId, Comparator.nullsLast(Comparator.<String>reverseOrder()));
+
+  private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+  private final TransactionRepository transactionRepository;
+  private final TransactionMapper transactionMapper;
+  private final ObjectMapper objectMapper;
+
+  @Value("${transaction.recent.capacity:20}")
+  private int capacity;
+
+  @Value("${transaction.recent.ttl:1h}")
+  private Duration ttl;
+
+  @Value("${transaction.history.max-limit:100}")
+  private int maxLimit;
+
+  @Override
+  public Mono<Void> record(Transaction transaction) {
+    return Mono.fromCallable(() -> transactionMapper.toResponse(transaction))
+        .flatMapMany(response -> Flux.fromStream(productIdsOf(transaction))
+            .flatMap(productId -> this.push(productId, response)))
+        .then()
+        .onErrorResume(e -> {
+          log.warn("Error recording recent activity of transaction " + transaction.getId() + ": " + e.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  private Mono<Long> push(String productId, TransactionResponse movement) {
+    String key = KEY_PREFIX + productId;
+    return reactiveStringRedisTemplate.execute(PUSH_IF_PRESENT, List.of(key),
+            List.of(scoreOf(movement), this.toJson(movement), String.valueOf(capacity), String.valueOf(ttl.toMillis())))
+        .next()
+        .onErrorResume(e -> {
+          log.warn("Error updating recent activity of " + productId + ": " + e.getMessage());
+          return reactiveStringRedisTemplate.delete(key).onErrorResume(ignored -> Mono.empty());
+        });
+  }
+
+  @Override
+  public Flux<TransactionResponse> getRecent(String productId, int limit) {
+    if (limit < 1 || limit > maxLimit) {
+      return Flux.error(new ApiValidateException("Limit must be between 1 and " + maxLimit + "."));
+    }
+    if (limit > capacity) {
+      return transactionRepository.findHistory(productId, null, null, limit).map(transactionMapper::toResponse);
+    }
+    String key = KEY_PREFIX + productId;
+    return reactiveStringRedisTemplate.opsForZSet().reverseRange(key, Range.unbounded())
+        .collectList()
+        .onErrorResume(e -> {
+          log.warn("Error reading recent activity of " + productId + ": " + e.getMessage());
+          return Mono.just(List.of());
+        })
+        .flatMap(cached -> cached.isEmpty() || cached.contains(SEEDING)
+            ? this.loadAndSeed(key, productId)
+            : Mono.just(cached.stream().map(this::fromJson).toList()))
+        .flatMapIterable(movements -> distinctById(movements).stream().sorted(NEWEST_FIRST).limit(limit).toList());
+  }
+
+  private Mono<List<TransactionResponse>> loadAndSeed(String key, String productId) {
+    return this.markSeeding(key)
+        .then(transactionRepository.findHistory(productId, null, null, capacity)
+            .map(transactionMapper::toResponse)
+            .collectList())
+        .flatMap(movements -> this.seed(key, movements).thenReturn(movements));
+  }
+
+  private Mono<Void> markSeeding(String key) {
+    return reactiveStringRedisTemplate.execute(MARK_SEEDING, List.of(key), List.of(String.valueOf(ttl.toMillis())))
+        .then()
+        .onErrorResume(e -> {
+          log.warn("Error seeding recent activity of " + key + ": " + e.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  private Mono<Void> seed(String key, List<TransactionResponse> movements) {
+    List<String> args = new ArrayList<>(2 * movements.size() + 2);
+    args.add(String.valueOf(capacity));
+    args.add(String.valueOf(ttl.toMillis()));
+    movements.forEach(movement -> {
+      args.add(scoreOf(movement));
+      args.add(this.toJson(movement));
+    });
+    return reactiveStringRedisTemplate.execute(SEED_IF_MARKED, List.of(key), args)
+        .then()
+        .onErrorResume(e -> {
+          log.warn("Error seeding recent activity of " + key + ": " + e.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  /**
+   * Una transacción registrada mientras se construía el set puede estar también entre las
+   * leídas de MongoDB; se queda una por ID.
+   */
+  private static List<TransactionResponse> distinctById(List<TransactionResponse> movements) {
+    Map<String, TransactionResponse> byId = new LinkedHashMap<>();
+    movements.forEach(movement -> byId.putIfAbsent(movement.getId(), movement));
+    return new ArrayList<>(byId.values());
+  }
+
+  private static String scoreOf(TransactionResponse movement) {
+    LocalDateTime date = movement.getTransactionDate();
+    return date == null ? "0" : String.valueOf(date.toInstant(ZoneOffset.UTC).toEpochMilli());
+  }
+
+  private static Stream<String> productIdsOf(Transaction transaction) {
+    return Stream.of(transaction.getOriginAccountId(), transaction.getDestinationAccountId(),
+            transaction.getCreditId(), transaction.getCreditCardId(), transaction.getDebitCardId())
+        .filter(Objects::nonNull)
+        .distinct();
+  }
+
+  private String toJson(TransactionResponse response) {
+    try {
+      return objectMapper.writeValueAsString(response);
+    } catch (JsonProcessingException e) {
+      throw new ApiErrorException("Error serializing recent movement", e);
+    }
+  }
+
+  private TransactionResponse fromJson(String json) {
+    try {
+      return objectMapper.readValue(json, TransactionResponse.class);
+    } catch (JsonProcessingException e) {
+      throw new ApiErrorException("Error reading recent movement", e);
+    }
+  }
+}
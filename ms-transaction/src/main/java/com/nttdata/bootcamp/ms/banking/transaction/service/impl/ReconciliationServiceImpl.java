@@ -0,0 +1,549 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ReconciliationStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ReconciliationDiscrepancyResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ReconciliationRunResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.AccountSettlement;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ReconciliationDiscrepancy;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ReconciliationRun;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.ReadModelMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.ReconciliationDiscrepancyRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.ReconciliationRunRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ReconciliationService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.AccountLedger;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.CsvUtil;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementación de {@link ReconciliationService}.
+ *
+ * <p>Cada día, pasado {@code transaction.reconciliation.run-after} desde la medianoche, se
+ * concilia el día anterior: para cada cuenta de ms-account se compara su saldo con su saldo
+ * liquidado ({@link AccountSettlement}) más las transacciones registradas desde el corte de
+ * la conciliación anterior. Así cada noche solo se leen las transacciones nuevas, y las que
+ * ya se archivaron siguen incluidas en el saldo liquidado.</p>
+ *
+ * <p>Las cuentas se reparten en {@code transaction.reconciliation.partitions} rangos de ID
+ * de tamaño parecido, tomados de una muestra de la colección de cuentas, y se procesan
+ * {@code transaction.reconciliation.parallelism} a la vez. En cada partición se leen las
+ * cuentas, los saldos liquidados, los débitos y los abonos ordenados por cuenta y se unen
+ * con {@link AccountLedger#join}, así la memoria depende del tamaño de los lotes y no de la
+ * cantidad de cuentas. Cada partición terminada se registra en la conciliación: si la
+ * instancia se detiene, la siguiente que tome el lease retoma las particiones pendientes.</p>
+ *
+ * <p>Las cuentas se leen sin tipo de la colección de ms-account
+ * ({@code transaction.reconciliation.account-database}, vacío para la base propia). Como la
+ * conciliación corre con el sistema en uso, una cuenta con diferencia se vuelve a verificar
+ * pasado {@code transaction.reconciliation.recheck-delay} y solo se registra si la
+ * diferencia sigue; las transacciones posteriores al corte se suman al saldo esperado y no
+ * al liquidado.</p>
+ *
+ * <p>El saldo liquidado parte de cero y solo suma transacciones; el saldo de apertura de la
+ * cuenta y sus ajustes manuales se leen de {@code openingBalance} en ms-account. Las cuentas
+ * anteriores a ese campo lo tienen vacío: no se concilian ni generan diferencias, se cuentan
+ * en {@code unbaselined} de la conciliación y en la métrica
+ * {@code transaction.reconciliation.unbaselined} hasta que ms-account les asigne apertura.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@Service
+@Slf4j
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+  private static final String LEASE_COLLECTION = "transaction_reconciliation_lease";
+  private static final String LEASE_ID = "transaction-reconciliation";
+  private static final String ACCOUNTS_COLLECTION = "accounts";
+  private static final int SAMPLES_PER_PARTITION = 32;
+  private static final int RECHECK_CONCURRENCY = 8;
+  private static final List<TransactionType> DEBIT_TYPES = List.of(TransactionType.WITHDRAWAL,
+      TransactionType.TRANSFER);
+  private static final List<TransactionType> CREDIT_TYPES = List.of(TransactionType.DEPOSIT,
+      TransactionType.TRANSFER);
+  private static final String DISCREPANCY_HEADER = CsvUtil.line("accountId", "type", "currency",
+      "accountBalance", "expectedBalance", "difference", "detectedAt");
+
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final ReconciliationRunRepository reconciliationRunRepository;
+  private final ReconciliationDiscrepancyRepository reconciliationDiscrepancyRepository;
+  private final String instanceId = UUID.randomUUID().toString();
+  private final Counter accountsCounter;
+  private final Counter discrepanciesCounter;
+  private final Counter unbaselinedCounter;
+  private Disposable reconciliationLoop;
+
+  @Value("${transaction.reconciliation.enabled:true}")
+  private boolean enabled;
+
+  @Value("${transaction.reconciliation.partitions:64}")
+  private int partitions;
+
+  @Value("${transaction.reconciliation.parallelism:4}")
+  private int parallelism;
+
+  @Value("${transaction.reconciliation.lease:30m}")
+  private Duration leaseDuration;
+
+  @Value("${transaction.reconciliation.recheck-delay:5s}")
+  private Duration recheckDelay;
+
+  @Value("${transaction.reconciliation.poll-interval:15m}")
+  private Duration pollInterval;
+
+  @Value("${transaction.reconciliation.run-after:2h}")
+  private Duration runAfter;
+
+  @Value("${transaction.reconciliation.account-database:}")
+  private String accountDatabase;
+
+  public ReconciliationServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate,
+                                   ReconciliationRunRepository reconciliationRunRepository,
+                                   ReconciliationDiscrepancyRepository reconciliationDiscrepancyRepository,
+                                   MeterRegistry meterRegistry) {
+    this.reactiveMongoTemplate = reactiveMongoTemplate;
+    this.reconciliationRunRepository = reconciliationRunRepository;
+    this.reconciliationDiscrepancyRepository = reconciliationDiscrepancyRepository;
+    this.accountsCounter = Counter.builder("transaction.reconciliation.accounts")
+        .description("Cuentas conciliadas")
+        .register(meterRegistry);
+    this.discrepanciesCounter = Counter.builder("transaction.reconciliation.discrepancies")
+        .description("Cuentas cuyo saldo no coincide con sus transacciones")
+        .register(meterRegistry);
+    this.unbaselinedCounter = Counter.builder("transaction.reconciliation.unbaselined")
+        .description("Cuentas sin saldo de apertura que no se pudieron conciliar")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    reconciliationLoop = Mono.defer(this::reconcileIfLeader)
+        .then(Mono.delay(pollInterval))
+        .repeat()
+        .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (reconciliationLoop != null) {
+      reconciliationLoop.dispose();
+    }
+  }
+
+  @Override
+  public Mono<ReconciliationRunResponse> reconcile(LocalDate day) {
+    return reconciliationRunRepository.findById(day.toString())
+        .switchIfEmpty(Mono.defer(() -> this.createRun(day)))
+        .flatMap(run -> run.getStatus() == ReconciliationStatus.COMPLETED ? Mono.just(run) : this.execute(run))
+        .map(this::toResponse);
+  }
+
+  @Override
+  public Mono<ReconciliationRunResponse> getRun(LocalDate day) {
+    return reconciliationRunRepository.findById(day.toString())
+        .map(this::toResponse);
+  }
+
+  @Override
+  public Flux<ReconciliationDiscrepancyResponse> getDiscrepancies(LocalDate day) {
+    return reconciliationDiscrepancyRepository.findByRunIdOrderByAccountIdAsc(day.toString())
+        .limitRate(ConstantUtil.EXPORT_BATCH_SIZE)
+        .map(this::toResponse);
+  }
+
+  @Override
+  public Flux<String> getDiscrepanciesCsv(LocalDate day) {
+    return this.getDiscrepancies(day)
+        .map(discrepancy -> CsvUtil.line(discrepancy.getAccountId(), discrepancy.getType(),
+            discrepancy.getCurrency(), discrepancy.getAccountBalance(), discrepancy.getExpectedBalance(),
+            discrepancy.getDifference(), discrepancy.getDetectedAt()))
+        .startWith(DISCREPANCY_HEADER);
+  }
+
+  /**
+   * Retoma la conciliación en curso, si hay una, y luego concilia el último día cerrado.
+   */
+  private Mono<Void> reconcileIfLeader() {
+    LocalDate day = LocalDateTime.now().minus(runAfter).toLocalDate().minusDays(1);
+    return this.acquireLease()
+        .filter(leader -> leader)
+        .flatMap(leader -> reconciliationRunRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING)
+            .flatMap(this::execute)
+            .then(Mono.defer(() -> this.reconcile(day))))
+        .then()
+        .onErrorResume(e -> {
+          log.error("Error reconciling accounts: " + e.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  /**
+   * Crea la conciliación de un día, que abarca desde el corte de la última conciliación
+   * terminada hasta el fin del día.
+   */
+  private Mono<ReconciliationRun> createRun(LocalDate day) {
+    LocalDateTime cutoff = day.plusDays(1).atStartOfDay();
+    return reconciliationRunRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.COMPLETED)
+        .map(Optional::of)
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(previous -> {
+          if (previous.isPresent() && !previous.get().getCutoff().isBefore(cutoff)) {
+            return Mono.error(new ApiValidateException("Accounts are already reconciled through "
+                + previous.get().getId()));
+          }
+          return this.sampleBoundaries()
+              .flatMap(boundaries -> reconciliationRunRepository.insert(ReconciliationRun.builder()
+                  .id(day.toString())
+                  .status(ReconciliationStatus.RUNNING)
+                  .since(previous.map(ReconciliationRun::getCutoff).orElse(null))
+                  .cutoff(cutoff)
+                  .boundaries(boundaries)
+                  .completedPartitions(new ArrayList<>())
+                  .startedAt(LocalDateTime.now())
+                  .build()));
+        })
+        .onErrorResume(DuplicateKeyException.class,
+            e -> reconciliationRunRepository.findById(day.toString()));
+  }
+
+  /**
+   * Toma una muestra de IDs de cuenta y elige los límites que la reparten en partes iguales.
+   */
+  private Mono<List<String>> sampleBoundaries() {
+    List<Document> pipeline = List.of(
+        new Document("$sample", new Document("size", partitions * SAMPLES_PER_PARTITION)),
+        new Document("$project", new Document("_id", 1)));
+    return this.accountDatabase()
+        .flatMapMany(database -> database.getCollection(ACCOUNTS_COLLECTION).aggregate(pipeline))
+        .map(document -> ReadModelMapper.idOf(document.get("_id")))
+        .collectSortedList()
+        .map(sample -> {
+          List<String> boundaries = new ArrayList<>();
+          for (int i = 1; i < partitions && !sample.isEmpty(); i++) {
+            String boundary = sample.get(i * sample.size() / partitions);
+            if (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(boundary)) {
+              boundaries.add(boundary);
+            }
+          }
+          return boundaries;
+        });
+  }
+
+  /**
+   * Procesa las particiones pendientes de la conciliación y la marca como terminada.
+   */
+  private Mono<ReconciliationRun> execute(ReconciliationRun run) {
+    int total = run.getBoundaries().size() + 1;
+    log.info("Reconciling " + run.getId() + ": " + (total - run.getCompletedPartitions().size())
+        + " of " + total + " partitions pending");
+    return Flux.range(0, total)
+        .filter(partition -> !run.getCompletedPartitions().contains(partition))
+        .flatMap(partition -> this.acquireLease()
+            .flatMap(leader -> leader
+                ? this.reconcilePartition(run, partition)
+                : Mono.error(new IllegalStateException("Reconciliation lease lost"))),
+            parallelism)
+        .then(Mono.defer(() -> reactiveMongoTemplate.updateFirst(
+            Query.query(Criteria.where("_id").is(run.getId())),
+            new Update().set("status", ReconciliationStatus.COMPLETED).set("completedAt", LocalDateTime.now()),
+            ReconciliationRun.class)))
+        .then(Mono.defer(() -> reconciliationRunRepository.findById(run.getId())))
+        .doOnNext(done -> log.info("Reconciled " + done.getId() + ": " + done.getAccounts() + " accounts, "
+            + done.getDiscrepancies() + " discrepancies"));
+  }
+
+  private Mono<Void> reconcilePartition(ReconciliationRun run, int partition) {
+    AtomicLong accounts = new AtomicLong();
+    AtomicLong discrepancies = new AtomicLong();
+    AtomicLong unbaselined = new AtomicLong();
+    return this.ledgers(run, AccountRange.of(run, partition))
+        .doOnNext(ledger -> {
+          accounts.incrementAndGet();
+          if (ledger.isUnbaselined()) {
+            unbaselined.incrementAndGet();
+          }
+        })
+        .buffer(ConstantUtil.EXPORT_BATCH_SIZE)
+        .concatMap(batch -> this.settle(run, batch)
+            .then(this.report(run, batch))
+            .doOnNext(discrepancies::addAndGet))
+        .then(Mono.defer(() -> reactiveMongoTemplate.updateFirst(
+            Query.query(Criteria.where("_id").is(run.getId())),
+            new Update()
+                .addToSet("completedPartitions", partition)
+                .inc("accounts", accounts.get())
+                .inc("discrepancies", discrepancies.get())
+                .inc("unbaselined", unbaselined.get()),
+            ReconciliationRun.class)))
+        .doOnSuccess(done -> {
+          accountsCounter.increment(accounts.get());
+          discrepanciesCounter.increment(discrepancies.get());
+          unbaselinedCounter.increment(unbaselined.get());
+        })
+        .then();
+  }
+
+  /**
+   * Une las cuentas de un rango con sus saldos liquidados y sus transacciones.
+   */
+  private Flux<AccountLedger> ledgers(ReconciliationRun run, AccountRange range) {
+    return AccountLedger.join(run.getCutoff(), ConstantUtil.EXPORT_BATCH_SIZE,
+        this.accounts(range),
+        this.settlements(range),
+        this.movements(run, range, "originAccountId", DEBIT_TYPES),
+        this.movements(run, range, "destinationAccountId", CREDIT_TYPES));
+  }
+
+  private Flux<AccountLedger.Entry> accounts(AccountRange range) {
+    Document filter = range.toIdFilter();
+    return this.accountDatabase()
+        .flatMapMany(database -> database.getCollection(ACCOUNTS_COLLECTION)
+            .find(filter)
+            .projection(new Document("balance", 1).append("openingBalance", 1).append("currency", 1))
+            .sort(new Document("_id", 1))
+            .batchSize(ConstantUtil.EXPORT_BATCH_SIZE))
+        .limitRate(ConstantUtil.EXPORT_BATCH_SIZE)
+        .map(document -> AccountLedger.Entry.account(ReadModelMapper.idOf(document.get("_id")),
+            ReadModelMapper.decimalOf(document.get("balance")),
+            ReadModelMapper.decimalOf(document.get("openingBalance")),
+            document.get("currency") != null ? document.getString("currency") : Money.DEFAULT_CURRENCY));
+  }
+
+  private Flux<AccountLedger.Entry> settlements(AccountRange range) {
+    Query query = Query.query(range.toCriteria("_id"))
+        .with(Sort.by(Sort.Direction.ASC, "_id"))
+        .cursorBatchSize(ConstantUtil.EXPORT_BATCH_SIZE);
+    return reactiveMongoTemplate.find(query, AccountSettlement.class)
+        .limitRate(ConstantUtil.EXPORT_BATCH_SIZE)
+        .map(AccountLedger.Entry::settlement);
+  }
+
+  /**
+   * Transacciones registradas desde el corte anterior que debitan ({@code originAccountId})
+   * o abonan ({@code destinationAccountId}) las cuentas del rango, ordenadas por cuenta.
+   */
+  private Flux<AccountLedger.Entry> movements(ReconciliationRun run, AccountRange range, String field,
+                                              List<TransactionType> types) {
+    Criteria criteria = range.toCriteria(field).and("transactionType").in(types);
+    if (run.getSince() != null) {
+      criteria = criteria.and("transactionDate").gte(run.getSince());
+    }
+    Query query = Query.query(criteria)
+        .with(Sort.by(Sort.Direction.ASC, field))
+        .cursorBatchSize(ConstantUtil.EXPORT_BATCH_SIZE);
+    query.fields().include("transactionType", "originAccountId", "destinationAccountId", "amount",
+        "convertedAmount", "transactionDate");
+    boolean debit = "originAccountId".equals(field);
+    return reactiveMongoTemplate.find(query, Transaction.class)
+        .limitRate(ConstantUtil.EXPORT_BATCH_SIZE)
+        .map(transaction -> {
+          String accountId = debit ? transaction.getOriginAccountId() : transaction.getDestinationAccountId();
+          Money amount = transaction.amountFor(accountId);
+          BigDecimal value = amount == null ? BigDecimal.ZERO : amount.toBigDecimal();
+          return AccountLedger.Entry.movement(accountId, debit ? value.negate() : value,
+              transaction.getTransactionDate());
+        });
+  }
+
+  /**
+   * Guarda el saldo liquidado al corte de las cuentas con transacciones en el período.
+   */
+  private Mono<Void> settle(ReconciliationRun run, List<AccountLedger> batch) {
+    List<AccountSettlement> settlements = batch.stream()
+        .filter(AccountLedger::isMovedBeforeCutoff)
+        .map(ledger -> ledger.toSettlement(run.getCutoff()))
+        .toList();
+    if (settlements.isEmpty()) {
+      return Mono.empty();
+    }
+    ReactiveBulkOperations bulk = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+        AccountSettlement.class);
+    settlements.forEach(settlement -> bulk.upsert(Query.query(Criteria.where("_id").is(settlement.getId())),
+        new Update()
+            .set("settledBalance", new Decimal128(settlement.getSettledBalance()))
+            .set("settledThrough", settlement.getSettledThrough())
+            .set("previousBalance", new Decimal128(settlement.getPreviousBalance()))
+            .set("previousThrough", settlement.getPreviousThrough())
+            .set("updatedAt", settlement.getUpdatedAt())));
+    return bulk.execute().then();
+  }
+
+  /**
+   * Vuelve a verificar las cuentas con diferencia y registra las que la mantienen.
+   *
+   * @return Cantidad de diferencias registradas.
+   */
+  private Mono<Long> report(ReconciliationRun run, List<AccountLedger> batch) {
+    List<AccountLedger> candidates = batch.stream()
+        .filter(ledger -> ledger.discrepancy() != null)
+        .toList();
+    if (candidates.isEmpty()) {
+      return Mono.just(0L);
+    }
+    return Mono.delay(recheckDelay)
+        .thenMany(Flux.fromIterable(candidates))
+        .flatMap(candidate -> this.ledgers(run, AccountRange.exact(candidate.getAccountId())).next(),
+            RECHECK_CONCURRENCY)
+        .filter(ledger -> ledger.discrepancy() != null)
+        .map(ledger -> this.toDiscrepancy(run, ledger))
+        .collectList()
+        .flatMap(discrepancies -> reconciliationDiscrepancyRepository.saveAll(discrepancies)
+            .then(Mono.just((long) discrepancies.size())));
+  }
+
+  private Mono<MongoDatabase> accountDatabase() {
+    return accountDatabase == null || accountDatabase.isBlank()
+        ? reactiveMongoTemplate.getMongoDatabase()
+        : reactiveMongoTemplate.getMongoDatabaseFactory().getMongoDatabase(accountDatabase);
+  }
+
+  /**
+   * Toma o renueva el lease de conciliación. Si otra instancia lo tiene vigente el upsert
+   * intenta insertar un documento con el mismo {@code _id} y falla por clave duplicada.
+   */
+  private Mono<Boolean> acquireLease() {
+    LocalDateTime now = LocalDateTime.now();
+    Query query = Query.query(Criteria.where("_id").is(LEASE_ID)
+        .orOperator(Criteria.where("owner").is(instanceId), Criteria.where("expiresAt").lt(now)));
+    Update update = new Update().set("owner", instanceId).set("expiresAt", now.plus(leaseDuration));
+    return reactiveMongoTemplate.upsert(query, update, LEASE_COLLECTION)
+        .thenReturn(true)
+        .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false));
+  }
+
+  private ReconciliationDiscrepancy toDiscrepancy(ReconciliationRun run, AccountLedger ledger) {
+    BigDecimal accountBalance = ledger.getAccountBalance();
+    return ReconciliationDiscrepancy.builder()
+        .id(run.getId() + "|" + ledger.getAccountId())
+        .runId(run.getId())
+        .accountId(ledger.getAccountId())
+        .type(ledger.discrepancy())
+        .currency(ledger.getCurrency())
+        .accountBalance(accountBalance)
+        .expectedBalance(ledger.getExpectedBalance())
+        .difference((accountBalance != null ? accountBalance : BigDecimal.ZERO)
+            .subtract(ledger.getExpectedBalance()))
+        .detectedAt(LocalDateTime.now())
+        .build();
+  }
+
+  private ReconciliationRunResponse toResponse(ReconciliationRun run) {
+    return ReconciliationRunResponse.builder()
+        .day(run.getId())
+        .status(run.getStatus())
+        .since(run.getSince())
+        .cutoff(run.getCutoff())
+        .partitions(run.getBoundaries().size() + 1)
+        .completedPartitions(run.getCompletedPartitions().size())
+        .accounts(run.getAccounts())
+        .discrepancies(run.getDiscrepancies())
+        .unbaselined(run.getUnbaselined())
+        .startedAt(run.getStartedAt())
+        .completedAt(run.getCompletedAt())
+        .build();
+  }
+
+  private ReconciliationDiscrepancyResponse toResponse(ReconciliationDiscrepancy discrepancy) {
+    return ReconciliationDiscrepancyResponse.builder()
+        .accountId(discrepancy.getAccountId())
+        .type(discrepancy.getType())
+        .currency(discrepancy.getCurrency())
+        .accountBalance(discrepancy.getAccountBalance())
+        .expectedBalance(discrepancy.getExpectedBalance())
+        .difference(discrepancy.getDifference())
+        .detectedAt(discrepancy.getDetectedAt())
+        .build();
+  }
+
+  /**
+   * Rango de IDs de cuenta de una partición, o una sola cuenta al volver a verificarla.
+   * Los límites nulos no acotan el rango.
+   */
+  private record AccountRange(String lower, String upper, boolean single) {
+
+    static AccountRange of(ReconciliationRun run, int partition) {
+      List<String> boundaries = run.getBoundaries();
+      return new AccountRange(partition > 0 ? boundaries.get(partition - 1) : null,
+          partition < boundaries.size() ? boundaries.get(partition) : null, false);
+    }
+
+    static AccountRange exact(String accountId) {
+      return new AccountRange(accountId, null, true);
+    }
+
+    Criteria toCriteria(String field) {
+      Criteria criteria = Criteria.where(field);
+      if (single) {
+        return criteria.is(lower);
+      }
+      if (lower == null && upper == null) {
+        return criteria.ne(null);
+      }
+      if (lower != null) {
+        criteria = criteria.gte(lower);
+      }
+      return upper != null ? criteria.lt(upper) : criteria;
+    }
+
+    /**
+     * Filtro sobre el {@code _id} de la colección de cuentas, que guarda los IDs como
+     * ObjectId cuando tienen ese formato.
+     */
+    Document toIdFilter() {
+      if (single) {
+        return new Document("_id", idValue(lower));
+      }
+      Document bounds = new Document();
+      if (lower != null) {
+        bounds.append("$gte", idValue(lower));
+      }
+      if (upper != null) {
+        bounds.append("$lt", idValue(upper));
+      }
+      return bounds.isEmpty() ? new Document() : new Document("_id", bounds);
+    }
+
+    private static Object idValue(String id) {
+      return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.VelocityDecision;
+import com.nttdata.bootcamp.ms.banking.transaction.service.VelocityStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementación de {@link VelocityStore} en Redis, compartida por todas las instancias.
+ *
+ * <p>Cada cuenta tiene dos hashes, {@code velocity:{<id>}:minute} y {@code velocity:{<id>}:day},
+ * cuyos campos son los tramos de la ventana. El ID va entre llaves para que en Redis Cluster
+ * ambas claves caigan en el mismo slot, como exige el script. Un script Lua descarta los tramos vencidos,
+ * comprueba ambos límites y suma el débito en una sola operación atómica, así que el
+ * límite se respeta aunque los débitos de una cuenta lleguen por instancias distintas.</p>
+ *
+ * <p>Si Redis no responde, el débito se cuenta en el almacén en memoria de la instancia:
+ * los límites se siguen aplicando, aunque solo sobre lo que ve cada instancia. Cada débito
+ * se libera en el almacén que lo contó: los contados en memoria se recuerdan hasta que se
+ * liberan o vencen, y un débito contado en Redis que no se puede liberar sigue contando
+ * hasta que vence su tramo.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedisVelocityStoreImpl implements VelocityStore {
+
+  public static final String NAME = "redis";
+
+  private static final String KEY_PREFIX = "velocity:";
+  private static final long MINUTE_BUCKET_MILLIS = MINUTE.toMillis() / MINUTE_BUCKETS;
+  private static final long DAY_BUCKET_MILLIS = DAY.toMillis() / DAY_BUCKETS;
+
+  /**
+   * KEYS: hash del minuto, hash del día. ARGV: tramo actual del minuto, tramo actual del
+   * día, importe, máximo de débitos, límite diario. Devuelve 0 si se permite, 1 si supera
+   * los débitos por minuto y 2 si supera el límite diario.
+   */
+  private static final RedisScript<Long> TRY_ACQUIRE = RedisScript.of(
+      "local function total(key, oldest) "
+          + "local fields = redis.call('HGETALL', key) "
+          + "local sum = 0 "
+          + "for i = 1, #fields, 2 do "
+          + "if tonumber(fields[i]) < oldest then redis.call('HDEL', key, fields[i]) "
+          + "else sum = sum + tonumber(fields[i + 1]) end "
+          + "end "
+          + "return sum end "
+          + "local minute = tonumber(ARGV[1]) "
+          + "local day = tonumber(ARGV[2]) "
+          + "local amount = tonumber(ARGV[3]) "
+          + "if total(KEYS[1], minute - " + (MINUTE_BUCKETS - 1) + ") + 1 > tonumber(ARGV[4]) then return 1 end "
+          + "if total(KEYS[2], day - " + (DAY_BUCKETS - 1) + ") + amount > tonumber(ARGV[5]) then return 2 end "
+          + "redis.call('HINCRBY', KEYS[1], ARGV[1], 1) "
+          + "redis.call('HINCRBY', KEYS[2], ARGV[2], ARGV[3]) "
+          + "redis.call('PEXPIRE', KEYS[1], " + MINUTE.toMillis() + ") "
+          + "redis.call('PEXPIRE', KEYS[2], " + DAY.toMillis() + ") "
+          + "return 0", Long.class);
+
+  /**
+   * KEYS: hash del día. ARGV: tramo del débito, importe negativo. Solo resta si el tramo
+   * sigue en el hash; si ya venció, el importe ya no cuenta.
+   */
+  private static final RedisScript<Long> RELEASE = RedisScript.of(
+      "if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then "
+          + "redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) "
+          + "return 1 end "
+          + "return 0", Long.class);
+
+  private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+  private final LocalVelocityStoreImpl localVelocityStore;
+  private final Map<Hold, Integer> localHolds = new ConcurrentHashMap<>(); // Débitos contados en memoria
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public Mono<VelocityDecision> tryAcquire(String accountId, long amount, long nowMillis,
+                                           int maxDebitsPerMinute, long dailyLimit) {
+    List<String> keys = List.of(key(accountId, "minute"), key(accountId, "day"));
+    List<String> args = List.of(String.valueOf(nowMillis / MINUTE_BUCKET_MILLIS),
+        String.valueOf(nowMillis / DAY_BUCKET_MILLIS), String.valueOf(amount),
+        String.valueOf(maxDebitsPerMinute), String.valueOf(dailyLimit));
+    return reactiveStringRedisTemplate.execute(TRY_ACQUIRE, keys, args)
+        .next()
+        .map(result -> VelocityDecision.values()[result.intValue()])
+        .onErrorResume(e -> {
+          log.warn("Error checking velocity of " + accountId + " in Redis, using local limits: " + e.getMessage());
+          return Mono.fromSupplier(() -> this.acquireLocally(new Hold(accountId, amount, nowMillis),
+              maxDebitsPerMinute, dailyLimit));
+        });
+  }
+
+  private VelocityDecision acquireLocally(Hold hold, int maxDebitsPerMinute, long dailyLimit) {
+    localHolds.keySet().removeIf(held -> hold.acquiredAtMillis() - held.acquiredAtMillis() >= DAY.toMillis());
+    VelocityDecision decision = localVelocityStore.acquire(hold.accountId(), hold.amount(), hold.acquiredAtMillis(),
+        maxDebitsPerMinute, dailyLimit);
+    if (decision == VelocityDecision.ALLOWED) {
+      localHolds.merge(hold, 1, Integer::sum);
+    }
+    return decision;
+  }
+
+  @Override
+  public Mono<Void> release(String accountId, long amount, long acquiredAtMillis) {
+    if (this.takeLocalHold(new Hold(accountId, amount, acquiredAtMillis))) {
+      return localVelocityStore.release(accountId, amount, acquiredAtMillis);
+    }
+    return reactiveStringRedisTemplate.execute(RELEASE, List.of(key(accountId, "day")),
+            List.of(String.valueOf(acquiredAtMillis / DAY_BUCKET_MILLIS), String.valueOf(-amount)))
+        .then()
+        .onErrorResume(e -> {
+          log.warn("Error releasing velocity of " + accountId + " in Redis: " + e.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  /**
+   * Quita el débito de los contados en memoria; devuelve si estaba ahí.
+   */
+  private boolean takeLocalHold(Hold hold) {
+    AtomicBoolean taken = new AtomicBoolean();
+    localHolds.computeIfPresent(hold, (held, count) -> {
+      taken.set(true);
+      return count > 1 ? count - 1 : null;
+    });
+    return taken.get();
+  }
+
+  private static String key(String accountId, String window) {
+    return KEY_PREFIX + "{" + accountId + "}:" + window;
+  }
+}
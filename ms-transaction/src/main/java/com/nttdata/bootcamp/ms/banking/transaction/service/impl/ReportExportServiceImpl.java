@@ -0,0 +1,166 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AccountSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AverageBalanceResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ClientSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CreditCardSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CreditSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CustomerResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.DebitCardSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.DailyBalanceService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ReportExportService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ReportService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.CsvUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de {@link ReportExportService}.
+ *
+ * <p>Ninguna exportación acumula resultados: cada fila se escribe en la respuesta en cuanto
+ * se obtiene y la demanda del cliente HTTP llega hasta el origen. {@code limitRate} pide a
+ * MongoDB y a ms-customer de {@link ConstantUtil#EXPORT_BATCH_SIZE} en
+ * {@link ConstantUtil#EXPORT_BATCH_SIZE} elementos, y los cursores traen lotes del mismo
+ * tamaño, así que la memoria usada es la misma para mil cuentas que para diez millones.</p>
+ *
+ * <p>Los resúmenes de clientes se calculan con como máximo
+ * {@code transaction.export.summary-concurrency} clientes a la vez y se escriben en el orden
+ * en que ms-customer devuelve los clientes.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Service
+public class ReportExportServiceImpl implements ReportExportService {
+
+  private static final String AVERAGE_BALANCE_HEADER = CsvUtil.line("accountId", "balance", "days");
+  private static final String CLIENT_SUMMARY_HEADER = CsvUtil.line("clientId", "totalAccounts",
+      "activeAccounts", "balanceByCurrency", "totalCredits", "totalDebt", "overdueCredits", "overdueDebt",
+      "totalCreditCards", "creditCardBalance", "overdueCreditCards", "totalDebitCards", "hasOverdueDebt",
+      "partial", "unavailableSections");
+  private static final String HISTORY_HEADER = CsvUtil.line("id", "transactionType", "originAccountId",
+      "destinationAccountId", "creditId", "creditCardId", "debitCardId", "amount", "currency",
+      "convertedAmount", "convertedCurrency", "fxRate", "transactionDate");
+  private static final String LIST_SEPARATOR = "|";
+
+  private final DailyBalanceService dailyBalanceService;
+  private final ReportService reportService;
+  private final TransactionRepository transactionRepository;
+  private final TransactionMapper transactionMapper;
+  private final WebClient customerWebClient;
+  private final int summaryConcurrency;
+
+  public ReportExportServiceImpl(DailyBalanceService dailyBalanceService,
+                                 ReportService reportService,
+                                 TransactionRepository transactionRepository,
+                                 TransactionMapper transactionMapper,
+                                 WebClient customerWebClient,
+                                 @Value("${transaction.export.summary-concurrency:8}") int summaryConcurrency) {
+    this.dailyBalanceService = dailyBalanceService;
+    this.reportService = reportService;
+    this.transactionRepository = transactionRepository;
+    this.transactionMapper = transactionMapper;
+    this.customerWebClient = customerWebClient;
+    this.summaryConcurrency = summaryConcurrency;
+  }
+
+  @Override
+  public Flux<AverageBalanceResponse> exportAverageBalances(LocalDate from, LocalDate to) {
+    return dailyBalanceService.getAverageBalances(from, to)
+        .limitRate(ConstantUtil.EXPORT_BATCH_SIZE);
+  }
+
+  @Override
+  public Flux<ClientSummaryResponse> exportClientSummaries() {
+    return customerWebClient.get()
+        .retrieve()
+        .bodyToFlux(CustomerResponse.class)
+        .limitRate(ConstantUtil.EXPORT_BATCH_SIZE)
+        .flatMapSequential(customer -> reportService.generateClientSummary(customer.getId()),
+            summaryConcurrency, 1);
+  }
+
+  @Override
+  public Flux<TransactionResponse> exportHistory(String productId) {
+    return transactionRepository.streamHistory(productId)
+        .limitRate(ConstantUtil.EXPORT_BATCH_SIZE)
+        .map(transactionMapper::toResponse);
+  }
+
+  @Override
+  public Flux<String> exportAverageBalancesCsv(LocalDate from, LocalDate to) {
+    return this.exportAverageBalances(from, to)
+        .map(average -> CsvUtil.line(average.getAccountId(), average.getBalance(), average.getDays()))
+        .startWith(AVERAGE_BALANCE_HEADER);
+  }
+
+  @Override
+  public Flux<String> exportClientSummariesCsv() {
+    return this.exportClientSummaries()
+        .map(ReportExportServiceImpl::clientSummaryLine)
+        .startWith(CLIENT_SUMMARY_HEADER);
+  }
+
+  @Override
+  public Flux<String> exportHistoryCsv(String productId) {
+    return this.exportHistory(productId)
+        .map(transaction -> CsvUtil.line(transaction.getId(), transaction.getTransactionType(),
+            transaction.getOriginAccountId(), transaction.getDestinationAccountId(), transaction.getCreditId(),
+            transaction.getCreditCardId(), transaction.getDebitCardId(), transaction.getAmount(),
+            transaction.getCurrency(), transaction.getConvertedAmount(), transaction.getConvertedCurrency(),
+            transaction.getFxRate(), transaction.getTransactionDate()))
+        .startWith(HISTORY_HEADER);
+  }
+
+  /**
+   * Una sección no disponible deja sus columnas vacías; los saldos por moneda se escriben
+   * como {@code PEN=150.50|USD=20}.
+   */
+  private static String clientSummaryLine(ClientSummaryResponse summary) {
+    AccountSummaryResponse accounts = summary.getAccounts();
+    CreditSummaryResponse credits = summary.getCredits();
+    CreditCardSummaryResponse creditCards = summary.getCreditCards();
+    DebitCardSummaryResponse debitCards = summary.getDebitCards();
+    return CsvUtil.line(summary.getClientId(),
+        valueOf(accounts, AccountSummaryResponse::getTotalAccounts),
+        valueOf(accounts, AccountSummaryResponse::getActiveAccounts),
+        valueOf(accounts, account -> balancesOf(account.getBalanceByCurrency())),
+        valueOf(credits, CreditSummaryResponse::getTotalCredits),
+        valueOf(credits, CreditSummaryResponse::getTotalDebt),
+        valueOf(credits, CreditSummaryResponse::getOverdueCredits),
+        valueOf(credits, CreditSummaryResponse::getOverdueDebt),
+        valueOf(creditCards, CreditCardSummaryResponse::getTotalCards),
+        valueOf(creditCards, CreditCardSummaryResponse::getTotalBalance),
+        valueOf(creditCards, CreditCardSummaryResponse::getOverdueCards),
+        valueOf(debitCards, DebitCardSummaryResponse::getTotalCards),
+        summary.isHasOverdueDebt(),
+        summary.isPartial(),
+        summary.getUnavailableSections() == null ? null
+            : String.join(LIST_SEPARATOR, summary.getUnavailableSections()));
+  }
+
+  private static <T> Object valueOf(T section, Function<T, Object> getter) {
+    return section == null ? null : getter.apply(section);
+  }
+
+  private static String balancesOf(Map<String, ?> balanceByCurrency) {
+    if (balanceByCurrency == null) {
+      return null;
+    }
+    return new TreeMap<>(balanceByCurrency).entrySet().stream()
+        .map(balance -> balance.getKey() + "=" + balance.getValue())
+        .collect(Collectors.joining(LIST_SEPARATOR));
+  }
+}
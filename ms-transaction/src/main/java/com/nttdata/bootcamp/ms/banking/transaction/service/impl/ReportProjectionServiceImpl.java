@@ -0,0 +1,402 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ProjectionSource;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.CustomerView;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ProductSnapshot;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ProductView;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ProjectionCheckpoint;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.ReadModelMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.ProjectionCheckpointRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ReportProjectionService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de {@link ReportProjectionService} sobre change streams de MongoDB.
+ *
+ * <p>Al arrancar la aplicación se abre un change stream por cada {@link ProjectionSource}.
+ * Cada cambio se aplica en orden y el token del último aplicado se guarda en
+ * {@code projection_checkpoints} cada {@code transaction.projection.checkpoint-interval}; al
+ * reiniciar, el stream se reanuda desde ese token y los cambios posteriores al último
+ * guardado se aplican de nuevo sin efecto.</p>
+ *
+ * <p>La primera vez, o si el token ya no está en el oplog, una fuente de productos se carga
+ * completa con una lectura por cursor y el stream empieza en el {@code clusterTime} previo a
+ * esa lectura. Las transacciones no se cargan: los productos existentes solo acumulan los
+ * movimientos posteriores, y los reportes siguen leyendo los anteriores de la caché de
+ * últimos movimientos.</p>
+ *
+ * <p>Cada copia guarda el {@code clusterTime} del cambio que la produjo y las
+ * actualizaciones filtran por él; un upsert que no encuentra el documento por tener una
+ * copia más nueva falla por clave duplicada y se descarta. Por eso varias instancias pueden
+ * proyectar a la vez sin pisarse. Las cuentas viven en la base de ms-account y los
+ * productos en la de ms-product ({@code transaction.projection.account-database} y
+ * {@code transaction.projection.product-database}; vacío es la base propia).</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class ReportProjectionServiceImpl implements ReportProjectionService {
+
+  private static final Set<Integer> RESUME_FAILED_CODES = Set.of(
+      260,   // InvalidResumeToken
+      280,   // ChangeStreamFatalError
+      286);  // ChangeStreamHistoryLost
+  private static final int BACKFILL_CONCURRENCY = 8;
+  private static final String PRODUCTS = "products.";
+
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final ProjectionCheckpointRepository projectionCheckpointRepository;
+  private final ReadModelMapper readModelMapper;
+  private final TransactionMapper transactionMapper;
+  private final Set<ProjectionSource> ready = ConcurrentHashMap.newKeySet();
+  private final Map<ProjectionSource, Counter> eventCounters = new EnumMap<>(ProjectionSource.class);
+  private final Map<ProjectionSource, AtomicLong> lagMillis = new EnumMap<>(ProjectionSource.class);
+  private final Disposable.Composite streams = Disposables.composite();
+
+  @Value("${transaction.projection.enabled:true}")
+  private boolean enabled;
+
+  @Value("${transaction.projection.account-database:}")
+  private String accountDatabase;
+
+  @Value("${transaction.projection.product-database:}")
+  private String productDatabase;
+
+  @Value("${transaction.projection.recent-size:20}")
+  private int recentSize;
+
+  @Value("${transaction.projection.checkpoint-interval:1s}")
+  private Duration checkpointInterval;
+
+  public ReportProjectionServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate,
+                                     ProjectionCheckpointRepository projectionCheckpointRepository,
+                                     ReadModelMapper readModelMapper,
+                                     TransactionMapper transactionMapper,
+                                     MeterRegistry meterRegistry) {
+    this.reactiveMongoTemplate = reactiveMongoTemplate;
+    this.projectionCheckpointRepository = projectionCheckpointRepository;
+    this.readModelMapper = readModelMapper;
+    this.transactionMapper = transactionMapper;
+    for (ProjectionSource source : ProjectionSource.values()) {
+      AtomicLong lag = new AtomicLong();
+      lagMillis.put(source, lag);
+      eventCounters.put(source, Counter.builder("transaction.projection.events")
+          .description("Cambios aplicados al modelo de lectura de reportes")
+          .tag("source", source.name())
+          .register(meterRegistry));
+      Gauge.builder("transaction.projection.lag.seconds", lag, value -> value.get() / 1000.0)
+          .description("Antigüedad del último cambio aplicado al modelo de lectura")
+          .tag("source", source.name())
+          .register(meterRegistry);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    for (ProjectionSource source : ProjectionSource.values()) {
+      streams.add(this.project(source).subscribe());
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    streams.dispose();
+  }
+
+  @Override
+  public boolean isCustomerViewReady() {
+    return enabled && Stream.of(ProjectionSource.values())
+        .filter(ProjectionSource::isSnapshot)
+        .allMatch(ready::contains);
+  }
+
+  @Override
+  public Mono<Void> applySnapshot(ProjectionSource source, Document document, long version, boolean created) {
+    ProductSnapshot snapshot = readModelMapper.toSnapshot(source, document, version);
+    if (snapshot == null || snapshot.getProductId() == null) {
+      return Mono.empty();
+    }
+    Query query = Query.query(Criteria.where("_id").is(snapshot.getProductId())
+        .orOperator(Criteria.where("snapshotVersion").lte(version), Criteria.where("snapshotVersion").exists(false)));
+    Update update = new Update()
+        .set("customerId", snapshot.getCustomerId())
+        .set("snapshot", snapshot)
+        .set("snapshotVersion", version)
+        .set("updatedAt", LocalDateTime.now());
+    if (created) {
+      update.set("recentComplete", true);
+    }
+    return reactiveMongoTemplate.findAndModify(query, update,
+            FindAndModifyOptions.options().upsert(true).returnNew(false), ProductView.class)
+        .map(previous -> Optional.ofNullable(previous.getCustomerId()))
+        .defaultIfEmpty(Optional.empty())
+        .flatMap(previousCustomer -> {
+          Mono<Void> moved = previousCustomer.isPresent() && !previousCustomer.get().equals(snapshot.getCustomerId())
+              ? this.removeFromCustomer(previousCustomer.get(), snapshot.getProductId(), version)
+              : Mono.empty();
+          return this.putInCustomer(snapshot).then(moved);
+        })
+        .onErrorResume(DuplicateKeyException.class, e -> Mono.empty());
+  }
+
+  @Override
+  public Mono<Void> applyDelete(String productId, long version) {
+    Query query = Query.query(Criteria.where("_id").is(productId)
+        .orOperator(Criteria.where("snapshotVersion").lte(version), Criteria.where("snapshotVersion").exists(false)));
+    return reactiveMongoTemplate.findAndRemove(query, ProductView.class)
+        .filter(previous -> previous.getCustomerId() != null)
+        .flatMap(previous -> this.removeFromCustomer(previous.getCustomerId(), productId, version));
+  }
+
+  @Override
+  public Mono<Void> applyTransaction(Transaction transaction) {
+    TransactionResponse movement = transactionMapper.toResponse(transaction);
+    return Flux.fromStream(Stream.of(transaction.getOriginAccountId(), transaction.getDestinationAccountId(),
+                transaction.getCreditId(), transaction.getCreditCardId(), transaction.getDebitCardId())
+            .filter(Objects::nonNull)
+            .distinct())
+        .concatMap(productId -> {
+          Query query = Query.query(Criteria.where("_id").is(productId).and("recent.id").ne(transaction.getId()));
+          Update update = new Update()
+              .push("recent").atPosition(Update.Position.FIRST).slice(recentSize).each(movement)
+              .inc("transactionCount", 1)
+              .set("updatedAt", LocalDateTime.now());
+          return reactiveMongoTemplate.upsert(query, update, ProductView.class)
+              .then()
+              .onErrorResume(DuplicateKeyException.class, e -> Mono.empty());
+        })
+        .then();
+  }
+
+  /**
+   * Guarda la copia en el modelo del cliente si no tiene una más nueva del mismo producto.
+   */
+  private Mono<Void> putInCustomer(ProductSnapshot snapshot) {
+    if (snapshot.getCustomerId() == null) {
+      return Mono.empty();
+    }
+    String path = PRODUCTS + snapshot.getProductId();
+    Query query = Query.query(Criteria.where("_id").is(snapshot.getCustomerId())
+        .orOperator(Criteria.where(path + ".version").lte(snapshot.getVersion()), Criteria.where(path).exists(false)));
+    Update update = new Update().set(path, snapshot).set("updatedAt", LocalDateTime.now());
+    return reactiveMongoTemplate.upsert(query, update, CustomerView.class)
+        .then()
+        .onErrorResume(DuplicateKeyException.class, e -> Mono.empty());
+  }
+
+  private Mono<Void> removeFromCustomer(String customerId, String productId, long version) {
+    String path = PRODUCTS + productId;
+    Query query = Query.query(Criteria.where("_id").is(customerId).and(path + ".version").lte(version));
+    Update update = new Update().unset(path).set("updatedAt", LocalDateTime.now());
+    return reactiveMongoTemplate.updateFirst(query, update, CustomerView.class).then();
+  }
+
+  /**
+   * Proyecta una fuente indefinidamente: ante un error espera y vuelve a empezar desde el
+   * último checkpoint; si el token ya no sirve, lo descarta y vuelve a cargar la fuente.
+   */
+  private Mono<Void> project(ProjectionSource source) {
+    return Mono.defer(() -> this.resumeOptions(source))
+        .flatMapMany(options -> reactiveMongoTemplate.changeStream(this.databaseOf(source), source.getCollection(),
+            options, Document.class))
+        .concatMap(event -> this.apply(source, event).thenReturn(event))
+        .sample(checkpointInterval)
+        .concatMap(event -> this.saveCheckpoint(source, event))
+        .then(Mono.<Void>error(new IllegalStateException("Change stream of " + source + " closed")))
+        .onErrorResume(this::isResumeFailure, e -> {
+          log.warn("Cannot resume " + source + " projection, reloading it: " + e.getMessage());
+          ready.remove(source);
+          return projectionCheckpointRepository.deleteById(source.name()).then(Mono.error(e));
+        })
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+            .maxBackoff(Duration.ofMinutes(1))
+            .doBeforeRetry(signal -> log.warn("Restarting " + source + " projection: "
+                + signal.failure().getMessage())));
+  }
+
+  private Mono<ChangeStreamOptions> resumeOptions(ProjectionSource source) {
+    return projectionCheckpointRepository.findById(source.name())
+        .map(checkpoint -> {
+          ready.add(source);
+          ChangeStreamOptions.ChangeStreamOptionsBuilder options = this.baseOptions(source);
+          if (checkpoint.getResumeToken() != null) {
+            return options.resumeAfter(new BsonDocument("_data", new BsonString(checkpoint.getResumeToken()))).build();
+          }
+          return options.resumeAt(new BsonTimestamp(checkpoint.getOperationTime())).build();
+        })
+        .switchIfEmpty(Mono.defer(() -> this.backfill(source)));
+  }
+
+  private ChangeStreamOptions.ChangeStreamOptionsBuilder baseOptions(ProjectionSource source) {
+    ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder();
+    return source.isSnapshot() ? options.fullDocumentLookup(FullDocument.UPDATE_LOOKUP) : options;
+  }
+
+  /**
+   * Carga una fuente completa y guarda el checkpoint con el {@code clusterTime} anterior a
+   * la carga, para que el stream no pierda los cambios hechos mientras tanto.
+   */
+  private Mono<ChangeStreamOptions> backfill(ProjectionSource source) {
+    return this.clusterTime()
+        .flatMap(operationTime -> {
+          log.info("Loading " + source + " projection from " + operationTime);
+          Mono<Void> load = source.isSnapshot()
+              ? this.database(source)
+                  .flatMapMany(database -> database.getCollection(source.getCollection())
+                      .find().batchSize(ConstantUtil.EXPORT_BATCH_SIZE))
+                  .limitRate(ConstantUtil.EXPORT_BATCH_SIZE)
+                  .flatMap(document -> this.applySnapshot(source, document, operationTime.getValue(), false),
+                      BACKFILL_CONCURRENCY)
+                  .then()
+              : reactiveMongoTemplate.updateMulti(new Query(), new Update().set("recentComplete", false),
+                  ProductView.class).then();
+          return load
+              .then(projectionCheckpointRepository.save(ProjectionCheckpoint.builder()
+                  .id(source.name())
+                  .operationTime(operationTime.getValue())
+                  .backfilledAt(LocalDateTime.now())
+                  .updatedAt(LocalDateTime.now())
+                  .build()))
+              .doOnSuccess(saved -> ready.add(source))
+              .thenReturn(this.baseOptions(source).resumeAt(operationTime).build());
+        });
+  }
+
+  private Mono<Void> apply(ProjectionSource source, ChangeStreamEvent<Document> event) {
+    BsonTimestamp clusterTime = event.getBsonTimestamp();
+    long version = clusterTime != null ? clusterTime.getValue() : 0;
+    Mono<Void> applied;
+    if (source == ProjectionSource.TRANSACTIONS) {
+      applied = event.getOperationType() == OperationType.INSERT && event.getBody() != null
+          ? this.applyTransaction(reactiveMongoTemplate.getConverter().read(Transaction.class, event.getBody()))
+          : Mono.empty();
+    } else if (event.getOperationType() == OperationType.DELETE && event.getRaw() != null) {
+      BsonValue id = event.getRaw().getDocumentKey().get("_id");
+      applied = this.applyDelete(id.isObjectId() ? id.asObjectId().getValue().toHexString()
+          : id.asString().getValue(), version);
+    } else if (event.getBody() != null) {
+      applied = this.applySnapshot(source, event.getBody(), version,
+          event.getOperationType() == OperationType.INSERT);
+    } else {
+      applied = Mono.empty();
+    }
+    return applied
+        .doOnSuccess(done -> {
+          eventCounters.get(source).increment();
+          if (clusterTime != null) {
+            lagMillis.get(source).set(Math.max(0, System.currentTimeMillis() - clusterTime.getTime() * 1000L));
+          }
+        })
+        .onErrorResume(e -> !(e instanceof DataAccessException || e instanceof MongoException), e -> {
+          log.error("Skipping unreadable " + source + " change: " + e.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  private Mono<ProjectionCheckpoint> saveCheckpoint(ProjectionSource source, ChangeStreamEvent<Document> event) {
+    BsonValue token = event.getResumeToken();
+    if (token == null || !token.isDocument() || !token.asDocument().containsKey("_data")) {
+      return Mono.empty();
+    }
+    return projectionCheckpointRepository.save(ProjectionCheckpoint.builder()
+        .id(source.name())
+        .resumeToken(token.asDocument().getString("_data").getValue())
+        .updatedAt(LocalDateTime.now())
+        .build());
+  }
+
+  /**
+   * {@code clusterTime} actual, tomado de la respuesta de un comando.
+   */
+  private Mono<BsonTimestamp> clusterTime() {
+    return reactiveMongoTemplate.executeCommand(new Document("ping", 1))
+        .flatMap(reply -> {
+          Object operationTime = reply.get("operationTime");
+          if (operationTime == null && reply.get("$clusterTime") instanceof Document gossip) {
+            operationTime = gossip.get("clusterTime");
+          }
+          return operationTime instanceof BsonTimestamp timestamp
+              ? Mono.just(timestamp)
+              : Mono.error(new IllegalStateException("MongoDB did not report a cluster time, is it a replica set?"));
+        });
+  }
+
+  private String databaseOf(ProjectionSource source) {
+    String database = switch (source) {
+      case ACCOUNTS -> accountDatabase;
+      case CREDITS, CARDS -> productDatabase;
+      default -> null;
+    };
+    return database == null || database.isBlank() ? null : database;
+  }
+
+  private Mono<MongoDatabase> database(ProjectionSource source) {
+    String database = this.databaseOf(source);
+    return database == null
+        ? reactiveMongoTemplate.getMongoDatabase()
+        : reactiveMongoTemplate.getMongoDatabaseFactory().getMongoDatabase(database);
+  }
+
+  private boolean isResumeFailure(Throwable error) {
+    Throwable cause = error;
+    while (cause != null) {
+      if (cause instanceof MongoCommandException command && RESUME_FAILED_CODES.contains(command.getErrorCode())) {
+        return true;
+      }
+      cause = cause.getCause();
+    }
+    return false;
+  }
+}
@@ -1,25 +1,43 @@
 package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
 
-import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AccountResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RollupGranularity;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AccountSummaryResponse;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AverageBalanceResponse;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CardTransactionResponse;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ClientSummaryResponse;
-import com.nttdata.bootcamp.ms.banking.transaction.entity.Account;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CreditCardSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CreditSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.DebitCardSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.MonthlySummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionRollupResponse;
 import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
-import com.nttdata.bootcamp.ms.banking.transaction.mapper.AccountMapper;
-import com.nttdata.bootcamp.ms.banking.transaction.mapper.CreditCardMapper;
-import com.nttdata.bootcamp.ms.banking.transaction.mapper.CreditMapper;
-import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
-import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
-import com.nttdata.bootcamp.ms.banking.transaction.service.KafkaService;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.ReadModelMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.CustomerViewRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.ProductViewRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.DailyBalanceService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.RecentActivityService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ReportProjectionService;
 import com.nttdata.bootcamp.ms.banking.transaction.service.ReportService;
-import lombok.RequiredArgsConstructor;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionRollupService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Implementación del servicio de reportes.
@@ -35,52 +53,207 @@ import java.time.LocalDateTime;
  * y obtener los últimos movimientos de los
  * productos del cliente.</p>
  *
- * @version 1.1
+ * <p>El resumen del cliente pide en paralelo a cada servicio el resumen de sus productos,
+ * que cada uno calcula con una agregación en MongoDB. Todas las secciones comparten el
+ * plazo {@code transaction.report.summary-deadline}: la que no responde a tiempo o falla
+ * se omite y el resumen se devuelve marcado como parcial. Los servicios informan sus errores
+ * con HTTP 200 y un cuerpo {@code {code, message}}, que también cuenta como falla.</p>
+ *
+ * <p>Cuando el modelo de lectura está cargado ({@link ReportProjectionService}), el resumen
+ * del cliente y los últimos movimientos se leen de un único documento, sin llamar a otros
+ * servicios. Los últimos movimientos vuelven a la caché de {@link RecentActivityService}
+ * mientras el modelo del producto no tenga suficientes movimientos, y el resumen vuelve a
+ * las llamadas a los servicios si el modelo no está cargado o no puede leerse.</p>
+ *
+ * @version 1.4
  * @author Bruno Andre Castro Barrientos
  */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class ReportServiceImpl implements ReportService {
 
-  private final TransactionRepository transactionRepository;
+  private static final String ACCOUNTS = "accounts";
+  private static final String CREDITS = "credits";
+  private static final String CREDIT_CARDS = "creditCards";
+  private static final String DEBIT_CARDS = "debitCards";
+  private static final String SUMMARY_URI = "/customer/{customerId}/summary";
+
+  private final RecentActivityService recentActivityService;
+  private final DailyBalanceService dailyBalanceService;
+  private final TransactionRollupService transactionRollupService;
   private final WebClient accountWebClient;
-  private final AccountMapper accountMapper;
+  private final WebClient creditWebClient;
+  private final WebClient creditCardWebClient;
+  private final WebClient debitCardWebClient;
+  private final ReportProjectionService reportProjectionService;
+  private final CustomerViewRepository customerViewRepository;
+  private final ProductViewRepository productViewRepository;
+  private final ReadModelMapper readModelMapper;
+  private final ObjectMapper objectMapper;
+  private final Duration summaryDeadline;
+  private final int maxLimit;
+
+  public ReportServiceImpl(RecentActivityService recentActivityService,
+                           DailyBalanceService dailyBalanceService,
+                           TransactionRollupService transactionRollupService,
+                           ReportProjectionService reportProjectionService,
+                           CustomerViewRepository customerViewRepository,
+                           ProductViewRepository productViewRepository,
+                           ReadModelMapper readModelMapper,
+                           ObjectMapper objectMapper,
+                           WebClient accountWebClient,
+                           WebClient creditWebClient,
+                           WebClient creditCardWebClient,
+                           WebClient debitCardWebClient,
+                           @Value("${transaction.report.summary-deadline:1500ms}") Duration summaryDeadline,
+                           @Value("${transaction.history.max-limit:100}") int maxLimit) {
+    this.recentActivityService = recentActivityService;
+    this.dailyBalanceService = dailyBalanceService;
+    this.transactionRollupService = transactionRollupService;
+    this.reportProjectionService = reportProjectionService;
+    this.customerViewRepository = customerViewRepository;
+    this.productViewRepository = productViewRepository;
+    this.readModelMapper = readModelMapper;
+    this.objectMapper = objectMapper;
+    this.accountWebClient = accountWebClient;
+    this.creditWebClient = creditWebClient;
+    this.creditCardWebClient = creditCardWebClient;
+    this.debitCardWebClient = debitCardWebClient;
+    this.summaryDeadline = summaryDeadline;
+    this.maxLimit = maxLimit;
+  }
 
   public Flux<AverageBalanceResponse> generateAverageBalanceReport(LocalDateTime startDate, LocalDateTime endDate) {
-    return this.getAllAccounts()
-        .filter(account -> account.getOpenDate().isAfter(startDate) && account.getOpenDate().isBefore(endDate))
-        .map(account -> new AverageBalanceResponse(account.getId(), account.getBalance()));
+    return dailyBalanceService.getAverageBalances(startDate.toLocalDate(), endDate.toLocalDate());
+  }
+
+  public Mono<AverageBalanceResponse> getAverageBalance(String accountId, LocalDate startDate, LocalDate endDate) {
+    return dailyBalanceService.getAverageBalance(accountId, startDate, endDate);
   }
 
   public Mono<ClientSummaryResponse> generateClientSummary(String clientId) {
-    return this.getAccountsByCustomerId(clientId)
-        .collectList()
-        .map(accounts -> new ClientSummaryResponse(clientId, accounts.size()));
+    if (!reportProjectionService.isCustomerViewReady()) {
+      return this.fetchClientSummary(clientId);
+    }
+    return customerViewRepository.findById(clientId)
+        .map(view -> readModelMapper.toClientSummary(clientId, view, LocalDate.now()))
+        .defaultIfEmpty(readModelMapper.toClientSummary(clientId, null, LocalDate.now()))
+        .onErrorResume(e -> {
+          log.warn("Customer view unavailable for " + clientId + ": " + e.getMessage());
+          return this.fetchClientSummary(clientId);
+        });
   }
 
-  public Mono<CardTransactionResponse> getLast10CardTransactions(String cardId) {
-    return transactionRepository.findByCreditCardId(cardId)
-        .take(10)
-        .collectList()
-        .map(transactions -> new CardTransactionResponse(cardId, transactions.size()));
+  /**
+   * Arma el resumen pidiendo cada sección a su servicio.
+   */
+  private Mono<ClientSummaryResponse> fetchClientSummary(String clientId) {
+    return Mono.zip(
+            this.section(ACCOUNTS, accountWebClient, clientId, AccountSummaryResponse.class),
+            this.section(CREDITS, creditWebClient, clientId, CreditSummaryResponse.class),
+            this.section(CREDIT_CARDS, creditCardWebClient, clientId, CreditCardSummaryResponse.class),
+            this.section(DEBIT_CARDS, debitCardWebClient, clientId, DebitCardSummaryResponse.class))
+        .map(sections -> {
+          Optional<AccountSummaryResponse> accounts = sections.getT1();
+          Optional<CreditSummaryResponse> credits = sections.getT2();
+          Optional<CreditCardSummaryResponse> creditCards = sections.getT3();
+          Optional<DebitCardSummaryResponse> debitCards = sections.getT4();
+          List<String> unavailable = new ArrayList<>();
+          if (accounts.isEmpty()) {
+            unavailable.add(ACCOUNTS);
+          }
+          if (credits.isEmpty()) {
+            unavailable.add(CREDITS);
+          }
+          if (creditCards.isEmpty()) {
+            unavailable.add(CREDIT_CARDS);
+          }
+          if (debitCards.isEmpty()) {
+            unavailable.add(DEBIT_CARDS);
+          }
+          return ClientSummaryResponse.builder()
+              .clientId(clientId)
+              .totalAccounts(accounts.map(summary -> (int) summary.getTotalAccounts()).orElse(0))
+              .accounts(accounts.orElse(null))
+              .credits(credits.orElse(null))
+              .creditCards(creditCards.orElse(null))
+              .debitCards(debitCards.orElse(null))
+              .hasOverdueDebt(credits.map(CreditSummaryResponse::isHasOverdueDebt).orElse(false)
+                  || creditCards.map(CreditCardSummaryResponse::isHasOverdueDebt).orElse(false))
+              .partial(!unavailable.isEmpty())
+              .unavailableSections(unavailable)
+              .build();
+        });
   }
 
-  private Flux<Account> getAccountsByCustomerId(String customerId) {
-    return accountWebClient.get()
-        .uri("/customers/{customerId}", customerId)
+  /**
+   * Pide una sección del resumen a su servicio. Un error, una respuesta de error o un plazo
+   * vencido no falla el resumen: la sección queda vacía.
+   */
+  private <T> Mono<Optional<T>> section(String name, WebClient webClient, String customerId, Class<T> type) {
+    return webClient.get()
+        .uri(SUMMARY_URI, customerId)
         .retrieve()
-        .bodyToFlux(AccountResponse.class)
-        .map(accountMapper::responseToEntity)
-        .onErrorResume(e -> Flux.error(new ApiValidateException("Error retrieving accounts for customer " + customerId)));
+        .bodyToMono(String.class)
+        .flatMap(json -> Mono.fromCallable(() -> this.readSection(json, type)))
+        .timeout(summaryDeadline)
+        .map(Optional::of)
+        .defaultIfEmpty(Optional.empty())
+        .onErrorResume(e -> {
+          log.warn("Client summary section " + name + " unavailable for " + customerId + ": " + e.getMessage());
+          return Mono.just(Optional.empty());
+        });
   }
 
-  private Flux<Account> getAllAccounts() {
-    return accountWebClient.get()
-        .retrieve()
-        .bodyToFlux(AccountResponse.class)
-        .map(accountMapper::responseToEntity)
-        .onErrorResume(e -> Flux.error(new ApiValidateException("Error retrieving all accounts")));
+  /**
+   * Un resumen siempre trae {@code customerId}; el cuerpo de error solo {@code code} y
+   * {@code message}. El resumen se lee del texto y no del árbol para conservar la escala de
+   * los importes.
+   */
+  private <T> T readSection(String json, Class<T> type) throws JsonProcessingException {
+    JsonNode body = objectMapper.readTree(json);
+    if (!body.hasNonNull("customerId") && body.has("code") && body.has("message")) {
+      throw new ApiValidateException(body.path("message").asText(ConstantUtil.ERROR_MESSAGE));
+    }
+    return objectMapper.readValue(json, type);
   }
 
+  public Mono<CardTransactionResponse> getLast10CardTransactions(String cardId) {
+    return this.getRecentMovements(cardId, 10)
+        .collectList()
+        .map(transactions -> new CardTransactionResponse(cardId, transactions.size(), transactions));
+  }
 
-}
\ No newline at end of file
+  /**
+   * Los movimientos del modelo del producto bastan si tiene al menos {@code limit} o si
+   * contiene todas las transacciones del producto.
+   */
+  public Flux<TransactionResponse> getRecentMovements(String productId, int limit) {
+    if (limit < 1 || limit > maxLimit) {
+      return recentActivityService.getRecent(productId, limit);
+    }
+    return productViewRepository.findById(productId)
+        .filter(view -> view.getRecent() != null)
+        .filter(view -> view.getRecent().size() >= limit
+            || (view.isRecentComplete() && view.getTransactionCount() <= view.getRecent().size()))
+        .map(view -> Optional.of(view.getRecent().subList(0, Math.min(limit, view.getRecent().size()))))
+        .onErrorResume(e -> {
+          log.warn("Product view unavailable for " + productId + ": " + e.getMessage());
+          return Mono.empty();
+        })
+        .defaultIfEmpty(Optional.empty())
+        .flatMapMany(recent -> recent.map(Flux::fromIterable)
+            .orElseGet(() -> recentActivityService.getRecent(productId, limit)));
+  }
+
+  @Override
+  public Flux<TransactionRollupResponse> getRollups(String productId, RollupGranularity granularity,
+                                                    LocalDateTime startDate, LocalDateTime endDate) {
+    return transactionRollupService.getRollups(productId, granularity, startDate, endDate);
+  }
+
+  @Override
+  public Mono<MonthlySummaryResponse> getMonthlySummary(String productId, YearMonth month) {
+    return transactionRollupService.getMonthlySummary(productId, month);
+  }
+}
@@ -0,0 +1,160 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionArchiveRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionArchiveService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Implementación de {@link TransactionArchiveService}.
+ *
+ * <p>Al arrancar la aplicación se inicia un ciclo que archiva lotes de hasta
+ * {@code transaction.archive.batch-size} transacciones anteriores a
+ * {@code transaction.archive.age}, de la más antigua a la más reciente, y cuando no quedan
+ * más espera {@code transaction.archive.interval}. Cada lote se escribe primero como
+ * segmento y solo después se elimina de MongoDB; si la instancia se detiene entre ambos
+ * pasos, al volver a ser la que archiva elimina primero las transacciones del último
+ * segmento. Mientras tanto el historial devuelve una sola copia de cada una.</p>
+ *
+ * <p>Solo archiva la instancia que mantiene el lease en {@value #LEASE_COLLECTION}. El
+ * ciclo está desactivado por defecto ({@code transaction.archive.enabled}): con más de una
+ * instancia, {@code transaction.archive.directory} debe ser un volumen compartido por todas
+ * para que cualquiera pueda leer lo archivado.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class TransactionArchiveServiceImpl implements TransactionArchiveService {
+
+  private static final String LEASE_COLLECTION = "transaction_archive_lease";
+  private static final String LEASE_ID = "transaction-archive";
+
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final TransactionArchiveRepository transactionArchiveRepository;
+  private final String instanceId = UUID.randomUUID().toString();
+  private final Counter archivedCounter;
+  private volatile boolean recovered;
+  private Disposable archiveLoop;
+
+  @Value("${transaction.archive.enabled:false}")
+  private boolean enabled;
+
+  @Value("${transaction.archive.age:365d}")
+  private Duration age;
+
+  @Value("${transaction.archive.batch-size:50000}")
+  private int batchSize;
+
+  @Value("${transaction.archive.interval:1h}")
+  private Duration interval;
+
+  @Value("${transaction.archive.lease:15m}")
+  private Duration leaseDuration;
+
+  public TransactionArchiveServiceImpl(ReactiveMongoTemplate reactiveMongoTemplate,
+                                       TransactionArchiveRepository transactionArchiveRepository,
+                                       MeterRegistry meterRegistry) {
+    this.reactiveMongoTemplate = reactiveMongoTemplate;
+    this.transactionArchiveRepository = transactionArchiveRepository;
+    this.archivedCounter = Counter.builder("transaction.archive.archived")
+        .description("Transacciones movidas de MongoDB al archivo")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    archiveLoop = Mono.defer(this::archiveIfLeader)
+        .flatMap(count -> count < batchSize ? Mono.delay(interval).thenReturn(count) : Mono.just(count))
+        .repeat()
+        .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (archiveLoop != null) {
+      archiveLoop.dispose();
+    }
+  }
+
+  @Override
+  public Mono<Integer> archiveOnce() {
+    Query query = Query.query(Criteria.where("transactionDate").lt(LocalDateTime.now().minus(age)))
+        .with(Sort.by(Sort.Direction.ASC, "transactionDate", "_id"))
+        .limit(batchSize)
+        .cursorBatchSize(ConstantUtil.EXPORT_BATCH_SIZE);
+    return reactiveMongoTemplate.find(query, Transaction.class)
+        .collectList()
+        .flatMap(batch -> batch.isEmpty() ? Mono.just(0) : transactionArchiveRepository.append(batch)
+            .then(this.remove(Flux.fromIterable(batch).map(Transaction::getId)))
+            .doOnSuccess(done -> archivedCounter.increment(batch.size()))
+            .thenReturn(batch.size()));
+  }
+
+  private Mono<Integer> archiveIfLeader() {
+    return this.acquireLease()
+        .flatMap(leader -> leader ? this.recover().then(this.archiveOnce()) : Mono.just(0))
+        .onErrorResume(e -> {
+          log.error("Error archiving transactions: " + e.getMessage());
+          return Mono.just(0);
+        });
+  }
+
+  /**
+   * Elimina de MongoDB las transacciones del último segmento, por si la instancia anterior
+   * no llegó a hacerlo. Se ejecuta una vez por arranque.
+   */
+  private Mono<Void> recover() {
+    if (recovered) {
+      return Mono.empty();
+    }
+    return this.remove(transactionArchiveRepository.findLastSegmentIds())
+        .doOnSuccess(done -> recovered = true);
+  }
+
+  private Mono<Void> remove(Flux<String> ids) {
+    return ids.buffer(ConstantUtil.EXPORT_BATCH_SIZE)
+        .concatMap(chunk -> reactiveMongoTemplate.remove(
+            Query.query(Criteria.where("_id").in(chunk)), Transaction.class))
+        .then();
+  }
+
+  /**
+   * Toma o renueva el lease de archivado. Si otra instancia lo tiene vigente el upsert
+   * intenta insertar un documento con el mismo {@code _id} y falla por clave duplicada.
+   */
+  private Mono<Boolean> acquireLease() {
+    LocalDateTime now = LocalDateTime.now();
+    Query query = Query.query(Criteria.where("_id").is(LEASE_ID)
+        .orOperator(Criteria.where("owner").is(instanceId), Criteria.where("expiresAt").lt(now)));
+    Update update = new Update().set("owner", instanceId).set("expiresAt", now.plus(leaseDuration));
+    return reactiveMongoTemplate.upsert(query, update, LEASE_COLLECTION)
+        .thenReturn(true)
+        .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false));
+  }
+}
@@ -0,0 +1,83 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionHistoryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Implementación de {@link TransactionHistoryService}.
+ *
+ * <p>El cursor es opaco para el cliente: codifica en Base64 la fecha y el ID de la última
+ * transacción devuelta. Se pide una transacción más que el tamaño de página para saber si
+ * existe una página siguiente.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryServiceImpl implements TransactionHistoryService {
+
+  private static final String CURSOR_SEPARATOR = "|";
+
+  private final TransactionRepository transactionRepository;
+  private final TransactionMapper transactionMapper;
+
+  @Value("${transaction.history.max-limit:100}")
+  private int maxLimit;
+
+  @Override
+  public Mono<TransactionHistoryResponse> getHistory(String productId, String cursor, int limit) {
+    if (limit < 1 || limit > maxLimit) {
+      return Mono.error(new ApiValidateException("Limit must be between 1 and " + maxLimit + "."));
+    }
+    return Mono.fromCallable(() -> decodeCursor(cursor))
+        .flatMap(after -> transactionRepository
+            .findHistory(productId, after.transactionDate(), after.id(), limit + 1)
+            .collectList())
+        .map(page -> this.toResponse(page, limit));
+  }
+
+  private TransactionHistoryResponse toResponse(List<Transaction> page, int limit) {
+    boolean hasMore = page.size() > limit;
+    List<Transaction> transactions = hasMore ? page.subList(0, limit) : page;
+    return TransactionHistoryResponse.builder()
+        .transactions(transactions.stream().map(transactionMapper::toResponse).toList())
+        .nextCursor(hasMore ? encodeCursor(transactions.get(limit - 1)) : null)
+        .build();
+  }
+
+  private static String encodeCursor(Transaction last) {
+    String value = last.getTransactionDate() + CURSOR_SEPARATOR + last.getId();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Cursor decodeCursor(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return new Cursor(null, null);
+    }
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = value.indexOf(CURSOR_SEPARATOR);
+      return new Cursor(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new ApiValidateException("Invalid cursor.");
+    }
+  }
+
+  private record Cursor(LocalDateTime transactionDate, String id) {
+  }
+}
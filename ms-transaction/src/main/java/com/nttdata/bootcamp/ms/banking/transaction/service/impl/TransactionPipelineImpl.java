@@ -0,0 +1,255 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionStage;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.service.OutboxService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.RecentActivityService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionHandler;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionPipeline;
+import com.nttdata.bootcamp.ms.banking.transaction.service.VelocityService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.handler.TransactionContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Implementación de {@link TransactionPipeline}.
+ *
+ * <p>Los handlers se registran por tipo de transacción al arrancar. Cada etapa se mide con
+ * el timer {@code transaction.pipeline.stage} (etiquetas {@code stage}, {@code type} y
+ * {@code outcome}) y admite como máximo {@code transaction.pipeline.stage-concurrency}
+ * ejecuciones a la vez; el resto espera su turno sin bloquear hilos. El tiempo de espera no
+ * se incluye en el timer de la etapa.</p>
+ *
+ * <p>Antes de reservar fondos, la etapa {@code PRE_AUTHORIZE} aplica los límites de
+ * frecuencia e importe de la cuenta de origen con {@link VelocityService}, sin llamar a
+ * ms-account. Si una etapa falla después de reservar fondos, se ejecuta la compensación del
+ * handler; en cualquier fallo se libera el importe preautorizado y se propaga el error
+ * original.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.3
+ */
+@Slf4j
+@Service
+public class TransactionPipelineImpl implements TransactionPipeline {
+
+  private static final String BATCH = "BATCH";
+
+  private final Map<TransactionType, TransactionHandler> handlers = new EnumMap<>(TransactionType.class);
+  private final Map<TransactionStage, StageGate> gates = new EnumMap<>(TransactionStage.class);
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private final TransactionMapper transactionMapper;
+  private final OutboxService outboxService;
+  private final RecentActivityService recentActivityService;
+  private final VelocityService velocityService;
+  private final MeterRegistry meterRegistry;
+  private final Scheduler handoffScheduler = Schedulers.parallel();
+
+  public TransactionPipelineImpl(List<TransactionHandler> handlers,
+                                 TransactionMapper transactionMapper,
+                                 OutboxService outboxService,
+                                 RecentActivityService recentActivityService,
+                                 VelocityService velocityService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${transaction.pipeline.stage-concurrency:256}") int stageConcurrency) {
+    for (TransactionHandler handler : handlers) {
+      TransactionHandler previous = this.handlers.put(handler.type(), handler);
+      if (previous != null) {
+        throw new IllegalStateException("Duplicate handler for " + handler.type() + ": "
+            + previous.getClass().getSimpleName() + ", " + handler.getClass().getSimpleName());
+      }
+    }
+    for (TransactionStage stage : TransactionStage.values()) {
+      gates.put(stage, new StageGate(stageConcurrency));
+    }
+    this.transactionMapper = transactionMapper;
+    this.outboxService = outboxService;
+    this.recentActivityService = recentActivityService;
+    this.velocityService = velocityService;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Mono<Transaction> apply(TransactionRequest request, String requestId) {
+    TransactionHandler handler = handlers.get(request.getTransactionType());
+    if (handler == null) {
+      return Mono.error(new ApiValidateException("Unsupported transaction type"));
+    }
+    String type = request.getTransactionType().name();
+    return Mono.fromCallable(() -> new TransactionContext(request, requestId))
+        .flatMap(context -> this.run(handler, type, context));
+  }
+
+  private Mono<Transaction> run(TransactionHandler handler, String type, TransactionContext context) {
+    return this.handlerStage(TransactionStage.VALIDATE, type, context, handler::validate)
+        .then(this.handlerStage(TransactionStage.RESOLVE_PRODUCTS, type, context, handler::resolveProducts))
+        .then(this.handlerStage(TransactionStage.PRE_AUTHORIZE, type, context, velocityService::preAuthorize))
+        .then(this.handlerStage(TransactionStage.RESERVE_FUNDS, type, context, handler::reserveFunds))
+        .then(Mono.fromRunnable(context::markFundsReserved))
+        .then(this.handlerStage(TransactionStage.COMMIT, type, context, handler::commit))
+        .then(Mono.fromCallable(() -> this.toTransaction(context)))
+        .onErrorResume(e -> velocityService.release(context)
+            .then(context.isFundsReserved()
+                ? this.compensate(handler, type, context, e)
+                : Mono.error(e)));
+  }
+
+  @Override
+  public Mono<Transaction> persist(Transaction transaction) {
+    return this.stage(TransactionStage.PERSIST, transaction.getTransactionType().name(),
+        () -> outboxService.saveWithEvent(transaction));
+  }
+
+  @Override
+  public Flux<Transaction> persistAll(List<Transaction> transactions) {
+    return this.stage(TransactionStage.PERSIST, BATCH,
+            () -> outboxService.insertAllWithEvents(transactions).collectList())
+        .flatMapMany(Flux::fromIterable);
+  }
+
+  @Override
+  public Mono<Void> publish(List<Transaction> transactions) {
+    String type = transactions.size() == 1 ? transactions.get(0).getTransactionType().name() : BATCH;
+    return this.stage(TransactionStage.PUBLISH, type,
+        () -> Flux.fromIterable(transactions)
+            .concatMap(recentActivityService::record)
+            .then());
+  }
+
+  private Mono<Void> handlerStage(TransactionStage stage, String type, TransactionContext context,
+                                  Function<TransactionContext, Mono<Void>> step) {
+    return Mono.defer(() -> context.isCompleted()
+        ? Mono.empty()
+        : this.stage(stage, type, () -> step.apply(context)));
+  }
+
+  private Mono<Transaction> compensate(TransactionHandler handler, String type, TransactionContext context,
+                                       Throwable error) {
+    return this.stage(TransactionStage.COMPENSATE, type, () -> handler.compensate(context))
+        .onErrorResume(compensationError -> {
+          log.error("Compensation failed for request {}: {}", context.getRequestId(),
+              compensationError.getMessage());
+          error.addSuppressed(compensationError);
+          return Mono.empty();
+        })
+        .then(Mono.error(error));
+  }
+
+  private <T> Mono<T> stage(TransactionStage stage, String type, Supplier<Mono<T>> work) {
+    return gates.get(stage).run(() -> {
+      long startedAt = System.nanoTime();
+      return Mono.defer(work)
+          .doOnSuccess(result -> this.timer(stage, type, "success")
+              .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS))
+          .doOnError(e -> this.timer(stage, type, "error")
+              .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+    });
+  }
+
+  private Timer timer(TransactionStage stage, String type, String outcome) {
+    return timers.computeIfAbsent(stage + "|" + type + "|" + outcome,
+        key -> Timer.builder("transaction.pipeline.stage")
+            .description("Duración de cada etapa del procesamiento de transacciones")
+            .tag("stage", stage.name())
+            .tag("type", type)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry));
+  }
+
+  private Transaction toTransaction(TransactionContext context) {
+    TransactionRequest request = context.getRequest();
+    Transaction transaction = transactionMapper.toEntity(request);
+    transaction.setId(context.getTransactionId());
+    transaction.setRequestId(context.getRequestId());
+    transaction.setAmount(context.getAmount());
+    if (context.getConversion() != null) {
+      transaction.setConvertedAmount(context.getConversion().getConverted());
+      transaction.setFxRate(context.getConversion().getRate());
+      transaction.setFxRateVersion(context.getConversion().getVersion());
+    }
+    transaction.setTransactionType(request.getTransactionType());
+    if (transaction.getTransactionDate() == null) {
+      transaction.setTransactionDate(LocalDateTime.now());
+    }
+    return transaction;
+  }
+
+  /**
+   * Limita las ejecuciones simultáneas de una etapa. Las que no tienen lugar quedan en cola
+   * y se arrancan, en orden de llegada, a medida que terminan las anteriores.
+   */
+  private final class StageGate {
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger permits;
+
+    StageGate(int permits) {
+      this.permits = new AtomicInteger(permits);
+    }
+
+    <T> Mono<T> run(Supplier<Mono<T>> work) {
+      return Mono.create(sink -> {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        sink.onCancel(() -> cancelled.set(true));
+        queue.offer(() -> {
+          if (cancelled.get()) {
+            this.release();
+            return;
+          }
+          Mono.defer(work)
+              .doFinally(signal -> this.release())
+              .subscribe(sink::success, sink::error, sink::success);
+        });
+        this.drain();
+      });
+    }
+
+    private void drain() {
+      while (!queue.isEmpty()) {
+        int available = permits.get();
+        if (available == 0) {
+          return;
+        }
+        if (permits.compareAndSet(available, available - 1)) {
+          Runnable next = queue.poll();
+          if (next == null) {
+            permits.incrementAndGet();
+          } else {
+            next.run();
+          }
+        }
+      }
+    }
+
+    private void release() {
+      permits.incrementAndGet();
+      if (!queue.isEmpty()) {
+        handoffScheduler.schedule(this::drain);
+      }
+    }
+  }
+}
@@ -0,0 +1,200 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RollupGranularity;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.MonthlySummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionRollupResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.TransactionRollup;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRollupRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionRollupService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de {@link TransactionRollupService}.
+ *
+ * <p>Cada transacción suma {@code count} y {@code amount} en un documento por producto,
+ * granularidad, periodo y tipo, con upserts {@code $inc} enviados en un único bulk write
+ * (un bloque del lote se agrupa antes, así cada acumulado recibe una sola escritura). Los
+ * reportes leen como máximo un documento por periodo y tipo, sin importar cuántas
+ * transacciones haya en {@code transactions}.</p>
+ *
+ * <p>{@link OutboxServiceImpl} llama a {@link #record} dentro de la transacción que inserta
+ * las transacciones y sus eventos: una transacción ya guardada (mismo ID o
+ * {@code requestId}) falla por clave duplicada antes de sumar, y si la suma falla no se
+ * guarda nada, así los acumulados no se duplican ni pierden transacciones.</p>
+ *
+ * <p>Los importes se acumulan en unidades mínimas ({@link Money}) y se pasan a
+ * {@link Decimal128} solo al armar el {@code $inc}. Cada producto suma el importe en su
+ * propia moneda: en una transferencia con conversión, la cuenta de destino suma el importe
+ * convertido.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.3
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionRollupServiceImpl implements TransactionRollupService {
+
+  private static final String ID_SEPARATOR = "|";
+
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final TransactionRollupRepository transactionRollupRepository;
+
+  @Value("${transaction.report.max-days:366}")
+  private int maxDays;
+
+  @Override
+  public Mono<Void> record(List<Transaction> transactions) {
+    Map<String, Increment> increments = new LinkedHashMap<>();
+    for (Transaction transaction : transactions) {
+      if (transaction.getTransactionDate() == null) {
+        continue;
+      }
+      productIdsOf(transaction).forEach(productId -> {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+          LocalDateTime periodStart = granularity.periodStart(transaction.getTransactionDate());
+          String id = String.join(ID_SEPARATOR, productId, granularity.name(), periodStart.toString(),
+              transaction.getTransactionType().name());
+          increments.computeIfAbsent(id,
+                  key -> new Increment(productId, granularity, periodStart, transaction.getTransactionType()))
+              .add(transaction.amountFor(productId));
+        }
+      });
+    }
+    if (increments.isEmpty()) {
+      return Mono.empty();
+    }
+
+    ReactiveBulkOperations bulk = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+        TransactionRollup.class);
+    increments.forEach((id, increment) -> bulk.upsert(Query.query(Criteria.where("_id").is(id)),
+        new Update()
+            .inc("count", increment.count)
+            .inc("amount", new Decimal128(increment.amount()))
+            .setOnInsert("productId", increment.productId)
+            .setOnInsert("granularity", increment.granularity)
+            .setOnInsert("periodStart", increment.periodStart)
+            .setOnInsert("transactionType", increment.transactionType)));
+    return bulk.execute().then();
+  }
+
+  @Override
+  public Flux<TransactionRollupResponse> getRollups(String productId, RollupGranularity granularity,
+                                                    LocalDateTime from, LocalDateTime to) {
+    if (from == null || to == null || from.isAfter(to)) {
+      return Flux.error(new ApiValidateException("Start date must not be after end date."));
+    }
+    if (granularity != RollupGranularity.MONTH && Duration.between(from, to).toDays() >= maxDays) {
+      return Flux.error(new ApiValidateException("Date range must not exceed " + maxDays + " days."));
+    }
+    return transactionRollupRepository
+        .findByPeriodRange(productId, granularity, granularity.periodStart(from), granularity.periodStart(to))
+        .map(TransactionRollupServiceImpl::toResponse);
+  }
+
+  @Override
+  public Mono<MonthlySummaryResponse> getMonthlySummary(String productId, YearMonth month) {
+    LocalDateTime periodStart = month.atDay(1).atStartOfDay();
+    return transactionRollupRepository
+        .findByPeriodRange(productId, RollupGranularity.MONTH, periodStart, periodStart)
+        .map(TransactionRollupServiceImpl::toResponse)
+        .collectList()
+        .map(byType -> MonthlySummaryResponse.builder()
+            .productId(productId)
+            .month(month.toString())
+            .transactionCount(byType.stream().mapToLong(TransactionRollupResponse::getCount).sum())
+            .totalAmount(byType.stream().map(TransactionRollupResponse::getAmount)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add))
+            .byType(byType)
+            .build());
+  }
+
+  private static Stream<String> productIdsOf(Transaction transaction) {
+    return Stream.of(transaction.getOriginAccountId(), transaction.getDestinationAccountId(),
+            transaction.getCreditId(), transaction.getCreditCardId(), transaction.getDebitCardId())
+        .filter(Objects::nonNull)
+        .distinct();
+  }
+
+  private static TransactionRollupResponse toResponse(TransactionRollup rollup) {
+    return TransactionRollupResponse.builder()
+        .productId(rollup.getProductId())
+        .granularity(rollup.getGranularity())
+        .periodStart(rollup.getPeriodStart())
+        .transactionType(rollup.getTransactionType())
+        .count(rollup.getCount())
+        .amount(rollup.getAmount())
+        .build();
+  }
+
+  /**
+   * Incremento pendiente de un acumulado.
+   */
+  private static final class Increment {
+    private final String productId;
+    private final RollupGranularity granularity;
+    private final LocalDateTime periodStart;
+    private final TransactionType transactionType;
+    private long count;
+    private long minorUnits;
+    private int scale = -1;
+    private BigDecimal mixedAmount;
+
+    Increment(String productId, RollupGranularity granularity, LocalDateTime periodStart,
+              TransactionType transactionType) {
+      this.productId = productId;
+      this.granularity = granularity;
+      this.periodStart = periodStart;
+      this.transactionType = transactionType;
+    }
+
+    /**
+     * Suma en unidades mínimas mientras todos los importes tengan los mismos decimales; si
+     * se mezclan monedas con distintos decimales, pasa a sumar en {@link BigDecimal}.
+     */
+    void add(Money value) {
+      count++;
+      if (value == null) {
+        return;
+      }
+      if (mixedAmount == null && (scale < 0 || scale == value.getScale())) {
+        scale = value.getScale();
+        minorUnits = Math.addExact(minorUnits, value.getMinorUnits());
+      } else {
+        mixedAmount = this.amount().add(value.toBigDecimal());
+      }
+    }
+
+    BigDecimal amount() {
+      if (mixedAmount != null) {
+        return mixedAmount;
+      }
+      return scale < 0 ? BigDecimal.ZERO : BigDecimal.valueOf(minorUnits, scale);
+    }
+  }
+}
@@ -1,35 +1,37 @@
 package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
 
-import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.RecordStatus;
-import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
-import com.nttdata.bootcamp.ms.banking.transaction.dto.request.AccountRequest;
-import com.nttdata.bootcamp.ms.banking.transaction.dto.request.CreditCardRequest;
-import com.nttdata.bootcamp.ms.banking.transaction.dto.request.CreditRequest;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
-import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AccountResponse;
-import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CreditCardResponse;
-import com.nttdata.bootcamp.ms.banking.transaction.dto.response.CreditResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionBatchResult;
 import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
-import com.nttdata.bootcamp.ms.banking.transaction.entity.Account;
-import com.nttdata.bootcamp.ms.banking.transaction.entity.Credit;
-import com.nttdata.bootcamp.ms.banking.transaction.entity.CreditCard;
 import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiErrorException;
 import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
-import com.nttdata.bootcamp.ms.banking.transaction.mapper.AccountMapper;
-import com.nttdata.bootcamp.ms.banking.transaction.mapper.CreditCardMapper;
-import com.nttdata.bootcamp.ms.banking.transaction.mapper.CreditMapper;
 import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
-import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
-import com.nttdata.bootcamp.ms.banking.transaction.service.KafkaService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.AccountLaneSequencer;
+import com.nttdata.bootcamp.ms.banking.transaction.service.IdempotencyService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionPipeline;
 import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionService;
-import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
 /**
  * Implementación del servicio de transacciones.
  * Proporciona operaciones para procesar transacciones de depósitos, retiros,
@@ -40,216 +42,192 @@ import reactor.core.publisher.Mono;
  * los créditos y las tarjetas, y aplica las comisiones necesarias en base
  * a las transacciones realizadas.</p>
  *
+ * <p>La lógica de cada tipo de transacción vive en su {@code TransactionHandler}; este
+ * servicio se encarga del orden por cuenta, la idempotencia y el procesamiento por lotes,
+ * y delega las etapas en {@link TransactionPipeline}.</p>
+ *
  * @author Bruno Andre Castro Barrientos
- * @version 1.1
+ * @version 1.5
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
-  private final TransactionRepository transactionRepository;
-  private final WebClient accountWebClient;
-  private final WebClient customerWebClient;
-  private final WebClient creditWebClient;
-  private final WebClient creditCardWebClient;
-  private final AccountMapper accountMapper;
-  private final CreditMapper creditMapper;
-  private final CreditCardMapper creditCardMapper;
+  private static final int REQUEST_ID_HASH_LENGTH = 16;
+
   private final TransactionMapper transactionMapper;
-  private final KafkaService kafkaService;
+  private final ObjectMapper objectMapper;
+  private final AccountLaneSequencer accountLaneSequencer;
+  private final TransactionPipeline transactionPipeline;
+  private final Validator validator;
+  private final IdempotencyService idempotencyService;
+
+  @Value("${transaction.batch.concurrency:64}")
+  private int batchConcurrency;
+
+  @Value("${transaction.batch.chunk-size:500}")
+  private int batchChunkSize;
+
+  @Value("${transaction.batch.flush-millis:200}")
+  private long batchFlushMillis;
 
   @Override
-  @CircuitBreaker(name = "handleTransactionService", fallbackMethod = "handleTransactionFallback")
   public Mono<TransactionResponse> processTransaction(TransactionRequest request) {
-    switch (request.getTransactionType()) {
-      case DEPOSIT:
-        return handleDeposit(request);
-      case WITHDRAWAL:
-        return handleWithdrawal(request);
-      case TRANSFER:
-        return handleTransfer(request);
-      case CREDIT_PAYMENT:
-        return handleCreditPayment(request);
-      case CREDIT_CARD_PAYMENT:
-        return handleCreditCardPayment(request);
-      default:
-        return Mono.error(new ApiValidateException("Unsupported transaction type"));
+    return this.processTransaction(request, null);
+  }
+
+  /**
+   * Procesa una transacción protegida por {@code Idempotency-Key}. La clave se guarda con la
+   * huella de la petición, y ambas forman el {@code requestId} de los movimientos de saldo:
+   * un reintento tras un fallo parcial no vuelve a mover dinero en ms-account, y la misma
+   * clave con otra petición se rechaza antes de llegar a ms-account.
+   */
+  @Override
+  public Mono<TransactionResponse> processTransaction(TransactionRequest request, String idempotencyKey) {
+    if (idempotencyKey == null || idempotencyKey.isBlank()) {
+      return this.postAndSave(request, newRequestId());
     }
+    return Mono.fromCallable(() -> this.requestHash(request))
+        .flatMap(requestHash -> idempotencyService.execute(idempotencyKey, requestHash,
+            () -> this.postAndSave(request,
+                idempotencyKey + ":" + requestHash.substring(0, REQUEST_ID_HASH_LENGTH))));
   }
 
-  @CircuitBreaker(name = "handleTransactionService", fallbackMethod = "handleTransactionFallback")
-  private Mono<TransactionResponse> handleDeposit(TransactionRequest request) {
-    return this.findAccountById(request.getDestinationAccountId())
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
-        .filter(account -> !account.getStatus().equals(RecordStatus.valueOf("INACTIVE")))
-        .switchIfEmpty(Mono.error(new ApiValidateException("Account inactive.")))
-        .flatMap(account -> {
-          account.setBalance(account.getBalance().add(request.getAmount()));
-          return this.saveAccount(accountMapper.entityToRequest(account));
-        })
-        .flatMap(savedAccount -> {
-          Transaction transaction = transactionMapper.toEntity(request);
-          transaction.setTransactionType(TransactionType.DEPOSIT);
-          return transactionRepository.save(transaction)
-              .doOnSuccess(savedTransaction -> {
-                kafkaService.sendMessage("TRANSACTION: " + savedTransaction.toString());
-              });
-        })
-        .map(transactionMapper::toResponse);
+  /**
+   * SHA-256 de la petición serializada en JSON.
+   */
+  private String requestHash(TransactionRequest request) {
+    try {
+      byte[] json = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new ApiErrorException("Error hashing transaction request", e);
+    }
   }
 
-  @CircuitBreaker(name = "handleWithdrawalService", fallbackMethod = "handleWithdrawalFallback")
-  public Mono<TransactionResponse> handleWithdrawal(TransactionRequest request) {
-    return this.findAccountById(request.getOriginAccountId())
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
-        .filter(account -> !account.getStatus().equals(RecordStatus.valueOf("INACTIVE")))
-        .switchIfEmpty(Mono.error(new ApiValidateException("Account inactive.")))
-        .flatMap(account -> {
-          if (account.getBalance().compareTo(request.getAmount()) < 0) {
-            return Mono.error(new ApiValidateException("Insufficient funds"));
-          }
-          account.setBalance(account.getBalance().subtract(request.getAmount()));
-          return this.saveAccount(accountMapper.entityToRequest(account));
-        })
-        .flatMap(account -> {
-          Transaction transaction = transactionMapper.toEntity(request);
-          transaction.setTransactionType(TransactionType.WITHDRAWAL);
-          return transactionRepository.save(transaction)
-              .doOnSuccess(savedTransaction -> {
-                kafkaService.sendMessage("TRANSACTION: " + savedTransaction.toString());
-              });
-        })
+  private Mono<TransactionResponse> postAndSave(TransactionRequest request, String requestId) {
+    return accountLaneSequencer.execute(laneKeys(request),
+            () -> transactionPipeline.apply(request, requestId)
+                .flatMap(transactionPipeline::persist))
+        .flatMap(saved -> transactionPipeline.publish(List.of(saved)).thenReturn(saved))
         .map(transactionMapper::toResponse);
   }
 
-  private Mono<TransactionResponse> handleTransfer(TransactionRequest request) {
-    return  this.findAccountById(request.getOriginAccountId())
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
-        .filter(account -> !account.getStatus().equals(RecordStatus.valueOf("INACTIVE")))
-        .switchIfEmpty(Mono.error(new ApiValidateException("Account inactive.")))
-        .flatMap(originAccount -> {
-          if (originAccount.getBalance().compareTo(request.getAmount()) < 0) {
-            return Mono.error(new ApiValidateException("Insufficient funds"));
-          }
-          originAccount.setBalance(originAccount.getBalance().subtract(request.getAmount()));
-          return this.saveAccount(accountMapper.entityToRequest(originAccount));
-        })
-        .then( this.findAccountById(request.getDestinationAccountId()))
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
-        .filter(account -> !account.getStatus().equals(RecordStatus.valueOf("INACTIVE")))
-        .flatMap(destinationAccount -> {
-          destinationAccount.setBalance(destinationAccount.getBalance().add(request.getAmount()));
-          return this.saveAccount(accountMapper.entityToRequest(destinationAccount));
-        })
-        .flatMap(destinationAccount -> {
-          Transaction transaction = transactionMapper.toEntity(request);
-          transaction.setTransactionType(TransactionType.TRANSFER);
-          return transactionRepository.save(transaction)
-              .doOnSuccess(savedTransaction -> {
-                kafkaService.sendMessage("TRANSACTION: " + savedTransaction.toString());
-              });
-        })
-        .map(transactionMapper::toResponse);
+  /**
+   * Procesa un archivo NDJSON de transacciones línea por línea.
+   *
+   * <p>Cada línea se valida y se aplica sobre sus cuentas a través de las colas por cuenta,
+   * con a lo sumo {@code batchConcurrency} líneas en curso. Las transacciones aplicadas se
+   * insertan en bloques de {@code batchChunkSize} documentos y cada línea emite su propio
+   * resultado, por lo que la memoria usada no depende del tamaño del archivo.</p>
+   *
+   * <p>El {@code requestId} de cada línea es {@code batchId:línea}. Si un bloque no se puede
+   * insertar, sus líneas se guardan una por una; las que aun así no se registran indican el
+   * {@code batchId} para reenviar el archivo: los movimientos de saldo ya aplicados no se
+   * repiten y las transacciones ya registradas no se duplican.</p>
+   */
+  @Override
+  public Flux<TransactionBatchResult> processBatch(Flux<String> lines, String batchId) {
+    String fileId = batchId == null || batchId.isBlank() ? newRequestId() : batchId;
+    return lines
+        .index()
+        .filter(line -> !line.getT2().isBlank())
+        .flatMap(line -> this.postBatchLine(fileId, line.getT1() + 1, line.getT2()), batchConcurrency)
+        .bufferTimeout(batchChunkSize, Duration.ofMillis(batchFlushMillis), true)
+        .concatMap(chunk -> this.persistBatchChunk(fileId, chunk));
   }
 
-  @CircuitBreaker(name = "handleTransactionService", fallbackMethod = "handleTransactionFallback")
-  private Mono<TransactionResponse> handleCreditPayment(TransactionRequest request) {
-    return this.findCreditById(request.getCreditId())
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
-        .filter(account -> !account.getStatus().equals(RecordStatus.valueOf("INACTIVE")))
-        .switchIfEmpty(Mono.error(new ApiValidateException("Credit inactive.")))
-        .flatMap(credit -> {
-          credit.setDebt(credit.getDebt().subtract(request.getAmount()));
-          return this.saveCredit(creditMapper.entityToRequest(credit));
-        })
-        .flatMap(credit -> {
-          Transaction transaction = transactionMapper.toEntity(request);
-          transaction.setTransactionType(TransactionType.CREDIT_PAYMENT);
-          return transactionRepository.save(transaction)
-              .doOnSuccess(savedTransaction -> {
-                kafkaService.sendMessage("TRANSACTION: " + savedTransaction.toString());
-              });
-        })
-        .map(transactionMapper::toResponse);
+  private Mono<BatchLine> postBatchLine(String fileId, long lineNumber, String line) {
+    return Mono.fromCallable(() -> this.parseBatchLine(line))
+        .flatMap(request -> accountLaneSequencer.execute(laneKeys(request),
+            () -> transactionPipeline.apply(request, fileId + ":" + lineNumber)))
+        .map(transaction -> new BatchLine(lineNumber, transaction, null))
+        .onErrorResume(e -> Mono.just(new BatchLine(lineNumber, null, e.getMessage())));
   }
 
-  @CircuitBreaker(name = "handleTransactionService", fallbackMethod = "handleTransactionFallback")
-  private Mono<TransactionResponse> handleCreditCardPayment(TransactionRequest request) {
-    return this.findCreditCardById(request.getCreditCardId())
-        .switchIfEmpty(Mono.error(new ApiValidateException(ConstantUtil.NOT_FOUND_MESSAGE)))
-        .filter(account -> !account.getStatus().equals(RecordStatus.valueOf("INACTIVE")))
-        .switchIfEmpty(Mono.error(new ApiValidateException("CreditCard inactive.")))
-        .flatMap(creditCard -> {
-          creditCard.setBalance(creditCard.getBalance().subtract(request.getAmount()));
-          return this.saveCreditCard(creditCardMapper.entityToRequest(creditCard));
-        })
-        .flatMap(creditCard -> {
-          Transaction transaction = transactionMapper.toEntity(request);
-          transaction.setTransactionType(TransactionType.CREDIT_CARD_PAYMENT);
-          return transactionRepository.save(transaction)
-              .doOnSuccess(savedTransaction -> {
-                kafkaService.sendMessage("TRANSACTION: " + savedTransaction.toString());
-              });
-        })
-        .map(transactionMapper::toResponse);
+  private TransactionRequest parseBatchLine(String line) throws JsonProcessingException {
+    TransactionRequest request = objectMapper.readValue(line, TransactionRequest.class);
+    Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      throw new ApiValidateException(violations.iterator().next().getMessage());
+    }
+    return request;
   }
 
+  private Flux<TransactionBatchResult> persistBatchChunk(String fileId, List<BatchLine> chunk) {
+    List<Transaction> posted = chunk.stream()
+        .filter(line -> line.transaction() != null)
+        .map(BatchLine::transaction)
+        .toList();
+    Flux<TransactionBatchResult> rejected = Flux.fromIterable(chunk)
+        .filter(line -> line.transaction() == null)
+        .map(line -> TransactionBatchResult.rejected(line.lineNumber(), line.error()));
+    if (posted.isEmpty()) {
+      return rejected;
+    }
 
-  private Mono<Account> findAccountById(String id) {
-    return accountWebClient.get()
-        .uri("/{id}", id)
-        .retrieve()
-        .bodyToMono(AccountResponse.class)
-        .map(accountMapper::responseToEntity)
-        .switchIfEmpty(Mono.error(new ApiValidateException("Account not found")));
+    List<Long> postedLines = chunk.stream()
+        .filter(line -> line.transaction() != null)
+        .map(BatchLine::lineNumber)
+        .toList();
+    Flux<TransactionBatchResult> inserted = transactionPipeline.persistAll(posted)
+        .collectList()
+        .materialize()
+        .flatMapMany(signal -> signal.isOnError()
+            ? Flux.fromIterable(chunk)
+                .filter(line -> line.transaction() != null)
+                .concatMap(line -> this.persistBatchLine(fileId, line))
+            : this.publishQuietly(signal.get()).thenMany(Flux.fromIterable(signal.get())
+                .index()
+                .map(saved -> TransactionBatchResult.posted(postedLines.get(saved.getT1().intValue()),
+                    transactionMapper.toResponse(saved.getT2())))));
+    return rejected.concatWith(inserted);
   }
 
-  private Mono<Account> saveAccount(AccountRequest request) {
-    return accountWebClient.post()
-        .bodyValue(request)
-        .retrieve()
-        .bodyToMono(AccountResponse.class)
-        .map(accountMapper::responseToEntity)
-        .onErrorMap(WebClientResponseException.class,
-            e -> new ApiValidateException("Failed to save account: " + e.getMessage())); // Manejo de errores
+  /**
+   * Guarda una línea sola cuando su bloque no se pudo insertar, por ejemplo porque otra
+   * línea del bloque ya se registró en un envío anterior del mismo archivo.
+   */
+  private Mono<TransactionBatchResult> persistBatchLine(String fileId, BatchLine line) {
+    return transactionPipeline.persist(line.transaction())
+        .materialize()
+        .flatMap(signal -> signal.isOnError()
+            ? Mono.just(TransactionBatchResult.rejected(line.lineNumber(),
+                "Balance applied but transaction not recorded, resend the file with Batch-Id " + fileId + ": "
+                    + signal.getThrowable().getMessage()))
+            : this.publishQuietly(List.of(signal.get())).thenReturn(
+                TransactionBatchResult.posted(line.lineNumber(), transactionMapper.toResponse(signal.get()))));
   }
 
-  private Mono<Credit> findCreditById(String id) {
-    return creditWebClient.get()
-        .uri("/{id}", id)
-        .retrieve()
-        .bodyToMono(CreditResponse.class)
-        .map(creditMapper::responseToEntity)
-        .switchIfEmpty(Mono.error(new ApiValidateException("Account not found")));
+  /**
+   * Actualiza los últimos movimientos de transacciones ya guardadas. Un fallo aquí no vuelve
+   * a insertarlas ni rechaza sus líneas: solo se registra.
+   */
+  private Mono<Void> publishQuietly(List<Transaction> saved) {
+    return transactionPipeline.publish(saved)
+        .onErrorResume(e -> {
+          log.error("Recent activity not updated for {} saved transactions: {}", saved.size(), e.getMessage());
+          return Mono.empty();
+        });
   }
 
-  private Mono<Credit> saveCredit(CreditRequest request) {
-    return creditWebClient.post()
-        .bodyValue(request)
-        .retrieve()
-        .bodyToMono(CreditResponse.class)
-        .map(creditMapper::responseToEntity)
-        .onErrorMap(WebClientResponseException.class,
-            e -> new ApiValidateException("Failed to save account: " + e.getMessage())); // Manejo de errores
+  /**
+   * Claves de las colas por cuenta que toca la transacción: cuentas de origen y destino,
+   * o el crédito / la tarjeta en el caso de los pagos.
+   */
+  private static List<String> laneKeys(TransactionRequest request) {
+    return Arrays.asList(request.getOriginAccountId(), request.getDestinationAccountId(),
+        request.getCreditId(), request.getCreditCardId());
   }
 
-  private Mono<CreditCard> findCreditCardById(String id) {
-    return creditCardWebClient.get()
-        .uri("/{id}", id)
-        .retrieve()
-        .bodyToMono(CreditCardResponse.class)
-        .map(creditCardMapper::responseToEntity)
-        .switchIfEmpty(Mono.error(new ApiValidateException("Account not found")));
+  private static String newRequestId() {
+    return UUID.randomUUID().toString();
   }
 
-
-  private Mono<CreditCard> saveCreditCard(CreditCardRequest request) {
-    return creditCardWebClient.post()
-        .bodyValue(request)
-        .retrieve()
-        .bodyToMono(CreditCardResponse.class)
-        .map(creditCardMapper::responseToEntity)
-        .onErrorMap(WebClientResponseException.class,
-            e -> new ApiValidateException("Failed to save account: " + e.getMessage())); // Manejo de errores
+  /**
+   * Línea del lote ya procesada: contiene la transacción aplicada o el motivo del rechazo.
+   */
+  private record BatchLine(long lineNumber, Transaction transaction, String error) {
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,360 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.SagaStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.TransferSaga;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.BalanceRejectedException;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransferSagaRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.OutboxService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductClient;
+import com.nttdata.bootcamp.ms.banking.transaction.service.RecentActivityService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransferSagaService;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.FxRateTable;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementación de {@link TransferSagaService} sobre la colección {@code transfer_sagas}.
+ *
+ * <p>Cada movimiento de saldo usa un {@code requestId} derivado del de la transacción
+ * ({@code :debit}, {@code :credit}, {@code :debit:reversal}), así que repetir un paso
+ * nunca mueve dinero dos veces. Un rechazo de ms-account ({@link BalanceRejectedException})
+ * es definitivo; un timeout o un error de red deja la saga en su estado actual para que la
+ * retome el barrido.</p>
+ *
+ * <p>El barrido revisa cada {@code transaction.saga.sweep-interval} las sagas detenidas:</p>
+ * <ul>
+ *   <li>{@code STARTED}: no se sabe si el débito se aplicó. Se repite (sin efecto si ya se
+ *   aplicó) y se revierte.</li>
+ *   <li>{@code DEBITED}: no se sabe si el abono se aplicó, por lo que no es seguro revertir
+ *   el débito. Se repite el abono, se registra la transacción si falta y la saga termina
+ *   {@code COMPLETED}.</li>
+ *   <li>{@code COMPENSATING}: se repite la reversión.</li>
+ * </ul>
+ * <p>Cada saga se reclama con una actualización condicionada, por lo que varias instancias
+ * pueden barrer a la vez. Tras {@code transaction.saga.max-attempts} intentos la saga queda
+ * para revisión manual.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.3
+ */
+@Slf4j
+@Service
+public class TransferSagaServiceImpl implements TransferSagaService {
+
+  private static final List<SagaStatus> IN_FLIGHT =
+      List.of(SagaStatus.STARTED, SagaStatus.DEBITED, SagaStatus.COMPENSATING);
+
+  private final TransferSagaRepository transferSagaRepository;
+  private final TransactionRepository transactionRepository;
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final ProductClient productClient;
+  private final OutboxService outboxService;
+  private final RecentActivityService recentActivityService;
+  private final MeterRegistry meterRegistry;
+  private Disposable sweeper;
+
+  @Value("${transaction.saga.recovery.enabled:true}")
+  private boolean recoveryEnabled;
+
+  @Value("${transaction.saga.sweep-interval:30s}")
+  private Duration sweepInterval;
+
+  @Value("${transaction.saga.stale-after:1m}")
+  private Duration staleAfter;
+
+  @Value("${transaction.saga.batch-size:100}")
+  private int batchSize;
+
+  @Value("${transaction.saga.max-attempts:10}")
+  private int maxAttempts;
+
+  public TransferSagaServiceImpl(TransferSagaRepository transferSagaRepository,
+                                 TransactionRepository transactionRepository,
+                                 ReactiveMongoTemplate reactiveMongoTemplate,
+                                 ProductClient productClient,
+                                 OutboxService outboxService,
+                                 RecentActivityService recentActivityService,
+                                 MeterRegistry meterRegistry) {
+    this.transferSagaRepository = transferSagaRepository;
+    this.transactionRepository = transactionRepository;
+    this.reactiveMongoTemplate = reactiveMongoTemplate;
+    this.productClient = productClient;
+    this.outboxService = outboxService;
+    this.recentActivityService = recentActivityService;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!recoveryEnabled) {
+      return;
+    }
+    sweeper = Flux.interval(sweepInterval)
+        .concatMap(tick -> this.recoverOnce())
+        .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (sweeper != null) {
+      sweeper.dispose();
+    }
+  }
+
+  @Override
+  public Mono<TransferSaga> debit(TransactionRequest request, String requestId, Money amount,
+                                  FxRateTable.Conversion conversion) {
+    LocalDateTime now = LocalDateTime.now();
+    TransferSaga saga = TransferSaga.builder()
+        .id(new ObjectId().toHexString())
+        .requestId(requestId)
+        .originAccountId(request.getOriginAccountId())
+        .destinationAccountId(request.getDestinationAccountId())
+        .amount(amount)
+        .creditAmount(conversion != null ? conversion.getConverted() : amount)
+        .fxRate(conversion != null ? conversion.getRate() : null)
+        .fxRateVersion(conversion != null ? conversion.getVersion() : null)
+        .transactionDate(request.getTransactionDate() != null ? request.getTransactionDate() : now)
+        .status(SagaStatus.STARTED)
+        .createdAt(now)
+        .updatedAt(now)
+        .build();
+    return transferSagaRepository.insert(saga)
+        .flatMap(this::debitStarted)
+        .onErrorResume(DuplicateKeyException.class, e -> transferSagaRepository.findByRequestId(requestId)
+            .switchIfEmpty(Mono.error(e))
+            .flatMap(this::retryDebit));
+  }
+
+  private Mono<TransferSaga> debitStarted(TransferSaga started) {
+    return this.applyDebit(started)
+        .onErrorResume(BalanceRejectedException.class,
+            e -> this.transition(started, SagaStatus.STARTED, SagaStatus.FAILED, e.getMessage())
+                .then(Mono.error(e)))
+        .flatMap(debited -> this.transition(debited, SagaStatus.STARTED, SagaStatus.DEBITED, null));
+  }
+
+  /**
+   * Reintento de una transferencia con el mismo {@code requestId}, tras un error que no dejó
+   * resultado guardado. Los movimientos de saldo derivan del {@code requestId}, así que
+   * repetir el débito o el abono no vuelve a mover dinero. Un débito rechazado no movió nada
+   * y se vuelve a intentar; una saga revertida no se reabre.
+   */
+  private Mono<TransferSaga> retryDebit(TransferSaga saga) {
+    switch (saga.getStatus()) {
+      case FAILED:
+        return this.transition(saga, SagaStatus.FAILED, SagaStatus.STARTED, null)
+            .flatMap(this::debitStarted);
+      case STARTED:
+        return this.debitStarted(saga);
+      case DEBITED:
+      case COMPLETED:
+        return Mono.just(saga);
+      default:
+        return Mono.error(new ApiValidateException("Transfer " + saga.getRequestId() + " was reversed: "
+            + saga.getLastError()));
+    }
+  }
+
+  @Override
+  public Mono<Void> credit(TransferSaga saga) {
+    return this.applyCredit(saga)
+        .onErrorResume(BalanceRejectedException.class,
+            e -> this.transition(saga, SagaStatus.DEBITED, SagaStatus.COMPENSATING, e.getMessage())
+                .then(Mono.error(e)))
+        .then(this.transition(saga, SagaStatus.DEBITED, SagaStatus.COMPLETED, null)
+            .onErrorResume(e -> {
+              log.warn("Transfer saga {} credited but not marked completed: {}", saga.getId(), e.getMessage());
+              return Mono.empty();
+            }))
+        .then();
+  }
+
+  /**
+   * Solo revierte si el abono fue rechazado. Si la saga sigue {@code DEBITED} el resultado
+   * del abono es incierto y la termina el barrido.
+   */
+  @Override
+  public Mono<Void> compensate(TransferSaga saga) {
+    if (saga.getStatus() != SagaStatus.COMPENSATING) {
+      log.warn("Transfer saga {} left in {} for recovery", saga.getId(), saga.getStatus());
+      return Mono.empty();
+    }
+    return this.reverse(saga);
+  }
+
+  @Override
+  public Mono<Long> recoverOnce() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(staleAfter);
+    Query stale = Query.query(Criteria.where("status").in(IN_FLIGHT)
+            .and("updatedAt").lt(cutoff)
+            .and("attempts").lt(maxAttempts))
+        .with(Sort.by("updatedAt"))
+        .limit(batchSize);
+    return reactiveMongoTemplate.find(stale, TransferSaga.class)
+        .concatMap(this::claim)
+        .flatMap(saga -> this.resume(saga)
+            .doOnSuccess(this::recorded)
+            .onErrorResume(e -> {
+              log.warn("Transfer saga {} recovery failed, will retry: {}", saga.getId(), e.getMessage());
+              this.recorded("retry");
+              return Mono.empty();
+            }), 8)
+        .count()
+        .onErrorResume(e -> {
+          log.error("Error sweeping transfer sagas: " + e.getMessage());
+          return Mono.just(0L);
+        });
+  }
+
+  private Mono<String> resume(TransferSaga saga) {
+    switch (saga.getStatus()) {
+      case STARTED:
+        return this.applyDebit(saga)
+            .then(this.transition(saga, SagaStatus.STARTED, SagaStatus.COMPENSATING, "Recovered after interruption"))
+            .flatMap(this::reverse)
+            .thenReturn("compensated")
+            .onErrorResume(BalanceRejectedException.class,
+                e -> this.transition(saga, SagaStatus.STARTED, SagaStatus.FAILED, e.getMessage())
+                    .thenReturn("failed"));
+      case DEBITED:
+        return this.applyCredit(saga)
+            .then(this.recordTransaction(saga))
+            .then(this.transition(saga, SagaStatus.DEBITED, SagaStatus.COMPLETED, null))
+            .thenReturn("completed")
+            .onErrorResume(BalanceRejectedException.class,
+                e -> this.transition(saga, SagaStatus.DEBITED, SagaStatus.COMPENSATING, e.getMessage())
+                    .flatMap(this::reverse)
+                    .thenReturn("compensated"));
+      case COMPENSATING:
+        return this.reverse(saga).thenReturn("compensated");
+      default:
+        return Mono.just("skipped");
+    }
+  }
+
+  /**
+   * Reclama la saga moviendo su {@code updatedAt}; si otra instancia se adelantó no se
+   * modifica ningún documento y la saga se descarta.
+   */
+  private Mono<TransferSaga> claim(TransferSaga saga) {
+    LocalDateTime now = LocalDateTime.now();
+    Query query = Query.query(Criteria.where("_id").is(saga.getId())
+        .and("status").is(saga.getStatus())
+        .and("updatedAt").is(saga.getUpdatedAt()));
+    return reactiveMongoTemplate.updateFirst(query, new Update().set("updatedAt", now).inc("attempts", 1),
+            TransferSaga.class)
+        .filter(result -> result.getModifiedCount() == 1)
+        .map(result -> {
+          saga.setUpdatedAt(now);
+          saga.setAttempts(saga.getAttempts() + 1);
+          if (saga.getAttempts() >= maxAttempts) {
+            log.error("Transfer saga {} reached {} recovery attempts in {}", saga.getId(), maxAttempts,
+                saga.getStatus());
+          }
+          return saga;
+        });
+  }
+
+  private Mono<Void> reverse(TransferSaga saga) {
+    return productClient.applyAccountDelta(saga.getOriginAccountId(), saga.getAmount().toBigDecimal(),
+            saga.getRequestId() + ":debit:reversal")
+        .then(this.transition(saga, SagaStatus.COMPENSATING, SagaStatus.COMPENSATED, null))
+        .then();
+  }
+
+  private Mono<TransferSaga> applyDebit(TransferSaga saga) {
+    return productClient.applyAccountDelta(saga.getOriginAccountId(), saga.getAmount().negate().toBigDecimal(),
+            saga.getRequestId() + ":debit")
+        .thenReturn(saga);
+  }
+
+  private Mono<TransferSaga> applyCredit(TransferSaga saga) {
+    return productClient.applyAccountDelta(saga.getDestinationAccountId(), creditAmountOf(saga).toBigDecimal(),
+            saga.getRequestId() + ":credit")
+        .thenReturn(saga);
+  }
+
+  /**
+   * Las sagas anteriores a la conversión de monedas no guardan el importe abonado.
+   */
+  private static Money creditAmountOf(TransferSaga saga) {
+    return saga.getCreditAmount() != null ? saga.getCreditAmount() : saga.getAmount();
+  }
+
+  /**
+   * Registra la transacción de una saga retomada. La transacción usa el ID de la saga, así
+   * que si la instancia original llegó a guardarla no se duplica.
+   */
+  private Mono<Void> recordTransaction(TransferSaga saga) {
+    return transactionRepository.existsById(saga.getId())
+        .flatMap(exists -> {
+          if (exists) {
+            return Mono.empty();
+          }
+          Transaction transaction = new Transaction();
+          transaction.setId(saga.getId());
+          transaction.setTransactionType(TransactionType.TRANSFER);
+          transaction.setOriginAccountId(saga.getOriginAccountId());
+          transaction.setDestinationAccountId(saga.getDestinationAccountId());
+          transaction.setAmount(saga.getAmount());
+          if (saga.getFxRateVersion() != null) {
+            transaction.setConvertedAmount(saga.getCreditAmount());
+            transaction.setFxRate(saga.getFxRate());
+            transaction.setFxRateVersion(saga.getFxRateVersion());
+          }
+          transaction.setTransactionDate(saga.getTransactionDate());
+          transaction.setRequestId(saga.getRequestId());
+          return outboxService.saveWithEvent(transaction)
+              .flatMap(recentActivityService::record);
+        });
+  }
+
+  private Mono<TransferSaga> transition(TransferSaga saga, SagaStatus from, SagaStatus to, String error) {
+    LocalDateTime now = LocalDateTime.now();
+    Update update = new Update().set("status", to).set("updatedAt", now);
+    if (error != null) {
+      update.set("lastError", error);
+    }
+    Query query = Query.query(Criteria.where("_id").is(saga.getId()).and("status").is(from));
+    return reactiveMongoTemplate.updateFirst(query, update, TransferSaga.class)
+        .flatMap(result -> {
+          if (result.getModifiedCount() == 0) {
+            return Mono.error(new IllegalStateException("Transfer saga " + saga.getId() + " is no longer " + from));
+          }
+          saga.setStatus(to);
+          saga.setUpdatedAt(now);
+          saga.setLastError(error);
+          return Mono.just(saga);
+        });
+  }
+
+  private void recorded(String outcome) {
+    meterRegistry.counter("transaction.saga.recovered", "outcome", outcome).increment();
+  }
+}
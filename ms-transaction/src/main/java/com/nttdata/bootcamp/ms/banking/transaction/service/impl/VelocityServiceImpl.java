@@ -0,0 +1,140 @@
+package com.nttdata.bootcamp.ms.banking.transaction.service.impl;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.VelocityDecision;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.VelocityService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.VelocityStore;
+import com.nttdata.bootcamp.ms.banking.transaction.service.handler.TransactionContext;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.FxRateTable;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementación de {@link VelocityService}.
+ *
+ * <p>Se controlan los débitos de una cuenta: retiros y transferencias, contra su cuenta de
+ * origen. Una cuenta admite como máximo {@code transaction.velocity.max-debits-per-minute}
+ * débitos en el último minuto y {@code transaction.velocity.daily-limit} debitado en las
+ * últimas 24 horas, expresado en la moneda por defecto; los importes en otra moneda se
+ * convierten con la tabla de tipos de cambio en memoria. Sin un tipo de cambio vigente el
+ * débito se rechaza antes de tomar la reserva, como en la conversión de una transferencia,
+ * en lugar de contar sus unidades mínimas como si fueran de la moneda por defecto.</p>
+ *
+ * <p>Los contadores viven en el {@link VelocityStore} elegido con
+ * {@code transaction.velocity.store}: {@code memory} (por instancia, por defecto) o
+ * {@code redis} (compartido entre instancias). Cada decisión se cuenta en
+ * {@code transaction.velocity.checks} con la etiqueta {@code decision}.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Service
+@Slf4j
+public class VelocityServiceImpl implements VelocityService {
+
+  private static final Set<TransactionType> DEBITS = Set.of(TransactionType.WITHDRAWAL, TransactionType.TRANSFER);
+
+  private final VelocityStore velocityStore;
+  private final FxRateService fxRateService;
+  private final Map<VelocityDecision, Counter> counters = new EnumMap<>(VelocityDecision.class);
+  private final boolean enabled;
+  private final int maxDebitsPerMinute;
+  private final long dailyLimit;
+
+  public VelocityServiceImpl(List<VelocityStore> stores,
+                             FxRateService fxRateService,
+                             MeterRegistry meterRegistry,
+                             @Value("${transaction.velocity.enabled:true}") boolean enabled,
+                             @Value("${transaction.velocity.store:memory}") String store,
+                             @Value("${transaction.velocity.max-debits-per-minute:10}") int maxDebitsPerMinute,
+                             @Value("${transaction.velocity.daily-limit:20000}") BigDecimal dailyLimit) {
+    this.velocityStore = stores.stream()
+        .filter(candidate -> candidate.name().equals(store))
+        .findFirst()
+        .orElseThrow(() -> new IllegalStateException("Unknown velocity store: " + store));
+    this.fxRateService = fxRateService;
+    this.enabled = enabled;
+    this.maxDebitsPerMinute = maxDebitsPerMinute;
+    this.dailyLimit = Money.of(dailyLimit).getMinorUnits();
+    for (VelocityDecision decision : VelocityDecision.values()) {
+      counters.put(decision, Counter.builder("transaction.velocity.checks")
+          .description("Decisiones del control de frecuencia e importe de débitos")
+          .tag("decision", decision.name())
+          .register(meterRegistry));
+    }
+  }
+
+  @Override
+  public Mono<Void> preAuthorize(TransactionContext context) {
+    if (!enabled || !DEBITS.contains(context.getRequest().getTransactionType())) {
+      return Mono.empty();
+    }
+    return Mono.defer(() -> {
+      String accountId = context.getRequest().getOriginAccountId();
+      long amount = this.toDefaultCurrency(this.debitOf(context));
+      long now = System.currentTimeMillis();
+      return velocityStore.tryAcquire(accountId, amount, now, maxDebitsPerMinute, dailyLimit)
+          .flatMap(decision -> {
+            counters.get(decision).increment();
+            switch (decision) {
+              case ALLOWED:
+                context.setVelocityHold(new VelocityStore.Hold(accountId, amount, now));
+                return Mono.empty();
+              case TOO_MANY_DEBITS:
+                return Mono.error(new ApiValidateException("Too many withdrawals for this account, please retry later."));
+              default:
+                return Mono.error(new ApiValidateException("Daily withdrawal limit exceeded for this account."));
+            }
+          });
+    });
+  }
+
+  @Override
+  public Mono<Void> release(TransactionContext context) {
+    VelocityStore.Hold hold = context.getVelocityHold();
+    if (hold == null) {
+      return Mono.empty();
+    }
+    return velocityStore.release(hold.accountId(), hold.amount(), hold.acquiredAtMillis())
+        .doOnSuccess(ignored -> context.setVelocityHold(null))
+        .onErrorResume(e -> {
+          log.warn("Error releasing velocity hold of request " + context.getRequestId() + ": " + e.getMessage());
+          return Mono.empty();
+        });
+  }
+
+  /**
+   * Importe que sale de la cuenta de origen, en su moneda: en una transferencia es el de la
+   * solicitud; en un retiro, el ya ajustado a la cuenta.
+   */
+  private Money debitOf(TransactionContext context) {
+    return context.getRequest().getTransactionType() == TransactionType.TRANSFER
+        ? context.getAmount()
+        : context.getProductAmount();
+  }
+
+  private long toDefaultCurrency(Money amount) {
+    if (Money.DEFAULT_CURRENCY.equals(amount.getCurrency())) {
+      return amount.getMinorUnits();
+    }
+    FxRateTable.Conversion conversion = fxRateService.convert(amount, Money.DEFAULT_CURRENCY);
+    if (conversion == null) {
+      throw new ApiValidateException("No exchange rate for " + amount.getCurrency() + "/"
+          + Money.DEFAULT_CURRENCY + ", please retry later.");
+    }
+    return conversion.getConverted().getMinorUnits();
+  }
+}
@@ -0,0 +1,190 @@
+package com.nttdata.bootcamp.ms.banking.transaction.utility;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.DiscrepancyType;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.AccountSettlement;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resultado de conciliar una cuenta: su saldo en ms-account frente al que resulta de su
+ * saldo liquidado y sus transacciones.
+ *
+ * <p>{@link #join} recibe flujos ordenados por cuenta (las cuentas, sus saldos liquidados y
+ * sus movimientos) y los une en orden, agrupando las entradas consecutivas de cada cuenta.
+ * Solo se mantienen en memoria las entradas de la cuenta actual y los lotes pedidos a cada
+ * flujo, así que la memoria no depende de la cantidad de cuentas.</p>
+ *
+ * <p>Los movimientos anteriores al corte se suman al saldo liquidado; los posteriores, que
+ * ocurrieron mientras la conciliación corre, solo se suman al saldo esperado, porque ya
+ * están en el saldo que ms-account devuelve ahora.</p>
+ *
+ * <p>El saldo liquidado solo acumula transacciones. La parte del saldo que no viene de
+ * transacciones, el saldo con que se abrió la cuenta más los ajustes manuales, la guarda
+ * ms-account en {@code openingBalance} y se suma al saldo esperado al comparar. Una cuenta
+ * sin {@code openingBalance} no se puede conciliar: no se informa como diferencia, se marca
+ * como {@link #isUnbaselined() sin apertura} y su saldo liquidado se sigue guardando.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AccountLedger {
+
+  private static final Comparator<Entry> BY_ACCOUNT = Comparator.comparing(Entry::accountId);
+
+  private final String accountId;
+  private final boolean accountFound;           // La cuenta existe en ms-account
+  private final BigDecimal accountBalance;      // Saldo en ms-account
+  private final String currency;                // Moneda de la cuenta
+  private final BigDecimal accountOpening;      // Saldo de apertura y ajustes manuales en ms-account
+  private final boolean openingKnown;           // La cuenta tiene openingBalance en ms-account
+  private final AccountSettlement settlement;   // Saldo liquidado guardado, null si no hay
+  private final BigDecimal openingBalance;      // Saldo liquidado del que parte este corte
+  private final BigDecimal settledBalance;      // Saldo según las transacciones hasta el corte
+  private final BigDecimal expectedBalance;     // Apertura de la cuenta más todas las transacciones leídas
+  private final boolean movedBeforeCutoff;      // Tuvo transacciones desde el corte anterior
+  private final boolean moved;                  // Tuvo transacciones desde el corte anterior o después del corte
+
+  /**
+   * Une los flujos de entradas, cada uno ordenado por cuenta, en un resultado por cuenta.
+   *
+   * @param cutoff   Fin del período conciliado.
+   * @param prefetch Entradas pedidas a la vez a cada flujo.
+   * @param sources  Flujos de entradas ordenados por {@link Entry#accountId()}.
+   * @return Un resultado por cuenta, en orden de cuenta.
+   */
+  @SafeVarargs
+  public static Flux<AccountLedger> join(LocalDateTime cutoff, int prefetch, Publisher<Entry>... sources) {
+    return Flux.mergeComparing(prefetch, BY_ACCOUNT, sources)
+        .bufferUntilChanged(Entry::accountId)
+        .map(entries -> of(entries, cutoff));
+  }
+
+  /**
+   * Concilia las entradas de una sola cuenta.
+   */
+  public static AccountLedger of(List<Entry> entries, LocalDateTime cutoff) {
+    boolean accountFound = false;
+    BigDecimal accountBalance = null;
+    String currency = null;
+    BigDecimal accountOpening = BigDecimal.ZERO;
+    boolean openingKnown = false;
+    AccountSettlement settlement = null;
+    BigDecimal beforeCutoff = BigDecimal.ZERO;
+    BigDecimal afterCutoff = BigDecimal.ZERO;
+    boolean movedBeforeCutoff = false;
+    boolean moved = false;
+    for (Entry entry : entries) {
+      switch (entry.kind()) {
+        case ACCOUNT:
+          accountFound = true;
+          accountBalance = entry.amount();
+          currency = entry.currency();
+          openingKnown = entry.opening() != null;
+          accountOpening = openingKnown ? entry.opening() : BigDecimal.ZERO;
+          break;
+        case SETTLEMENT:
+          settlement = entry.settlement();
+          break;
+        default:
+          moved = true;
+          if (entry.date() == null || entry.date().isBefore(cutoff)) {
+            movedBeforeCutoff = true;
+            beforeCutoff = beforeCutoff.add(entry.amount());
+          } else {
+            afterCutoff = afterCutoff.add(entry.amount());
+          }
+          break;
+      }
+    }
+
+    BigDecimal openingBalance = BigDecimal.ZERO;
+    if (settlement != null) {
+      BigDecimal opening = cutoff.equals(settlement.getSettledThrough())
+          ? settlement.getPreviousBalance() : settlement.getSettledBalance();
+      openingBalance = opening != null ? opening : BigDecimal.ZERO;
+    }
+    BigDecimal settledBalance = openingBalance.add(beforeCutoff);
+    return new AccountLedger(entries.get(0).accountId(), accountFound, accountBalance, currency, accountOpening,
+        openingKnown, settlement, openingBalance, settledBalance, accountOpening.add(settledBalance).add(afterCutoff),
+        movedBeforeCutoff, moved);
+  }
+
+  /**
+   * Tipo de diferencia de la cuenta, o null si su saldo es el esperado o no se puede saber.
+   * Una cuenta que ya no existe solo es una diferencia si tiene saldo esperado o movimientos.
+   */
+  public DiscrepancyType discrepancy() {
+    if (!accountFound) {
+      return expectedBalance.signum() != 0 || moved ? DiscrepancyType.MISSING_ACCOUNT : null;
+    }
+    if (!openingKnown) {
+      return null;
+    }
+    return accountBalance.compareTo(expectedBalance) != 0 ? DiscrepancyType.BALANCE_MISMATCH : null;
+  }
+
+  /**
+   * Indica si la cuenta existe pero no tiene {@code openingBalance}, así que no se concilió.
+   */
+  public boolean isUnbaselined() {
+    return accountFound && !openingKnown;
+  }
+
+  /**
+   * Saldo liquidado a guardar para el corte. Si ya se guardó para el mismo corte, conserva
+   * el saldo anterior que se guardó entonces.
+   */
+  public AccountSettlement toSettlement(LocalDateTime cutoff) {
+    LocalDateTime previousThrough = null;
+    if (settlement != null) {
+      previousThrough = cutoff.equals(settlement.getSettledThrough())
+          ? settlement.getPreviousThrough() : settlement.getSettledThrough();
+    }
+    return AccountSettlement.builder()
+        .id(accountId)
+        .settledBalance(settledBalance)
+        .settledThrough(cutoff)
+        .previousBalance(openingBalance)
+        .previousThrough(previousThrough)
+        .updatedAt(LocalDateTime.now())
+        .build();
+  }
+
+  /**
+   * Tipos de entrada de una cuenta.
+   */
+  public enum Kind {
+    ACCOUNT,      // Cuenta de ms-account con su saldo y su apertura
+    SETTLEMENT,   // Saldo liquidado guardado
+    MOVEMENT      // Transacción: positiva si abona la cuenta, negativa si la debita
+  }
+
+  /**
+   * Dato de una cuenta leído de uno de los flujos.
+   */
+  public record Entry(String accountId, Kind kind, BigDecimal amount, BigDecimal opening, String currency,
+                      LocalDateTime date, AccountSettlement settlement) {
+
+    public static Entry account(String accountId, BigDecimal balance, BigDecimal opening, String currency) {
+      return new Entry(accountId, Kind.ACCOUNT, balance, opening, currency, null, null);
+    }
+
+    public static Entry settlement(AccountSettlement settlement) {
+      return new Entry(settlement.getId(), Kind.SETTLEMENT, null, null, null, null, settlement);
+    }
+
+    public static Entry movement(String accountId, BigDecimal amount, LocalDateTime date) {
+      return new Entry(accountId, Kind.MOVEMENT, amount, null, null, date, null);
+    }
+  }
+}
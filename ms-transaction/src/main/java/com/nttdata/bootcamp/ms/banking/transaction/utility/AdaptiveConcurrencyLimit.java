@@ -0,0 +1,87 @@
+package com.nttdata.bootcamp.ms.banking.transaction.utility;
+
+/**
+ * Límite de concurrencia adaptativo AIMD (aumento aditivo, reducción multiplicativa).
+ *
+ * <p>Cada respuesta rápida y correcta con el límite casi lleno sube el límite en
+ * {@code 1 / limit}, es decir, alrededor de una unidad por cada ventana completa de
+ * llamadas. Un error, un timeout o una respuesta más lenta que {@code latencyThresholdNanos}
+ * lo multiplica por {@code backoffRatio}. Con el límite alcanzado las nuevas llamadas se
+ * rechazan en lugar de esperar.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public class AdaptiveConcurrencyLimit {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long latencyThresholdNanos;
+  private double limit;
+  private int inFlight;
+
+  public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                  long latencyThresholdNanos) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backoffRatio = backoffRatio;
+    this.latencyThresholdNanos = latencyThresholdNanos;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  /**
+   * Reserva un lugar si hay capacidad.
+   *
+   * @return {@code true} si la llamada puede continuar.
+   */
+  public synchronized boolean tryAcquire() {
+    if (inFlight >= (int) limit) {
+      return false;
+    }
+    inFlight++;
+    return true;
+  }
+
+  /**
+   * Libera un lugar tras una respuesta correcta.
+   *
+   * @param rttNanos Duración de la llamada.
+   */
+  public synchronized void onSuccess(long rttNanos) {
+    boolean saturated = inFlight * 2 >= (int) limit;
+    inFlight--;
+    if (rttNanos > latencyThresholdNanos) {
+      this.decrease();
+    } else if (saturated) {
+      limit = Math.min(maxLimit, limit + 1.0 / limit);
+    }
+  }
+
+  /**
+   * Libera un lugar tras un error, timeout o sobrecarga del servicio.
+   */
+  public synchronized void onDropped() {
+    inFlight--;
+    this.decrease();
+  }
+
+  /**
+   * Libera un lugar sin ajustar el límite (por ejemplo, si se canceló la llamada).
+   */
+  public synchronized void onIgnored() {
+    inFlight--;
+  }
+
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  private void decrease() {
+    limit = Math.max(minLimit, limit * backoffRatio);
+  }
+}
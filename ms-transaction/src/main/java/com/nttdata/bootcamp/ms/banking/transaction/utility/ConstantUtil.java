@@ -14,4 +14,6 @@ public class ConstantUtil {
   public static final String CREATED_CODE = "201";
   public static final String ACCEPTED_CODE = "202";
   public static final String DELETED_CODE = "204";
+  public static final String TEXT_CSV_VALUE = "text/csv";
+  public static final int EXPORT_BATCH_SIZE = 500;
 }
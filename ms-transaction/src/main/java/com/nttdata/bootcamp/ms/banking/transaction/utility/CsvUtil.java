@@ -0,0 +1,59 @@
+package com.nttdata.bootcamp.ms.banking.transaction.utility;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Escritura de líneas CSV (RFC 4180) para las exportaciones de reportes.
+ *
+ * <p>Cada línea termina en CRLF. Un valor {@code null} se escribe vacío; un valor con coma,
+ * comillas o salto de línea se encierra entre comillas, duplicando las comillas internas.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CsvUtil {
+
+  private static final String LINE_END = "\r\n";
+
+  /**
+   * Escribe una línea con los valores indicados.
+   *
+   * @param values Valores de la línea, en el orden de las columnas.
+   * @return La línea, terminada en CRLF.
+   */
+  public static String line(Object... values) {
+    StringBuilder line = new StringBuilder(16 * values.length);
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        line.append(',');
+      }
+      if (values[i] != null) {
+        appendValue(line, values[i].toString());
+      }
+    }
+    return line.append(LINE_END).toString();
+  }
+
+  private static void appendValue(StringBuilder line, String value) {
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quote) {
+      line.append(value);
+      return;
+    }
+    line.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        line.append('"');
+      }
+      line.append(c);
+    }
+    line.append('"');
+  }
+}
@@ -0,0 +1,118 @@
+package com.nttdata.bootcamp.ms.banking.transaction.utility;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.FxRateEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tabla inmutable de tipos de cambio.
+ *
+ * <p>Al construirla se calculan todos los pares, ya ajustados a los decimales de cada
+ * moneda, así que convertir es una búsqueda en dos mapas y una multiplicación. Como la
+ * tabla nunca cambia, se puede leer desde cualquier hilo sin sincronizar; para actualizar
+ * los tipos se construye una tabla nueva y se reemplaza la referencia.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public final class FxRateTable {
+
+  public static final FxRateTable EMPTY = new FxRateTable(0, 0, Map.of());
+
+  private static final MathContext PRECISION = MathContext.DECIMAL64;
+
+  @Getter
+  private final long version;
+  @Getter
+  private final long publishedAt;
+  private final Map<String, Map<String, Pair>> pairs;
+
+  private FxRateTable(long version, long publishedAt, Map<String, Map<String, Pair>> pairs) {
+    this.version = version;
+    this.publishedAt = publishedAt;
+    this.pairs = pairs;
+  }
+
+  /**
+   * Construye la tabla a partir de un evento.
+   *
+   * @param event Tipos respecto de la moneda base.
+   * @return La tabla con todos los pares.
+   * @throws IllegalArgumentException si falta la moneda base o algún tipo no es positivo.
+   */
+  public static FxRateTable of(FxRateEvent event) {
+    Map<String, BigDecimal> rates = new HashMap<>();
+    if (event.getRates() != null) {
+      rates.putAll(event.getRates());
+    }
+    if (event.getBaseCurrency() == null) {
+      throw new IllegalArgumentException("Base currency is required");
+    }
+    rates.putIfAbsent(event.getBaseCurrency(), BigDecimal.ONE);
+    rates.forEach((currency, rate) -> {
+      if (rate == null || rate.signum() <= 0) {
+        throw new IllegalArgumentException("Invalid rate for " + currency);
+      }
+      Money.scaleOf(currency);
+    });
+
+    Map<String, Map<String, Pair>> pairs = new HashMap<>();
+    rates.forEach((from, fromRate) -> {
+      Map<String, Pair> targets = new HashMap<>();
+      rates.forEach((to, toRate) -> {
+        if (!from.equals(to)) {
+          BigDecimal rate = toRate.divide(fromRate, PRECISION);
+          targets.put(to, new Pair(rate, rate.scaleByPowerOfTen(Money.scaleOf(to) - Money.scaleOf(from))));
+        }
+      });
+      pairs.put(from, Map.copyOf(targets));
+    });
+    return new FxRateTable(event.getVersion(), event.getPublishedAt(), Map.copyOf(pairs));
+  }
+
+  /**
+   * Convierte un importe a otra moneda, redondeando a los decimales de la moneda destino
+   * (redondeo bancario).
+   *
+   * @param amount Importe a convertir.
+   * @param currency Moneda destino.
+   * @return El importe convertido con el tipo y la versión usados.
+   * @throws ApiValidateException si la tabla no tiene el par.
+   */
+  public Conversion convert(Money amount, String currency) {
+    Map<String, Pair> targets = pairs.get(amount.getCurrency());
+    Pair pair = targets != null ? targets.get(currency) : null;
+    if (pair == null) {
+      throw new ApiValidateException("No exchange rate for " + amount.getCurrency() + "/" + currency);
+    }
+    long minorUnits = BigDecimal.valueOf(amount.getMinorUnits())
+        .multiply(pair.factor)
+        .setScale(0, RoundingMode.HALF_EVEN)
+        .longValueExact();
+    return new Conversion(Money.ofMinor(minorUnits, currency), pair.rate, version);
+  }
+
+  /**
+   * Resultado de una conversión.
+   */
+  @Getter
+  @AllArgsConstructor
+  public static final class Conversion {
+    private final Money converted; // Importe en la moneda destino
+    private final BigDecimal rate; // Unidades de la moneda destino por unidad de la de origen
+    private final long version; // Versión de la tabla usada
+  }
+
+  /**
+   * Tipo de un par; {@code factor} ya incluye la diferencia de decimales entre las monedas.
+   */
+  private record Pair(BigDecimal rate, BigDecimal factor) {
+  }
+}
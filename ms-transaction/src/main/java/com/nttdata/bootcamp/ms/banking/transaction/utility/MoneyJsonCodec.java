@@ -0,0 +1,121 @@
+package com.nttdata.bootcamp.ms.banking.transaction.utility;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Serialización JSON de {@link Money} como {@code {"amount": 12.50, "currency": "PEN"}}.
+ *
+ * <p>El importe se escribe como número a partir de las unidades mínimas, sin pasar por
+ * {@link BigDecimal}. Al leer también se acepta un número suelto, que se interpreta en la
+ * moneda por defecto.</p>
+ *
+ * <p>Se comparte con ms-wallet-bootcoin junto con {@link Money}.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MoneyJsonCodec {
+
+  private static final String AMOUNT = "amount";
+  private static final String CURRENCY = "currency";
+
+  /**
+   * Formatea unidades mínimas como decimal plano ({@code 1250, 2 -> "12.50"}).
+   *
+   * @param minorUnits Unidades mínimas.
+   * @param scale Decimales de la moneda.
+   * @return El importe en texto.
+   */
+  public static String format(long minorUnits, int scale) {
+    String digits = Long.toString(minorUnits);
+    if (scale == 0) {
+      return digits;
+    }
+    boolean negative = minorUnits < 0;
+    String magnitude = negative ? digits.substring(1) : digits;
+    StringBuilder text = new StringBuilder(magnitude.length() + scale + 3);
+    if (negative) {
+      text.append('-');
+    }
+    if (magnitude.length() <= scale) {
+      text.append("0.");
+      text.append("0".repeat(scale - magnitude.length()));
+      text.append(magnitude);
+    } else {
+      int point = magnitude.length() - scale;
+      text.append(magnitude, 0, point).append('.').append(magnitude, point, magnitude.length());
+    }
+    return text.toString();
+  }
+
+  /**
+   * Escribe un {@link Money}.
+   */
+  public static class Serializer extends StdSerializer<Money> {
+
+    public Serializer() {
+      super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+      gen.writeStartObject();
+      gen.writeFieldName(AMOUNT);
+      gen.writeNumber(format(value.getMinorUnits(), value.getScale()));
+      gen.writeStringField(CURRENCY, value.getCurrency());
+      gen.writeEndObject();
+    }
+  }
+
+  /**
+   * Lee un {@link Money} en forma de objeto o de número.
+   */
+  public static class Deserializer extends StdDeserializer<Money> {
+
+    public Deserializer() {
+      super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      JsonToken token = p.currentToken();
+      if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+        return Money.of(p.getDecimalValue());
+      }
+      if (token == JsonToken.VALUE_STRING) {
+        return Money.of(new BigDecimal(p.getText().trim()));
+      }
+      if (token != JsonToken.START_OBJECT) {
+        return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+      }
+      BigDecimal amount = null;
+      String currency = Money.DEFAULT_CURRENCY;
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        p.nextToken();
+        if (AMOUNT.equals(field)) {
+          amount = p.currentToken() == JsonToken.VALUE_STRING
+              ? new BigDecimal(p.getText().trim())
+              : p.getDecimalValue();
+        } else if (CURRENCY.equals(field)) {
+          currency = p.getText();
+        } else {
+          p.skipChildren();
+        }
+      }
+      return Money.of(amount, currency);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.nttdata.bootcamp.ms.banking.transaction.utility;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Conversores de Spring Data MongoDB para {@link Money}.
+ *
+ * <p>Se guarda como {@code {minor: <long>, currency: "PEN"}}. Al leer se aceptan también los
+ * importes anteriores, guardados como texto o como {@link Decimal128}. El documento no dice en
+ * qué moneda estaban, así que se leen sin moneda ({@link Money#NO_CURRENCY}) y no en la moneda
+ * por defecto: suponer PEN sumaría como soles importes de cuentas en otra moneda. Quedan así
+ * hasta que se migren con su moneda real. Si tienen más decimales de los que admite
+ * {@link Money#NO_CURRENCY} se redondean con {@link RoundingMode#HALF_EVEN} y se registra un
+ * aviso, en lugar de fallar la lectura del documento.</p>
+ *
+ * <p>Se comparte con ms-wallet-bootcoin junto con {@link Money}.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.3
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MoneyMongoCodec {
+
+  private static final String MINOR = "minor";
+  private static final String CURRENCY = "currency";
+
+  /**
+   * Conversores a registrar en {@code MongoCustomConversions}.
+   *
+   * @return Lista de conversores.
+   */
+  public static List<Converter<?, ?>> converters() {
+    return List.of(new MoneyToDocument(), new DocumentToMoney(), new Decimal128ToMoney(), new StringToMoney());
+  }
+
+  /**
+   * Importe anterior sin moneda, redondeado a sus decimales si hace falta.
+   */
+  static Money legacy(BigDecimal amount) {
+    int scale = Money.scaleOf(Money.NO_CURRENCY);
+    if (amount.scale() <= scale) {
+      return Money.of(amount, Money.NO_CURRENCY);
+    }
+    BigDecimal rounded = amount.setScale(scale, RoundingMode.HALF_EVEN);
+    if (rounded.compareTo(amount) != 0) {
+      log.warn("Legacy amount " + amount.toPlainString() + " rounded to " + rounded.toPlainString());
+    }
+    return Money.of(rounded, Money.NO_CURRENCY);
+  }
+
+  @WritingConverter
+  static class MoneyToDocument implements Converter<Money, Document> {
+    @Override
+    public Document convert(Money source) {
+      return new Document(MINOR, source.getMinorUnits()).append(CURRENCY, source.getCurrency());
+    }
+  }
+
+  @ReadingConverter
+  static class DocumentToMoney implements Converter<Document, Money> {
+    @Override
+    public Money convert(Document source) {
+      Number minor = source.get(MINOR, Number.class);
+      String currency = source.getString(CURRENCY);
+      return Money.ofMinor(minor.longValue(), currency != null ? currency : Money.NO_CURRENCY);
+    }
+  }
+
+  @ReadingConverter
+  static class Decimal128ToMoney implements Converter<Decimal128, Money> {
+    @Override
+    public Money convert(Decimal128 source) {
+      return legacy(source.bigDecimalValue());
+    }
+  }
+
+  @ReadingConverter
+  static class StringToMoney implements Converter<String, Money> {
+    @Override
+    public Money convert(String source) {
+      return legacy(new BigDecimal(source));
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.nttdata.bootcamp.ms.banking.transaction.utility;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ventana deslizante de conteo y suma dividida en {@code buckets} tramos iguales.
+ *
+ * <p>Cada tramo es un objeto inmutable (periodo, conteo, suma) que se reemplaza con
+ * {@code compareAndSet}, así que sumar y leer no usan bloqueos. Al escribir en un tramo de
+ * un periodo anterior, el tramo se reinicia; una escritura para un periodo que ya salió de
+ * la ventana se descarta. La ventana cubre entre {@code span - span / buckets} y
+ * {@code span} hacia atrás.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+public final class SlidingWindow {
+
+  private final long bucketMillis;
+  private final AtomicReferenceArray<Bucket> buckets;
+
+  public SlidingWindow(int buckets, Duration span) {
+    this.bucketMillis = Math.max(1, span.toMillis() / buckets);
+    this.buckets = new AtomicReferenceArray<>(buckets);
+    for (int i = 0; i < buckets; i++) {
+      this.buckets.set(i, new Bucket(Long.MIN_VALUE, 0, 0));
+    }
+  }
+
+  /**
+   * Suma al tramo del momento indicado.
+   *
+   * @param nowMillis Momento de la operación; para deshacerla se repite el mismo momento.
+   * @param count     Incremento del conteo (negativo para deshacer).
+   * @param sum       Incremento de la suma (negativo para deshacer).
+   */
+  public void add(long nowMillis, long count, long sum) {
+    long period = nowMillis / bucketMillis;
+    int index = (int) Math.floorMod(period, (long) buckets.length());
+    while (true) {
+      Bucket current = buckets.get(index);
+      Bucket next;
+      if (current.period == period) {
+        next = new Bucket(period, current.count + count, current.sum + sum);
+      } else if (current.period < period) {
+        next = new Bucket(period, count, sum);
+      } else {
+        return;
+      }
+      if (buckets.compareAndSet(index, current, next)) {
+        return;
+      }
+    }
+  }
+
+  public long count(long nowMillis) {
+    long oldest = this.oldestPeriod(nowMillis);
+    long total = 0;
+    for (int i = 0; i < buckets.length(); i++) {
+      Bucket bucket = buckets.get(i);
+      if (bucket.period >= oldest) {
+        total += bucket.count;
+      }
+    }
+    return total;
+  }
+
+  public long sum(long nowMillis) {
+    long oldest = this.oldestPeriod(nowMillis);
+    long total = 0;
+    for (int i = 0; i < buckets.length(); i++) {
+      Bucket bucket = buckets.get(i);
+      if (bucket.period >= oldest) {
+        total += bucket.sum;
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Indica si ya no queda nada dentro de la ventana, para poder descartarla.
+   *
+   * @param nowMillis Momento actual.
+   * @return {@code true} si todos los tramos vencieron.
+   */
+  public boolean isExpired(long nowMillis) {
+    long oldest = this.oldestPeriod(nowMillis);
+    for (int i = 0; i < buckets.length(); i++) {
+      if (buckets.get(i).period >= oldest) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long oldestPeriod(long nowMillis) {
+    return nowMillis / bucketMillis - buckets.length() + 1;
+  }
+
+  private record Bucket(long period, long count, long sum) {
+  }
+}
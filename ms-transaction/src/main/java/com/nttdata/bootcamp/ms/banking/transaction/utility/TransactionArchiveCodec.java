@@ -0,0 +1,249 @@
+package com.nttdata.bootcamp.ms.banking.transaction.utility;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codificación de los bloques de transacciones de los segmentos del archivo.
+ *
+ * <p>Un bloque es el tamaño sin comprimir (4 bytes) seguido de los registros comprimidos con
+ * deflate. Cada registro lleva los campos de {@link Transaction} en orden fijo con la misma
+ * convención que {@link TransactionEventCodec}: longitud variable y 0 para null. Las fechas
+ * se guardan como segundos y nanosegundos en UTC y los importes como unidades mínimas más
+ * la moneda, así un registro leído es igual al guardado en MongoDB.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TransactionArchiveCodec {
+
+  private static final int RAW_LENGTH_BYTES = 4;
+
+  public static byte[] encodeBlock(List<Transaction> transactions) {
+    ByteArrayOutputStream raw = new ByteArrayOutputStream(transactions.size() * 96);
+    writeVarLong(raw, transactions.size());
+    for (Transaction transaction : transactions) {
+      writeString(raw, transaction.getId());
+      writeString(raw, transaction.getTransactionType() == null ? null : transaction.getTransactionType().name());
+      writeString(raw, transaction.getOriginAccountId());
+      writeString(raw, transaction.getDestinationAccountId());
+      writeString(raw, transaction.getCreditId());
+      writeString(raw, transaction.getCreditCardId());
+      writeString(raw, transaction.getDebitCardId());
+      writeMoney(raw, transaction.getAmount());
+      writeMoney(raw, transaction.getConvertedAmount());
+      writeDecimal(raw, transaction.getFxRate());
+      writeVarLong(raw, transaction.getFxRateVersion() == null ? 0 : zigzag(transaction.getFxRateVersion()) + 1);
+      writeDate(raw, transaction.getTransactionDate());
+    }
+    byte[] input = raw.toByteArray();
+
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    try {
+      deflater.setInput(input);
+      deflater.finish();
+      ByteArrayOutputStream block = new ByteArrayOutputStream(input.length / 3 + 64);
+      block.writeBytes(ByteBuffer.allocate(RAW_LENGTH_BYTES).putInt(input.length).array());
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        block.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return block.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Decodifica un bloque. {@code block} puede ser una vista de un archivo mapeado en memoria:
+   * se lee desde su posición hasta su límite sin copiarlo.
+   */
+  public static List<Transaction> decodeBlock(ByteBuffer block) {
+    ByteBuffer compressed = block.duplicate();
+    byte[] raw = new byte[compressed.getInt()];
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      int read = 0;
+      while (read < raw.length && !inflater.finished()) {
+        int inflated = inflater.inflate(raw, read, raw.length - read);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        read += inflated;
+      }
+      if (read != raw.length) {
+        throw new IllegalArgumentException("Truncated archive block");
+      }
+    } catch (DataFormatException e) {
+      throw new IllegalArgumentException("Corrupt archive block", e);
+    } finally {
+      inflater.end();
+    }
+
+    Reader in = new Reader(raw);
+    int count = (int) in.readVarLong();
+    List<Transaction> transactions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String id = in.readString();
+      String type = in.readString();
+      transactions.add(Transaction.builder()
+          .id(id)
+          .transactionType(type == null ? null : TransactionType.valueOf(type))
+          .originAccountId(in.readString())
+          .destinationAccountId(in.readString())
+          .creditId(in.readString())
+          .creditCardId(in.readString())
+          .debitCardId(in.readString())
+          .amount(in.readMoney())
+          .convertedAmount(in.readMoney())
+          .fxRate(in.readDecimal())
+          .fxRateVersion(in.readNullableLong())
+          .transactionDate(in.readDate())
+          .build());
+    }
+    return transactions;
+  }
+
+  private static void writeString(ByteArrayOutputStream out, String value) {
+    if (value == null) {
+      writeVarLong(out, 0);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(out, bytes.length + 1L);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  private static void writeMoney(ByteArrayOutputStream out, Money value) {
+    writeString(out, value == null ? null : value.getCurrency());
+    if (value != null) {
+      writeVarLong(out, zigzag(value.getMinorUnits()));
+    }
+  }
+
+  private static void writeDecimal(ByteArrayOutputStream out, BigDecimal value) {
+    if (value == null) {
+      writeVarLong(out, 0);
+      return;
+    }
+    byte[] unscaled = value.unscaledValue().toByteArray();
+    writeVarLong(out, unscaled.length + 1L);
+    out.write(unscaled, 0, unscaled.length);
+    writeVarLong(out, zigzag(value.scale()));
+  }
+
+  private static void writeDate(ByteArrayOutputStream out, LocalDateTime value) {
+    if (value == null) {
+      writeVarLong(out, 0);
+      return;
+    }
+    writeVarLong(out, zigzag(value.toEpochSecond(ZoneOffset.UTC)) + 1);
+    writeVarLong(out, value.getNano());
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unzigzag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Lector secuencial de los registros descomprimidos de un bloque.
+   */
+  private static final class Reader {
+    private final byte[] data;
+    private int position;
+
+    Reader(byte[] data) {
+      this.data = data;
+    }
+
+    long readVarLong() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        if (position >= data.length) {
+          throw new IllegalArgumentException("Truncated archive record");
+        }
+        int b = data[position++] & 0xFF;
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Malformed varint in archive record");
+    }
+
+    String readString() {
+      int length = this.readLength();
+      if (length < 0) {
+        return null;
+      }
+      String value = new String(data, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+
+    Money readMoney() {
+      String currency = this.readString();
+      return currency == null ? null : Money.ofMinor(unzigzag(this.readVarLong()), currency);
+    }
+
+    BigDecimal readDecimal() {
+      int length = this.readLength();
+      if (length < 0) {
+        return null;
+      }
+      BigInteger unscaled = new BigInteger(data, position, length);
+      position += length;
+      return new BigDecimal(unscaled, (int) unzigzag(this.readVarLong()));
+    }
+
+    Long readNullableLong() {
+      long value = this.readVarLong();
+      return value == 0 ? null : unzigzag(value - 1);
+    }
+
+    LocalDateTime readDate() {
+      long seconds = this.readVarLong();
+      if (seconds == 0) {
+        return null;
+      }
+      return LocalDateTime.ofEpochSecond(unzigzag(seconds - 1), (int) this.readVarLong(), ZoneOffset.UTC);
+    }
+
+    private int readLength() {
+      long length = this.readVarLong() - 1;
+      if (length > data.length - position) {
+        throw new IllegalArgumentException("Truncated archive record");
+      }
+      return (int) length;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiErrorException;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.AccountMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.AccountBatchLoaderImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AccountBatchLoaderTest {
+
+  private static final String ACCOUNTS = "["
+      + "{\"id\":\"a1\",\"balance\":10,\"status\":\"ACTIVE\"},"
+      + "{\"id\":\"a2\",\"balance\":20,\"status\":\"ACTIVE\"}]";
+
+  @Test
+  void concurrentLookupsShareOneCall() {
+    AtomicInteger calls = new AtomicInteger();
+    AccountBatchLoaderImpl loader = loader(calls, 100, Duration.ofMillis(50));
+
+    Flux<String> ids = Flux.range(0, 50)
+        .flatMap(i -> loader.load(i % 2 == 0 ? "a1" : "a2"))
+        .map(account -> account.getId());
+
+    StepVerifier.create(ids.count())
+        .expectNext(50L)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+    assertEquals(1, calls.get());
+    loader.stop();
+  }
+
+  @Test
+  void fullBatchIsSentWithoutWaitingForTheWindow() {
+    AtomicInteger calls = new AtomicInteger();
+    AccountBatchLoaderImpl loader = loader(calls, 10, Duration.ofSeconds(30));
+
+    StepVerifier.create(Flux.range(0, 20).flatMap(i -> loader.load("a1")).count())
+        .expectNext(20L)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+    assertEquals(2, calls.get());
+    loader.stop();
+  }
+
+  @Test
+  void missingAccountCompletesOnlyItsLookupEmpty() {
+    AccountBatchLoaderImpl loader = loader(new AtomicInteger(), 100, Duration.ofMillis(10));
+
+    Mono<String> found = loader.load("a1").map(account -> account.getId());
+    Mono<String> missing = loader.load("unknown").map(account -> account.getId());
+
+    StepVerifier.create(Mono.zip(found, missing.defaultIfEmpty("not-found")))
+        .expectNextMatches(pair -> pair.getT1().equals("a1") && pair.getT2().equals("not-found"))
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+    loader.stop();
+  }
+
+  @Test
+  void slowAccountServiceQueuesLookupsInsteadOfDroppingTheDispatcher() {
+    AccountBatchLoaderImpl loader = loader(request -> accounts().delayElement(Duration.ofMillis(100)),
+        2, Duration.ofMillis(1), 1, Duration.ofSeconds(5));
+
+    StepVerifier.create(Flux.range(0, 20).flatMap(i -> loader.load("a1")).count())
+        .expectNext(20L)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+
+    StepVerifier.create(loader.load("a2").map(account -> account.getId()))
+        .expectNext("a2")
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+    loader.stop();
+  }
+
+  @Test
+  void lookupTimesOutWhenAccountServiceDoesNotAnswer() {
+    AtomicInteger calls = new AtomicInteger();
+    AccountBatchLoaderImpl loader = loader(request -> calls.incrementAndGet() == 1 ? Mono.never() : accounts(),
+        100, Duration.ofMillis(1), 4, Duration.ofMillis(200));
+
+    StepVerifier.create(loader.load("a1"))
+        .expectError(ApiValidateException.class)
+        .verify(Duration.ofSeconds(5));
+    StepVerifier.create(loader.load("a1").map(account -> account.getId()))
+        .expectNext("a1")
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+    loader.stop();
+  }
+
+  @Test
+  void fullQueueFailsTheLookupInsteadOfWaiting() {
+    AccountBatchLoaderImpl loader = loader(request -> Mono.never(), 1, Duration.ofMillis(1), 1,
+        Duration.ofSeconds(5));
+    for (int i = 0; i < 20_000; i++) {
+      loader.load("a1").subscribe(account -> { }, e -> { });
+    }
+
+    StepVerifier.create(loader.load("a1"))
+        .expectError(ApiErrorException.class)
+        .verify(Duration.ofMillis(500));
+    loader.stop();
+  }
+
+  private static AccountBatchLoaderImpl loader(AtomicInteger calls, int maxBatchSize, Duration window) {
+    return loader(request -> {
+      calls.incrementAndGet();
+      return accounts();
+    }, maxBatchSize, window, 4, Duration.ofSeconds(5));
+  }
+
+  private static AccountBatchLoaderImpl loader(ExchangeFunction exchange, int maxBatchSize, Duration window,
+                                               int maxConcurrency, Duration timeout) {
+    WebClient webClient = WebClient.builder()
+        .baseUrl("http://ms-account/api/accounts")
+        .exchangeFunction(exchange)
+        .build();
+    return new AccountBatchLoaderImpl(webClient, new AccountMapper(), new SimpleMeterRegistry(),
+        maxBatchSize, window, maxConcurrency, timeout);
+  }
+
+  private static Mono<ClientResponse> accounts() {
+    return Mono.just(ClientResponse.create(HttpStatus.OK)
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+        .body(ACCOUNTS)
+        .build());
+  }
+}
@@ -0,0 +1,62 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.AccountLaneSequencerImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AccountLaneSequencerTest {
+
+  @Test
+  void sameAccountRunsInArrivalOrder() {
+    AccountLaneSequencerImpl sequencer = new AccountLaneSequencerImpl(new SimpleMeterRegistry(), 16, 100);
+    List<Integer> order = new CopyOnWriteArrayList<>();
+
+    Flux<Integer> results = Flux.range(0, 20)
+        .flatMap(i -> sequencer.execute(List.of("account-1"),
+            () -> Mono.delay(Duration.ofMillis(20 - i)).doOnNext(t -> order.add(i)).thenReturn(i)));
+
+    StepVerifier.create(results.collectList())
+        .expectNextCount(1)
+        .verifyComplete();
+    assertEquals(Flux.range(0, 20).collectList().block(), order);
+  }
+
+  @Test
+  void fullLaneRejectsImmediately() {
+    AccountLaneSequencerImpl sequencer = new AccountLaneSequencerImpl(new SimpleMeterRegistry(), 16, 1);
+    Sinks.Empty<Void> gate = Sinks.empty();
+
+    sequencer.execute(List.of("account-1"), gate::asMono).subscribe();
+
+    StepVerifier.create(sequencer.execute(List.of("account-1"), () -> Mono.just("second")))
+        .expectError(ApiValidateException.class)
+        .verify();
+    gate.tryEmitEmpty();
+  }
+
+  @Test
+  void transferTakesBothLanesWithoutDeadlock() {
+    AccountLaneSequencerImpl sequencer = new AccountLaneSequencerImpl(new SimpleMeterRegistry(), 16, 100);
+
+    Flux<String> results = Flux.range(0, 50)
+        .flatMap(i -> i % 2 == 0
+            ? sequencer.execute(List.of("account-a", "account-b"), () -> Mono.delay(Duration.ofMillis(1)).thenReturn("ab"))
+            : sequencer.execute(List.of("account-b", "account-a"), () -> Mono.delay(Duration.ofMillis(1)).thenReturn("ba")));
+
+    StepVerifier.create(results.count())
+        .expectNext(50L)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+  }
+}
@@ -0,0 +1,56 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.utility.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+
+  private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Test
+  void rejectsOnceTheLimitIsReached() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 0.5, THRESHOLD);
+
+    assertTrue(limit.tryAcquire());
+    assertTrue(limit.tryAcquire());
+    assertFalse(limit.tryAcquire());
+
+    limit.onIgnored();
+    assertTrue(limit.tryAcquire());
+  }
+
+  @Test
+  void failuresShrinkTheLimitDownToTheMinimum() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 2, 10, 0.5, THRESHOLD);
+
+    for (int i = 0; i < 5; i++) {
+      limit.tryAcquire();
+      limit.onDropped();
+    }
+    assertEquals(2, limit.getLimit());
+    assertEquals(0, limit.getInFlight());
+  }
+
+  @Test
+  void slowResponsesShrinkAndFastSaturatedResponsesGrow() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, 0.5, THRESHOLD);
+
+    limit.tryAcquire();
+    limit.onSuccess(THRESHOLD * 2);
+    assertEquals(2, limit.getLimit());
+
+    for (int i = 0; i < 20; i++) {
+      limit.tryAcquire();
+      limit.tryAcquire();
+      limit.onSuccess(1_000);
+      limit.onSuccess(1_000);
+    }
+    assertTrue(limit.getLimit() > 2);
+  }
+}
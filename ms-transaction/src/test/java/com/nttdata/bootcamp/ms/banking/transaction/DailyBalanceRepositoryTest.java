@@ -0,0 +1,85 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.DailyBalance;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.DailyBalanceRepositoryCustomImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Aplica cambios de saldo con el update con pipeline de
+ * {@link DailyBalanceRepositoryCustomImpl#applyChange} sobre MongoDB real, incluidos cambios
+ * que llegan fuera de orden.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class DailyBalanceRepositoryTest {
+
+  @Container
+  static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+  private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+  private static final Instant DAY_START = DAY.atStartOfDay(ZoneOffset.UTC).toInstant();
+
+  private static MongoClient client;
+  private static ReactiveMongoTemplate template;
+  private static DailyBalanceRepositoryCustomImpl repository;
+
+  @BeforeAll
+  static void setUp() {
+    client = MongoClients.create(MONGO.getConnectionString());
+    template = new ReactiveMongoTemplate(client, "daily_balance_test");
+    repository = new DailyBalanceRepositoryCustomImpl(template);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    client.close();
+  }
+
+  @Test
+  void changesInOrderAccumulateBalanceSeconds() {
+    this.change("A1", 10, "100", "150");
+    this.change("A1", 11, "150", "90");
+
+    DailyBalance balance = this.find("A1");
+    assertEquals(0, new BigDecimal("100").compareTo(balance.getOpeningBalance()));
+    assertEquals(0, new BigDecimal("90").compareTo(balance.getClosingBalance()));
+    assertEquals(0, BigDecimal.valueOf(100 * 36_000 + 150 * 3_600).compareTo(balance.getBalanceSeconds()));
+    assertEquals(DAY_START.plusSeconds(11 * 3_600), balance.getLastChangeAt().toInstant());
+  }
+
+  @Test
+  void lateChangeDoesNotMoveTheClosingBack() {
+    this.change("A2", 10, "120", "150");
+    this.change("A2", 9, "100", "120");
+    this.change("A2", 11, "150", "90");
+
+    DailyBalance balance = this.find("A2");
+    assertEquals(0, new BigDecimal("90").compareTo(balance.getClosingBalance()));
+    assertEquals(0, BigDecimal.valueOf(120 * 36_000 + 150 * 3_600).compareTo(balance.getBalanceSeconds()));
+    assertEquals(DAY_START.plusSeconds(11 * 3_600), balance.getLastChangeAt().toInstant());
+  }
+
+  private void change(String accountId, int hour, String previous, String current) {
+    repository.applyChange(accountId, DAY, DAY_START, DAY_START.plusSeconds(hour * 3_600L),
+        new BigDecimal(previous), new BigDecimal(current)).block();
+  }
+
+  private DailyBalance find(String accountId) {
+    return template.findById(DailyBalanceRepositoryCustomImpl.idOf(accountId, DAY.toString()), DailyBalance.class)
+        .block();
+  }
+}
@@ -0,0 +1,143 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AverageBalanceResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.DailyBalance;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.DailyBalanceRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.DailyBalanceServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Promedios calculados a partir de los acumulados diarios: saldo × segundos hasta el último
+ * cambio más el cierre hasta el fin del día, y días sin documento con el cierre anterior.
+ */
+public class DailyBalanceServiceTest {
+
+  private static final LocalDate DAY = LocalDate.of(2024, 1, 10);
+
+  private DailyBalanceRepository repository;
+  private DailyBalanceServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(DailyBalanceRepository.class);
+    when(repository.findFirstByAccountIdAndDayLessThanOrderByDayDesc(anyString(), anyString()))
+        .thenReturn(Mono.empty());
+    service = new DailyBalanceServiceImpl(repository);
+    ReflectionTestUtils.setField(service, "maxDays", 366);
+  }
+
+  @Test
+  void dayIsWeightedByTheTimeEachBalanceWasHeld() {
+    // 100 hasta el mediodía, 200 hasta el fin del día
+    this.days("A1", halfDay("A1", DAY, "100", "200"));
+
+    AverageBalanceResponse response = service.getAverageBalance("A1", DAY, DAY).block();
+
+    assertEquals(0, new BigDecimal("150.00").compareTo(response.getBalance()));
+    assertEquals(1, response.getDays());
+  }
+
+  @Test
+  void daysWithoutMovementsKeepThePreviousClosing() {
+    when(repository.findFirstByAccountIdAndDayLessThanOrderByDayDesc("A1", DAY.toString()))
+        .thenReturn(Mono.just(closing("A1", DAY.minusDays(5), "50")));
+    this.days("A1", halfDay("A1", DAY.plusDays(1), "100", "200"));
+
+    AverageBalanceResponse response = service.getAverageBalance("A1", DAY, DAY.plusDays(2)).block();
+
+    // 50 (cierre anterior), 150 (día con cambio) y 200 (cierre del día anterior)
+    assertEquals(0, new BigDecimal("133.33").compareTo(response.getBalance()));
+    assertEquals(3, response.getDays());
+  }
+
+  @Test
+  void daysBeforeTheFirstKnownBalanceAreNotCounted() {
+    this.days("A1", halfDay("A1", DAY.plusDays(1), "100", "200"));
+
+    AverageBalanceResponse response = service.getAverageBalance("A1", DAY, DAY.plusDays(1)).block();
+
+    assertEquals(0, new BigDecimal("150.00").compareTo(response.getBalance()));
+    assertEquals(1, response.getDays());
+  }
+
+  @Test
+  void accountWithoutBalancesHasNoAverage() {
+    this.days("A1");
+
+    AverageBalanceResponse response = service.getAverageBalance("A1", DAY, DAY).block();
+
+    assertNull(response.getBalance());
+    assertEquals(0, response.getDays());
+  }
+
+  @Test
+  void allAccountsMergeLastClosingsWithRangeBalances() {
+    when(repository.findLastClosingsBefore(DAY.toString()))
+        .thenReturn(Flux.just(closing("A1", DAY.minusDays(1), "80"), closing("A3", DAY.minusDays(3), "10")));
+    when(repository.findByDayRange(eq(DAY.toString()), eq(DAY.plusDays(1).toString()), any(Sort.class)))
+        .thenReturn(Flux.just(halfDay("A1", DAY.plusDays(1), "80", "120"),
+            halfDay("A2", DAY, "0", "40"), closing("A2", DAY.plusDays(1), "40")));
+
+    List<AverageBalanceResponse> responses = service.getAverageBalances(DAY, DAY.plusDays(1)).collectList().block();
+
+    assertEquals(List.of("A1", "A2", "A3"), responses.stream().map(AverageBalanceResponse::getAccountId).toList());
+    assertEquals(0, new BigDecimal("90.00").compareTo(responses.get(0).getBalance()));
+    assertEquals(0, new BigDecimal("30.00").compareTo(responses.get(1).getBalance()));
+    assertEquals(0, new BigDecimal("10.00").compareTo(responses.get(2).getBalance()));
+    assertEquals(2, responses.get(2).getDays());
+  }
+
+  private void days(String accountId, DailyBalance... days) {
+    when(repository.findByAccountIdAndDayRange(eq(accountId), anyString(), anyString(), any(Sort.class)))
+        .thenReturn(Flux.just(days));
+  }
+
+  /**
+   * Día cuyo saldo pasa de {@code before} a {@code after} a la mitad del día.
+   */
+  private static DailyBalance halfDay(String accountId, LocalDate day, String before, String after) {
+    ZoneId zone = ZoneId.systemDefault();
+    Duration length = Duration.between(day.atStartOfDay(zone), day.plusDays(1).atStartOfDay(zone));
+    Duration half = length.dividedBy(2);
+    return DailyBalance.builder()
+        .accountId(accountId)
+        .day(day.toString())
+        .openingBalance(new BigDecimal(before))
+        .balanceSeconds(new BigDecimal(before).multiply(BigDecimal.valueOf(half.toMillis(), 3)))
+        .closingBalance(new BigDecimal(after))
+        .lastChangeAt(Date.from(day.atStartOfDay(zone).plus(half).toInstant()))
+        .build();
+  }
+
+  private static DailyBalance closing(String accountId, LocalDate day, String balance) {
+    ZoneId zone = ZoneId.systemDefault();
+    return DailyBalance.builder()
+        .accountId(accountId)
+        .day(day.toString())
+        .openingBalance(new BigDecimal(balance))
+        .balanceSeconds(BigDecimal.ZERO)
+        .closingBalance(new BigDecimal(balance))
+        .lastChangeAt(Date.from(day.atStartOfDay(zone).toInstant()))
+        .build();
+  }
+}
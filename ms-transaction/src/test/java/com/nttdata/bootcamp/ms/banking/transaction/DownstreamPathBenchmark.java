@@ -0,0 +1,74 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la latencia de {@code GET /api/accounts/{id}} a través de ms-gateway-server y
+ * directamente contra una instancia de ms-account. El modo {@code SampleTime} muestra los
+ * percentiles p50 y p99 de cada camino.
+ *
+ * <p>Necesita los servicios levantados; no corre con {@code mvn test}. Se ejecuta con el
+ * método {@code main} desde el classpath de test, indicando con propiedades de sistema
+ * {@code bench.gateway-url} (por defecto {@code http://localhost:8090}),
+ * {@code bench.direct-url} (la instancia que Eureka devolvería para ms-account) y
+ * {@code bench.account-id}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(8)
+@Fork(1)
+public class DownstreamPathBenchmark {
+
+  @Param({"gateway", "direct"})
+  public String path;
+
+  private WebClient webClient;
+  private String accountId;
+
+  @Setup
+  public void setUp() {
+    String baseUrl = "gateway".equals(path)
+        ? System.getProperty("bench.gateway-url", "http://localhost:8090")
+        : System.getProperty("bench.direct-url");
+    if (baseUrl == null) {
+      throw new IllegalStateException("bench.direct-url is required");
+    }
+    accountId = System.getProperty("bench.account-id", "1");
+    webClient = WebClient.builder().baseUrl(baseUrl + "/api/accounts").build();
+  }
+
+  @Benchmark
+  public String getAccount() {
+    return webClient.get()
+        .uri("/{id}", accountId)
+        .retrieve()
+        .bodyToMono(String.class)
+        .block(Duration.ofSeconds(5));
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(DownstreamPathBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
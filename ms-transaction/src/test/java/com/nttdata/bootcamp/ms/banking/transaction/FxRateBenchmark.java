@@ -0,0 +1,80 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.FxRateServiceImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.FxRateTable;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mide el coste de convertir un importe con la tabla de tipos de cambio en memoria, solo y
+ * mientras otro hilo publica tablas nuevas sin parar. No corre con {@code mvn test}; se
+ * ejecuta con el método {@code main} desde el classpath de test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FxRateBenchmark {
+
+  private final AtomicLong versions = new AtomicLong(1);
+  private FxRateServiceImpl fxRateService;
+  private Money amount;
+
+  @Setup
+  public void setUp() {
+    fxRateService = new FxRateServiceImpl(new SimpleMeterRegistry(), Duration.ofDays(1));
+    fxRateService.update(FxRateServiceTest.rates(versions.get(), System.currentTimeMillis()));
+    amount = Money.of(new BigDecimal("1250.75"), "USD");
+  }
+
+  @Benchmark
+  public FxRateTable.Conversion convert() {
+    return fxRateService.convert(amount, "PEN");
+  }
+
+  @Benchmark
+  public FxRateTable.Conversion sameCurrency() {
+    return fxRateService.convert(amount, "USD");
+  }
+
+  @Benchmark
+  @Group("refreshing")
+  @GroupThreads(3)
+  public FxRateTable.Conversion convertWhileRefreshing() {
+    return fxRateService.convert(amount, "PEN");
+  }
+
+  @Benchmark
+  @Group("refreshing")
+  @GroupThreads(1)
+  public boolean refresh() {
+    return fxRateService.update(FxRateServiceTest.rates(versions.incrementAndGet(), System.currentTimeMillis()));
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(FxRateBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,73 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.FxRateEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.FxRateServiceImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.FxRateTable;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FxRateServiceTest {
+
+  private FxRateServiceImpl fxRateService;
+
+  @BeforeEach
+  void setUp() {
+    fxRateService = new FxRateServiceImpl(new SimpleMeterRegistry(), Duration.ofHours(1));
+  }
+
+  @Test
+  void convertsWithCrossRatesAndRecordsTheVersion() {
+    fxRateService.update(rates(7, System.currentTimeMillis()));
+
+    FxRateTable.Conversion toPen = fxRateService.convert(Money.of(new BigDecimal("100.00"), "USD"), "PEN");
+    assertEquals(Money.of(new BigDecimal("372.50"), "PEN"), toPen.getConverted());
+    assertEquals(7, toPen.getVersion());
+
+    FxRateTable.Conversion toJpy = fxRateService.convert(Money.of(new BigDecimal("10.00"), "PEN"), "JPY");
+    assertEquals(Money.of(new BigDecimal("403"), "JPY"), toJpy.getConverted());
+
+    assertNull(fxRateService.convert(Money.of(BigDecimal.TEN), null));
+  }
+
+  @Test
+  void olderTablesAreIgnored() {
+    assertTrue(fxRateService.update(rates(7, System.currentTimeMillis())));
+    assertFalse(fxRateService.update(rates(6, System.currentTimeMillis())));
+
+    assertEquals(7, fxRateService.current().getVersion());
+  }
+
+  @Test
+  void rejectsUnknownPairsAndOutdatedTables() {
+    Money amount = Money.of(BigDecimal.TEN, "USD");
+    assertThrows(ApiValidateException.class, () -> fxRateService.convert(amount, "PEN"));
+
+    fxRateService.update(rates(1, System.currentTimeMillis()));
+    assertThrows(ApiValidateException.class, () -> fxRateService.convert(amount, "EUR"));
+
+    fxRateService.update(rates(2, System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+    assertThrows(ApiValidateException.class, () -> fxRateService.convert(amount, "PEN"));
+  }
+
+  static FxRateEvent rates(long version, long publishedAt) {
+    return FxRateEvent.builder()
+        .version(version)
+        .baseCurrency("USD")
+        .rates(Map.of("PEN", new BigDecimal("3.725"), "JPY", new BigDecimal("150.25")))
+        .publishedAt(publishedAt)
+        .build();
+  }
+}
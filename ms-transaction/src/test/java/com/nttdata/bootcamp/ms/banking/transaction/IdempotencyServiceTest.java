@@ -0,0 +1,134 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.BalanceRejectedException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.IdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IdempotencyServiceTest {
+
+  private static final String KEY = "idempotency:transaction:k1";
+
+  private final Map<String, String> store = new ConcurrentHashMap<>();
+  private final AtomicInteger runs = new AtomicInteger();
+  private IdempotencyServiceImpl service;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    ReactiveStringRedisTemplate redis = mock(ReactiveStringRedisTemplate.class);
+    ReactiveValueOperations<String, String> values = mock(ReactiveValueOperations.class);
+    when(redis.opsForValue()).thenReturn(values);
+    when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation -> Mono.fromCallable(
+        () -> store.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null));
+    when(values.set(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation -> Mono.fromCallable(() -> {
+      store.put(invocation.getArgument(0), invocation.getArgument(1));
+      return true;
+    }));
+    when(values.get(anyString()))
+        .thenAnswer(invocation -> Mono.fromCallable(() -> store.get(invocation.<String>getArgument(0))));
+    when(redis.delete(anyString()))
+        .thenAnswer(invocation -> Mono.fromCallable(() -> store.remove(invocation.<String>getArgument(0)) != null ? 1L : 0L));
+
+    service = new IdempotencyServiceImpl(redis, new ObjectMapper().findAndRegisterModules());
+    ReflectionTestUtils.setField(service, "resultTtl", Duration.ofHours(1));
+    ReflectionTestUtils.setField(service, "pendingTtl", Duration.ofSeconds(2));
+    ReflectionTestUtils.setField(service, "pollInterval", Duration.ofMillis(20));
+  }
+
+  @Test
+  void retryWithSameRequestReturnsStoredResult() {
+    service.execute("k1", "h1", this::work).block();
+
+    StepVerifier.create(service.execute("k1", "h1", this::work).map(TransactionResponse::getId))
+        .expectNext("t1")
+        .verifyComplete();
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void sameKeyWithAnotherRequestIsRejected() {
+    service.execute("k1", "h1", this::work).block();
+
+    StepVerifier.create(service.execute("k1", "h2", this::work))
+        .expectErrorMatches(e -> e instanceof ApiValidateException && e.getMessage().contains("different request"))
+        .verify();
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void rejectedMovementIsReplayedWithoutRunningAgain() {
+    StepVerifier.create(service.execute("k1", "h1", () -> {
+          runs.incrementAndGet();
+          return Mono.error(new BalanceRejectedException("Insufficient funds"));
+        }))
+        .expectError(BalanceRejectedException.class)
+        .verify();
+
+    StepVerifier.create(service.execute("k1", "h1", this::work))
+        .expectErrorMatches(e -> e instanceof BalanceRejectedException && e.getMessage().equals("Insufficient funds"))
+        .verify();
+    assertEquals(1, runs.get());
+  }
+
+  @Test
+  void unexpectedFailureReleasesTheKey() {
+    StepVerifier.create(service.execute("k1", "h1", () -> Mono.error(new IllegalStateException("timeout"))))
+        .expectError(IllegalStateException.class)
+        .verify();
+
+    StepVerifier.create(service.execute("k1", "h1", this::work).map(TransactionResponse::getId))
+        .expectNext("t1")
+        .verifyComplete();
+  }
+
+  @Test
+  void waiterTakesOverWhenTheOriginalFailsOnAnotherInstance() {
+    store.put(KEY, "{\"status\":\"PENDING\",\"requestHash\":\"h1\"}");
+    Mono.delay(Duration.ofMillis(100)).subscribe(tick -> store.remove(KEY));
+
+    StepVerifier.create(service.execute("k1", "h1", this::work).map(TransactionResponse::getId))
+        .expectNext("t1")
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+    assertEquals(1, runs.get());
+    assertTrue(store.get(KEY).contains("COMPLETED"));
+  }
+
+  @Test
+  void legacyResultIsStillReturned() {
+    store.put(KEY, "{\"id\":\"legacy\"}");
+
+    StepVerifier.create(service.execute("k1", "h1", this::work).map(TransactionResponse::getId))
+        .expectNext("legacy")
+        .verifyComplete();
+    assertEquals(0, runs.get());
+  }
+
+  private Mono<TransactionResponse> work() {
+    return Mono.fromCallable(() -> {
+      runs.incrementAndGet();
+      return TransactionResponse.builder().id("t1").build();
+    });
+  }
+}
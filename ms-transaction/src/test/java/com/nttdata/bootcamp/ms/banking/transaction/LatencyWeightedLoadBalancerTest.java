@@ -0,0 +1,90 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.config.LatencyWeightedLoadBalancer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class LatencyWeightedLoadBalancerTest {
+
+  private static final ServiceInstance FAST = instance("fast");
+  private static final ServiceInstance SLOW = instance("slow");
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void fasterInstanceReceivesMostCalls() {
+    LatencyWeightedLoadBalancer balancer = new LatencyWeightedLoadBalancer("ms-account",
+        mock(ObjectProvider.class), TimeUnit.SECONDS.toNanos(2));
+    balancer.record(FAST, TimeUnit.MILLISECONDS.toNanos(5));
+    balancer.record(SLOW, TimeUnit.MILLISECONDS.toNanos(200));
+    List<ServiceInstance> instances = List.of(FAST, SLOW);
+
+    int fast = 0;
+    for (int i = 0; i < 100; i++) {
+      if (balancer.select(instances) == FAST) {
+        fast++;
+      }
+    }
+    assertEquals(100, fast);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void everyInstanceIsCandidate() {
+    LatencyWeightedLoadBalancer balancer = new LatencyWeightedLoadBalancer("ms-account",
+        mock(ObjectProvider.class), TimeUnit.SECONDS.toNanos(2));
+    List<ServiceInstance> instances = List.of(instance("a"), instance("b"), instance("c"));
+
+    boolean sawLast = false;
+    for (int i = 0; i < 200 && !sawLast; i++) {
+      sawLast = balancer.select(instances) == instances.get(2);
+    }
+    assertTrue(sawLast);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void coldInstanceWithCallsInFlightIsNotFlooded() {
+    LatencyWeightedLoadBalancer balancer = new LatencyWeightedLoadBalancer("ms-account",
+        mock(ObjectProvider.class), TimeUnit.SECONDS.toNanos(2));
+    ServiceInstance cold = instance("cold");
+    balancer.record(FAST, TimeUnit.MILLISECONDS.toNanos(10));
+    for (int i = 0; i < 2; i++) {
+      balancer.onStartRequest(new DefaultRequest<>(new Object()), new DefaultResponse(cold));
+    }
+    List<ServiceInstance> instances = List.of(FAST, cold);
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(FAST, balancer.select(instances));
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void idleColdInstanceReceivesTraffic() {
+    LatencyWeightedLoadBalancer balancer = new LatencyWeightedLoadBalancer("ms-account",
+        mock(ObjectProvider.class), TimeUnit.SECONDS.toNanos(2));
+    ServiceInstance cold = instance("cold");
+    balancer.record(FAST, TimeUnit.MILLISECONDS.toNanos(10));
+    balancer.onStartRequest(new DefaultRequest<>(new Object()), new DefaultResponse(FAST));
+    List<ServiceInstance> instances = List.of(FAST, cold);
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(cold, balancer.select(instances));
+    }
+  }
+
+  private static ServiceInstance instance(String id) {
+    return new DefaultServiceInstance(id, "ms-account", id + ".local", 8080, false);
+  }
+}
@@ -0,0 +1,104 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara {@link BigDecimal} con {@link Money} en las operaciones del camino de una
+ * transacción: validar fondos, debitar, sumar un lote y serializar el importe. No corre con
+ * {@code mvn test}; se ejecuta con el método {@code main} desde el classpath de test
+ * (conviene añadir {@code -prof gc} para ver las asignaciones).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+  private static final int BATCH = 1_000;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private BigDecimal decimalBalance;
+  private BigDecimal decimalAmount;
+  private BigDecimal[] decimalBatch;
+  private Money moneyBalance;
+  private Money moneyAmount;
+  private Money[] moneyBatch;
+
+  @Setup
+  public void setUp() {
+    decimalBalance = new BigDecimal("15230.45");
+    decimalAmount = new BigDecimal("1250.75");
+    moneyBalance = Money.of(decimalBalance);
+    moneyAmount = Money.of(decimalAmount);
+    decimalBatch = new BigDecimal[BATCH];
+    moneyBatch = new Money[BATCH];
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < BATCH; i++) {
+      decimalBatch[i] = BigDecimal.valueOf(random.nextLong(1, 1_000_000), 2);
+      moneyBatch[i] = Money.of(decimalBatch[i]);
+    }
+  }
+
+  @Benchmark
+  public BigDecimal debitBigDecimal() {
+    return decimalBalance.compareTo(decimalAmount) < 0 ? decimalBalance : decimalBalance.subtract(decimalAmount);
+  }
+
+  @Benchmark
+  public Money debitMoney() {
+    return moneyBalance.isLessThan(moneyAmount) ? moneyBalance : moneyBalance.minus(moneyAmount);
+  }
+
+  @Benchmark
+  public BigDecimal sumBigDecimal() {
+    BigDecimal total = BigDecimal.ZERO;
+    for (BigDecimal value : decimalBatch) {
+      total = total.add(value);
+    }
+    return total;
+  }
+
+  @Benchmark
+  public Money sumMoney() {
+    Money total = Money.zero(Money.DEFAULT_CURRENCY);
+    for (Money value : moneyBatch) {
+      total = total.plus(value);
+    }
+    return total;
+  }
+
+  @Benchmark
+  public String serializeBigDecimal() throws Exception {
+    return objectMapper.writeValueAsString(decimalAmount);
+  }
+
+  @Benchmark
+  public String serializeMoney() throws Exception {
+    return objectMapper.writeValueAsString(moneyAmount);
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(MoneyBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
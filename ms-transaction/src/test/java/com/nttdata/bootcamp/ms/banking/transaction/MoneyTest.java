@@ -0,0 +1,87 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.MoneyMongoCodec;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MoneyTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void keepsMinorUnitsExactly() {
+    Money amount = Money.of(new BigDecimal("1250.7"));
+
+    assertEquals(125070, amount.getMinorUnits());
+    assertEquals(new BigDecimal("1250.70"), amount.toBigDecimal());
+    assertEquals(Money.ofMinor(-5, "PEN"), Money.of(new BigDecimal("0.05")).negate());
+    assertEquals("-0.05 PEN", Money.ofMinor(-5, "PEN").toString());
+    assertEquals("1000 JPY", Money.of(new BigDecimal("1000"), "JPY").toString());
+  }
+
+  @Test
+  void rejectsAmountsTheCurrencyCannotHold() {
+    assertThrows(ApiValidateException.class, () -> Money.of(new BigDecimal("10.005")));
+    assertThrows(ApiValidateException.class, () -> Money.of(BigDecimal.TEN, "XXX1"));
+    assertThrows(ApiValidateException.class, () -> Money.of(BigDecimal.TEN).plus(Money.of(BigDecimal.TEN, "USD")));
+    assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE, "PEN").plus(Money.ofMinor(1, "PEN")));
+  }
+
+  @Test
+  void jsonRoundTrip() throws Exception {
+    Money amount = Money.of(new BigDecimal("-1250.75"));
+
+    String json = objectMapper.writeValueAsString(amount);
+
+    assertEquals("{\"amount\":-1250.75,\"currency\":\"PEN\"}", json);
+    assertEquals(amount, objectMapper.readValue(json, Money.class));
+    assertEquals(Money.of(new BigDecimal("3.5")), objectMapper.readValue("3.50", Money.class));
+  }
+
+  @Test
+  void mongoReadsNewAndLegacyFormats() {
+    MongoCustomConversions conversions = new MongoCustomConversions(MoneyMongoCodec.converters());
+    GenericConversionService conversionService = new GenericConversionService();
+    conversions.registerConvertersIn(conversionService);
+    Money amount = Money.of(new BigDecimal("12.34"));
+
+    Document document = conversionService.convert(amount, Document.class);
+
+    assertTrue(conversions.hasCustomWriteTarget(Money.class));
+    assertEquals(1234L, document.get("minor"));
+    assertEquals(amount, conversionService.convert(document, Money.class));
+    Money legacy = Money.of(new BigDecimal("12.34"), Money.NO_CURRENCY);
+    assertEquals(legacy, conversionService.convert(new Decimal128(new BigDecimal("12.34")), Money.class));
+    assertEquals(legacy, conversionService.convert("12.34", Money.class));
+    assertEquals(Money.ofMinor(1234, Money.NO_CURRENCY), conversionService.convert(new Document("minor", 1234L),
+        Money.class));
+    assertThrows(ApiValidateException.class, () -> legacy.plus(amount));
+  }
+
+  @Test
+  void mongoKeepsLegacyDecimalsAndRoundsOnlyBeyondFour() {
+    MongoCustomConversions conversions = new MongoCustomConversions(MoneyMongoCodec.converters());
+    GenericConversionService conversionService = new GenericConversionService();
+    conversions.registerConvertersIn(conversionService);
+
+    assertEquals(Money.of(new BigDecimal("10.005"), Money.NO_CURRENCY),
+        conversionService.convert(new Decimal128(new BigDecimal("10.005")), Money.class));
+    assertEquals(Money.of(new BigDecimal("10.0002"), Money.NO_CURRENCY),
+        conversionService.convert(new Decimal128(new BigDecimal("10.00015")), Money.class));
+    assertEquals(Money.of(new BigDecimal("-3.3333"), Money.NO_CURRENCY),
+        conversionService.convert("-3.33333", Money.class));
+    assertEquals(Money.of(new BigDecimal("7.1"), Money.NO_CURRENCY), conversionService.convert("7.1000", Money.class));
+  }
+}
@@ -0,0 +1,109 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.OutboxStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.OutboxEventRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.OutboxRelayServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lease de publicación del outbox sobre MongoDB real: solo publica la instancia que lo
+ * tiene vigente y otra lo toma cuando vence.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class OutboxLeaseTest {
+
+  @Container
+  static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+  private static MongoClient client;
+  private static ReactiveMongoTemplate template;
+
+  @BeforeAll
+  static void setUp() {
+    client = MongoClients.create(MONGO.getConnectionString());
+    template = new ReactiveMongoTemplate(client, "outbox_lease_test");
+  }
+
+  @AfterAll
+  static void tearDown() {
+    client.close();
+  }
+
+  @BeforeEach
+  void dropLease() {
+    template.dropCollection("transaction_outbox_lease").block();
+  }
+
+  @Test
+  void onlyTheLeaseHolderDrains() {
+    OutboxEventRepository firstOutbox = outbox();
+    OutboxEventRepository secondOutbox = outbox();
+    OutboxRelayServiceImpl first = relay(firstOutbox, Duration.ofMinutes(1));
+    OutboxRelayServiceImpl second = relay(secondOutbox, Duration.ofMinutes(1));
+
+    first.drainIfLeader().block();
+    second.drainIfLeader().block();
+    first.drainIfLeader().block();
+
+    verify(firstOutbox, times(2)).findByStatusOrderByCreatedAtAscIdAsc(eq(OutboxStatus.PENDING), any(Pageable.class));
+    verify(secondOutbox, never()).findByStatusOrderByCreatedAtAscIdAsc(eq(OutboxStatus.PENDING), any(Pageable.class));
+  }
+
+  @Test
+  void expiredLeaseIsTakenOver() throws InterruptedException {
+    OutboxEventRepository firstOutbox = outbox();
+    OutboxEventRepository secondOutbox = outbox();
+    OutboxRelayServiceImpl first = relay(firstOutbox, Duration.ofMillis(100));
+    OutboxRelayServiceImpl second = relay(secondOutbox, Duration.ofMinutes(1));
+
+    first.drainIfLeader().block();
+    Thread.sleep(200);
+    second.drainIfLeader().block();
+    first.drainIfLeader().block();
+
+    verify(firstOutbox, times(1)).findByStatusOrderByCreatedAtAscIdAsc(eq(OutboxStatus.PENDING), any(Pageable.class));
+    verify(secondOutbox, times(1)).findByStatusOrderByCreatedAtAscIdAsc(eq(OutboxStatus.PENDING), any(Pageable.class));
+  }
+
+  private static OutboxEventRepository outbox() {
+    OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    when(repository.findByStatusOrderByCreatedAtAscIdAsc(eq(OutboxStatus.PENDING), any(Pageable.class)))
+        .thenReturn(Flux.empty());
+    when(repository.findFirstByStatusOrderByCreatedAtAsc(OutboxStatus.PENDING)).thenReturn(Mono.empty());
+    return repository;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static OutboxRelayServiceImpl relay(OutboxEventRepository repository, Duration lease) {
+    OutboxRelayServiceImpl relay = new OutboxRelayServiceImpl(repository, template, mock(KafkaSender.class),
+        new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(relay, "batchSize", 500);
+    ReflectionTestUtils.setField(relay, "leaseDuration", lease);
+    return relay;
+  }
+}
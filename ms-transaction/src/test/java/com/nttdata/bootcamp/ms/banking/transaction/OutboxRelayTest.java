@@ -0,0 +1,141 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.mongodb.client.result.UpdateResult;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.OutboxStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.OutboxEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.OutboxEventRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.OutboxRelayServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.KafkaException;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Publicación de un lote del outbox con un productor simulado: solo se marcan como enviados
+ * los eventos de cada clave hasta su primer fallo, y el que agota sus intentos pasa a FAILED.
+ */
+public class OutboxRelayTest {
+
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+  private KafkaSender<String, byte[]> kafkaSender;
+  private OutboxEventRepository outboxEventRepository;
+  private final Map<String, List<Object>> updates = new ConcurrentHashMap<>();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private OutboxRelayServiceImpl relay;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    kafkaSender = mock(KafkaSender.class);
+    outboxEventRepository = mock(OutboxEventRepository.class);
+    when(outboxEventRepository.findFirstByStatusOrderByCreatedAtAsc(OutboxStatus.PENDING)).thenReturn(Mono.empty());
+    ReactiveMongoTemplate template = mock(ReactiveMongoTemplate.class);
+    when(template.updateMulti(any(Query.class), any(Update.class), eq(OutboxEvent.class))).thenAnswer(invocation -> {
+      Document in = invocation.<Query>getArgument(0).getQueryObject().get("_id", Document.class);
+      Document update = invocation.<Update>getArgument(1).getUpdateObject();
+      String outcome = update.containsKey("$inc")
+          ? update.get("$set", new Document()).containsKey("status") ? "dead" : "failed"
+          : "sent";
+      updates.put(outcome, new ArrayList<>(in.getList("$in", Object.class)));
+      return Mono.just(UpdateResult.acknowledged(1, 1L, null));
+    });
+    relay = new OutboxRelayServiceImpl(outboxEventRepository, template, kafkaSender, meterRegistry);
+    ReflectionTestUtils.setField(relay, "topicName", "transaction-events");
+    ReflectionTestUtils.setField(relay, "batchSize", 500);
+    ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+  }
+
+  @Test
+  void allConfirmedEventsAreMarkedSent() {
+    this.pending(event("e1", "A"), event("e2", "B"), event("e3", "A"));
+    this.kafkaConfirms(Flux.just(result("e1"), result("e2"), result("e3")));
+
+    StepVerifier.create(relay.drainOnce())
+        .expectNext(3)
+        .verifyComplete();
+    assertEquals(List.of("e1", "e2", "e3"), updates.get("sent"));
+  }
+
+  @Test
+  void failureStopsOnlyTheLaterEventsOfItsKey() {
+    this.pending(event("e1", "A"), event("e2", "B"), event("e3", "A"), event("e4", "B"), event("e5", "C"));
+    this.kafkaConfirms(Flux.just(result("e2"), result("e3"), result("e4"))
+        .concatWith(Flux.error(new KafkaException("e1 rejected"))));
+
+    StepVerifier.create(relay.drainOnce())
+        .expectNext(2)
+        .verifyComplete();
+    assertEquals(List.of("e2", "e4"), updates.get("sent"));
+    assertEquals(List.of("e1", "e5"), updates.get("failed"));
+  }
+
+  @Test
+  void eventOutOfAttemptsIsMovedToFailedAndCounted() {
+    OutboxEvent poison = event("e1", "A");
+    poison.setAttempts(2);
+    this.pending(poison, event("e2", "A"), event("e3", "B"));
+    this.kafkaConfirms(Flux.just(result("e3")).concatWith(Flux.error(new KafkaException("e1 rejected"))));
+
+    StepVerifier.create(relay.drainOnce())
+        .expectNext(1)
+        .verifyComplete();
+    assertEquals(List.of("e3"), updates.get("sent"));
+    assertEquals(List.of("e2"), updates.get("failed"));
+    assertEquals(List.of("e1"), updates.get("dead"));
+    assertEquals(1.0, meterRegistry.counter("transaction.outbox.dead.lettered").count());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void pending(OutboxEvent... events) {
+    when(outboxEventRepository.findByStatusOrderByCreatedAtAscIdAsc(eq(OutboxStatus.PENDING), any(Pageable.class)))
+        .thenReturn(Flux.just(events));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void kafkaConfirms(Flux<SenderResult<String>> results) {
+    when(kafkaSender.send(any(Publisher.class))).thenAnswer(invocation ->
+        Flux.from(invocation.<Publisher<?>>getArgument(0)).thenMany(results));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static SenderResult<String> result(String id) {
+    SenderResult<String> result = mock(SenderResult.class);
+    when(result.correlationMetadata()).thenReturn(id);
+    return result;
+  }
+
+  private static OutboxEvent event(String id, String aggregateId) {
+    return OutboxEvent.builder()
+        .id(id)
+        .aggregateId(aggregateId)
+        .payload(new byte[0])
+        .status(OutboxStatus.PENDING)
+        .createdAt(CREATED_AT)
+        .build();
+  }
+}
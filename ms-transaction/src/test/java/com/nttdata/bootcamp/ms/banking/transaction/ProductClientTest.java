@@ -0,0 +1,72 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.BalanceRejectedException;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.AccountMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.CreditCardMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.CreditMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.service.AccountBatchLoader;
+import com.nttdata.bootcamp.ms.banking.transaction.service.DailyBalanceService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductStateCache;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.ProductClientImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Solo un rechazo explícito de ms-account es definitivo; un resultado incierto no debe llegar a
+ * la saga como rechazo, porque la compensaría aunque el movimiento se hubiera aplicado.
+ */
+public class ProductClientTest {
+
+  @Test
+  void rejectionWithMessageIsDefinitive() {
+    ProductClientImpl client = client(HttpStatus.OK, "{\"code\":\"400\",\"message\":\"Insufficient funds\"}");
+
+    StepVerifier.create(client.applyAccountDelta("A1", new BigDecimal("-10"), "saga-1:debit"))
+        .expectErrorMatches(e -> e instanceof BalanceRejectedException
+            && e.getMessage().equals("Insufficient funds"))
+        .verify();
+  }
+
+  @Test
+  void unknownOutcomeIsNotARejection() {
+    ProductClientImpl client = client(HttpStatus.SERVICE_UNAVAILABLE,
+        "{\"code\":\"503\",\"message\":\"Ocurrió un error al procesar la operación.\"}");
+
+    StepVerifier.create(client.applyAccountDelta("A1", new BigDecimal("-10"), "saga-1:debit"))
+        .expectErrorMatches(e -> !(e instanceof BalanceRejectedException))
+        .verify();
+  }
+
+  @Test
+  void bodyWithoutMessageIsNotARejection() {
+    ProductClientImpl client = client(HttpStatus.OK, "{\"code\":\"400\"}");
+
+    StepVerifier.create(client.applyAccountDelta("A1", new BigDecimal("-10"), "saga-1:debit"))
+        .expectErrorMatches(e -> !(e instanceof BalanceRejectedException))
+        .verify();
+  }
+
+  private static ProductClientImpl client(HttpStatus status, String body) {
+    WebClient accountWebClient = WebClient.builder()
+        .baseUrl("http://ms-account/api/accounts")
+        .exchangeFunction(request -> Mono.just(ClientResponse.create(status)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body)
+            .build()))
+        .build();
+    return new ProductClientImpl(accountWebClient, mock(WebClient.class), mock(WebClient.class),
+        new AccountMapper(), mock(CreditMapper.class), mock(CreditCardMapper.class), new ObjectMapper(),
+        mock(AccountBatchLoader.class), mock(ProductStateCache.class), mock(DailyBalanceService.class));
+  }
+}
@@ -0,0 +1,92 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Account;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.ProductStateCacheImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProductStateCacheTest {
+
+  private ReactiveStringRedisTemplate redis;
+  private ReactiveValueOperations<String, String> values;
+  private ProductStateCacheImpl cache;
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    redis = mock(ReactiveStringRedisTemplate.class);
+    values = mock(ReactiveValueOperations.class);
+    when(redis.opsForValue()).thenReturn(values);
+    when(values.get(anyString())).thenReturn(Mono.empty());
+    when(values.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+    when(redis.delete(anyString())).thenReturn(Mono.just(1L));
+    cache = new ProductStateCacheImpl(redis, new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(),
+        Duration.ofMinutes(1), 100, Duration.ofMinutes(5));
+  }
+
+  @Test
+  void secondReadIsServedLocally() {
+    StepVerifier.create(cache.get("a1", Account.class, this::loadAccount)
+            .then(cache.get("a1", Account.class, this::loadAccount)))
+        .expectNextMatches(account -> account.getBalance().compareTo(BigDecimal.TEN) == 0)
+        .verifyComplete();
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void invalidationForcesReload() {
+    StepVerifier.create(cache.get("a1", Account.class, this::loadAccount)
+            .then(cache.invalidate("a1", System.currentTimeMillis()))
+            .then(cache.get("a1", Account.class, this::loadAccount)))
+        .expectNextCount(1)
+        .verifyComplete();
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void readersGetIndependentCopies() {
+    Account first = cache.get("a1", Account.class, this::loadAccount).block();
+    first.setBalance(BigDecimal.ZERO);
+
+    StepVerifier.create(cache.get("a1", Account.class, this::loadAccount))
+        .expectNextMatches(account -> account.getBalance().compareTo(BigDecimal.TEN) == 0)
+        .verifyComplete();
+  }
+
+  @Test
+  void redisFailureFallsBackToLoader() {
+    when(values.get(anyString())).thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+    StepVerifier.create(cache.get("a1", Account.class, this::loadAccount))
+        .expectNextCount(1)
+        .verifyComplete();
+    assertEquals(1, loads.get());
+  }
+
+  private Mono<Account> loadAccount() {
+    return Mono.fromCallable(() -> {
+      loads.incrementAndGet();
+      Account account = new Account();
+      account.setId("a1");
+      account.setBalance(BigDecimal.TEN);
+      return account;
+    });
+  }
+}
@@ -0,0 +1,132 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.RecentActivityServiceImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Últimos movimientos sobre Redis real: transacciones registradas mientras se construye el
+ * set o que llegan fuera de orden.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class RecentActivityServiceTest {
+
+  @Container
+  static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7.2").withExposedPorts(6379);
+
+  private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 1, 10, 0);
+  private static final String KEY = "recent:transaction:A1";
+
+  private static LettuceConnectionFactory connectionFactory;
+  private static ReactiveStringRedisTemplate redis;
+
+  private TransactionRepository transactionRepository;
+  private RecentActivityServiceImpl service;
+
+  @BeforeAll
+  static void setUp() {
+    connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+    connectionFactory.afterPropertiesSet();
+    connectionFactory.start();
+    redis = new ReactiveStringRedisTemplate(connectionFactory);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    connectionFactory.destroy();
+  }
+
+  @BeforeEach
+  void createService() {
+    redis.delete(KEY).block();
+    transactionRepository = mock(TransactionRepository.class);
+    service = new RecentActivityServiceImpl(redis, transactionRepository, new TransactionMapper(),
+        new ObjectMapper().findAndRegisterModules());
+    ReflectionTestUtils.setField(service, "capacity", 3);
+    ReflectionTestUtils.setField(service, "ttl", Duration.ofHours(1));
+    ReflectionTestUtils.setField(service, "maxLimit", 100);
+  }
+
+  @Test
+  void transactionRecordedWhileSeedingIsKept() {
+    this.history(Flux.defer(() -> service.record(deposit("t4", 4))
+        .thenMany(Flux.just(deposit("t3", 3), deposit("t2", 2), deposit("t1", 1)))));
+
+    assertEquals(List.of("t3", "t2", "t1"), this.recent(3));
+    assertEquals(List.of("t4", "t3", "t2"), this.recent(3));
+    verify(transactionRepository, times(1)).findHistory(eq("A1"), isNull(), isNull(), anyInt());
+  }
+
+  @Test
+  void transactionsRecordedOutOfOrderAreSortedByDate() {
+    this.history(Flux.just(deposit("t3", 3), deposit("t2", 2), deposit("t1", 1)));
+    this.recent(3);
+
+    service.record(deposit("t6", 6)).block();
+    service.record(deposit("t5", 5)).block();
+
+    assertEquals(List.of("t6", "t5", "t3"), this.recent(3));
+    assertEquals(3L, redis.opsForZSet().size(KEY).block());
+  }
+
+  @Test
+  void unfinishedSeedIsRebuilt() {
+    redis.opsForZSet().add(KEY, "!seeding", -1).block();
+    this.history(Flux.just(deposit("t2", 2), deposit("t1", 1)));
+
+    assertEquals(List.of("t2", "t1"), this.recent(3));
+    assertFalse(redis.opsForZSet().reverseRange(KEY, Range.unbounded()).collectList().block().contains("!seeding"));
+    assertEquals(List.of("t2", "t1"), this.recent(3));
+    verify(transactionRepository, times(1)).findHistory(eq("A1"), isNull(), isNull(), anyInt());
+  }
+
+  private void history(Flux<Transaction> transactions) {
+    when(transactionRepository.findHistory(eq("A1"), isNull(), isNull(), anyInt())).thenReturn(transactions);
+  }
+
+  private List<String> recent(int limit) {
+    return service.getRecent("A1", limit).map(TransactionResponse::getId).collectList().block();
+  }
+
+  private static Transaction deposit(String id, int minute) {
+    return Transaction.builder()
+        .id(id)
+        .transactionType(TransactionType.DEPOSIT)
+        .destinationAccountId("A1")
+        .amount(Money.of(new BigDecimal("10.00")))
+        .transactionDate(DATE.plusMinutes(minute))
+        .build();
+  }
+}
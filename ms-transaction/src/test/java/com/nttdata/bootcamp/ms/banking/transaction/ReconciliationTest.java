@@ -0,0 +1,160 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.DiscrepancyType;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.AccountSettlement;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.AccountLedger;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.AccountLedger.Entry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReconciliationTest {
+
+  private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 3, 2, 0, 0);
+  private static final LocalDateTime PREVIOUS_CUTOFF = CUTOFF.minusDays(1);
+
+  @Test
+  void joinsSortedStreamsIntoOneLedgerPerAccount() {
+    Flux<Entry> accounts = Flux.just(account("A1", "150.00"), account("A2", "80.00"), account("A4", "0"));
+    Flux<Entry> settlements = Flux.just(Entry.settlement(settlement("A2", PREVIOUS_CUTOFF, "100.00", null, "0")));
+    Flux<Entry> debits = Flux.just(movement("A2", "-20.00", CUTOFF.minusHours(3)),
+        movement("A3", "-5.00", CUTOFF.minusHours(2)));
+    Flux<Entry> credits = Flux.just(movement("A1", "100.00", CUTOFF.minusHours(5)),
+        movement("A1", "50.00", CUTOFF.minusHours(1)));
+
+    List<AccountLedger> ledgers = AccountLedger.join(CUTOFF, 2, accounts, settlements, debits, credits)
+        .collectList().block();
+
+    assertEquals(List.of("A1", "A2", "A3", "A4"), ledgers.stream().map(AccountLedger::getAccountId).toList());
+    assertNull(ledgers.get(0).discrepancy());
+    assertNull(ledgers.get(1).discrepancy());
+    assertEquals(0, new BigDecimal("80.00").compareTo(ledgers.get(1).getSettledBalance()));
+    assertEquals(DiscrepancyType.MISSING_ACCOUNT, ledgers.get(2).discrepancy());
+    assertNull(ledgers.get(3).discrepancy());
+    assertTrue(ledgers.get(0).isMovedBeforeCutoff());
+    assertFalse(ledgers.get(3).isMovedBeforeCutoff());
+  }
+
+  @Test
+  void reportsMismatchWithDifference() {
+    AccountLedger ledger = AccountLedger.of(List.of(account("A1", "90.00"),
+        movement("A1", "100.00", CUTOFF.minusHours(1))), CUTOFF);
+
+    assertEquals(DiscrepancyType.BALANCE_MISMATCH, ledger.discrepancy());
+    assertEquals(0, new BigDecimal("100.00").compareTo(ledger.getExpectedBalance()));
+  }
+
+  @Test
+  void movementsAfterCutoffCountOnlyTowardsExpectedBalance() {
+    AccountLedger ledger = AccountLedger.of(List.of(account("A1", "130.00"),
+        movement("A1", "100.00", CUTOFF.minusHours(1)),
+        movement("A1", "30.00", CUTOFF.plusMinutes(10))), CUTOFF);
+
+    assertNull(ledger.discrepancy());
+    assertEquals(0, new BigDecimal("100.00").compareTo(ledger.getSettledBalance()));
+    assertEquals(0, new BigDecimal("100.00").compareTo(ledger.toSettlement(CUTOFF).getSettledBalance()));
+  }
+
+  @Test
+  void rerunOfSameCutoffStartsFromPreviousBalance() {
+    List<Entry> movements = List.of(movement("A1", "-40.00", CUTOFF.minusHours(1)));
+    AccountLedger first = AccountLedger.of(List.of(account("A1", "60.00"),
+        Entry.settlement(settlement("A1", PREVIOUS_CUTOFF, "100.00", null, "0")), movements.get(0)), CUTOFF);
+    AccountSettlement written = first.toSettlement(CUTOFF);
+
+    AccountLedger rerun = AccountLedger.of(List.of(account("A1", "60.00"),
+        Entry.settlement(written), movements.get(0)), CUTOFF);
+
+    assertNull(first.discrepancy());
+    assertNull(rerun.discrepancy());
+    assertEquals(0, new BigDecimal("100.00").compareTo(rerun.getOpeningBalance()));
+    assertEquals(PREVIOUS_CUTOFF, rerun.toSettlement(CUTOFF).getPreviousThrough());
+  }
+
+  @Test
+  void firstSettlementOfAccountOpenedWithBalanceStartsFromItsOpening() {
+    AccountLedger first = AccountLedger.of(List.of(account("A1", "470.00", "500.00"),
+        movement("A1", "-30.00", CUTOFF.minusHours(1))), CUTOFF);
+    AccountSettlement written = first.toSettlement(CUTOFF);
+
+    AccountLedger next = AccountLedger.of(List.of(account("A1", "490.00", "500.00"),
+        Entry.settlement(written), movement("A1", "20.00", CUTOFF.plusHours(5))), CUTOFF.plusDays(1));
+
+    assertNull(first.discrepancy());
+    assertEquals(0, new BigDecimal("470.00").compareTo(first.getExpectedBalance()));
+    assertEquals(0, new BigDecimal("-30.00").compareTo(written.getSettledBalance()));
+    assertNull(next.discrepancy());
+  }
+
+  @Test
+  void manualBalanceAdjustmentIsPartOfTheOpening() {
+    Entry settled = Entry.settlement(settlement("A1", PREVIOUS_CUTOFF, "-30.00", null, "0"));
+
+    AccountLedger adjusted = AccountLedger.of(List.of(account("A1", "1000.00", "1030.00"), settled), CUTOFF);
+    AccountLedger unexplained = AccountLedger.of(List.of(account("A1", "1000.00", "500.00"), settled), CUTOFF);
+
+    assertNull(adjusted.discrepancy());
+    assertEquals(DiscrepancyType.BALANCE_MISMATCH, unexplained.discrepancy());
+    assertEquals(0, new BigDecimal("470.00").compareTo(unexplained.getExpectedBalance()));
+  }
+
+  @Test
+  void accountWithoutOpeningIsMarkedInsteadOfReported() {
+    AccountLedger ledger = AccountLedger.of(List.of(
+        Entry.account("A1", new BigDecimal("1000.00"), null, "PEN"),
+        movement("A1", "-30.00", CUTOFF.minusHours(1))), CUTOFF);
+
+    assertNull(ledger.discrepancy());
+    assertTrue(ledger.isUnbaselined());
+    assertEquals(0, new BigDecimal("-30.00").compareTo(ledger.toSettlement(CUTOFF).getSettledBalance()));
+    assertFalse(AccountLedger.of(List.of(account("A1", "0")), CUTOFF).isUnbaselined());
+  }
+
+  @Test
+  void joinKeepsOrderAcrossManyAccounts() {
+    List<String> ids = IntStream.range(0, 5_000).mapToObj(i -> String.format("%024x", i)).toList();
+    Flux<Entry> accounts = Flux.fromIterable(ids).map(id -> account(id, "10.00"));
+    Flux<Entry> credits = Flux.fromIterable(ids).filter(id -> id.hashCode() % 3 == 0)
+        .map(id -> movement(id, "10.00", CUTOFF.minusDays(2)));
+    Flux<Entry> settlements = Flux.fromIterable(ids).filter(id -> id.hashCode() % 3 != 0)
+        .map(id -> Entry.settlement(settlement(id, PREVIOUS_CUTOFF, "10.00", null, "0")));
+
+    List<AccountLedger> ledgers = AccountLedger.join(CUTOFF, 64, accounts, settlements, credits)
+        .collectList().block();
+
+    assertEquals(ids, ledgers.stream().map(AccountLedger::getAccountId).toList());
+    assertTrue(ledgers.stream().allMatch(ledger -> ledger.discrepancy() == null));
+  }
+
+  private static Entry account(String accountId, String balance) {
+    return account(accountId, balance, "0");
+  }
+
+  private static Entry account(String accountId, String balance, String opening) {
+    return Entry.account(accountId, new BigDecimal(balance), new BigDecimal(opening), "PEN");
+  }
+
+  private static Entry movement(String accountId, String amount, LocalDateTime date) {
+    return Entry.movement(accountId, new BigDecimal(amount), date);
+  }
+
+  private static AccountSettlement settlement(String accountId, LocalDateTime through, String balance,
+                                              LocalDateTime previousThrough, String previousBalance) {
+    return AccountSettlement.builder()
+        .id(accountId)
+        .settledBalance(new BigDecimal(balance))
+        .settledThrough(through)
+        .previousBalance(new BigDecimal(previousBalance))
+        .previousThrough(previousThrough)
+        .build();
+  }
+}
@@ -0,0 +1,168 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.AccountSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.ClientSummaryResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.DailyBalance;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.DailyBalanceRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.DailyBalanceService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ReportService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.DailyBalanceServiceImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.ReportExportServiceImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.CsvUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReportExportServiceTest {
+
+  private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+  private static final LocalDate TO = LocalDate.of(2024, 1, 3);
+
+  @Test
+  void averageBalancesJoinPriorClosingsAndRangeOneAccountAtATime() {
+    DailyBalanceRepository repository = mock(DailyBalanceRepository.class);
+    when(repository.findLastClosingsBefore("2024-01-01")).thenReturn(Flux.just(
+        prior("A", "2023-12-20", "100"), prior("C", "2023-12-31", "10")));
+    when(repository.findByDayRange(eq("2024-01-01"), eq("2024-01-03"), any())).thenReturn(Flux.just(
+        changedAtDayStart("B", LocalDate.of(2024, 1, 2), "50"),
+        changedAtDayStart("C", LocalDate.of(2024, 1, 2), "40")));
+    DailyBalanceServiceImpl dailyBalanceService = new DailyBalanceServiceImpl(repository);
+    ReflectionTestUtils.setField(dailyBalanceService, "maxDays", 366);
+
+    StepVerifier.create(exportService(dailyBalanceService, mock(ReportService.class),
+            mock(TransactionRepository.class), null, 1).exportAverageBalancesCsv(FROM, TO))
+        .expectNext("accountId,balance,days\r\n")
+        .expectNext("A,100.00,3\r\n")
+        .expectNext("B,50.00,2\r\n")
+        .expectNext("C,30.00,3\r\n")
+        .verifyComplete();
+  }
+
+  @Test
+  void historyIsPulledFromTheCursorInBoundedBatches() {
+    AtomicLong largestRequest = new AtomicLong();
+    TransactionRepository repository = mock(TransactionRepository.class);
+    when(repository.streamHistory("P1")).thenReturn(Flux.range(0, 20_000)
+        .map(i -> Transaction.builder().id("T" + i).transactionType(TransactionType.DEPOSIT).build())
+        .doOnRequest(n -> largestRequest.accumulateAndGet(n, Math::max)));
+
+    StepVerifier.create(exportService(mock(DailyBalanceService.class), mock(ReportService.class),
+            repository, null, 1).exportHistoryCsv("P1"))
+        .expectNextMatches(header -> header.startsWith("id,transactionType,"))
+        .expectNext("T0,DEPOSIT,,,,,,,,,,,\r\n")
+        .expectNextCount(19_999)
+        .verifyComplete();
+    assertTrue(largestRequest.get() <= ConstantUtil.EXPORT_BATCH_SIZE, "requested " + largestRequest.get());
+  }
+
+  @Test
+  void clientSummariesKeepCustomerOrderWithBoundedConcurrency() {
+    List<String> ids = IntStream.range(0, 40).mapToObj(i -> "C" + i).toList();
+    String customers = ids.stream()
+        .map(id -> "{\"id\":\"" + id + "\",\"customerType\":\"PERSONAL\",\"firstName\":\"Ana\"}")
+        .collect(Collectors.joining(",", "[", "]"));
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    ReportService reportService = mock(ReportService.class);
+    when(reportService.generateClientSummary(anyString())).thenAnswer(invocation -> {
+      String id = invocation.getArgument(0);
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      return Mono.delay(Duration.ofMillis(40 - Integer.parseInt(id.substring(1))))
+          .map(ignored -> summary(id))
+          .doOnNext(ignored -> inFlight.decrementAndGet());
+    });
+
+    List<String> lines = exportService(mock(DailyBalanceService.class), reportService,
+        mock(TransactionRepository.class), client(customers), 4).exportClientSummariesCsv()
+        .collectList()
+        .block(Duration.ofSeconds(5));
+
+    assertEquals(41, lines.size());
+    assertEquals("C0,2,1,PEN=150.50|USD=20,,,,,,,,,false,true,credits|creditCards|debitCards\r\n", lines.get(1));
+    assertEquals(ids, lines.subList(1, lines.size()).stream().map(line -> line.substring(0, line.indexOf(',')))
+        .toList());
+    assertTrue(maxInFlight.get() <= 4, "in flight " + maxInFlight.get());
+  }
+
+  @Test
+  void csvValuesAreQuotedOnlyWhenNeeded() {
+    assertEquals("a,,\"b,c\",\"say \"\"hi\"\"\",\"x\ny\",1.50\r\n",
+        CsvUtil.line("a", null, "b,c", "say \"hi\"", "x\ny", new BigDecimal("1.50")));
+  }
+
+  private static ReportExportServiceImpl exportService(DailyBalanceService dailyBalanceService,
+                                                       ReportService reportService,
+                                                       TransactionRepository transactionRepository,
+                                                       WebClient customers, int concurrency) {
+    return new ReportExportServiceImpl(dailyBalanceService, reportService, transactionRepository,
+        new TransactionMapper(), customers, concurrency);
+  }
+
+  private static DailyBalance prior(String accountId, String day, String closingBalance) {
+    return DailyBalance.builder().accountId(accountId).day(day).closingBalance(new BigDecimal(closingBalance)).build();
+  }
+
+  private static DailyBalance changedAtDayStart(String accountId, LocalDate day, String balance) {
+    return DailyBalance.builder()
+        .id(accountId + "|" + day)
+        .accountId(accountId)
+        .day(day.toString())
+        .openingBalance(new BigDecimal(balance))
+        .closingBalance(new BigDecimal(balance))
+        .balanceSeconds(BigDecimal.ZERO)
+        .lastChangeAt(Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant()))
+        .build();
+  }
+
+  private static ClientSummaryResponse summary(String clientId) {
+    return ClientSummaryResponse.builder()
+        .clientId(clientId)
+        .totalAccounts(2)
+        .accounts(new AccountSummaryResponse(clientId, 2, 1,
+            Map.of("USD", new BigDecimal("20"), "PEN", new BigDecimal("150.50"))))
+        .partial(true)
+        .unavailableSections(List.of("credits", "creditCards", "debitCards"))
+        .build();
+  }
+
+  private static WebClient client(String body) {
+    return WebClient.builder()
+        .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body)
+            .build()))
+        .build();
+  }
+}
@@ -0,0 +1,234 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ProductType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.ProjectionSource;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionResponse;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.CustomerView;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ProductSnapshot;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.ProductView;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.ReadModelMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.CustomerViewRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.ProductViewRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.DailyBalanceService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.RecentActivityService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ReportProjectionService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionRollupService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.ReportServiceImpl;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReportProjectionTest {
+
+  private static final String CUSTOMER = "0123456789abcdef01234567";
+  private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+  private final ReadModelMapper readModelMapper = new ReadModelMapper();
+
+  @Test
+  void snapshotsReadAmountsStoredAsDecimal128OrText() {
+    ObjectId id = new ObjectId();
+    ProductSnapshot account = readModelMapper.toSnapshot(ProjectionSource.ACCOUNTS, new Document("_id", id)
+        .append("customerId", CUSTOMER)
+        .append("status", "ACTIVE")
+        .append("balance", new Decimal128(new BigDecimal("150.50"))), 7L);
+    ProductSnapshot credit = readModelMapper.toSnapshot(ProjectionSource.CREDITS, new Document("_id", "CR1")
+        .append("customerId", CUSTOMER)
+        .append("amount", "1000")
+        .append("debt", "400.00")
+        .append("dueDate", Date.from(TODAY.minusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant())), 8L);
+
+    assertEquals(id.toHexString(), account.getProductId());
+    assertEquals(ProductType.ACCOUNT, account.getProductType());
+    assertEquals("PEN", account.getCurrency());
+    assertEquals(new BigDecimal("150.50"), account.getBalance());
+    assertEquals(7L, account.getVersion());
+    assertEquals(new BigDecimal("400.00"), credit.getBalance());
+    assertEquals(TODAY.minusDays(1), credit.getDueDate());
+  }
+
+  @Test
+  void cardsAreSplitByType() {
+    ProductSnapshot debit = readModelMapper.toSnapshot(ProjectionSource.CARDS, new Document("_id", "DC1")
+        .append("type", "DEBIT")
+        .append("associatedAccounts", List.of("A1", "A2")), 1L);
+    ProductSnapshot credit = readModelMapper.toSnapshot(ProjectionSource.CARDS, new Document("_id", "CC1")
+        .append("type", "CREDIT")
+        .append("creditLimit", 5000)
+        .append("balance", 0), 1L);
+
+    assertEquals(ProductType.DEBIT_CARD, debit.getProductType());
+    assertEquals(2, debit.getLinkedAccounts());
+    assertEquals(ProductType.CREDIT_CARD, credit.getProductType());
+    assertEquals(new BigDecimal("5000"), credit.getAmount());
+    assertNull(readModelMapper.toSnapshot(ProjectionSource.CARDS, new Document("_id", "X1"), 1L));
+  }
+
+  @Test
+  void summaryAppliesTheServiceAggregationRules() {
+    CustomerView view = view(
+        snapshot("A1", ProductType.ACCOUNT, "ACTIVE", "PEN", "150.50", null, null),
+        snapshot("A2", ProductType.ACCOUNT, "INACTIVE", "USD", "20", null, null),
+        snapshot("CR1", ProductType.CREDIT, "ACTIVE", null, "400", "1000", TODAY.minusDays(1)),
+        snapshot("CR2", ProductType.CREDIT, "INACTIVE", null, "300", "500", TODAY.minusDays(1)),
+        snapshot("CC1", ProductType.CREDIT_CARD, "ACTIVE", null, "0", "5000", TODAY.minusDays(1)),
+        ProductSnapshot.builder().productId("DC1").productType(ProductType.DEBIT_CARD).status("ACTIVE")
+            .linkedAccounts(2).build());
+
+    var summary = readModelMapper.toClientSummary(CUSTOMER, view, TODAY);
+
+    assertEquals(2, summary.getTotalAccounts());
+    assertEquals(1, summary.getAccounts().getActiveAccounts());
+    assertEquals(new BigDecimal("20"), summary.getAccounts().getBalanceByCurrency().get("USD"));
+    assertEquals(2, summary.getCredits().getTotalCredits());
+    assertEquals(new BigDecimal("1500"), summary.getCredits().getTotalAmount());
+    assertEquals(new BigDecimal("400"), summary.getCredits().getTotalDebt());
+    assertEquals(new BigDecimal("400"), summary.getCredits().getOverdueDebt());
+    assertEquals(0, summary.getCreditCards().getOverdueCards());
+    assertEquals(new BigDecimal("5000"), summary.getCreditCards().getTotalCreditLimit());
+    assertEquals(2, summary.getDebitCards().getLinkedAccounts());
+    assertTrue(summary.isHasOverdueDebt());
+    assertFalse(summary.isPartial());
+  }
+
+  @Test
+  void summaryIsASingleLookupOnceTheViewIsReady() {
+    CustomerViewRepository customerViews = mock(CustomerViewRepository.class);
+    when(customerViews.findById(CUSTOMER)).thenReturn(Mono.just(view(
+        snapshot("A1", ProductType.ACCOUNT, "ACTIVE", "PEN", "150.50", null, null))));
+    WebClient services = mock(WebClient.class);
+
+    StepVerifier.create(reportService(true, customerViews, mock(ProductViewRepository.class),
+            mock(RecentActivityService.class), services).generateClientSummary(CUSTOMER))
+        .assertNext(summary -> {
+          assertEquals(1, summary.getTotalAccounts());
+          assertEquals(0, summary.getCredits().getTotalCredits());
+          assertFalse(summary.isPartial());
+        })
+        .verifyComplete();
+    verify(services, never()).get();
+  }
+
+  @Test
+  void customerWithoutViewHasAnEmptySummary() {
+    CustomerViewRepository customerViews = mock(CustomerViewRepository.class);
+    when(customerViews.findById(CUSTOMER)).thenReturn(Mono.empty());
+
+    StepVerifier.create(reportService(true, customerViews, mock(ProductViewRepository.class),
+            mock(RecentActivityService.class), mock(WebClient.class)).generateClientSummary(CUSTOMER))
+        .assertNext(summary -> {
+          assertEquals(0, summary.getTotalAccounts());
+          assertFalse(summary.isHasOverdueDebt());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void recentMovementsComeFromTheViewWhenItHasEnough() {
+    ProductViewRepository productViews = mock(ProductViewRepository.class);
+    when(productViews.findById("A1")).thenReturn(Mono.just(ProductView.builder()
+        .id("A1").recent(movements(20)).transactionCount(57).build()));
+    RecentActivityService recentActivity = mock(RecentActivityService.class);
+
+    StepVerifier.create(reportService(true, mock(CustomerViewRepository.class), productViews, recentActivity,
+            mock(WebClient.class)).getLast10CardTransactions("A1"))
+        .assertNext(card -> {
+          assertEquals(10, card.getTransactionCount());
+          assertEquals("T0", card.getTransactions().get(0).getId());
+        })
+        .verifyComplete();
+    verify(recentActivity, never()).getRecent(anyString(), anyInt());
+  }
+
+  @Test
+  void completeViewAnswersLimitsAboveItsSize() {
+    ProductViewRepository productViews = mock(ProductViewRepository.class);
+    when(productViews.findById("A1")).thenReturn(Mono.just(ProductView.builder()
+        .id("A1").recent(movements(3)).recentComplete(true).transactionCount(3).build()));
+
+    StepVerifier.create(reportService(true, mock(CustomerViewRepository.class), productViews,
+            mock(RecentActivityService.class), mock(WebClient.class)).getRecentMovements("A1", 50))
+        .expectNextCount(3)
+        .verifyComplete();
+  }
+
+  @Test
+  void incompleteViewFallsBackToTheRecentActivityCache() {
+    ProductViewRepository productViews = mock(ProductViewRepository.class);
+    when(productViews.findById("A1")).thenReturn(Mono.just(ProductView.builder()
+        .id("A1").recent(movements(3)).transactionCount(3).build()));
+    when(productViews.findById("A2")).thenReturn(Mono.empty());
+    RecentActivityService recentActivity = mock(RecentActivityService.class);
+    when(recentActivity.getRecent(anyString(), anyInt())).thenReturn(Flux.fromIterable(movements(5)));
+
+    ReportServiceImpl reportService = reportService(true, mock(CustomerViewRepository.class), productViews,
+        recentActivity, mock(WebClient.class));
+    StepVerifier.create(reportService.getRecentMovements("A1", 5)).expectNextCount(5).verifyComplete();
+    StepVerifier.create(reportService.getRecentMovements("A2", 5)).expectNextCount(5).verifyComplete();
+  }
+
+  private static ReportServiceImpl reportService(boolean ready, CustomerViewRepository customerViews,
+                                                 ProductViewRepository productViews,
+                                                 RecentActivityService recentActivity, WebClient services) {
+    ReportProjectionService projection = mock(ReportProjectionService.class);
+    when(projection.isCustomerViewReady()).thenReturn(ready);
+    return new ReportServiceImpl(recentActivity, mock(DailyBalanceService.class),
+        mock(TransactionRollupService.class), projection, customerViews, productViews, new ReadModelMapper(),
+        Jackson2ObjectMapperBuilder.json().build(), services, services, services, services, Duration.ofSeconds(1), 100);
+  }
+
+  private static CustomerView view(ProductSnapshot... products) {
+    return CustomerView.builder()
+        .id(CUSTOMER)
+        .products(Stream.of(products).collect(Collectors.toMap(ProductSnapshot::getProductId, product -> product)))
+        .build();
+  }
+
+  private static ProductSnapshot snapshot(String id, ProductType type, String status, String currency,
+                                          String balance, String amount, LocalDate dueDate) {
+    return ProductSnapshot.builder()
+        .productId(id)
+        .productType(type)
+        .customerId(CUSTOMER)
+        .status(status)
+        .currency(currency)
+        .balance(new BigDecimal(balance))
+        .amount(amount != null ? new BigDecimal(amount) : null)
+        .dueDate(dueDate)
+        .build();
+  }
+
+  private static List<TransactionResponse> movements(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> TransactionResponse.builder().id("T" + i).transactionType(TransactionType.DEPOSIT).build())
+        .toList();
+  }
+}
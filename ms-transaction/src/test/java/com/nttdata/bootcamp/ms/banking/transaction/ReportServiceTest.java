@@ -0,0 +1,135 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.ReadModelMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.CustomerViewRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.ProductViewRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.DailyBalanceService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.RecentActivityService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ReportProjectionService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionRollupService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.ReportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ReportServiceTest {
+
+  private static final String CUSTOMER = "0123456789abcdef01234567";
+  private static final String ACCOUNTS = "{\"customerId\":\"" + CUSTOMER + "\",\"totalAccounts\":2,"
+      + "\"activeAccounts\":2,\"balanceByCurrency\":{\"PEN\":150.50,\"USD\":20}}";
+  private static final String CREDITS = "{\"customerId\":\"" + CUSTOMER + "\",\"totalCredits\":1,"
+      + "\"activeCredits\":1,\"totalAmount\":1000,\"totalDebt\":400,\"overdueCredits\":1,"
+      + "\"overdueDebt\":400,\"hasOverdueDebt\":true}";
+  private static final String CREDIT_CARDS = "{\"customerId\":\"" + CUSTOMER + "\",\"totalCards\":1,"
+      + "\"activeCards\":1,\"totalCreditLimit\":5000,\"totalBalance\":0,\"overdueCards\":0,"
+      + "\"hasOverdueDebt\":false}";
+  private static final String DEBIT_CARDS = "{\"customerId\":\"" + CUSTOMER + "\",\"totalCards\":1,"
+      + "\"activeCards\":1,\"linkedAccounts\":2}";
+
+  @Test
+  void sectionsAreFetchedInParallelAndConsolidated() {
+    AtomicReference<String> path = new AtomicReference<>();
+    ReportServiceImpl reportService = reportService(
+        client(ACCOUNTS, Duration.ofMillis(300), path), client(CREDITS, Duration.ofMillis(300), null),
+        client(CREDIT_CARDS, Duration.ofMillis(300), null), client(DEBIT_CARDS, Duration.ofMillis(300), null),
+        Duration.ofSeconds(2));
+
+    long startedAt = System.nanoTime();
+    StepVerifier.create(reportService.generateClientSummary(CUSTOMER))
+        .assertNext(summary -> {
+          assertEquals(2, summary.getTotalAccounts());
+          assertEquals(new BigDecimal("150.50"), summary.getAccounts().getBalanceByCurrency().get("PEN"));
+          assertEquals(new BigDecimal("400"), summary.getCredits().getOverdueDebt());
+          assertEquals(2, summary.getDebitCards().getLinkedAccounts());
+          assertTrue(summary.isHasOverdueDebt());
+          assertFalse(summary.isPartial());
+          assertTrue(summary.getUnavailableSections().isEmpty());
+        })
+        .verifyComplete();
+    assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).compareTo(Duration.ofMillis(1000)) < 0);
+    assertEquals("/customer/" + CUSTOMER + "/summary", path.get());
+  }
+
+  @Test
+  void slowOrFailingSectionsAreOmitted() {
+    ReportServiceImpl reportService = reportService(
+        client(ACCOUNTS, Duration.ZERO, null), client(CREDITS, Duration.ofSeconds(5), null),
+        client(CREDIT_CARDS, Duration.ZERO, null), failing(),
+        Duration.ofMillis(200));
+
+    StepVerifier.create(reportService.generateClientSummary(CUSTOMER))
+        .assertNext(summary -> {
+          assertEquals(2, summary.getTotalAccounts());
+          assertNull(summary.getCredits());
+          assertNull(summary.getDebitCards());
+          assertFalse(summary.isHasOverdueDebt());
+          assertTrue(summary.isPartial());
+          assertEquals(List.of("credits", "debitCards"), summary.getUnavailableSections());
+        })
+        .expectComplete()
+        .verify(Duration.ofSeconds(2));
+  }
+
+  @Test
+  void errorBodyIsAnUnavailableSection() {
+    ReportServiceImpl reportService = reportService(
+        client(ACCOUNTS, Duration.ZERO, null),
+        client("{\"code\":\"ERROR\",\"message\":\"Customer not found\"}", Duration.ZERO, null),
+        client(CREDIT_CARDS, Duration.ZERO, null), client(DEBIT_CARDS, Duration.ZERO, null),
+        Duration.ofSeconds(1));
+
+    StepVerifier.create(reportService.generateClientSummary(CUSTOMER))
+        .assertNext(summary -> {
+          assertNull(summary.getCredits());
+          assertFalse(summary.isHasOverdueDebt());
+          assertTrue(summary.isPartial());
+          assertEquals(List.of("credits"), summary.getUnavailableSections());
+        })
+        .verifyComplete();
+  }
+
+  private static ReportServiceImpl reportService(WebClient accounts, WebClient credits, WebClient creditCards,
+                                                 WebClient debitCards, Duration deadline) {
+    return new ReportServiceImpl(mock(RecentActivityService.class), mock(DailyBalanceService.class),
+        mock(TransactionRollupService.class), mock(ReportProjectionService.class), mock(CustomerViewRepository.class),
+        mock(ProductViewRepository.class), new ReadModelMapper(), Jackson2ObjectMapperBuilder.json().build(), accounts, credits, creditCards, debitCards,
+        deadline, 100);
+  }
+
+  private static WebClient client(String body, Duration delay, AtomicReference<String> path) {
+    return WebClient.builder()
+        .exchangeFunction(request -> {
+          if (path != null) {
+            path.set(request.url().getPath());
+          }
+          return Mono.delay(delay).thenReturn(ClientResponse.create(HttpStatus.OK)
+              .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+              .body(body)
+              .build());
+        })
+        .build();
+  }
+
+  private static WebClient failing() {
+    return WebClient.builder()
+        .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()))
+        .build();
+  }
+}
@@ -0,0 +1,44 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Las clases que se comparten con otros servicios se prueban aquí y se copian sin cambios,
+ * salvo el paquete. Si una copia difiere, se vuelve a copiar desde este módulo.
+ */
+public class SharedSourceCopiesTest {
+
+  private static final String SOURCES = "src/main/java/com/nttdata/bootcamp/ms/banking/";
+
+  @ParameterizedTest
+  @CsvSource({
+      "ms-account, account, utility/TransactionEventCodec.java",
+      "ms-account, account, dto/event/TransactionEvent.java",
+      "ms-account, account, dto/event/TransactionEventType.java",
+      "ms-customer, customer, utility/TransactionEventCodec.java",
+      "ms-customer, customer, dto/event/TransactionEvent.java",
+      "ms-customer, customer, dto/event/TransactionEventType.java",
+      "ms-wallet-bootcoin, bootcoin, utility/TransactionEventCodec.java",
+      "ms-wallet-bootcoin, bootcoin, dto/event/TransactionEvent.java",
+      "ms-wallet-bootcoin, bootcoin, dto/event/TransactionEventType.java",
+      "ms-wallet-bootcoin, bootcoin, utility/Money.java",
+      "ms-wallet-bootcoin, bootcoin, utility/MoneyMongoCodec.java",
+      "ms-wallet-bootcoin, bootcoin, utility/MoneyJsonCodec.java"
+  })
+  void copyMatchesThisModule(String module, String basePackage, String file) throws IOException {
+    Path copy = Path.of("..", module, SOURCES + basePackage, file);
+    assumeTrue(Files.exists(copy), module + " is not checked out next to ms-transaction");
+
+    String expected = Files.readString(Path.of(SOURCES + "transaction", file))
+        .replace("banking.transaction.", "banking." + basePackage + ".");
+    assertEquals(expected, Files.readString(copy), copy + " differs from ms-transaction");
+  }
+}
@@ -0,0 +1,138 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionArchiveRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionArchiveRepositoryImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepositoryCustomImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.TransactionArchiveCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TransactionArchiveTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2022, 1, 1, 9, 30, 15, 123_000_000);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void blocksRoundTripEveryField() {
+    Transaction transfer = Transaction.builder()
+        .id("65a1f0c2e4b0a1b2c3d4e5f6")
+        .transactionType(TransactionType.TRANSFER)
+        .originAccountId("A1")
+        .destinationAccountId("A2")
+        .amount(Money.of(new BigDecimal("150.50"), "PEN"))
+        .convertedAmount(Money.of(new BigDecimal("40.13"), "USD"))
+        .fxRate(new BigDecimal("0.266667"))
+        .fxRateVersion(42L)
+        .transactionDate(START)
+        .build();
+    Transaction withdrawal = Transaction.builder()
+        .id("W1")
+        .transactionType(TransactionType.WITHDRAWAL)
+        .debitCardId("D1")
+        .amount(Money.of(new BigDecimal("3.00"), "PEN"))
+        .transactionDate(START.minusYears(60))
+        .build();
+
+    byte[] block = TransactionArchiveCodec.encodeBlock(List.of(transfer, withdrawal));
+
+    assertEquals(List.of(transfer, withdrawal), TransactionArchiveCodec.decodeBlock(ByteBuffer.wrap(block)));
+  }
+
+  @Test
+  void historyMergesSegmentsAndPagesLikeMongo() {
+    TransactionArchiveRepository archive = archive(4);
+    List<Transaction> all = transactions("A1", 30);
+    archive.append(all.subList(0, 12)).block();
+    archive.append(all.subList(12, 30)).block();
+
+    List<Transaction> firstPage = archive.findHistory("A1", null, null, 7).collectList().block();
+    Transaction last = firstPage.get(firstPage.size() - 1);
+    List<Transaction> rest = archive.findHistory("A1", last.getTransactionDate(), last.getId(), 0)
+        .collectList().block();
+
+    List<Transaction> newestFirst = all.stream().sorted(TransactionRepositoryCustomImpl.NEWEST_FIRST).toList();
+    assertEquals(newestFirst.subList(0, 7), firstPage);
+    assertEquals(newestFirst.subList(7, 30), rest);
+    assertTrue(archive.findHistory("A2", null, null, 0).collectList().block().isEmpty());
+  }
+
+  @Test
+  void transferIsFoundFromBothAccountsAfterRestart() throws Exception {
+    Transaction transfer = Transaction.builder()
+        .id("T1")
+        .transactionType(TransactionType.TRANSFER)
+        .originAccountId("A1")
+        .destinationAccountId("A2")
+        .amount(Money.of(new BigDecimal("10"), "PEN"))
+        .transactionDate(START)
+        .build();
+    archive(128).append(List.of(transfer)).block();
+    Files.writeString(directory.resolve("segment-000000000002.seg.tmp"), "interrupted");
+
+    TransactionArchiveRepository restarted = archive(128);
+
+    assertEquals(List.of(transfer), restarted.findHistory("A1", null, null, 0).collectList().block());
+    assertEquals(List.of(transfer), restarted.findHistory("A2", null, null, 0).collectList().block());
+    assertEquals(List.of("T1"), restarted.findLastSegmentIds().collectList().block());
+  }
+
+  @Test
+  void repositoryReturnsHotAndArchivedTransactionsOnceInOrder() {
+    List<Transaction> all = transactions("A1", 10);
+    List<Transaction> newestFirst = all.stream().sorted(TransactionRepositoryCustomImpl.NEWEST_FIRST).toList();
+    TransactionArchiveRepository archive = archive(3);
+    archive.append(newestFirst.subList(4, 10)).block();
+    ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+    when(mongoTemplate.find(any(Query.class), eq(Transaction.class)))
+        .thenReturn(Flux.fromIterable(newestFirst.subList(0, 5)));
+
+    TransactionRepositoryCustomImpl repository = new TransactionRepositoryCustomImpl(mongoTemplate, archive);
+
+    assertEquals(newestFirst.subList(0, 6), repository.findHistory("A1", null, null, 6).collectList().block());
+    assertEquals(newestFirst, repository.streamHistory("A1").collectList().block());
+  }
+
+  private TransactionArchiveRepositoryImpl archive(int blockSize) {
+    return new TransactionArchiveRepositoryImpl(directory.toString(), blockSize, Duration.ZERO);
+  }
+
+  /**
+   * Transacciones de {@code accountId}, algunas con la misma fecha para ordenar por ID.
+   */
+  private static List<Transaction> transactions(String accountId, int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> Transaction.builder()
+            .id(String.format("%024x", i * 7919L % 1000))
+            .transactionType(i % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL)
+            .destinationAccountId(i % 2 == 0 ? accountId : null)
+            .originAccountId(i % 2 == 0 ? null : accountId)
+            .amount(Money.of(new BigDecimal(i + ".25"), "PEN"))
+            .transactionDate(START.plusMinutes(i / 3))
+            .build())
+        .toList();
+  }
+}
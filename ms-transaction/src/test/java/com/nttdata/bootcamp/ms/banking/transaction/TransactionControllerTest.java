@@ -1,13 +1,82 @@
 package com.nttdata.bootcamp.ms.banking.transaction;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.controller.TransactionController;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.response.TransactionBatchResult;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.service.AccountLaneSequencer;
+import com.nttdata.bootcamp.ms.banking.transaction.service.IdempotencyService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionHistoryService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionPipeline;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.TransactionServiceImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.ConstantUtil;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class TransactionControllerTest {
 
+  private static final String LINE = "{\"transactionType\":\"DEPOSIT\",\"destinationAccountId\":\"%s\","
+      + "\"amount\":10,\"transactionDate\":\"2999-03-01T10:00:00\"}";
+  private static final String ACCOUNT_1 = "65f1a2b3c4d5e6f7a8b9c0d1";
+  private static final String ACCOUNT_2 = "65f1a2b3c4d5e6f7a8b9c0d2";
+
+  private TransactionPipeline pipeline;
+  private WebTestClient client;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    pipeline = mock(TransactionPipeline.class);
+    when(pipeline.apply(any(TransactionRequest.class), anyString())).thenAnswer(invocation -> {
+      TransactionRequest request = invocation.getArgument(0);
+      Transaction transaction = new Transaction();
+      transaction.setTransactionType(request.getTransactionType());
+      transaction.setDestinationAccountId(request.getDestinationAccountId());
+      transaction.setRequestId(invocation.getArgument(1));
+      return Mono.just(transaction);
+    });
+    when(pipeline.publish(anyList())).thenReturn(Mono.empty());
+
+    AccountLaneSequencer sequencer = mock(AccountLaneSequencer.class);
+    when(sequencer.execute(any(), any())).thenAnswer(invocation -> invocation.<Supplier<Mono<?>>>getArgument(1).get());
+
+    TransactionServiceImpl service = new TransactionServiceImpl(new TransactionMapper(),
+        new ObjectMapper().findAndRegisterModules(), sequencer, pipeline,
+        Validation.buildDefaultValidatorFactory().getValidator(), mock(IdempotencyService.class));
+    ReflectionTestUtils.setField(service, "batchConcurrency", 4);
+    ReflectionTestUtils.setField(service, "batchChunkSize", 10);
+    ReflectionTestUtils.setField(service, "batchFlushMillis", 50L);
+    client = WebTestClient.bindToController(new TransactionController(service, mock(TransactionHistoryService.class)))
+        .build();
+  }
+
   @Test
   @Order(1)
   void testProcessTransaction() {
@@ -22,5 +91,77 @@ public class TransactionControllerTest {
       public LocalDateTime transactionDate = LocalDateTime.now();
     };
   }
-}
 
+  @Test
+  void batchLinesUseFileIdAndLineNumberAsRequestId() {
+    when(pipeline.persistAll(anyList()))
+        .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Transaction>>getArgument(0)));
+
+    List<TransactionBatchResult> results = this.postBatch("file-1", String.format(LINE, ACCOUNT_1),
+        String.format(LINE, ACCOUNT_2));
+
+    assertEquals(List.of(1L, 2L), results.stream().map(TransactionBatchResult::getLine).toList());
+    assertTrue(results.stream().allMatch(result -> ConstantUtil.OK_CODE.equals(result.getCode())));
+    verify(pipeline).apply(any(TransactionRequest.class), eq("file-1:1"));
+    verify(pipeline).apply(any(TransactionRequest.class), eq("file-1:2"));
+  }
+
+  @Test
+  void failedChunkInsertIsRetriedLineByLine() {
+    when(pipeline.persistAll(anyList())).thenReturn(Flux.error(new IllegalStateException("duplicate key")));
+    when(pipeline.persist(any(Transaction.class))).thenAnswer(invocation -> {
+      Transaction transaction = invocation.getArgument(0);
+      return ACCOUNT_2.equals(transaction.getDestinationAccountId())
+          ? Mono.error(new IllegalStateException("write timeout"))
+          : Mono.just(transaction);
+    });
+
+    List<TransactionBatchResult> results = this.postBatch("file-1", String.format(LINE, ACCOUNT_1),
+        String.format(LINE, ACCOUNT_2));
+
+    assertEquals(ConstantUtil.OK_CODE, results.get(0).getCode());
+    assertEquals(ConstantUtil.ERROR_CODE, results.get(1).getCode());
+    assertTrue(results.get(1).getMessage().contains("Batch-Id file-1"));
+  }
+
+  @Test
+  void publishFailureKeepsTheInsertedChunk() {
+    when(pipeline.persistAll(anyList()))
+        .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Transaction>>getArgument(0)));
+    when(pipeline.publish(anyList())).thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+    List<TransactionBatchResult> results = this.postBatch("file-1", String.format(LINE, ACCOUNT_1),
+        String.format(LINE, ACCOUNT_2));
+
+    assertTrue(results.stream().allMatch(result -> ConstantUtil.OK_CODE.equals(result.getCode())));
+    verify(pipeline, never()).persist(any(Transaction.class));
+  }
+
+  @Test
+  void rejectedLineDoesNotStopTheBatch() {
+    when(pipeline.persistAll(anyList()))
+        .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Transaction>>getArgument(0)));
+
+    List<TransactionBatchResult> results = this.postBatch("file-1", "{\"transactionType\":\"DEPOSIT\"}",
+        String.format(LINE, ACCOUNT_1));
+
+    assertEquals(ConstantUtil.ERROR_CODE, results.get(0).getCode());
+    assertEquals(ConstantUtil.OK_CODE, results.get(1).getCode());
+    assertEquals(TransactionType.DEPOSIT, results.get(1).getTransaction().getTransactionType());
+  }
+
+  private List<TransactionBatchResult> postBatch(String batchId, String... lines) {
+    List<TransactionBatchResult> results = client.post()
+        .uri("/api/transactions/batch")
+        .header("Batch-Id", batchId)
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .bodyValue(String.join("\n", lines) + "\n")
+        .exchange()
+        .expectStatus().isOk()
+        .returnResult(TransactionBatchResult.class)
+        .getResponseBody()
+        .collectList()
+        .block();
+    return results.stream().sorted(Comparator.comparingLong(TransactionBatchResult::getLine)).toList();
+  }
+}
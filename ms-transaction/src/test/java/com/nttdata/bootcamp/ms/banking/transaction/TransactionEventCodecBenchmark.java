@@ -0,0 +1,93 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.TransactionEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.TransactionEventCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el formato anterior ({@code "TRANSACTION: " + toString()}), JSON con Jackson y
+ * {@link TransactionEventCodec}. No corre con {@code mvn test}; se ejecuta con el método
+ * {@code main} desde el classpath de test. El tamaño de cada formato lo compara
+ * {@link TransactionEventCodecTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionEventCodecBenchmark {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+  private Transaction transaction;
+  private TransactionEvent event;
+  private byte[] legacyBytes;
+  private byte[] jsonBytes;
+  private byte[] codecBytes;
+
+  @Setup
+  public void setUp() throws Exception {
+    transaction = TransactionEventCodecTest.sampleTransaction();
+    event = TransactionEventCodecTest.sampleEvent();
+    legacyBytes = ("TRANSACTION: " + transaction).getBytes(StandardCharsets.UTF_8);
+    jsonBytes = objectMapper.writeValueAsBytes(event);
+    codecBytes = TransactionEventCodec.encode(event);
+  }
+
+  @Benchmark
+  public byte[] encodeLegacyString() {
+    return ("TRANSACTION: " + transaction).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] encodeJson() throws Exception {
+    return objectMapper.writeValueAsBytes(event);
+  }
+
+  @Benchmark
+  public byte[] encodeCodec() {
+    return TransactionEventCodec.encode(event);
+  }
+
+  /**
+   * El formato anterior no se puede interpretar; lo más que puede hacer un consumidor es
+   * reconstruir el texto.
+   */
+  @Benchmark
+  public String decodeLegacyString() {
+    return new String(legacyBytes, StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public TransactionEvent decodeJson() throws Exception {
+    return objectMapper.readValue(jsonBytes, TransactionEvent.class);
+  }
+
+  @Benchmark
+  public TransactionEvent decodeCodec() {
+    return TransactionEventCodec.decode(codecBytes);
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(TransactionEventCodecBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
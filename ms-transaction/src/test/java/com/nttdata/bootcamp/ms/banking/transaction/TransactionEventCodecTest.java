@@ -0,0 +1,110 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.TransactionEvent;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.event.TransactionEventType;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.TransactionEventCodec;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransactionEventCodecTest {
+
+  static TransactionEvent sampleEvent() {
+    return TransactionEvent.builder()
+        .eventType(TransactionEventType.BALANCE_CHANGED)
+        .schemaVersion(TransactionEventCodec.SCHEMA_VERSION)
+        .eventId("6f1c2a8e-3b7d-4c59-9a0e-2d4f8b1c7e35")
+        .key("65a1f0c2e4b0a1b2c3d4e5f6")
+        .transactionId("65a1f0c2e4b0a1b2c3d4e5f7")
+        .transactionType(TransactionType.TRANSFER.name())
+        .originAccountId("65a1f0c2e4b0a1b2c3d4e5f6")
+        .destinationAccountId("65a1f0c2e4b0a1b2c3d4e5f8")
+        .amount(new BigDecimal("-1250.75"))
+        .occurredAt(Instant.ofEpochMilli(1_700_000_000_123L))
+        .build();
+  }
+
+  static Transaction sampleTransaction() {
+    return Transaction.builder()
+        .id("65a1f0c2e4b0a1b2c3d4e5f7")
+        .transactionType(TransactionType.TRANSFER)
+        .originAccountId("65a1f0c2e4b0a1b2c3d4e5f6")
+        .destinationAccountId("65a1f0c2e4b0a1b2c3d4e5f8")
+        .amount(Money.of(new BigDecimal("1250.75")))
+        .transactionDate(LocalDateTime.of(2023, 11, 14, 22, 13, 20))
+        .build();
+  }
+
+  @Test
+  void roundTripKeepsEveryField() {
+    TransactionEvent event = sampleEvent();
+
+    assertEquals(event, TransactionEventCodec.decode(TransactionEventCodec.encode(event)));
+  }
+
+  @Test
+  void nullFieldsSurviveRoundTrip() {
+    TransactionEvent event = TransactionEvent.builder()
+        .eventType(TransactionEventType.CREDIT_PAID)
+        .schemaVersion(TransactionEventCodec.SCHEMA_VERSION)
+        .key("credit-1")
+        .productId("credit-1")
+        .build();
+
+    assertEquals(event, TransactionEventCodec.decode(TransactionEventCodec.encode(event)));
+  }
+
+  @Test
+  void olderAndNewerMessagesStayReadable() {
+    byte[] encoded = TransactionEventCodec.encode(sampleEvent());
+    byte[] newer = Arrays.copyOf(encoded, encoded.length + 4);
+    assertEquals(sampleEvent(), TransactionEventCodec.decode(newer));
+
+    int amountStart = encoded.length - new BigDecimal("-1250.75").unscaledValue().toByteArray().length - 2;
+    TransactionEvent older = TransactionEventCodec.decode(Arrays.copyOf(encoded, amountStart));
+    assertNull(older.getAmount());
+    assertEquals(sampleEvent().getDestinationAccountId(), older.getDestinationAccountId());
+  }
+
+  @Test
+  void unknownEventTypeDecodesWithoutType() {
+    byte[] encoded = TransactionEventCodec.encode(sampleEvent());
+    encoded[2] = 99;
+
+    TransactionEvent event = TransactionEventCodec.decode(encoded);
+
+    assertNull(event.getEventType());
+    assertEquals(sampleEvent().getTransactionId(), event.getTransactionId());
+  }
+
+  @Test
+  void rejectsForeignPayloads() {
+    byte[] legacy = ("TRANSACTION: " + sampleTransaction()).getBytes(StandardCharsets.UTF_8);
+
+    assertThrows(IllegalArgumentException.class, () -> TransactionEventCodec.decode(legacy));
+  }
+
+  @Test
+  void isSmallerThanLegacyAndJsonFormats() throws Exception {
+    int legacySize = ("TRANSACTION: " + sampleTransaction()).getBytes(StandardCharsets.UTF_8).length;
+    int jsonSize = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(sampleEvent()).length;
+    int codecSize = TransactionEventCodec.encode(sampleEvent()).length;
+
+    assertTrue(codecSize < legacySize, "codec=" + codecSize + " legacy=" + legacySize);
+    assertTrue(codecSize < jsonSize, "codec=" + codecSize + " json=" + jsonSize);
+  }
+}
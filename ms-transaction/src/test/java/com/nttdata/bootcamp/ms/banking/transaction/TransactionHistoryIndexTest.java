@@ -0,0 +1,138 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.config.MongoIndexConfig;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepositoryCustomImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.MoneyMongoCodec;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica sin MongoDB que {@link MongoIndexConfig} crea, para cada rama de la consulta del
+ * historial, un índice con sus campos de igualdad al inicio seguidos del orden de la
+ * consulta. {@link TransactionHistoryQueryPlanTest} comprueba además el plan real cuando hay
+ * Docker.
+ */
+public class TransactionHistoryIndexTest {
+
+  private static final String ACCOUNT_ID = new ObjectId().toHexString();
+
+  private final Map<Class<?>, List<Document>> indexes = new ConcurrentHashMap<>();
+  private MappingMongoConverter converter;
+
+  @BeforeEach
+  void setUp() {
+    MongoCustomConversions conversions = new MongoCustomConversions(MoneyMongoCodec.converters());
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    mappingContext.afterPropertiesSet();
+    converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+
+    ReactiveMongoTemplate template = mock(ReactiveMongoTemplate.class);
+    when(template.getConverter()).thenReturn(converter);
+    when(template.indexOps(any(Class.class))).thenAnswer(invocation -> {
+      Class<?> entity = invocation.getArgument(0);
+      ReactiveIndexOperations indexOps = mock(ReactiveIndexOperations.class);
+      when(indexOps.ensureIndex(any(IndexDefinition.class))).thenAnswer(ensure -> {
+        indexes.computeIfAbsent(entity, ignored -> new ArrayList<>())
+            .add(ensure.<IndexDefinition>getArgument(0).getIndexKeys());
+        return Mono.just("created");
+      });
+      return indexOps;
+    });
+    new MongoIndexConfig(template).ensureIndexes().block();
+  }
+
+  @Test
+  void firstPageBranchesHaveAnIndex() {
+    this.assertEveryBranchIndexed(TransactionRepositoryCustomImpl.historyQuery(ACCOUNT_ID, null, null, 21));
+  }
+
+  @Test
+  void nextPageBranchesHaveAnIndex() {
+    this.assertEveryBranchIndexed(TransactionRepositoryCustomImpl.historyQuery(
+        ACCOUNT_ID, LocalDateTime.of(2024, 1, 1, 0, 30), new ObjectId().toHexString(), 21));
+  }
+
+  private void assertEveryBranchIndexed(Query query) {
+    QueryMapper queryMapper = new QueryMapper(converter);
+    MongoPersistentEntity<?> entity = converter.getMappingContext().getRequiredPersistentEntity(Transaction.class);
+    Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+    Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+    List<Document> transactionIndexes = indexes.getOrDefault(Transaction.class, List.of());
+
+    List<Document> branches = filter.getList("$or", Document.class);
+    assertFalse(branches.isEmpty(), "History query has no branches: " + filter);
+    for (Document branch : branches) {
+      assertTrue(transactionIndexes.stream().anyMatch(keys -> supports(keys, branch, sort)),
+          "No index for " + branch.toJson() + " sorted by " + sort.toJson() + " in " + transactionIndexes);
+    }
+  }
+
+  /**
+   * El índice sirve si empieza por los campos de igualdad de la rama y sigue con el orden
+   * de la consulta, en la misma dirección o toda invertida. Los campos de igualdad que también
+   * están en el orden pueden ocupar su lugar en él.
+   */
+  private static boolean supports(Document keys, Document branch, Document sort) {
+    Set<String> equalities = branch.entrySet().stream()
+        .filter(entry -> !(entry.getValue() instanceof Document))
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+    List<String> fields = new ArrayList<>(keys.keySet());
+    int prefix = 0;
+    while (prefix < fields.size() && equalities.contains(fields.get(prefix))) {
+      prefix++;
+    }
+    if (!fields.subList(0, prefix).containsAll(equalities.stream()
+        .filter(field -> !sort.containsKey(field)).toList())) {
+      return false;
+    }
+    List<String> sortFields = sort.keySet().stream().filter(field -> !equalities.contains(field)).toList();
+    if (fields.size() - prefix < sortFields.size()) {
+      return false;
+    }
+    Boolean reversed = null;
+    for (int i = 0; i < sortFields.size(); i++) {
+      String field = fields.get(prefix + i);
+      if (!field.equals(sortFields.get(i))) {
+        return false;
+      }
+      boolean same = ((Number) keys.get(field)).intValue() == ((Number) sort.get(field)).intValue();
+      if (reversed != null && reversed == same) {
+        return false;
+      }
+      reversed = !same;
+    }
+    return true;
+  }
+}
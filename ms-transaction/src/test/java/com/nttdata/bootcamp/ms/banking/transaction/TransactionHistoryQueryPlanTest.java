@@ -0,0 +1,135 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import com.nttdata.bootcamp.ms.banking.transaction.config.MongoIndexConfig;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepositoryCustomImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que las consultas del historial usan los índices declarados en
+ * {@link Transaction}: si alguna rama cae en un recorrido completo de la colección
+ * ({@code COLLSCAN}) el test falla. Sin Docker se omite; las definiciones de los índices
+ * se comprueban igualmente en {@link TransactionHistoryIndexTest}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class TransactionHistoryQueryPlanTest {
+
+  @Container
+  static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+  private static final String ACCOUNT_ID = new ObjectId().toHexString();
+
+  private static MongoClient client;
+  private static ReactiveMongoTemplate template;
+
+  @BeforeAll
+  static void setUp() {
+    client = MongoClients.create(MONGO.getConnectionString());
+    template = new ReactiveMongoTemplate(client, "transaction_plan_test");
+    new MongoIndexConfig(template).ensureIndexes().block();
+
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    template.insertAll(Flux.range(0, 200)
+            .map(i -> Transaction.builder()
+                .transactionType(i % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL)
+                .destinationAccountId(i % 2 == 0 ? ACCOUNT_ID : new ObjectId().toHexString())
+                .originAccountId(i % 2 == 0 ? null : ACCOUNT_ID)
+                .amount(Money.of(BigDecimal.TEN))
+                .transactionDate(start.plusMinutes(i / 3))
+                .build())
+            .collectList())
+        .blockLast();
+  }
+
+  @AfterAll
+  static void tearDown() {
+    client.close();
+  }
+
+  @Test
+  void firstPageUsesIndexes() {
+    assertIndexedPlan(TransactionRepositoryCustomImpl.historyQuery(ACCOUNT_ID, null, null, 21));
+  }
+
+  @Test
+  void nextPageUsesIndexes() {
+    assertIndexedPlan(TransactionRepositoryCustomImpl.historyQuery(
+        ACCOUNT_ID, LocalDateTime.of(2024, 1, 1, 0, 30), new ObjectId().toHexString(), 21));
+  }
+
+  @Test
+  void pagesDoNotOverlapOrSkip() {
+    List<String> seen = new ArrayList<>();
+    LocalDateTime beforeDate = null;
+    String beforeId = null;
+    List<Transaction> page;
+    do {
+      page = template.find(TransactionRepositoryCustomImpl.historyQuery(ACCOUNT_ID, beforeDate, beforeId, 7),
+          Transaction.class).collectList().block();
+      page.forEach(transaction -> seen.add(transaction.getId()));
+      if (!page.isEmpty()) {
+        beforeDate = page.get(page.size() - 1).getTransactionDate();
+        beforeId = page.get(page.size() - 1).getId();
+      }
+    } while (page.size() == 7);
+
+    assertEquals(200, seen.size());
+    assertEquals(200, seen.stream().distinct().count());
+  }
+
+  private void assertIndexedPlan(Query query) {
+    QueryMapper queryMapper = new QueryMapper(template.getConverter());
+    MongoPersistentEntity<?> entity = template.getConverter().getMappingContext()
+        .getRequiredPersistentEntity(Transaction.class);
+    Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+    Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+
+    Document explain = template.getCollection(template.getCollectionName(Transaction.class))
+        .flatMap(collection -> Mono.from(collection.find(filter).sort(sort).limit(query.getLimit()).explain()))
+        .block();
+
+    List<String> stages = new ArrayList<>();
+    collectStages(explain.get("queryPlanner", Document.class).get("winningPlan"), stages);
+    assertFalse(stages.contains("COLLSCAN"), "Collection scan in plan: " + stages);
+    assertTrue(stages.contains("IXSCAN"), "No index scan in plan: " + stages);
+  }
+
+  private static void collectStages(Object node, List<String> stages) {
+    if (node instanceof Map<?, ?> map) {
+      Object stage = map.get("stage");
+      if (stage instanceof String name) {
+        stages.add(name);
+      }
+      map.values().forEach(value -> collectStages(value, stages));
+    } else if (node instanceof List<?> list) {
+      list.forEach(value -> collectStages(value, stages));
+    }
+  }
+}
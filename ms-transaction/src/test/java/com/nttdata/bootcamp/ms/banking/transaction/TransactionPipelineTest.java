@@ -0,0 +1,166 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Account;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.mapper.TransactionMapper;
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.OutboxService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductClient;
+import com.nttdata.bootcamp.ms.banking.transaction.service.RecentActivityService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.VelocityService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.handler.DepositHandler;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionHandler;
+import com.nttdata.bootcamp.ms.banking.transaction.service.handler.TransactionContext;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.LocalVelocityStoreImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.TransactionPipelineImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.VelocityServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransactionPipelineTest {
+
+  private static final String ORIGIN = "aaaaaaaaaaaaaaaaaaaaaaaa";
+  private static final String DESTINATION = "bbbbbbbbbbbbbbbbbbbbbbbb";
+
+  private ProductClient productClient;
+  private SimpleMeterRegistry meterRegistry;
+  private TransactionPipelineImpl pipeline;
+
+  @BeforeEach
+  void setUp() {
+    productClient = mock(ProductClient.class);
+    meterRegistry = new SimpleMeterRegistry();
+    pipeline = new TransactionPipelineImpl(
+        List.of(new DepositHandler(productClient, mock(FxRateService.class)), new ReversibleTransfer()),
+        new TransactionMapper(), mock(OutboxService.class), mock(RecentActivityService.class),
+        this.velocityService(), meterRegistry, 16);
+  }
+
+  @Test
+  void transferAppliesBothSidesAndTimesEachStage() {
+    when(productClient.applyAccountDelta(anyString(), any(), anyString())).thenReturn(Mono.just(new Account()));
+
+    StepVerifier.create(pipeline.apply(transfer(), "r1"))
+        .expectNextMatches(transaction -> transaction.getTransactionType() == TransactionType.TRANSFER)
+        .verifyComplete();
+    verify(productClient).applyAccountDelta(ORIGIN, new BigDecimal("-10"), "r1:debit");
+    verify(productClient).applyAccountDelta(DESTINATION, BigDecimal.TEN, "r1:credit");
+    assertEquals(1, meterRegistry.get("transaction.pipeline.stage")
+        .tags("stage", "COMMIT", "type", "TRANSFER", "outcome", "success").timer().count());
+  }
+
+  @Test
+  void failedCommitReversesTheDebit() {
+    when(productClient.applyAccountDelta(eq(ORIGIN), any(), anyString())).thenReturn(Mono.just(new Account()));
+    when(productClient.applyAccountDelta(eq(DESTINATION), any(), anyString()))
+        .thenReturn(Mono.error(new ApiValidateException("Account inactive")));
+
+    StepVerifier.create(pipeline.apply(transfer(), "r1"))
+        .expectErrorMessage("Account inactive")
+        .verify();
+    verify(productClient).applyAccountDelta(ORIGIN, BigDecimal.TEN, "r1:debit:reversal");
+  }
+
+  @Test
+  void validationFailureStopsBeforeTouchingAccounts() {
+    TransactionRequest request = transfer();
+    request.setDestinationAccountId(ORIGIN);
+
+    StepVerifier.create(pipeline.apply(request, "r1"))
+        .expectError(ApiValidateException.class)
+        .verify();
+    verify(productClient, never()).applyAccountDelta(anyString(), any(), anyString());
+  }
+
+  @Test
+  void tooManyDebitsAreRejectedBeforeTouchingAccounts() {
+    when(productClient.applyAccountDelta(anyString(), any(), anyString())).thenReturn(Mono.just(new Account()));
+
+    for (int i = 0; i < 3; i++) {
+      StepVerifier.create(pipeline.apply(transfer(), "r" + i)).expectNextCount(1).verifyComplete();
+    }
+    StepVerifier.create(pipeline.apply(transfer(), "r3"))
+        .expectErrorMessage("Too many withdrawals for this account, please retry later.")
+        .verify();
+    verify(productClient, times(3)).applyAccountDelta(eq(ORIGIN), any(), anyString());
+  }
+
+  @Test
+  void duplicateHandlersAreRejected() {
+    assertThrows(IllegalStateException.class, () -> new TransactionPipelineImpl(
+        List.of(new DepositHandler(productClient, mock(FxRateService.class)), new DepositHandler(productClient, mock(FxRateService.class))),
+        new TransactionMapper(), mock(OutboxService.class), mock(RecentActivityService.class),
+        this.velocityService(), meterRegistry, 16));
+  }
+
+  private VelocityService velocityService() {
+    return new VelocityServiceImpl(List.of(new LocalVelocityStoreImpl()), mock(FxRateService.class),
+        meterRegistry, true, LocalVelocityStoreImpl.NAME, 3, new BigDecimal("1000"));
+  }
+
+  /**
+   * Transferencia sin saga, para probar la compensación del pipeline.
+   */
+  private final class ReversibleTransfer implements TransactionHandler {
+
+    @Override
+    public TransactionType type() {
+      return TransactionType.TRANSFER;
+    }
+
+    @Override
+    public Mono<Void> validate(TransactionContext context) {
+      return context.getRequest().getOriginAccountId().equals(context.getRequest().getDestinationAccountId())
+          ? Mono.error(new ApiValidateException("Origin and destination accounts must be different"))
+          : Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> reserveFunds(TransactionContext context) {
+      return productClient.applyAccountDelta(ORIGIN, context.getRequest().getAmount().negate(),
+          context.getRequestId() + ":debit").then();
+    }
+
+    @Override
+    public Mono<Void> commit(TransactionContext context) {
+      return productClient.applyAccountDelta(DESTINATION, context.getRequest().getAmount(),
+          context.getRequestId() + ":credit").then();
+    }
+
+    @Override
+    public Mono<Void> compensate(TransactionContext context) {
+      return productClient.applyAccountDelta(ORIGIN, context.getRequest().getAmount(),
+          context.getRequestId() + ":debit:reversal").then();
+    }
+  }
+
+  private static TransactionRequest transfer() {
+    TransactionRequest request = new TransactionRequest();
+    request.setTransactionType(TransactionType.TRANSFER);
+    request.setOriginAccountId(ORIGIN);
+    request.setDestinationAccountId(DESTINATION);
+    request.setAmount(BigDecimal.TEN);
+    request.setTransactionDate(LocalDateTime.now());
+    return request;
+  }
+}
@@ -0,0 +1,157 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.mongodb.MongoException;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Transaction;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.TransactionRollup;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.OutboxEventRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRollupRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.TransactionRollupService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.OutboxServiceImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.TransactionRollupServiceImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Los acumulados se suman en la transacción que guarda la transacción y su outbox: una
+ * transacción ya guardada no vuelve a sumar y un error de los acumulados no se oculta.
+ */
+public class TransactionRollupTest {
+
+  private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 1, 10, 15);
+
+  private TransactionRepository transactionRepository;
+  private TransactionRollupService rollupService;
+  private OutboxServiceImpl outboxService;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    transactionRepository = mock(TransactionRepository.class);
+    OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    when(outboxEventRepository.saveAll(any(Iterable.class))).thenReturn(Flux.empty());
+    TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+    when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    rollupService = mock(TransactionRollupService.class);
+    when(rollupService.record(anyList())).thenReturn(Mono.empty());
+    outboxService = new OutboxServiceImpl(transactionRepository, outboxEventRepository,
+        mock(ReactiveMongoTemplate.class), transactionalOperator, rollupService);
+  }
+
+  @Test
+  void savedTransactionIsRolledUpOnce() {
+    Transaction transaction = deposit("t1", "A1", "10.00");
+    when(transactionRepository.insert(transaction)).thenReturn(Mono.just(transaction));
+
+    outboxService.saveWithEvent(transaction).block();
+
+    verify(rollupService).record(List.of(transaction));
+  }
+
+  @Test
+  void alreadyRecordedTransactionIsNotRolledUpAgain() {
+    Transaction transaction = deposit("t1", "A1", "10.00");
+    when(transactionRepository.insert(transaction)).thenReturn(Mono.error(new DuplicateKeyException("t1")));
+    when(transactionRepository.findById("t1")).thenReturn(Mono.just(transaction));
+
+    StepVerifier.create(outboxService.saveWithEvent(transaction).map(Transaction::getId))
+        .expectNext("t1")
+        .verifyComplete();
+    verify(rollupService, never()).record(anyList());
+  }
+
+  @Test
+  void writeConflictRetriesTheWholeTransaction() {
+    Transaction transaction = deposit("t1", "A1", "10.00");
+    AtomicInteger attempts = new AtomicInteger();
+    when(transactionRepository.insert(transaction)).thenReturn(Mono.defer(() -> {
+      if (attempts.incrementAndGet() == 1) {
+        MongoException conflict = new MongoException(112, "WriteConflict");
+        conflict.addLabel("TransientTransactionError");
+        return Mono.error(conflict);
+      }
+      return Mono.just(transaction);
+    }));
+
+    outboxService.saveWithEvent(transaction).block();
+
+    assertEquals(2, attempts.get());
+    verify(rollupService, times(1)).record(List.of(transaction));
+  }
+
+  @Test
+  void rollupFailureFailsTheWrite() {
+    Transaction transaction = deposit("t1", "A1", "10.00");
+    when(transactionRepository.insert(transaction)).thenReturn(Mono.just(transaction));
+    when(rollupService.record(anyList())).thenReturn(Mono.error(new IllegalStateException("bulk write failed")));
+
+    StepVerifier.create(outboxService.saveWithEvent(transaction))
+        .expectError(IllegalStateException.class)
+        .verify();
+  }
+
+  @Test
+  void transactionsOfTheSamePeriodShareOneUpsert() {
+    ReactiveMongoTemplate template = mock(ReactiveMongoTemplate.class);
+    ReactiveBulkOperations bulk = mock(ReactiveBulkOperations.class);
+    Map<String, Document> upserts = new HashMap<>();
+    when(template.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(TransactionRollup.class))).thenReturn(bulk);
+    when(bulk.upsert(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+      upserts.put(invocation.<Query>getArgument(0).getQueryObject().getString("_id"),
+          invocation.<Update>getArgument(1).getUpdateObject());
+      return bulk;
+    });
+    when(bulk.execute()).thenReturn(Mono.empty());
+    TransactionRollupServiceImpl service = new TransactionRollupServiceImpl(template,
+        mock(TransactionRollupRepository.class));
+
+    service.record(List.of(deposit("t1", "A1", "10.00"), deposit("t2", "A1", "2.50"),
+        deposit("t3", "A2", "1.00"))).block();
+
+    assertEquals(6, upserts.size());
+    Document hour = upserts.get("A1|HOUR|2024-03-01T10:00|DEPOSIT").get("$inc", Document.class);
+    assertEquals(2L, hour.get("count"));
+    assertEquals(new Decimal128(new BigDecimal("12.50")), hour.get("amount"));
+  }
+
+  private static Transaction deposit(String id, String accountId, String amount) {
+    return Transaction.builder()
+        .id(id)
+        .transactionType(TransactionType.DEPOSIT)
+        .destinationAccountId(accountId)
+        .amount(Money.of(new BigDecimal(amount)))
+        .transactionDate(DATE)
+        .build();
+  }
+}
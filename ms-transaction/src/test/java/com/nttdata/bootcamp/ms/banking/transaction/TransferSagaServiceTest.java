@@ -0,0 +1,164 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.mongodb.client.result.UpdateResult;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.SagaStatus;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.Account;
+import com.nttdata.bootcamp.ms.banking.transaction.entity.TransferSaga;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.BalanceRejectedException;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransactionRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.repository.TransferSagaRepository;
+import com.nttdata.bootcamp.ms.banking.transaction.service.OutboxService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.ProductClient;
+import com.nttdata.bootcamp.ms.banking.transaction.service.RecentActivityService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.TransferSagaServiceImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransferSagaServiceTest {
+
+  private static final String ORIGIN = "aaaaaaaaaaaaaaaaaaaaaaaa";
+  private static final String DESTINATION = "bbbbbbbbbbbbbbbbbbbbbbbb";
+
+  private ProductClient productClient;
+  private TransferSagaRepository transferSagaRepository;
+  private TransferSagaServiceImpl sagaService;
+
+  @BeforeEach
+  void setUp() {
+    productClient = mock(ProductClient.class);
+    transferSagaRepository = mock(TransferSagaRepository.class);
+    ReactiveMongoTemplate template = mock(ReactiveMongoTemplate.class);
+    when(template.updateFirst(any(Query.class), any(Update.class), eq(TransferSaga.class)))
+        .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+    when(transferSagaRepository.insert(any(TransferSaga.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    sagaService = new TransferSagaServiceImpl(transferSagaRepository, mock(TransactionRepository.class), template,
+        productClient, mock(OutboxService.class), mock(RecentActivityService.class), new SimpleMeterRegistry());
+  }
+
+  @Test
+  void rejectedDebitFailsTheSaga() {
+    when(productClient.applyAccountDelta(eq(ORIGIN), any(), anyString()))
+        .thenReturn(Mono.error(new BalanceRejectedException("Insufficient funds")));
+
+    StepVerifier.create(sagaService.debit(transfer(), "r1", Money.of(BigDecimal.TEN), null))
+        .expectError(BalanceRejectedException.class)
+        .verify();
+  }
+
+  @Test
+  void rejectedCreditIsCompensated() {
+    when(productClient.applyAccountDelta(anyString(), any(), anyString())).thenReturn(Mono.just(new Account()));
+    when(productClient.applyAccountDelta(eq(DESTINATION), any(), anyString()))
+        .thenReturn(Mono.error(new BalanceRejectedException("Account inactive")));
+
+    TransferSaga saga = sagaService.debit(transfer(), "r1", Money.of(BigDecimal.TEN), null).block();
+    assertEquals(SagaStatus.DEBITED, saga.getStatus());
+
+    StepVerifier.create(sagaService.credit(saga))
+        .expectError(BalanceRejectedException.class)
+        .verify();
+    assertEquals(SagaStatus.COMPENSATING, saga.getStatus());
+
+    StepVerifier.create(sagaService.compensate(saga)).verifyComplete();
+    assertEquals(SagaStatus.COMPENSATED, saga.getStatus());
+    verify(productClient).applyAccountDelta(ORIGIN, new BigDecimal("10.00"), "r1:debit:reversal");
+  }
+
+  @Test
+  void uncertainCreditIsLeftForRecovery() {
+    when(productClient.applyAccountDelta(eq(ORIGIN), any(), anyString())).thenReturn(Mono.just(new Account()));
+    when(productClient.applyAccountDelta(eq(DESTINATION), any(), anyString()))
+        .thenReturn(Mono.error(new IllegalStateException("timeout")));
+
+    TransferSaga saga = sagaService.debit(transfer(), "r1", Money.of(BigDecimal.TEN), null).block();
+    StepVerifier.create(sagaService.credit(saga).then(sagaService.compensate(saga)))
+        .expectError(IllegalStateException.class)
+        .verify();
+    StepVerifier.create(sagaService.compensate(saga)).verifyComplete();
+
+    assertEquals(SagaStatus.DEBITED, saga.getStatus());
+    verify(productClient, never()).applyAccountDelta(ORIGIN, new BigDecimal("10.00"), "r1:debit:reversal");
+  }
+
+  @Test
+  void retryOfRejectedDebitRunsTheSameSagaAgain() {
+    TransferSaga failed = saga(SagaStatus.FAILED);
+    when(transferSagaRepository.insert(any(TransferSaga.class)))
+        .thenReturn(Mono.error(new DuplicateKeyException("requestId")));
+    when(transferSagaRepository.findByRequestId("r1")).thenReturn(Mono.just(failed));
+    when(productClient.applyAccountDelta(eq(ORIGIN), any(), anyString())).thenReturn(Mono.just(new Account()));
+
+    StepVerifier.create(sagaService.debit(transfer(), "r1", Money.of(BigDecimal.TEN), null))
+        .expectNextMatches(saga -> saga.getId().equals("s1") && saga.getStatus() == SagaStatus.DEBITED)
+        .verifyComplete();
+    verify(productClient).applyAccountDelta(ORIGIN, new BigDecimal("-10.00"), "r1:debit");
+  }
+
+  @Test
+  void retryOfDebitedSagaContinuesWithoutDebitingAgain() {
+    when(transferSagaRepository.insert(any(TransferSaga.class)))
+        .thenReturn(Mono.error(new DuplicateKeyException("requestId")));
+    when(transferSagaRepository.findByRequestId("r1")).thenReturn(Mono.just(saga(SagaStatus.DEBITED)));
+
+    StepVerifier.create(sagaService.debit(transfer(), "r1", Money.of(BigDecimal.TEN), null))
+        .expectNextMatches(saga -> saga.getStatus() == SagaStatus.DEBITED)
+        .verifyComplete();
+    verify(productClient, never()).applyAccountDelta(anyString(), any(), anyString());
+  }
+
+  @Test
+  void retryOfReversedSagaIsRejected() {
+    when(transferSagaRepository.insert(any(TransferSaga.class)))
+        .thenReturn(Mono.error(new DuplicateKeyException("requestId")));
+    when(transferSagaRepository.findByRequestId("r1")).thenReturn(Mono.just(saga(SagaStatus.COMPENSATED)));
+
+    StepVerifier.create(sagaService.debit(transfer(), "r1", Money.of(BigDecimal.TEN), null))
+        .expectError(ApiValidateException.class)
+        .verify();
+  }
+
+  private static TransferSaga saga(SagaStatus status) {
+    return TransferSaga.builder()
+        .id("s1")
+        .requestId("r1")
+        .originAccountId(ORIGIN)
+        .destinationAccountId(DESTINATION)
+        .amount(Money.of(BigDecimal.TEN))
+        .status(status)
+        .build();
+  }
+
+  private static TransactionRequest transfer() {
+    TransactionRequest request = new TransactionRequest();
+    request.setTransactionType(TransactionType.TRANSFER);
+    request.setOriginAccountId(ORIGIN);
+    request.setDestinationAccountId(DESTINATION);
+    request.setAmount(BigDecimal.TEN);
+    request.setTransactionDate(LocalDateTime.now());
+    return request;
+  }
+}
@@ -0,0 +1,67 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.VelocityDecision;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.LocalVelocityStoreImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el coste del control de frecuencia e importe en memoria: repartido entre muchas
+ * cuentas y con varios hilos debitando la misma cuenta. Los límites son altos para que
+ * cada llamada recorra el camino completo. No corre con {@code mvn test}; se ejecuta con el
+ * método {@code main} desde el classpath de test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class VelocityBenchmark {
+
+  private static final int ACCOUNTS = 100_000;
+
+  private LocalVelocityStoreImpl store;
+  private String[] accounts;
+
+  @Setup
+  public void setUp() {
+    store = new LocalVelocityStoreImpl();
+    accounts = new String[ACCOUNTS];
+    for (int i = 0; i < ACCOUNTS; i++) {
+      accounts[i] = String.format("%024x", i);
+    }
+  }
+
+  @Benchmark
+  public VelocityDecision manyAccounts() {
+    String account = accounts[ThreadLocalRandom.current().nextInt(ACCOUNTS)];
+    return store.tryAcquire(account, 1_000, System.currentTimeMillis(), Integer.MAX_VALUE, Long.MAX_VALUE).block();
+  }
+
+  @Benchmark
+  public VelocityDecision sameAccount() {
+    return store.tryAcquire(accounts[0], 1_000, System.currentTimeMillis(), Integer.MAX_VALUE, Long.MAX_VALUE).block();
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(VelocityBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
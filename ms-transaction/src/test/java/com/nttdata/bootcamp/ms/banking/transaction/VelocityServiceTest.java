@@ -0,0 +1,198 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.TransactionType;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.enumeration.VelocityDecision;
+import com.nttdata.bootcamp.ms.banking.transaction.dto.request.TransactionRequest;
+import com.nttdata.bootcamp.ms.banking.transaction.exception.ApiValidateException;
+import com.nttdata.bootcamp.ms.banking.transaction.service.FxRateService;
+import com.nttdata.bootcamp.ms.banking.transaction.service.handler.TransactionContext;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.LocalVelocityStoreImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.RedisVelocityStoreImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.service.impl.VelocityServiceImpl;
+import com.nttdata.bootcamp.ms.banking.transaction.utility.SlidingWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class VelocityServiceTest {
+
+  private static final String ACCOUNT = "aaaaaaaaaaaaaaaaaaaaaaaa";
+  private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+  private static final long HOUR = Duration.ofHours(1).toMillis();
+
+  private LocalVelocityStoreImpl store;
+  private SimpleMeterRegistry meterRegistry;
+  private VelocityServiceImpl velocityService;
+
+  @BeforeEach
+  void setUp() {
+    store = new LocalVelocityStoreImpl();
+    meterRegistry = new SimpleMeterRegistry();
+    velocityService = new VelocityServiceImpl(List.of(store), mock(FxRateService.class), meterRegistry,
+        true, LocalVelocityStoreImpl.NAME, 3, new BigDecimal("500.00"));
+  }
+
+  @Test
+  void minuteWindowSlides() {
+    long now = 10 * MINUTE;
+    for (int i = 0; i < 3; i++) {
+      assertEquals(VelocityDecision.ALLOWED, store.tryAcquire(ACCOUNT, 100, now, 3, 1_000_000).block());
+    }
+    assertEquals(VelocityDecision.TOO_MANY_DEBITS, store.tryAcquire(ACCOUNT, 100, now, 3, 1_000_000).block());
+    assertEquals(VelocityDecision.ALLOWED, store.tryAcquire(ACCOUNT, 100, now + MINUTE, 3, 1_000_000).block());
+  }
+
+  @Test
+  void dailyLimitCountsTheLast24HoursAndReleasesFailedDebits() {
+    long now = 100 * HOUR;
+    assertEquals(VelocityDecision.ALLOWED, store.tryAcquire(ACCOUNT, 800, now, 10, 1_000).block());
+    assertEquals(VelocityDecision.DAILY_LIMIT_EXCEEDED,
+        store.tryAcquire(ACCOUNT, 300, now + MINUTE, 10, 1_000).block());
+
+    store.release(ACCOUNT, 800, now).block();
+    assertEquals(VelocityDecision.ALLOWED, store.tryAcquire(ACCOUNT, 300, now + 2 * MINUTE, 10, 1_000).block());
+    assertEquals(VelocityDecision.ALLOWED, store.tryAcquire(ACCOUNT, 700, now + 3 * MINUTE, 10, 1_000).block());
+    assertEquals(VelocityDecision.ALLOWED, store.tryAcquire(ACCOUNT, 1_000, now + 25 * HOUR, 10, 1_000).block());
+  }
+
+  @Test
+  void concurrentDebitsNeverExceedTheLimit() throws Exception {
+    SlidingWindow window = new SlidingWindow(6, Duration.ofMinutes(1));
+    long now = System.currentTimeMillis();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 10_000; i++) {
+            window.add(now, 1, 5);
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(80_000, window.count(now));
+    assertEquals(400_000, window.sum(now));
+  }
+
+  @Test
+  void onlyDebitsArePreAuthorizedAndFailuresReleaseTheAmount() {
+    TransactionContext deposit = new TransactionContext(request(TransactionType.DEPOSIT, "400.00"), "r0");
+    StepVerifier.create(velocityService.preAuthorize(deposit)).verifyComplete();
+    assertNull(deposit.getVelocityHold());
+
+    TransactionContext first = new TransactionContext(request(TransactionType.TRANSFER, "400.00"), "r1");
+    StepVerifier.create(velocityService.preAuthorize(first)).verifyComplete();
+    assertNotNull(first.getVelocityHold());
+    assertEquals(40_000, first.getVelocityHold().amount());
+
+    TransactionContext second = new TransactionContext(request(TransactionType.TRANSFER, "200.00"), "r2");
+    StepVerifier.create(velocityService.preAuthorize(second))
+        .expectErrorMatches(e -> e instanceof ApiValidateException && e.getMessage().contains("Daily"))
+        .verify();
+
+    StepVerifier.create(velocityService.release(first)).verifyComplete();
+    StepVerifier.create(velocityService.preAuthorize(second)).verifyComplete();
+    assertEquals(1, meterRegistry.get("transaction.velocity.checks")
+        .tag("decision", "DAILY_LIMIT_EXCEEDED").counter().count());
+  }
+
+  @Test
+  void foreignDebitWithoutExchangeRateIsRejectedWithoutAHold() {
+    TransactionRequest request = request(TransactionType.TRANSFER, "100.00");
+    request.setCurrency("USD");
+    TransactionContext context = new TransactionContext(request, "r1");
+
+    StepVerifier.create(velocityService.preAuthorize(context))
+        .expectErrorMatches(e -> e instanceof ApiValidateException && e.getMessage().contains("exchange rate"))
+        .verify();
+    assertNull(context.getVelocityHold());
+    assertEquals(VelocityDecision.ALLOWED, store.tryAcquire(ACCOUNT, 50_000, HOUR, 3, 50_000).block());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void redisKeysOfAnAccountShareAHashTag() {
+    ReactiveStringRedisTemplate redis = mock(ReactiveStringRedisTemplate.class);
+    when(redis.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(0L));
+    RedisVelocityStoreImpl redisStore = new RedisVelocityStoreImpl(redis, store);
+
+    redisStore.tryAcquire(ACCOUNT, 100, HOUR, 3, 1_000).block();
+
+    verify(redis).execute(any(RedisScript.class),
+        eq(List.of("velocity:{" + ACCOUNT + "}:minute", "velocity:{" + ACCOUNT + "}:day")), anyList());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void holdTakenWhileRedisIsDownIsReleasedInMemory() {
+    ReactiveStringRedisTemplate redis = mock(ReactiveStringRedisTemplate.class);
+    when(redis.execute(any(RedisScript.class), anyList(), anyList()))
+        .thenReturn(Flux.error(new RedisConnectionFailureException("down")));
+    RedisVelocityStoreImpl redisStore = new RedisVelocityStoreImpl(redis, store);
+    long now = 100 * HOUR;
+
+    assertEquals(VelocityDecision.ALLOWED, redisStore.tryAcquire(ACCOUNT, 800, now, 10, 1_000).block());
+    when(redis.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(1L));
+    redisStore.release(ACCOUNT, 800, now).block();
+
+    verify(redis, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+    assertEquals(VelocityDecision.ALLOWED, store.tryAcquire(ACCOUNT, 1_000, now + MINUTE, 10, 1_000).block());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void holdTakenInRedisIsNotReleasedInMemory() {
+    ReactiveStringRedisTemplate redis = mock(ReactiveStringRedisTemplate.class);
+    when(redis.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(0L));
+    RedisVelocityStoreImpl redisStore = new RedisVelocityStoreImpl(redis, store);
+    long now = 100 * HOUR;
+    assertEquals(VelocityDecision.ALLOWED, store.tryAcquire(ACCOUNT, 800, now, 10, 1_000).block());
+
+    assertEquals(VelocityDecision.ALLOWED, redisStore.tryAcquire(ACCOUNT, 500, now, 10, 1_000).block());
+    when(redis.execute(any(RedisScript.class), anyList(), anyList()))
+        .thenReturn(Flux.error(new RedisConnectionFailureException("down")));
+    StepVerifier.create(redisStore.release(ACCOUNT, 500, now)).verifyComplete();
+
+    assertEquals(VelocityDecision.DAILY_LIMIT_EXCEEDED,
+        store.tryAcquire(ACCOUNT, 300, now + MINUTE, 10, 1_000).block());
+  }
+
+  private static TransactionRequest request(TransactionType type, String amount) {
+    TransactionRequest request = new TransactionRequest();
+    request.setTransactionType(type);
+    request.setOriginAccountId(ACCOUNT);
+    request.setDestinationAccountId("bbbbbbbbbbbbbbbbbbbbbbbb");
+    request.setAmount(new BigDecimal(amount));
+    return request;
+  }
+}
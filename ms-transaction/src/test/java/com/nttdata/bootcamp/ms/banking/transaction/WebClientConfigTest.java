@@ -0,0 +1,76 @@
+package com.nttdata.bootcamp.ms.banking.transaction;
+
+import com.nttdata.bootcamp.ms.banking.transaction.config.WebClientConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Los clientes pasan por el gateway salvo que su servicio pida {@code mode=direct}.
+ */
+public class WebClientConfigTest {
+
+  private final MockEnvironment environment = new MockEnvironment()
+      .withProperty("transaction.downstream.gateway-url", "http://gateway:8090");
+  private final AtomicReference<URI> called = new AtomicReference<>();
+  private WebClientConfig config;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    LoadBalancedExchangeFilterFunction loadBalancer = mock(LoadBalancedExchangeFilterFunction.class);
+    when(loadBalancer.filter(any(), any())).thenAnswer(invocation ->
+        invocation.<ExchangeFunction>getArgument(1).exchange(invocation.getArgument(0)));
+    ObjectProvider<LoadBalancedExchangeFilterFunction> provider = mock(ObjectProvider.class);
+    when(provider.getObject()).thenReturn(loadBalancer);
+    config = new WebClientConfig(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+        new SimpleMeterRegistry(), environment, provider);
+  }
+
+  @Test
+  void clientsGoThroughTheGatewayByDefault() {
+    this.call(config.accountWebClient(this.builder()));
+
+    assertEquals("http://gateway:8090/api/accounts/A1", called.get().toString());
+  }
+
+  @Test
+  void modeIsChosenPerClient() {
+    environment.setProperty("transaction.downstream.account.mode", "direct");
+
+    this.call(config.accountWebClient(this.builder()));
+    assertEquals("http://ms-account/api/accounts/A1", called.get().toString());
+
+    this.call(config.customerWebClient(this.builder()));
+    assertEquals("http://gateway:8090/api/customers/A1", called.get().toString());
+  }
+
+  private WebClient.Builder builder() {
+    return WebClient.builder().exchangeFunction(request -> {
+      called.set(request.url());
+      return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+    });
+  }
+
+  private void call(WebClient client) {
+    client.get().uri("/A1").retrieve().toBodilessEntity().block();
+  }
+}
@@ -2,6 +2,7 @@ package com.nttdata.bootcamp.ms.banking.bootcoin.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.context.annotation.Bean;
@@ -52,6 +53,28 @@ public class KafkaConfig {
     factory.getContainerProperties().setPollTimeout(3000);
     return factory;
   }
-}
 
+  /**
+   * Consumidor de los eventos de ms-transaction. El valor llega en binario y se decodifica
+   * con {@code TransactionEventCodec}; la concurrencia no rompe el orden por cuenta porque
+   * cada partición la atiende un solo hilo.
+   */
+  @Bean
+  public ConsumerFactory<String, byte[]> transactionEventConsumerFactory() {
+    Map<String, Object> config = new HashMap<>();
+    config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+    config.put(ConsumerConfig.GROUP_ID_CONFIG, "kafka-broker-1");
+    config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+    return new DefaultKafkaConsumerFactory<>(config);
+  }
 
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, byte[]> transactionEventListenerContainerFactory() {
+    ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(transactionEventConsumerFactory());
+    factory.setConcurrency(3);
+    factory.getContainerProperties().setPollTimeout(3000);
+    return factory;
+  }
+}
@@ -0,0 +1,19 @@
+package com.nttdata.bootcamp.ms.banking.bootcoin.config;
+
+import com.nttdata.bootcamp.ms.banking.bootcoin.utility.MoneyMongoCodec;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+/**
+ * Configuración de MongoDB. Registra los conversores de
+ * {@link com.nttdata.bootcamp.ms.banking.bootcoin.utility.Money}.
+ */
+@Configuration
+public class MongoConfig {
+
+  @Bean
+  public MongoCustomConversions mongoCustomConversions() {
+    return new MongoCustomConversions(MoneyMongoCodec.converters());
+  }
+}
@@ -0,0 +1,39 @@
+package com.nttdata.bootcamp.ms.banking.bootcoin.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Evento de transacción publicado en Kafka.
+ *
+ * <p>{@code key} es la cuenta o producto afectado y se usa como clave de partición, de modo
+ * que los eventos de una misma cuenta se consumen en orden. En {@code BALANCE_CHANGED} el
+ * monto lleva signo: negativo para débitos y positivo para abonos.</p>
+ *
+ * <p>Se comparte con los consumidores junto con {@code TransactionEventCodec}.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.1
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionEvent {
+  private TransactionEventType eventType;     // Tipo de evento
+  private int schemaVersion;                  // Versión del esquema con la que se escribió
+  private String eventId;                     // Identificador único del evento
+  private String key;                         // Cuenta o producto afectado (clave de partición)
+  private String transactionId;               // Transacción que origina el evento
+  private String transactionType;             // Tipo de transacción (DEPOSIT, WITHDRAWAL, etc.)
+  private String originAccountId;             // Cuenta de origen (puede ser null)
+  private String destinationAccountId;        // Cuenta de destino (puede ser null)
+  private String productId;                   // Crédito o tarjeta pagada (puede ser null)
+  private BigDecimal amount;                  // Monto del evento
+  private Instant occurredAt;                 // Fecha y hora de la transacción
+}
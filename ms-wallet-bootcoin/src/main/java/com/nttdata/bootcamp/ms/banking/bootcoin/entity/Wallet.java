@@ -1,13 +1,11 @@
 package com.nttdata.bootcamp.ms.banking.bootcoin.entity;
 
 import com.nttdata.bootcamp.ms.banking.bootcoin.dto.enumeration.RecordStatus;
+import com.nttdata.bootcamp.ms.banking.bootcoin.utility.Money;
 import lombok.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.math.BigDecimal;
-
-
 /**
  * Entidad cuenta bancaria
  *
@@ -28,6 +26,6 @@ public class Wallet {
   private String identificationNumber;
   private String phoneNumber;
   private String email;
-  private BigDecimal balance;
+  private Money balance;
   private RecordStatus status;
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.nttdata.bootcamp.ms.banking.bootcoin.mapper;
 import com.nttdata.bootcamp.ms.banking.bootcoin.dto.request.WalletRequest;
 import com.nttdata.bootcamp.ms.banking.bootcoin.dto.response.WalletResponse;
 import com.nttdata.bootcamp.ms.banking.bootcoin.entity.Wallet;
+import com.nttdata.bootcamp.ms.banking.bootcoin.utility.Money;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -13,7 +14,7 @@ public class WalletMapper {
     wallet.setIdentificationNumber(request.getIdentificationNumber());
     wallet.setPhoneNumber(request.getPhoneNumber());
     wallet.setEmail(request.getEmail());
-    wallet.setBalance(request.getBalance());
+    wallet.setBalance(Money.of(request.getBalance()));
     return wallet;
   }
 
@@ -23,7 +24,7 @@ public class WalletMapper {
     response.setIdentificationNumber(wallet.getIdentificationNumber());
     response.setPhoneNumber(wallet.getPhoneNumber());
     response.setEmail(wallet.getEmail());
-    response.setBalance(wallet.getBalance());
+    response.setBalance(wallet.getBalance() != null ? wallet.getBalance().toBigDecimal() : null);
     return response;
   }
 }
\ No newline at end of file
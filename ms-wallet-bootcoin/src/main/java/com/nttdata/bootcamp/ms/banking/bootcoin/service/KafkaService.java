@@ -1,6 +1,10 @@
 package com.nttdata.bootcamp.ms.banking.bootcoin.service;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
 public interface KafkaService {
   void listen(String message);
+
+  void listenTransactionEvent(ConsumerRecord<String, byte[]> record);
 }
 
@@ -9,6 +9,7 @@ import com.nttdata.bootcamp.ms.banking.bootcoin.mapper.BootCoinMapper;
 import com.nttdata.bootcamp.ms.banking.bootcoin.repository.BootCoinRepository;
 import com.nttdata.bootcamp.ms.banking.bootcoin.repository.WalletRepository;
 import com.nttdata.bootcamp.ms.banking.bootcoin.service.BootcoinService;
+import com.nttdata.bootcamp.ms.banking.bootcoin.utility.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,7 +27,7 @@ import java.time.LocalDateTime;
  * de perfiles VIP o PYME y la comprobación de deudas pendientes antes de
  * la creación de un cliente.</p>
  *
- * @version 1.1
+ * @version 1.2
  */
 @RequiredArgsConstructor
 @Service
@@ -39,13 +40,14 @@ public class BootcoinServiceImpl implements BootcoinService {
   public Mono<BootCoinResponse> buyBootCoin(BootCoinRequest request, BigDecimal amount) {
     return walletRepository.findByPhoneNumber(request.getPhoneNumber())
         .flatMap(wallet -> {
-          BigDecimal walletBalance = wallet.getBalance();
+          Money walletBalance = wallet.getBalance();
+          Money debit = Money.of(amount, walletBalance.getCurrency());
 
-          if (walletBalance.compareTo(amount) < 0) {
+          if (walletBalance.isLessThan(debit)) {
             return Mono.error(new ApiValidateException("Insufficient funds"));
           }
 
-          wallet.setBalance(walletBalance.subtract(amount));
+          wallet.setBalance(walletBalance.minus(debit));
           return walletRepository.save(wallet)
               .then(bootCoinRepository.save(
                   BootCoinTransaction.builder()
@@ -67,8 +69,8 @@ public class BootcoinServiceImpl implements BootcoinService {
 
           return walletRepository.findByPhoneNumber(request.getPhoneNumber())
               .flatMap(wallet -> {
-                BigDecimal walletBalance = wallet.getBalance();
-                wallet.setBalance(walletBalance.add(amount));
+                Money walletBalance = wallet.getBalance();
+                wallet.setBalance(walletBalance.plus(Money.of(amount, walletBalance.getCurrency())));
                 return walletRepository.save(wallet)
                     .then(bootCoinRepository.save(
                         BootCoinTransaction.builder()
@@ -1,8 +1,11 @@
 package com.nttdata.bootcamp.ms.banking.bootcoin.service.impl;
 
+import com.nttdata.bootcamp.ms.banking.bootcoin.dto.event.TransactionEvent;
 import com.nttdata.bootcamp.ms.banking.bootcoin.service.KafkaService;
+import com.nttdata.bootcamp.ms.banking.bootcoin.utility.TransactionEventCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -11,7 +14,7 @@ import org.springframework.stereotype.Service;
 /**
  * Implementación del servicio de Kafka.
  *
- * @version 1.1
+ * @version 1.2
  */
 
 @Service
@@ -29,5 +32,21 @@ public class KafkaServiceImpl implements KafkaService {
   public void listen(String message) {
     log.info("Message received: " + message);
   }
-}
 
+  @KafkaListener(topics = "${spring.kafka.topic.transaction-events:transaction-events}",
+      groupId = "${spring.kafka.consumer.group-id}",
+      containerFactory = "transactionEventListenerContainerFactory")
+  public void listenTransactionEvent(ConsumerRecord<String, byte[]> record) {
+    try {
+      TransactionEvent event = TransactionEventCodec.decode(record.value());
+      if (event.getEventType() == null) {
+        log.debug("Skipping transaction event of unknown type at offset " + record.offset());
+        return;
+      }
+      log.info("Transaction event received: " + event.getEventType() + " key=" + record.key()
+          + " transaction=" + event.getTransactionId() + " amount=" + event.getAmount());
+    } catch (IllegalArgumentException e) {
+      log.error("Discarding unreadable transaction event at offset " + record.offset() + ": " + e.getMessage());
+    }
+  }
+}
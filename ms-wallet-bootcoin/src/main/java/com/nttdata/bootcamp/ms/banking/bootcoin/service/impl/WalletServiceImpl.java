@@ -6,6 +6,7 @@ import com.nttdata.bootcamp.ms.banking.bootcoin.exception.ApiValidateException;
 import com.nttdata.bootcamp.ms.banking.bootcoin.mapper.WalletMapper;
 import com.nttdata.bootcamp.ms.banking.bootcoin.repository.WalletRepository;
 import com.nttdata.bootcamp.ms.banking.bootcoin.service.WalletService;
+import com.nttdata.bootcamp.ms.banking.bootcoin.utility.Money;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
@@ -25,7 +26,7 @@ import java.math.BigDecimal;
  * de una nueva tarjeta.</p>
  *
  * @author Bruno Andre Castro Barrientos
- * @version 1.1
+ * @version 1.2
  */
 
 @Service
@@ -38,19 +39,20 @@ public class WalletServiceImpl implements WalletService {
   public Mono<WalletResponse> sendPayment(WalletRequest request, BigDecimal amount) {
     return walletRepository.findByPhoneNumber(request.getPhoneNumber())
         .flatMap(senderWallet -> {
-          BigDecimal senderBalance = senderWallet.getBalance();
+          Money senderBalance = senderWallet.getBalance();
+          Money debit = Money.of(amount, senderBalance.getCurrency());
 
-          if (senderBalance.compareTo(amount) < 0) {
+          if (senderBalance.isLessThan(debit)) {
             return Mono.error(new ApiValidateException("Insufficient funds"));
           }
 
-          senderWallet.setBalance(senderBalance.subtract(amount));
+          senderWallet.setBalance(senderBalance.minus(debit));
           return walletRepository.save(senderWallet);
         })
         .then(walletRepository.findByPhoneNumber(request.getPhoneNumber())
             .flatMap(recipientWallet -> {
-              BigDecimal recipientBalance = recipientWallet.getBalance();
-              recipientWallet.setBalance(recipientBalance.add(amount));
+              Money recipientBalance = recipientWallet.getBalance();
+              recipientWallet.setBalance(recipientBalance.plus(Money.of(amount, recipientBalance.getCurrency())));
               return walletRepository.save(recipientWallet);
             })
         )
@@ -60,8 +62,8 @@ public class WalletServiceImpl implements WalletService {
   public Mono<WalletResponse> receivePayment(WalletRequest request, BigDecimal amount) {
     return walletRepository.findByPhoneNumber(request.getPhoneNumber())
         .flatMap(wallet -> {
-          BigDecimal currentBalance = wallet.getBalance();
-          wallet.setBalance(currentBalance.add(amount));
+          Money currentBalance = wallet.getBalance();
+          wallet.setBalance(currentBalance.plus(Money.of(amount, currentBalance.getCurrency())));
           return walletRepository.save(wallet);
         })
         .map(walletMapper::toResponse);
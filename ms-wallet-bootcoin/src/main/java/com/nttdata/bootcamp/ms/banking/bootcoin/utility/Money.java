@@ -0,0 +1,186 @@
+package com.nttdata.bootcamp.ms.banking.bootcoin.utility;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nttdata.bootcamp.ms.banking.bootcoin.exception.ApiValidateException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Importe monetario inmutable guardado como un {@code long} de unidades mínimas (céntimos
+ * para PEN) más el código ISO 4217 de la moneda.
+ *
+ * <p>Sumar, restar y comparar no crea objetos intermedios como {@link BigDecimal}; el
+ * desbordamiento se detecta con {@link Math#addExact}. La conversión a y desde
+ * {@link BigDecimal} queda en los bordes (DTOs, eventos, servicios externos) y no redondea:
+ * un importe con más decimales de los que admite la moneda se rechaza.</p>
+ *
+ * <p>Los importes heredados cuya moneda no se conoce usan {@link #NO_CURRENCY}, el código
+ * ISO 4217 para "sin moneda", con {@value #NO_CURRENCY_SCALE} decimales para no perder los de
+ * ninguna moneda real. Operar con ellos junto a un importe con moneda falla como cualquier
+ * otra mezcla de monedas.</p>
+ *
+ * <p>La copia probada es la de ms-transaction; ms-wallet-bootcoin lleva una copia idéntica
+ * salvo el paquete, junto con {@link MoneyMongoCodec} y {@link MoneyJsonCodec}. Los cambios
+ * se hacen en ms-transaction y se copian: {@code SharedSourceCopiesTest} de ms-transaction
+ * falla si las copias difieren.</p>
+ *
+ * @author Bruno Andre Castro Barrientos
+ * @version 1.2
+ */
+@JsonSerialize(using = MoneyJsonCodec.Serializer.class)
+@JsonDeserialize(using = MoneyJsonCodec.Deserializer.class)
+public final class Money implements Comparable<Money> {
+
+  public static final String DEFAULT_CURRENCY = "PEN";
+  public static final String NO_CURRENCY = "XXX";
+
+  private static final int NO_CURRENCY_SCALE = 4;
+
+  private static final Map<String, Integer> SCALES = new ConcurrentHashMap<>();
+
+  private final long minorUnits;
+  private final String currency;
+
+  private Money(long minorUnits, String currency) {
+    this.minorUnits = minorUnits;
+    this.currency = currency;
+  }
+
+  /**
+   * Crea un importe en la moneda por defecto.
+   *
+   * @param amount Importe decimal.
+   * @return El importe, o {@code null} si {@code amount} es {@code null}.
+   */
+  public static Money of(BigDecimal amount) {
+    return of(amount, DEFAULT_CURRENCY);
+  }
+
+  /**
+   * Crea un importe en la moneda indicada.
+   *
+   * @param amount Importe decimal.
+   * @param currency Código ISO 4217.
+   * @return El importe, o {@code null} si {@code amount} es {@code null}.
+   */
+  public static Money of(BigDecimal amount, String currency) {
+    if (amount == null) {
+      return null;
+    }
+    int scale = scaleOf(currency);
+    try {
+      return new Money(amount.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(),
+          currency);
+    } catch (ArithmeticException e) {
+      throw new ApiValidateException("Invalid amount " + amount.toPlainString() + " for currency " + currency);
+    }
+  }
+
+  public static Money ofMinor(long minorUnits, String currency) {
+    scaleOf(currency);
+    return new Money(minorUnits, currency);
+  }
+
+  public static Money zero(String currency) {
+    return ofMinor(0, currency);
+  }
+
+  /**
+   * Decimales de la moneda según ISO 4217.
+   *
+   * @param currency Código ISO 4217.
+   * @return Número de decimales.
+   */
+  public static int scaleOf(String currency) {
+    if (currency == null) {
+      throw new ApiValidateException("Currency is required");
+    }
+    if (NO_CURRENCY.equals(currency)) {
+      return NO_CURRENCY_SCALE;
+    }
+    return SCALES.computeIfAbsent(currency, code -> {
+      try {
+        return Math.max(0, Currency.getInstance(code).getDefaultFractionDigits());
+      } catch (IllegalArgumentException e) {
+        throw new ApiValidateException("Unsupported currency " + code);
+      }
+    });
+  }
+
+  public Money plus(Money other) {
+    this.requireSameCurrency(other);
+    return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+  }
+
+  public Money minus(Money other) {
+    this.requireSameCurrency(other);
+    return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+  }
+
+  public Money negate() {
+    return new Money(Math.negateExact(minorUnits), currency);
+  }
+
+  public int signum() {
+    return Long.signum(minorUnits);
+  }
+
+  public boolean isLessThan(Money other) {
+    return this.compareTo(other) < 0;
+  }
+
+  public long getMinorUnits() {
+    return minorUnits;
+  }
+
+  public String getCurrency() {
+    return currency;
+  }
+
+  public int getScale() {
+    return scaleOf(currency);
+  }
+
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(minorUnits, this.getScale());
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    this.requireSameCurrency(other);
+    return Long.compare(minorUnits, other.minorUnits);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Money money)) {
+      return false;
+    }
+    return minorUnits == money.minorUnits && currency.equals(money.currency);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(minorUnits, currency);
+  }
+
+  @Override
+  public String toString() {
+    return MoneyJsonCodec.format(minorUnits, this.getScale()) + " " + currency;
+  }
+
+  private void requireSameCurrency(Money other) {
+    if (!currency.equals(other.currency)) {
+      throw new ApiValidateException("Currency mismatch: " + currency + " and " + other.currency);
+    }
+  }
+}